@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.benchmarks;
+
+import com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities.Music;
+import com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities.Question;
+import com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities.ShapeEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.completion.Completion;
+import com.github.ydespreaux.spring.data.elasticsearch.core.geo.CircleShape;
+import com.github.ydespreaux.spring.data.elasticsearch.core.geo.LinestringShape;
+import com.github.ydespreaux.spring.data.elasticsearch.core.geo.PointShape;
+import com.github.ydespreaux.spring.data.elasticsearch.core.geo.PolygonShape;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+/**
+ * Representative documents of the benchmarks.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public enum DocumentType {
+
+    FLAT(Book.class, i -> Book.builder()
+            .documentId(String.valueOf(i))
+            .version((long) i)
+            .title("Spring Data Elasticsearch " + i)
+            .description("A practical guide to the elasticsearch rest client with spring data repositories")
+            .price(12.5 + i)
+            .publication(LocalDate.of(2019, 1, 1).plusDays(i % 365))
+            .lastUpdated(LocalDateTime.of(2019, 1, 1, 12, 0).plusMinutes(i))
+            .build()),
+    GEO(ShapeEntity.class, i -> ShapeEntity.builder()
+            .id(String.valueOf(i))
+            .name("plot " + i)
+            .point(new PointShape(new Coordinate(50, 20)))
+            .linestring(new LinestringShape(new Coordinate(-77.03653, 38.897676), new Coordinate(-77.009051, 38.889939)))
+            .polygon(new PolygonShape(new Coordinate[]{
+                    new Coordinate(100.0, 0.0),
+                    new Coordinate(101.0, 0.0),
+                    new Coordinate(101.0, 1.0),
+                    new Coordinate(100.0, 1.0),
+                    new Coordinate(100.0, 0.0)
+            }, null))
+            .circle(new CircleShape(new Coordinate(-45.0, 45.0), 100))
+            .build()),
+    PARENT(Question.class, i -> new Question(String.valueOf(i), "How to map a join field with spring data ? " + i)),
+    CHILD(Question.Answer.class, i -> new Question.Answer(String.valueOf(i), String.valueOf(i / 10), "Use the @Parent and @Child annotations " + i)),
+    COMPLETION(Music.class, i -> Music.builder()
+            .id(String.valueOf(i))
+            .title("Nevermind " + i)
+            .suggest(new Completion(new String[]{"Nevermind", "Nirvana", "Smells like teen spirit"}, i))
+            .build());
+
+    private final Class<?> entityClass;
+    private final IntFunction<Object> factory;
+
+    DocumentType(Class<?> entityClass, IntFunction<Object> factory) {
+        this.entityClass = entityClass;
+        this.factory = factory;
+    }
+
+    /**
+     * @return the entity class
+     */
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @param index the index of the document
+     * @return a new document
+     */
+    public Object create(int index) {
+        return factory.apply(index);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.benchmarks;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultEntityMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultResultsMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.MappingElasticsearchConverter;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.core.request.RequestsBuilder;
+import lombok.Getter;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.Collections;
+
+/**
+ * Mapping infrastructure configured as the starter does, without cluster.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class MappingFixtures {
+
+    private final DefaultEntityMapper entityMapper;
+    private final MappingElasticsearchConverter converter;
+    private final DefaultResultsMapper resultsMapper;
+    private final RequestsBuilder requestsBuilder;
+
+    public MappingFixtures() {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        this.entityMapper = new DefaultEntityMapper(new JacksonProperties());
+        this.converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext(), entityMapper);
+        this.converter.setApplicationContext(applicationContext);
+        for (DocumentType type : DocumentType.values()) {
+            this.converter.getRequiredPersistentEntity(type.getEntityClass());
+        }
+        this.resultsMapper = new DefaultResultsMapper(entityMapper, converter);
+        this.requestsBuilder = new RequestsBuilder(applicationContext);
+    }
+
+    /**
+     * @param type the document type
+     * @param <T>  the entity type
+     * @return the persistent entity of the document type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ElasticsearchPersistentEntity<T> getPersistentEntity(DocumentType type) {
+        return (ElasticsearchPersistentEntity<T>) converter.getRequiredPersistentEntity(type.getEntityClass());
+    }
+
+    /**
+     * Builds a canned search response, as returned by the cluster.
+     *
+     * @param type the document type
+     * @param size the number of hits
+     * @return the search response
+     */
+    public SearchResponse searchResponse(DocumentType type, int size) {
+        SearchHit[] hits = new SearchHit[size];
+        for (int i = 0; i < size; i++) {
+            BytesReference source = entityMapper.mapToBytes(type.create(i));
+            hits[i] = new SearchHit(i, String.valueOf(i), new Text("_doc"), Collections.emptyMap());
+            hits[i].sourceRef(source);
+            hits[i].version(1);
+            hits[i].score(1f);
+        }
+        InternalSearchResponse internalResponse = new InternalSearchResponse(new SearchHits(hits, size, 1f),
+                null, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, null, 1, 1, 0, 5, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
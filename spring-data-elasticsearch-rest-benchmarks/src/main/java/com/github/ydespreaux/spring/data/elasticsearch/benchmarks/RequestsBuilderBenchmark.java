@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.benchmarks;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.ResultsMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.request.RequestsBuilder;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Index requests built by the {@link RequestsBuilder}: a single document, and a bulk of documents as built by the
+ * bulk index operations of the templates.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestsBuilderBenchmark {
+
+    @Param({"FLAT", "GEO", "CHILD"})
+    private DocumentType type;
+
+    @Param({"1000"})
+    private int bulkSize;
+
+    private RequestsBuilder requestsBuilder;
+    private ResultsMapper resultsMapper;
+    private ElasticsearchPersistentEntity<Object> persistentEntity;
+    private Object document;
+    private List<Object> documents;
+
+    @Setup
+    public void setup() {
+        MappingFixtures fixtures = new MappingFixtures();
+        this.requestsBuilder = fixtures.getRequestsBuilder();
+        this.resultsMapper = fixtures.getResultsMapper();
+        this.persistentEntity = fixtures.getPersistentEntity(type);
+        this.document = type.create(1);
+        this.documents = IntStream.range(0, bulkSize).mapToObj(type::create).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public IndexRequest indexRequest() {
+        return requestsBuilder.indexRequest(document, persistentEntity, resultsMapper);
+    }
+
+    @Benchmark
+    public BulkRequest bulkRequest() {
+        BulkRequest bulkRequest = new BulkRequest();
+        for (Object entity : documents) {
+            bulkRequest.add(requestsBuilder.indexRequest(entity, persistentEntity, resultsMapper));
+        }
+        return bulkRequest;
+    }
+}
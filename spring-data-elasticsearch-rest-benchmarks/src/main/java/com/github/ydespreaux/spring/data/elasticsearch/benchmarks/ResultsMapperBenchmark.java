@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.benchmarks;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultResultsMapper;
+import org.elasticsearch.action.search.SearchResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of canned search responses by the {@link DefaultResultsMapper}, sequentially ({@code parallelThreshold=0})
+ * or in parallel.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsMapperBenchmark {
+
+    @Param({"FLAT", "CHILD"})
+    private DocumentType type;
+
+    @Param({"10", "100", "1000"})
+    private int hits;
+
+    @Param({"0", "256"})
+    private int parallelThreshold;
+
+    private DefaultResultsMapper resultsMapper;
+    private SearchResponse response;
+
+    @Setup
+    public void setup() {
+        MappingFixtures fixtures = new MappingFixtures();
+        this.resultsMapper = fixtures.getResultsMapper();
+        this.resultsMapper.setParallelThreshold(parallelThreshold);
+        this.response = fixtures.searchResponse(type, hits);
+    }
+
+    @Benchmark
+    public Page<?> mapResults() {
+        return resultsMapper.mapResults(response, type.getEntityClass());
+    }
+}
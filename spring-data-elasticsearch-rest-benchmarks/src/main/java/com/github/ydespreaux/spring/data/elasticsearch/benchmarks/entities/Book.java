@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities;
+
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Index;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.IndexedDocument;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat document.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@IndexedDocument(index = @Index(name = "books", type = "book"))
+public class Book {
+
+    @Id
+    private String documentId;
+    @Version
+    private Long version;
+    private String title;
+    private String description;
+    private Double price;
+    private LocalDate publication;
+    private LocalDateTime lastUpdated;
+}
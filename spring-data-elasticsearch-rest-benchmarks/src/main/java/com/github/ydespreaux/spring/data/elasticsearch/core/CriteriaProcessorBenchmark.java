@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries and filters built from the criteria by the {@link CriteriaQueryProcessor} and the
+ * {@link CriteriaFilterProcessor}. The benchmark belongs to the core package to reach the filter processor.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriteriaProcessorBenchmark {
+
+    private Criteria queryCriteria;
+    private Criteria filterCriteria;
+
+    @Setup
+    public void setup() {
+        this.queryCriteria = Criteria.where("title").is("spring")
+                .and("price").between(10, 50)
+                .and("description").contains("elasticsearch")
+                .and("publication").greaterThanEqual("2019-01-01")
+                .and("status").in(Arrays.asList("PUBLISHED", "DRAFT"))
+                .or(Criteria.where("title").startsWith("data").not());
+        this.filterCriteria = Criteria.where("location").within(new GeoPoint(48.8566, 2.3522), "10km")
+                .and("area").boundedBy(new GeoPoint(49.0, 2.0), new GeoPoint(48.0, 3.0));
+    }
+
+    @Benchmark
+    public Optional<QueryBuilder> createQueryFromCriteria() {
+        return new CriteriaQueryProcessor().createQueryFromCriteria(queryCriteria);
+    }
+
+    @Benchmark
+    public Optional<QueryBuilder> createFilterFromCriteria() {
+        return new CriteriaFilterProcessor().createFilterFromCriteria(filterCriteria);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Query;
+import com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.StringQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.ElasticsearchRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of the placeholders of a {@link Query} by the {@link ElasticsearchStringQuery}. The benchmark belongs to
+ * the repository query package to reach the query creation.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringQueryBenchmark {
+
+    private ElasticsearchStringQuery query;
+    private ElasticsearchQueryMethod queryMethod;
+    private Object[] parameters;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Method method = BookRepository.class.getMethod("findByTitleAndPrice", String.class, Double.class, Double.class);
+        this.queryMethod = new ElasticsearchQueryMethod(method, new DefaultRepositoryMetadata(BookRepository.class),
+                new SpelAwareProxyProjectionFactory());
+        this.query = new ElasticsearchStringQuery(queryMethod, null, method.getAnnotation(Query.class).value());
+        this.parameters = new Object[]{"Spring Data Elasticsearch", 10.0, 50.0};
+    }
+
+    @Benchmark
+    public StringQuery createQuery() {
+        return query.createQuery(new ParametersParameterAccessor(queryMethod.getParameters(), parameters));
+    }
+
+    interface BookRepository extends ElasticsearchRepository<Book, String> {
+
+        @Query("{\"bool\":{\"must\":[{\"match\":{\"title\":\"?0\"}},{\"range\":{\"price\":{\"gte\":?1,\"lte\":?2}}}]}}")
+        List<Book> findByTitleAndPrice(String title, Double minPrice, Double maxPrice);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser;
+
+import com.github.ydespreaux.spring.data.elasticsearch.benchmarks.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria of a derived query method created by the {@link ElasticsearchQueryCreator} and bound by the compiled
+ * {@link PartTreeQueryPlan}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartTreeQueryBenchmark {
+
+    private SimpleElasticsearchMappingContext mappingContext;
+    private PartTree tree;
+    private PartTreeQueryPlan plan;
+    private DefaultParameters parameters;
+    private Object[] values;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Method method = BookMethods.class.getMethod("findByTitleAndPriceBetween", String.class, Double.class, Double.class);
+        this.mappingContext = new SimpleElasticsearchMappingContext();
+        this.tree = new PartTree(method.getName(), Book.class);
+        this.plan = PartTreeQueryPlan.compile(tree, mappingContext);
+        this.parameters = new DefaultParameters(method);
+        this.values = new Object[]{"Spring Data Elasticsearch", 10.0, 50.0};
+    }
+
+    @Benchmark
+    public CriteriaQuery createQuery() {
+        return new ElasticsearchQueryCreator(tree, new ParametersParameterAccessor(parameters, values), mappingContext).createQuery();
+    }
+
+    @Benchmark
+    public CriteriaQuery bindPlan() {
+        return plan.bind(new ParametersParameterAccessor(parameters, values));
+    }
+
+    interface BookMethods {
+
+        void findByTitleAndPriceBetween(String title, Double minPrice, Double maxPrice);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.autoconfigure.elasticsearch;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.BulkIndexerSettings;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Sping boot configuration property class for bulk indexers.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.elasticsearch.bulk")
+public class BulkIndexerProperties {
+
+    /**
+     * Nombre de documents déclenchant l'envoi d'une requête bulk (-1 pour désactiver).
+     */
+    private int actions = 1000;
+    /**
+     * Taille estimée déclenchant l'envoi d'une requête bulk.
+     */
+    private DataSize size = DataSize.ofMegabytes(5);
+    /**
+     * Intervalle d'envoi des documents en attente.
+     */
+    private Duration flushInterval;
+    /**
+     * Nombre de requêtes bulk exécutées simultanément (0 pour une exécution dans le thread appelant).
+     */
+    private int concurrentRequests = 1;
+    /**
+     * Comportement lorsque le nombre de requêtes simultanées est atteint.
+     */
+    @NonNull
+    private BulkIndexerSettings.BackpressurePolicy backpressure = BulkIndexerSettings.BackpressurePolicy.BLOCK;
+
+    /**
+     * @return the bulk indexer settings
+     */
+    public BulkIndexerSettings toSettings() {
+        return BulkIndexerSettings.builder()
+                .bulkActions(this.actions)
+                .bulkSize(this.size == null ? -1 : this.size.toBytes())
+                .flushInterval(this.flushInterval)
+                .concurrentRequests(this.concurrentRequests)
+                .backpressure(this.backpressure)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.autoconfigure.elasticsearch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sping boot configuration property class for the metrics of the client requests.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.elasticsearch.client.metrics")
+public class ClientMetricsProperties {
+
+    /**
+     * Active les métriques Micrometer des requêtes (nécessite un MeterRegistry).
+     */
+    private boolean enabled = true;
+    /**
+     * Active les métriques de taille des requêtes et des réponses http du client bas niveau.
+     * Remplace le callback http du client bas niveau (ssl, proxy...) : seuls les credentials sont reconfigurés.
+     */
+    private boolean httpBodySize = false;
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.autoconfigure.elasticsearch;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.ClientMetrics;
+import com.github.ydespreaux.spring.data.elasticsearch.client.HttpMetricsInterceptor;
+import com.github.ydespreaux.spring.data.elasticsearch.client.MetricsRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.client.PersistentEntityIndexTags;
+import com.github.ydespreaux.spring.data.elasticsearch.client.RestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.client.reactive.MetricsReactiveRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.client.reactive.ReactiveRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scheduler.SchedulerMetrics;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scheduler.SchedulerStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.elasticsearch.rest.RestClientBuilderCustomizer;
+import org.springframework.boot.autoconfigure.elasticsearch.rest.RestClientProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.function.Function;
+
+/**
+ * Configuration recording the Micrometer metrics of the elasticsearch clients, and of the queueing time of the
+ * response scheduler, when a {@link MeterRegistry} is available.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Configuration
+@ConditionalOnClass({RestHighLevelClient.class, MeterRegistry.class})
+@ConditionalOnProperty(prefix = "spring.elasticsearch.client.metrics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ClientMetricsProperties.class)
+public class ElasticsearchClientMetricsAutoConfiguration {
+
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono",
+            ElasticsearchClientMetricsAutoConfiguration.class.getClassLoader());
+
+    @Bean
+    static BeanPostProcessor elasticsearchClientMetricsPostProcessor(final ObjectProvider<MeterRegistry> registry,
+                                                                     final ObjectProvider<SimpleElasticsearchMappingContext> mappingContext) {
+        return new BeanPostProcessor() {
+
+            private ClientMetrics metrics;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RestElasticsearchClient) {
+                    ClientMetrics clientMetrics = getMetrics();
+                    return clientMetrics == null ? bean : new MetricsRestElasticsearchClient((RestElasticsearchClient) bean, clientMetrics);
+                }
+                if (REACTOR_PRESENT && bean instanceof ReactiveRestElasticsearchClient) {
+                    ClientMetrics clientMetrics = getMetrics();
+                    return clientMetrics == null ? bean : new MetricsReactiveRestElasticsearchClient((ReactiveRestElasticsearchClient) bean, clientMetrics);
+                }
+                if (bean instanceof SchedulerStatistics) {
+                    MeterRegistry meterRegistry = registry.getIfAvailable();
+                    if (meterRegistry != null) {
+                        new SchedulerMetrics((SchedulerStatistics) bean).bindTo(meterRegistry);
+                    }
+                }
+                return bean;
+            }
+
+            private synchronized ClientMetrics getMetrics() {
+                if (metrics == null) {
+                    MeterRegistry meterRegistry = registry.getIfAvailable();
+                    if (meterRegistry != null) {
+                        metrics = new ClientMetrics(meterRegistry, new EntityIndexTag(mappingContext));
+                    }
+                }
+                return metrics;
+            }
+        };
+    }
+
+    /**
+     * Registers the {@link HttpMetricsInterceptor} on the low level client, shared by the blocking and the reactive
+     * clients. The low level client accepts a single http client callback : this one replaces the callback configured
+     * by the {@link RestClientProperties} or by other customizers (ssl, proxy, keep alive...), only the credentials are
+     * configured again. Disabled by default for that reason.
+     */
+    @Bean
+    @ConditionalOnClass(RestClientBuilderCustomizer.class)
+    @ConditionalOnProperty(prefix = "spring.elasticsearch.client.metrics", name = "http-body-size")
+    RestClientBuilderCustomizer elasticsearchHttpMetricsCustomizer(final ObjectProvider<MeterRegistry> registry,
+                                                                   final ObjectProvider<RestClientProperties> restClientProperties) {
+        return builder -> {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            if (meterRegistry == null) {
+                return;
+            }
+            HttpMetricsInterceptor interceptor = new HttpMetricsInterceptor(meterRegistry);
+            RestClientProperties properties = restClientProperties.getIfAvailable();
+            builder.setHttpClientConfigCallback(httpClientBuilder -> {
+                if (properties != null && StringUtils.hasText(properties.getUsername())) {
+                    CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+                    credentialsProvider.setCredentials(AuthScope.ANY,
+                            new UsernamePasswordCredentials(properties.getUsername(), properties.getPassword()));
+                    httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+                }
+                return httpClientBuilder
+                        .addInterceptorLast((HttpRequestInterceptor) interceptor)
+                        .addInterceptorLast((HttpResponseInterceptor) interceptor);
+            });
+        };
+    }
+
+    /**
+     * Index tag computed from the persistent entities, the mapping context being resolved on the first request.
+     */
+    private static class EntityIndexTag implements Function<String, String> {
+
+        private final ObjectProvider<SimpleElasticsearchMappingContext> mappingContext;
+        private volatile Function<String, String> tags;
+
+        EntityIndexTag(ObjectProvider<SimpleElasticsearchMappingContext> mappingContext) {
+            this.mappingContext = mappingContext;
+        }
+
+        @Override
+        public String apply(String index) {
+            Function<String, String> current = tags;
+            if (current == null) {
+                SimpleElasticsearchMappingContext context = mappingContext.getIfAvailable();
+                current = context == null ? Function.identity() : new PersistentEntityIndexTags(context);
+                tags = current;
+            }
+            return current.apply(index);
+        }
+    }
+}
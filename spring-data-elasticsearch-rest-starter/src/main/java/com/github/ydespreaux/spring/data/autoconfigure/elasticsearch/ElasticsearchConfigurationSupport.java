@@ -30,8 +30,11 @@ import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasti
 import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.boot.autoconfigure.elasticsearch.rest.RestClientAutoConfiguration;
@@ -43,6 +46,8 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * @author Yoann Despréaux
  * @since 1.0.0
@@ -51,6 +56,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 @Configuration
 @EnableScheduling
 @AutoConfigureAfter(RestClientAutoConfiguration.class)
+@EnableConfigurationProperties(MappingProperties.class)
 public class ElasticsearchConfigurationSupport {
 
 
@@ -62,8 +68,24 @@ public class ElasticsearchConfigurationSupport {
 
     @Bean
     @ConditionalOnMissingBean
-    ResultsMapper resultsMapper(EntityMapper mapper, ElasticsearchConverter converter) {
-        return new DefaultResultsMapper(mapper, converter);
+    ResultsMapper resultsMapper(EntityMapper mapper, ElasticsearchConverter converter, MappingProperties mappingProperties,
+                                @Qualifier("elasticsearchMappingPool") ObjectProvider<ForkJoinPool> mappingPool) {
+        DefaultResultsMapper resultsMapper = new DefaultResultsMapper(mapper, converter);
+        resultsMapper.setParallelThreshold(mappingProperties.getParallelThreshold());
+        ForkJoinPool pool = mappingPool.getIfAvailable();
+        if (pool != null) {
+            resultsMapper.setParallelExecutor(pool, pool.getParallelism());
+        }
+        return resultsMapper;
+    }
+
+    /**
+     * Pool dedicated to the parallel mapping of the search results, shut down with the context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnExpression("${spring.elasticsearch.mapping.parallel-threshold:0} > 0 and ${spring.elasticsearch.mapping.parallelism:0} > 0")
+    ForkJoinPool elasticsearchMappingPool(MappingProperties mappingProperties) {
+        return new ForkJoinPool(mappingProperties.getParallelism());
     }
 
     /**
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.autoconfigure.elasticsearch;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchTemplateSupport;
+import com.github.ydespreaux.spring.data.elasticsearch.core.batch.BatchLoaderSettings;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Sping boot configuration property class for multi get requests.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.elasticsearch.multi-get")
+public class MultiGetProperties {
+
+    /**
+     * Nombre maximum de documents lus par une requête findAllById.
+     */
+    private int batchSize = ElasticsearchTemplateSupport.DEFAULT_MULTI_GET_BATCH_SIZE;
+    /**
+     * Nombre maximum de requêtes findAllById exécutées en parallèle.
+     */
+    private int concurrency = ElasticsearchTemplateSupport.DEFAULT_MULTI_GET_CONCURRENCY;
+    /**
+     * Regroupement des appels findById concurrents en requêtes findAllById.
+     */
+    private FindByIdBatching findByIdBatching = new FindByIdBatching();
+
+    @Getter
+    @Setter
+    public static class FindByIdBatching {
+        /**
+         * Active le regroupement des appels findById.
+         */
+        private boolean enabled = false;
+        /**
+         * Nombre maximum d'identifiants d'un lot.
+         */
+        private int maxBatchSize = 100;
+        /**
+         * Durée de collecte des identifiants d'un lot.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * @return the settings of the batches, null if the batching is disabled
+         */
+        @Nullable
+        public BatchLoaderSettings toSettings() {
+            if (!this.enabled) {
+                return null;
+            }
+            return BatchLoaderSettings.builder()
+                    .maxBatchSize(this.maxBatchSize)
+                    .window(this.window)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.autoconfigure.elasticsearch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sping boot configuration property class for the scheduler handling the reactive responses.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.elasticsearch.reactive.scheduler")
+public class ReactiveSchedulerProperties {
+
+    /**
+     * Type de scheduler traitant les réponses (non défini pour un traitement dans les threads d'entrée/sortie du client).
+     */
+    @Nullable
+    private Type type;
+    /**
+     * Nombre maximum de threads du scheduler (PARALLEL et ELASTIC).
+     */
+    private int poolSize = Schedulers.DEFAULT_POOL_SIZE;
+    /**
+     * Préfixe du nom des threads du scheduler.
+     */
+    private String name = "elasticsearch-response";
+
+    /**
+     * @return a new scheduler : the ELASTIC scheduler creates its threads on demand up to the pool size, and releases
+     * them after 60 seconds of inactivity (unlike {@link Schedulers#newElastic(String, int)}, not bounded)
+     */
+    public Scheduler createScheduler() {
+        if (this.type == Type.PARALLEL) {
+            return Schedulers.newParallel(this.name, this.poolSize, true);
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(this.name + "-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(this.poolSize, this.poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return Schedulers.fromExecutorService(executor);
+    }
+
+    public enum Type {
+        ELASTIC, PARALLEL
+    }
+}
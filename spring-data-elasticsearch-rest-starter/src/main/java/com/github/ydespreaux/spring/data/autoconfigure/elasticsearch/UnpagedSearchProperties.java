@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.autoconfigure.elasticsearch;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.UnpagedSearchStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sping boot configuration property class for the searches that are not paged.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.elasticsearch.unpaged-search")
+public class UnpagedSearchProperties {
+
+    /**
+     * Stratégie de lecture des résultats d'une requête dérivée non paginée (SCROLL ou SEARCH_AFTER).
+     * SCROLL lit un résultat plus petit qu'une page en une seule requête, sans contexte de scroll.
+     * SEARCH_AFTER trie sur le tiebreaker de pagination : le tiebreaker _id par défaut charge le fielddata de _id en mémoire.
+     */
+    private UnpagedSearchStrategy strategy = UnpagedSearchStrategy.SCROLL;
+    /**
+     * Taille des pages lues pour une requête dérivée non paginée.
+     */
+    private int pageSize = 500;
+}
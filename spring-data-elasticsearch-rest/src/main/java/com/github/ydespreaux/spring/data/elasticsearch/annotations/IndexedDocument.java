@@ -53,5 +53,10 @@ public @interface IndexedDocument {
      */
     long scrollTimeSeconds() default 300;
 
+    /**
+     * @return the paging strategy of the document
+     */
+    Paging paging() default @Paging;
+
 }
 
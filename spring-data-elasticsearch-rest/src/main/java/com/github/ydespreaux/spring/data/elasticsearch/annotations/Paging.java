@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Define the paging strategy of a document, or of a repository method returning a
+ * {@link org.springframework.data.domain.Page}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface Paging {
+
+    /**
+     * @return the paging mode
+     */
+    PagingMode value() default PagingMode.SCROLL;
+
+    /**
+     * Unique field added to the sort to guarantee a total order of the hits with {@link PagingMode#SEARCH_AFTER}.
+     * The document tiebreaker ({@literal _id} by default) is used if empty. Sorting on {@literal _id} loads its
+     * fielddata in the heap with elasticsearch 6 : prefer a unique keyword field, which is sorted on doc values.
+     *
+     * @return the tiebreaker field
+     */
+    String tiebreaker() default "";
+}
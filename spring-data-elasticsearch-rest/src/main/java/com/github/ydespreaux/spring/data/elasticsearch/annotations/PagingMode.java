@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.annotations;
+
+/**
+ * Paging strategy used to read a {@link org.springframework.data.domain.Page} of documents.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public enum PagingMode {
+
+    /**
+     * Each page opens a scroll context kept alive for the scroll time of the document.
+     */
+    SCROLL,
+
+    /**
+     * Stateless paging: from/size for the first pages, search_after with the cursor of the previous page otherwise.
+     */
+    SEARCH_AFTER
+}
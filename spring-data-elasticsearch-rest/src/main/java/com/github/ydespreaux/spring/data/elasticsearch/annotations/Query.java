@@ -48,4 +48,13 @@ public @interface Query {
      * @return
      */
     String name() default "";
+
+    /**
+     * Id of the stored search template executed instead of the query : the parameters of the method are passed as
+     * params of the template, by their name or else by their index.
+     *
+     * @return the template id
+     * @since 1.2.0
+     */
+    String templateId() default "";
 }
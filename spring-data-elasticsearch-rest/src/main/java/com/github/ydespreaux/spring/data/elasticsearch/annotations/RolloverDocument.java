@@ -58,5 +58,10 @@ public @interface RolloverDocument {
      */
     long scrollTimeSeconds() default 300;
 
+    /**
+     * @return the paging strategy of the document
+     */
+    Paging paging() default @Paging;
+
 }
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+
+/**
+ * Flight recorder event of a request sent to the elasticsearch cluster. The attributes are computed only if the
+ * event is recorded.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Name("com.github.ydespreaux.elasticsearch.ClientCall")
+@Label("Elasticsearch Client Call")
+@Category({"Elasticsearch", "Client"})
+@Description("Request sent to the elasticsearch cluster")
+@StackTrace(false)
+public class ClientCallEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Index")
+    private String index;
+
+    @Label("Document Count")
+    private long documentCount;
+
+    @Label("Request Size")
+    @DataAmount
+    private long requestSize;
+
+    @Label("Response Size")
+    @DataAmount
+    private long responseSize;
+
+    @Label("Failure")
+    private String failure;
+
+    /**
+     * Starts the event of a request.
+     *
+     * @param operation the client operation
+     * @return the started event
+     */
+    public static ClientCallEvent start(String operation) {
+        ClientCallEvent event = new ClientCallEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param request  the request
+     * @param response the response, null if the request failed
+     * @param error    the failure, null if the request succeeded
+     */
+    public void complete(Object request, @Nullable Object response, @Nullable Throwable error) {
+        end();
+        if (shouldCommit()) {
+            index = ClientRequests.index(request);
+            documentCount = ClientRequests.documentCount(request, response);
+            requestSize = ClientRequests.requestSize(request);
+            responseSize = ClientRequests.responseSize(response);
+            failure = error == null ? null : error.getClass().getName();
+            commit();
+        }
+    }
+}
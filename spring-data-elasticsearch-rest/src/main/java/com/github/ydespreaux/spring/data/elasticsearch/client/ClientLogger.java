@@ -21,8 +21,18 @@ package com.github.ydespreaux.spring.data.elasticsearch.client;
 
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * Logging Utility to log client requests and responses. Logs client requests and responses to Elasticsearch to a
  * dedicated logger: {@code com.github.ydespreaux.spring.data.elasticsearch.client.ClientLogger} on {@link org.slf4j.event.Level#TRACE}
@@ -34,6 +44,11 @@ import org.springframework.util.ObjectUtils;
 @Slf4j
 public final class ClientLogger {
 
+    /**
+     * Default maximum length of the logged requests and responses.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD_LENGTH = 4096;
+
     private ClientLogger() {
     }
 
@@ -48,8 +63,19 @@ public final class ClientLogger {
 
 
     public static void logRequest(String logId, ActionRequest request) {
+        logRequest(logId, request, DEFAULT_MAX_PAYLOAD_LENGTH);
+    }
+
+    /**
+     * The request is rendered only if the logger is enabled.
+     *
+     * @param logId     the correlation id
+     * @param request   the request
+     * @param maxLength the maximum length of the logged request (-1 for no limit)
+     */
+    public static void logRequest(String logId, Object request, int maxLength) {
         if (isEnabled()) {
-            log.trace("[{}] Sending request : {}", logId, request.toString());
+            log.trace("[{}] Sending request : {}", logId, render(request, maxLength));
         }
     }
 
@@ -62,12 +88,122 @@ public final class ClientLogger {
         }
     }
 
-    public static void logFailure(String logId, Exception e) {
+    /**
+     * The response is rendered only if the logger is enabled.
+     *
+     * @param logId     the correlation id
+     * @param response  the response
+     * @param maxLength the maximum length of the logged response (-1 for no limit)
+     */
+    public static void logResponse(String logId, @Nullable Object response, int maxLength) {
+        if (isEnabled()) {
+            log.trace("[{}] Received response: {}", logId, render(response, maxLength));
+        }
+    }
+
+    public static void logFailure(String logId, Throwable e) {
         if (isEnabled()) {
             log.trace("[{}] Request Failed : {}", logId, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
         }
     }
 
+    /**
+     * Search requests and the {@link ToXContent} responses are streamed as JSON and the rendering stops as soon as
+     * the maximum length is reached. Other payloads are rendered with toString().
+     *
+     * @param payload   the request or the response
+     * @param maxLength the maximum length (-1 for no limit)
+     * @return the payload truncated to the maximum length
+     */
+    static String render(@Nullable Object payload, int maxLength) {
+        if (payload == null || maxLength < 0) {
+            return String.valueOf(payload);
+        }
+        if (payload instanceof ToXContent) {
+            return render("", (ToXContent) payload, "", maxLength);
+        }
+        if (payload instanceof SearchRequest && ((SearchRequest) payload).source() != null) {
+            SearchRequest request = (SearchRequest) payload;
+            return render("SearchRequest{indices=" + Arrays.toString(request.indices())
+                    + ", types=" + Arrays.toString(request.types())
+                    + ", routing=" + request.routing()
+                    + ", scroll=" + request.scroll()
+                    + ", source=", request.source(), "}", maxLength);
+        }
+        String value = String.valueOf(payload);
+        if (value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength) + "... (" + value.length() + " chars)";
+    }
+
+    private static String render(String prefix, ToXContent content, String suffix, int maxLength) {
+        BoundedOutputStream output = new BoundedOutputStream(maxLength);
+        try {
+            output.write(prefix.getBytes(StandardCharsets.UTF_8));
+            XContentBuilder builder = new XContentBuilder(XContentType.JSON.xContent(), output);
+            if (content.isFragment()) {
+                builder.startObject();
+            }
+            content.toXContent(builder, ToXContent.EMPTY_PARAMS);
+            if (content.isFragment()) {
+                builder.endObject();
+            }
+            builder.close();
+            output.write(suffix.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof LimitReachedException || e.getCause() instanceof LimitReachedException) {
+                return output.toString() + "... (truncated)";
+            }
+            return prefix + "<" + content.getClass().getSimpleName() + " not rendered: " + e.getMessage() + ">" + suffix;
+        }
+        return output.toString();
+    }
+
+    /**
+     * Output stream keeping at most {@code limit} bytes, failing as soon as the limit is exceeded to stop the rendering.
+     */
+    private static final class BoundedOutputStream extends OutputStream {
+
+        private final byte[] buffer;
+        private int count;
+
+        private BoundedOutputStream(int limit) {
+            this.buffer = new byte[limit];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                throw new LimitReachedException();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            int available = buffer.length - count;
+            System.arraycopy(bytes, offset, buffer, count, Math.min(length, available));
+            count += Math.min(length, available);
+            if (length > available) {
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, 0, count, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class LimitReachedException extends IOException {
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
     /**
      * Creates a new, unique correlation Id to improve tracing across log events.
      *
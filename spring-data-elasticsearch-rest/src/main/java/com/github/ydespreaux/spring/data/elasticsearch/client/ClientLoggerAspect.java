@@ -35,9 +35,11 @@ import org.elasticsearch.action.ActionRequest;
  *
  * @author Yoann Despréaux
  * @since 1.0.0
+ * @deprecated since 1.2.0, decorate the client with a {@link LoggingRestElasticsearchClient}
  */
 @Slf4j
 @Aspect
+@Deprecated
 public class ClientLoggerAspect {
 
     @Pointcut("target(com.github.ydespreaux.spring.data.elasticsearch.client.RestElasticsearchClient)")
@@ -71,11 +73,14 @@ public class ClientLoggerAspect {
      */
     @Around("restElactisearchClientInterface() && restElactisearchClientMethod(request)")
     public <T extends ActionRequest> Object logger(ProceedingJoinPoint pjp, T request) throws Throwable {
+        if (!ClientLogger.isEnabled()) {
+            return pjp.proceed();
+        }
         String logId = ClientLogger.newLogId();
         ClientLogger.logRequest(logId, request);
         try {
             Object result = pjp.proceed();
-            ClientLogger.logResponse(logId, result.toString());
+            ClientLogger.logResponse(logId, result, ClientLogger.DEFAULT_MAX_PAYLOAD_LENGTH);
             return result;
         } catch (Exception e) {
             ClientLogger.logFailure(logId, e);
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.script.mustache.SearchTemplateResponse;
+import org.elasticsearch.search.Scroll;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Micrometer meters of the requests sent by the elasticsearch clients.
+ * <ul>
+ * <li>{@code elasticsearch.client.requests} : client-observed latency, tagged by operation, index, outcome and exception</li>
+ * <li>{@code elasticsearch.client.took} : server-side execution time ({@code took}) of the searches, bulks and delete by query, to compare with the client-observed latency</li>
+ * <li>{@code elasticsearch.client.hits} : number of hits returned by the searches</li>
+ * <li>{@code elasticsearch.client.bulk.items} / {@code elasticsearch.client.bulk.failures} : items and failed items of the bulks</li>
+ * <li>{@code elasticsearch.client.bulk.size} : estimated size of the bulk requests</li>
+ * <li>{@code elasticsearch.client.scroll.open} : scroll contexts opened by the client, neither cleared nor expired</li>
+ * </ul>
+ * The {@code index} tag is computed by an index tag function applied to the index or alias targeted by the request.
+ * By default the name is used as is: use {@link PersistentEntityIndexTags} to bound the cardinality of the tag
+ * when the documents are written to time based indices.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ClientMetrics {
+
+    public static final String METRIC_PREFIX = "elasticsearch.client";
+
+    private final MeterRegistry registry;
+    private final Function<String, String> indexTag;
+    /**
+     * Expiration time of the open scroll contexts, by scroll id.
+     */
+    private final Map<String, Long> openScrolls = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry the meter registry
+     */
+    public ClientMetrics(MeterRegistry registry) {
+        this(registry, Function.identity());
+    }
+
+    /**
+     * @param registry the meter registry
+     * @param indexTag the function computing the {@code index} tag from the index or alias targeted by a request
+     */
+    public ClientMetrics(MeterRegistry registry, Function<String, String> indexTag) {
+        this.registry = registry;
+        this.indexTag = indexTag;
+        registry.gauge(METRIC_PREFIX + ".scroll.open", Tags.empty(), this, ClientMetrics::countOpenScrolls);
+    }
+
+    /**
+     * @return the monotonic time used to measure the latency of the requests
+     */
+    public long startTime() {
+        return registry.config().clock().monotonicTime();
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param operation the client operation
+     * @param request   the request
+     * @param response  the response, null if the request failed
+     * @param error     the failure, null if the request succeeded
+     * @param startTime the time returned by {@link #startTime()} when the request was sent
+     */
+    public void record(String operation, Object request, @Nullable Object response, @Nullable Throwable error, long startTime) {
+        long duration = registry.config().clock().monotonicTime() - startTime;
+        String index = indexTag.apply(ClientRequests.index(request));
+        registry.timer(METRIC_PREFIX + ".requests", Tags.of(
+                "operation", operation,
+                "index", index,
+                "outcome", error == null ? "success" : "error",
+                "exception", error == null ? ClientRequests.NONE : error.getClass().getSimpleName()))
+                .record(duration, TimeUnit.NANOSECONDS);
+        if (request instanceof BulkRequest) {
+            summary("bulk.size", "bytes", operation, index).record(((BulkRequest) request).estimatedSizeInBytes());
+        }
+        if (response != null) {
+            recordResponse(operation, index, request, response);
+        }
+    }
+
+    private void recordResponse(String operation, String index, Object request, Object response) {
+        if (response instanceof SearchTemplateResponse) {
+            response = ((SearchTemplateResponse) response).getResponse();
+            if (response == null) {
+                return;
+            }
+        }
+        if (response instanceof SearchResponse) {
+            SearchResponse searchResponse = (SearchResponse) response;
+            recordTook(operation, index, searchResponse.getTook());
+            summary("hits", null, operation, index).record(searchResponse.getHits().getHits().length);
+            if (request instanceof SearchRequest && ((SearchRequest) request).scroll() != null) {
+                openScroll(null, searchResponse.getScrollId(), ((SearchRequest) request).scroll());
+            } else if (request instanceof SearchScrollRequest) {
+                SearchScrollRequest scrollRequest = (SearchScrollRequest) request;
+                openScroll(scrollRequest.scrollId(), searchResponse.getScrollId(), scrollRequest.scroll());
+            }
+        } else if (response instanceof BulkResponse) {
+            BulkResponse bulkResponse = (BulkResponse) response;
+            recordTook(operation, index, bulkResponse.getTook());
+            long failures = 0;
+            for (BulkItemResponse item : bulkResponse.getItems()) {
+                if (item.isFailed()) {
+                    failures++;
+                }
+            }
+            registry.counter(METRIC_PREFIX + ".bulk.items", "index", index).increment(bulkResponse.getItems().length);
+            if (failures > 0) {
+                registry.counter(METRIC_PREFIX + ".bulk.failures", "index", index).increment(failures);
+            }
+        } else if (response instanceof BulkByScrollResponse) {
+            recordTook(operation, index, ((BulkByScrollResponse) response).getTook());
+        } else if (response instanceof ClearScrollResponse && ((ClearScrollResponse) response).isSucceeded()) {
+            for (String scrollId : ((ClearScrollRequest) request).getScrollIds()) {
+                if ("_all".equals(scrollId)) {
+                    openScrolls.clear();
+                    return;
+                }
+                openScrolls.remove(scrollId);
+            }
+        }
+    }
+
+    /**
+     * Tracks a scroll context until its keep alive elapses, the next scroll request renewing it.
+     *
+     * @param previousScrollId the scroll id sent with the request, null for the initial search
+     * @param scrollId         the scroll id returned by the response
+     * @param scroll           the keep alive requested, null to keep the current expiration
+     */
+    private void openScroll(@Nullable String previousScrollId, @Nullable String scrollId, @Nullable Scroll scroll) {
+        Long expiration = previousScrollId == null ? null : openScrolls.remove(previousScrollId);
+        if (scrollId == null) {
+            return;
+        }
+        if (scroll != null && scroll.keepAlive() != null) {
+            expiration = registry.config().clock().monotonicTime() + scroll.keepAlive().nanos();
+        }
+        if (expiration != null) {
+            openScrolls.put(scrollId, expiration);
+        }
+        purgeExpiredScrolls();
+    }
+
+    private double countOpenScrolls() {
+        purgeExpiredScrolls();
+        return openScrolls.size();
+    }
+
+    private void purgeExpiredScrolls() {
+        long now = registry.config().clock().monotonicTime();
+        openScrolls.values().removeIf(expiration -> expiration - now <= 0);
+    }
+
+    private void recordTook(String operation, String index, @Nullable TimeValue took) {
+        if (took != null) {
+            registry.timer(METRIC_PREFIX + ".took", "operation", operation, "index", index)
+                    .record(took.nanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private DistributionSummary summary(String name, @Nullable String baseUnit, String operation, String index) {
+        return DistributionSummary.builder(METRIC_PREFIX + "." + name)
+                .baseUnit(baseUnit)
+                .tags("operation", operation, "index", index)
+                .register(registry);
+    }
+}
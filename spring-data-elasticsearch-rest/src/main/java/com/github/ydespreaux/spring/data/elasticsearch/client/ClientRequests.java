@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.IndicesRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.elasticsearch.script.mustache.SearchTemplateResponse;
+import org.elasticsearch.search.SearchHit;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Utility describing the requests and the responses of the clients for the metrics and the flight recorder events.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public final class ClientRequests {
+
+    /**
+     * Value of a request without index.
+     */
+    public static final String NONE = "none";
+    /**
+     * Value of a request targeting several indices.
+     */
+    public static final String MULTIPLE = "multiple";
+
+    private ClientRequests() {
+    }
+
+    /**
+     * @param request the request
+     * @return the index or alias targeted by the request, {@link #MULTIPLE} if the request targets several indices
+     */
+    public static String index(Object request) {
+        if (request instanceof IndicesRequest) {
+            return index(((IndicesRequest) request).indices());
+        }
+        if (request instanceof SearchTemplateRequest && ((SearchTemplateRequest) request).getRequest() != null) {
+            return index(((SearchTemplateRequest) request).getRequest().indices());
+        }
+        if (request instanceof BulkRequest) {
+            List<DocWriteRequest<?>> requests = ((BulkRequest) request).requests();
+            String index = null;
+            for (DocWriteRequest<?> item : requests) {
+                if (index == null) {
+                    index = item.index();
+                } else if (!index.equals(item.index())) {
+                    return MULTIPLE;
+                }
+            }
+            return index == null ? NONE : index;
+        }
+        return NONE;
+    }
+
+    /**
+     * @param request  the request
+     * @param response the response, null if the request failed
+     * @return the number of documents sent or received
+     */
+    public static long documentCount(Object request, @Nullable Object response) {
+        if (response instanceof SearchTemplateResponse) {
+            response = ((SearchTemplateResponse) response).getResponse();
+        }
+        if (response instanceof SearchResponse) {
+            return ((SearchResponse) response).getHits().getHits().length;
+        }
+        if (response instanceof BulkResponse) {
+            return ((BulkResponse) response).getItems().length;
+        }
+        if (response instanceof MultiGetResponse) {
+            return ((MultiGetResponse) response).getResponses().length;
+        }
+        if (response instanceof GetResponse) {
+            return ((GetResponse) response).isExists() ? 1 : 0;
+        }
+        if (request instanceof BulkRequest) {
+            return ((BulkRequest) request).numberOfActions();
+        }
+        if (request instanceof MultiGetRequest) {
+            return ((MultiGetRequest) request).getItems().size();
+        }
+        return request instanceof DocWriteRequest ? 1 : 0;
+    }
+
+    /**
+     * @param request the request
+     * @return the size of the documents sent by the request, in bytes
+     */
+    public static long requestSize(Object request) {
+        if (request instanceof BulkRequest) {
+            return ((BulkRequest) request).estimatedSizeInBytes();
+        }
+        if (request instanceof IndexRequest) {
+            return length(((IndexRequest) request).source());
+        }
+        return 0;
+    }
+
+    /**
+     * @param response the response
+     * @return the size of the documents received by the response, in bytes
+     */
+    public static long responseSize(@Nullable Object response) {
+        if (response instanceof SearchTemplateResponse) {
+            response = ((SearchTemplateResponse) response).getResponse();
+        }
+        long size = 0;
+        if (response instanceof SearchResponse) {
+            for (SearchHit hit : ((SearchResponse) response).getHits().getHits()) {
+                size += length(hit.getSourceRef());
+            }
+        } else if (response instanceof MultiGetResponse) {
+            for (MultiGetItemResponse item : ((MultiGetResponse) response).getResponses()) {
+                if (!item.isFailed()) {
+                    size += length(item.getResponse().getSourceAsBytesRef());
+                }
+            }
+        } else if (response instanceof GetResponse) {
+            size = length(((GetResponse) response).getSourceAsBytesRef());
+        }
+        return size;
+    }
+
+    private static String index(@Nullable String[] indices) {
+        if (indices == null || indices.length == 0) {
+            return NONE;
+        }
+        return indices.length == 1 ? indices[0] : MULTIPLE;
+    }
+
+    private static long length(@Nullable BytesReference source) {
+        return source == null ? 0 : source.length();
+    }
+}
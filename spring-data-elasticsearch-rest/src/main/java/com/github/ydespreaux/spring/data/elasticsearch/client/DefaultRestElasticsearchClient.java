@@ -21,6 +21,7 @@
 package com.github.ydespreaux.spring.data.elasticsearch.client;
 
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
 import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsRequest;
@@ -258,6 +259,21 @@ public class DefaultRestElasticsearchClient implements RestElasticsearchClient {
         return this.client.clearScroll(request, options);
     }
 
+    @Override
+    public void searchScrollAsync(SearchScrollRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+        this.client.scrollAsync(request, options, listener);
+    }
+
+    @Override
+    public void multiGetAsync(MultiGetRequest request, RequestOptions options, ActionListener<MultiGetResponse> listener) {
+        this.client.mgetAsync(request, options, listener);
+    }
+
+    @Override
+    public void searchAsync(SearchRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+        this.client.searchAsync(request, options, listener);
+    }
+
     @Override
     public MultiSearchResponse multiSearch(MultiSearchRequest request, RequestOptions options) throws IOException {
         return this.client.msearch(request, options);
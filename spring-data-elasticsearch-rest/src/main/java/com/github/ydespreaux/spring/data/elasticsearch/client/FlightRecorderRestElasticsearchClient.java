@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import org.elasticsearch.action.ActionListener;
+
+import java.io.IOException;
+
+/**
+ * Decorator emitting a {@link ClientCallEvent} for each request sent by a {@link RestElasticsearchClient}.
+ * The cost is negligible when no flight recording is active.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class FlightRecorderRestElasticsearchClient extends RestElasticsearchClientDecorator {
+
+    /**
+     * @param delegate the decorated client
+     */
+    public FlightRecorderRestElasticsearchClient(RestElasticsearchClient delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected <R> R invoke(String operation, Object request, ClientCall<R> call) throws IOException {
+        ClientCallEvent event = ClientCallEvent.start(operation);
+        try {
+            R response = call.execute();
+            event.complete(request, response, null);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            event.complete(request, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    protected <R> ActionListener<R> decorate(String operation, Object request, ActionListener<R> listener) {
+        ClientCallEvent event = ClientCallEvent.start(operation);
+        return new ActionListener<R>() {
+            @Override
+            public void onResponse(R response) {
+                event.complete(request, response, null);
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                event.complete(request, null, e);
+                listener.onFailure(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.lang.Nullable;
+
+/**
+ * Http interceptor of the low level rest client recording the size of the request and response bodies.
+ * <ul>
+ * <li>{@code elasticsearch.client.http.request.size} : size of the request bodies, tagged by http method</li>
+ * <li>{@code elasticsearch.client.http.response.size} : size of the response bodies (only if the content length is known)</li>
+ * </ul>
+ * Register it with {@code HttpAsyncClientBuilder#addInterceptorLast}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class HttpMetricsInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    private static final String REQUEST_METHOD = HttpMetricsInterceptor.class.getName() + ".method";
+
+    private final MeterRegistry registry;
+
+    /**
+     * @param registry the meter registry
+     */
+    public HttpMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+        String method = request.getRequestLine().getMethod();
+        context.setAttribute(REQUEST_METHOD, method);
+        if (request instanceof HttpEntityEnclosingRequest) {
+            record("request", method, ((HttpEntityEnclosingRequest) request).getEntity());
+        }
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        Object method = context.getAttribute(REQUEST_METHOD);
+        record("response", method == null ? ClientRequests.NONE : method.toString(), response.getEntity());
+    }
+
+    private void record(String direction, String method, @Nullable HttpEntity entity) {
+        if (entity == null || entity.getContentLength() < 0) {
+            return;
+        }
+        DistributionSummary.builder(ClientMetrics.METRIC_PREFIX + ".http." + direction + ".size")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .register(registry)
+                .record(entity.getContentLength());
+    }
+}
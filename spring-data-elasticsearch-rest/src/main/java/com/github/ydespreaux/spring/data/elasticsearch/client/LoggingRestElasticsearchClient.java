@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import org.elasticsearch.action.ActionListener;
+
+import java.io.IOException;
+
+/**
+ * Decorator logging the requests and the responses of a {@link RestElasticsearchClient} with the {@link ClientLogger}.
+ * The requests and the responses are rendered only if the {@link ClientLogger} is enabled.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class LoggingRestElasticsearchClient extends RestElasticsearchClientDecorator {
+
+    private final int maxPayloadLength;
+
+    /**
+     * @param delegate the decorated client
+     */
+    public LoggingRestElasticsearchClient(RestElasticsearchClient delegate) {
+        this(delegate, ClientLogger.DEFAULT_MAX_PAYLOAD_LENGTH);
+    }
+
+    /**
+     * @param delegate         the decorated client
+     * @param maxPayloadLength the maximum length of the logged requests and responses (-1 for no limit)
+     */
+    public LoggingRestElasticsearchClient(RestElasticsearchClient delegate, int maxPayloadLength) {
+        super(delegate);
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    @Override
+    protected <R> R invoke(String operation, Object request, ClientCall<R> call) throws IOException {
+        if (!ClientLogger.isEnabled()) {
+            return call.execute();
+        }
+        String logId = ClientLogger.newLogId();
+        ClientLogger.logRequest(logId, request, maxPayloadLength);
+        try {
+            R response = call.execute();
+            ClientLogger.logResponse(logId, response, maxPayloadLength);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            ClientLogger.logFailure(logId, e);
+            throw e;
+        }
+    }
+
+    @Override
+    protected <R> ActionListener<R> decorate(String operation, Object request, ActionListener<R> listener) {
+        if (!ClientLogger.isEnabled()) {
+            return listener;
+        }
+        String logId = ClientLogger.newLogId();
+        ClientLogger.logRequest(logId, request, maxPayloadLength);
+        return new ActionListener<R>() {
+            @Override
+            public void onResponse(R response) {
+                ClientLogger.logResponse(logId, response, maxPayloadLength);
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                ClientLogger.logFailure(logId, e);
+                listener.onFailure(e);
+            }
+        };
+    }
+}
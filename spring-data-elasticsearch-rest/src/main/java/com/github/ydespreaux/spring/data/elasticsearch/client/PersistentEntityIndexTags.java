@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Index tag of the client meters computed from the persistent entities: the requests targeting the index, the aliases
+ * or the time based indices of an entity are tagged with the alias of the entity (or its index name), so that the
+ * cardinality of the tag stays bounded by the number of entities. The indices matching no entity are tagged
+ * {@link #OTHER}.
+ * <p>
+ * The concrete indices of a time based entity are recognized by the literal prefix of the index pattern
+ * ({@code 'plot-'yyyy} or {@code plot-%s}), the indices of a pattern without literal prefix are tagged {@link #OTHER}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class PersistentEntityIndexTags implements Function<String, String> {
+
+    public static final String OTHER = "other";
+
+    private static final int MAX_CACHED_INDICES = 1024;
+
+    private final MappingContext<? extends ElasticsearchPersistentEntity<?>, ?> mappingContext;
+    private final Map<String, String> tags = new ConcurrentHashMap<>();
+
+    /**
+     * @param mappingContext the mapping context
+     */
+    public PersistentEntityIndexTags(MappingContext<? extends ElasticsearchPersistentEntity<?>, ?> mappingContext) {
+        this.mappingContext = mappingContext;
+    }
+
+    @Override
+    public String apply(String index) {
+        if (ClientRequests.NONE.equals(index) || ClientRequests.MULTIPLE.equals(index)) {
+            return index;
+        }
+        String tag = tags.get(index);
+        if (tag == null) {
+            tag = resolve(index);
+            if (!OTHER.equals(tag) && tags.size() < MAX_CACHED_INDICES) {
+                tags.put(index, tag);
+            }
+        }
+        return tag;
+    }
+
+    private String resolve(String index) {
+        String tag = OTHER;
+        int prefixLength = 0;
+        for (ElasticsearchPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (matches(entity, index)) {
+                return tagOf(entity);
+            }
+            String prefix = Boolean.TRUE.equals(entity.isIndexTimeBased()) ? literalPrefix(entity.getIndexPattern()) : null;
+            if (prefix != null && prefix.length() > prefixLength && index.startsWith(prefix)) {
+                tag = tagOf(entity);
+                prefixLength = prefix.length();
+            }
+        }
+        return tag;
+    }
+
+    private static boolean matches(ElasticsearchPersistentEntity<?> entity, String index) {
+        if (entity.getAlias() != null && index.equals(entity.getAlias().name())) {
+            return true;
+        }
+        if (entity.isRolloverIndex() && index.equals(entity.getRolloverConfig().getAlias().getName())) {
+            return true;
+        }
+        return !Boolean.TRUE.equals(entity.isIndexTimeBased()) && index.equals(entity.getAliasOrIndexReader());
+    }
+
+    private static String tagOf(ElasticsearchPersistentEntity<?> entity) {
+        if (entity.getAlias() != null) {
+            return entity.getAlias().name();
+        }
+        if (entity.isRolloverIndex()) {
+            return entity.getRolloverConfig().getAlias().getName();
+        }
+        String reader = entity.getAliasOrIndexReader();
+        return StringUtils.hasText(reader) ? reader : entity.getType().getSimpleName();
+    }
+
+    /**
+     * @param pattern the index pattern, a date time formatter pattern or a format string
+     * @return the literal characters starting the index pattern, null if the pattern does not start with a literal
+     */
+    @Nullable
+    static String literalPrefix(@Nullable String pattern) {
+        if (!StringUtils.hasText(pattern)) {
+            return null;
+        }
+        String prefix;
+        if (pattern.charAt(0) == '\'') {
+            int end = pattern.indexOf('\'', 1);
+            prefix = end < 0 ? null : pattern.substring(1, end);
+        } else {
+            int end = pattern.indexOf('%');
+            prefix = end < 0 ? null : pattern.substring(0, end);
+        }
+        return StringUtils.hasText(prefix) ? prefix : null;
+    }
+}
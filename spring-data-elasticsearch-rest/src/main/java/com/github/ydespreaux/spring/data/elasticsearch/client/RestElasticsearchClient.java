@@ -20,6 +20,7 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.client;
 
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
 import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsRequest;
@@ -208,6 +209,18 @@ public interface RestElasticsearchClient {
         return clearScroll(request, getDefaultRequestOptions());
     }
 
+    default void searchScrollAsync(SearchScrollRequest request, ActionListener<SearchResponse> listener) {
+        searchScrollAsync(request, getDefaultRequestOptions(), listener);
+    }
+
+    default void multiGetAsync(MultiGetRequest request, ActionListener<MultiGetResponse> listener) {
+        multiGetAsync(request, getDefaultRequestOptions(), listener);
+    }
+
+    default void searchAsync(SearchRequest request, ActionListener<SearchResponse> listener) {
+        searchAsync(request, getDefaultRequestOptions(), listener);
+    }
+
     default MultiSearchResponse multiSearch(MultiSearchRequest request) throws IOException {
         return multiSearch(request, getDefaultRequestOptions());
     }
@@ -280,6 +293,41 @@ public interface RestElasticsearchClient {
 
     ClearScrollResponse clearScroll(ClearScrollRequest request, RequestOptions options) throws IOException;
 
+    // Asynchronous operations : executed synchronously in the calling thread unless the client overrides them
+
+    default void searchScrollAsync(SearchScrollRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+        SearchResponse response;
+        try {
+            response = searchScroll(request, options);
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(response);
+    }
+
+    default void multiGetAsync(MultiGetRequest request, RequestOptions options, ActionListener<MultiGetResponse> listener) {
+        MultiGetResponse response;
+        try {
+            response = multiGet(request, options);
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(response);
+    }
+
+    default void searchAsync(SearchRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+        SearchResponse response;
+        try {
+            response = search(request, options);
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(response);
+    }
+
     MultiSearchResponse multiSearch(MultiSearchRequest request, RequestOptions options) throws IOException;
 
     BulkByScrollResponse deleteBy(DeleteByQueryRequest request, RequestOptions options) throws IOException;
@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
+import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsRequest;
+import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsResponse;
+import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsRequest;
+import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsResponse;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexResponse;
+import org.elasticsearch.action.admin.indices.mapping.get.GetFieldMappingsRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetFieldMappingsResponse;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
+import org.elasticsearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
+import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverResponse;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesRequest;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesResponse;
+import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.*;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.script.mustache.MultiSearchTemplateRequest;
+import org.elasticsearch.script.mustache.MultiSearchTemplateResponse;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.elasticsearch.script.mustache.SearchTemplateResponse;
+
+import java.io.IOException;
+
+/**
+ * Base class of the decorators of a {@link RestElasticsearchClient} : every request of the delegate client goes through
+ * {@link #invoke(String, Object, ClientCall)}, or {@link #decorate(String, Object, ActionListener)} for the asynchronous
+ * requests.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public abstract class RestElasticsearchClientDecorator implements RestElasticsearchClient {
+
+    private final RestElasticsearchClient delegate;
+
+    protected RestElasticsearchClientDecorator(RestElasticsearchClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the decorated client
+     */
+    public RestElasticsearchClient getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Execute a request of the delegate client.
+     *
+     * @param operation the operation name
+     * @param request   the request
+     * @param call      the call of the delegate client
+     * @param <R>       the response type
+     * @return the response
+     * @throws IOException if the request failed
+     */
+    protected abstract <R> R invoke(String operation, Object request, ClientCall<R> call) throws IOException;
+
+    /**
+     * Decorate the listener of an asynchronous request.
+     *
+     * @param operation the operation name
+     * @param request   the request
+     * @param listener  the listener of the caller
+     * @param <R>       the response type
+     * @return the listener given to the delegate client
+     */
+    protected abstract <R> ActionListener<R> decorate(String operation, Object request, ActionListener<R> listener);
+
+    @Override
+    public RequestOptions getDefaultRequestOptions() {
+        return delegate.getDefaultRequestOptions();
+    }
+
+    @Override
+    public RestHighLevelClient getRestHighLevelClient() {
+        return delegate.getRestHighLevelClient();
+    }
+
+    @Override
+    public ClusterHealthResponse clusterHealth(ClusterHealthRequest request, RequestOptions options) throws IOException {
+        return invoke("clusterHealth", request, () -> delegate.clusterHealth(request, options));
+    }
+
+    @Override
+    public ClusterUpdateSettingsResponse clusterPutSettings(ClusterUpdateSettingsRequest request, RequestOptions options) throws IOException {
+        return invoke("clusterPutSettings", request, () -> delegate.clusterPutSettings(request, options));
+    }
+
+    @Override
+    public ClusterGetSettingsResponse clusterGetSettings(ClusterGetSettingsRequest request, RequestOptions options) throws IOException {
+        return invoke("clusterGetSettings", request, () -> delegate.clusterGetSettings(request, options));
+    }
+
+    @Override
+    public GetSettingsResponse getSettings(GetSettingsRequest request, RequestOptions options) throws IOException {
+        return invoke("getSettings", request, () -> delegate.getSettings(request, options));
+    }
+
+    @Override
+    public GetAliasesResponse existsAlias(GetAliasesRequest request, RequestOptions options) throws IOException {
+        return invoke("existsAlias", request, () -> delegate.existsAlias(request, options));
+    }
+
+    @Override
+    public GetIndexResponse getIndex(GetIndexRequest request, RequestOptions options) throws IOException {
+        return invoke("getIndex", request, () -> delegate.getIndex(request, options));
+    }
+
+    @Override
+    public Boolean indicesExist(GetIndexRequest request, RequestOptions options) throws IOException {
+        return invoke("indicesExist", request, () -> delegate.indicesExist(request, options));
+    }
+
+    @Override
+    public AcknowledgedResponse indexPutSettings(UpdateSettingsRequest request, RequestOptions options) throws IOException {
+        return invoke("indexPutSettings", request, () -> delegate.indexPutSettings(request, options));
+    }
+
+    @Override
+    public AcknowledgedResponse putTemplate(PutIndexTemplateRequest request, RequestOptions options) throws IOException {
+        return invoke("putTemplate", request, () -> delegate.putTemplate(request, options));
+    }
+
+    @Override
+    public GetIndexTemplatesResponse getTemplates(GetIndexTemplatesRequest request, RequestOptions options) throws IOException {
+        return invoke("getTemplates", request, () -> delegate.getTemplates(request, options));
+    }
+
+    @Override
+    public CreateIndexResponse createIndex(CreateIndexRequest request, RequestOptions options) throws IOException {
+        return invoke("createIndex", request, () -> delegate.createIndex(request, options));
+    }
+
+    @Override
+    public AcknowledgedResponse deleteIndex(DeleteIndexRequest request, RequestOptions options) throws IOException {
+        return invoke("deleteIndex", request, () -> delegate.deleteIndex(request, options));
+    }
+
+    @Override
+    public AcknowledgedResponse updateAliases(IndicesAliasesRequest request, RequestOptions options) throws IOException {
+        return invoke("updateAliases", request, () -> delegate.updateAliases(request, options));
+    }
+
+    @Override
+    public GetMappingsResponse getMappings(GetMappingsRequest request, RequestOptions options) throws IOException {
+        return invoke("getMappings", request, () -> delegate.getMappings(request, options));
+    }
+
+    @Override
+    public GetFieldMappingsResponse getFieldMapping(GetFieldMappingsRequest request, RequestOptions options) throws IOException {
+        return invoke("getFieldMapping", request, () -> delegate.getFieldMapping(request, options));
+    }
+
+    @Override
+    public AcknowledgedResponse putMapping(PutMappingRequest request, RequestOptions options) throws IOException {
+        return invoke("putMapping", request, () -> delegate.putMapping(request, options));
+    }
+
+    @Override
+    public RefreshResponse refresh(RefreshRequest request, RequestOptions options) throws IOException {
+        return invoke("refresh", request, () -> delegate.refresh(request, options));
+    }
+
+    @Override
+    public SearchTemplateResponse searchTemplate(SearchTemplateRequest request, RequestOptions options) throws IOException {
+        return invoke("searchTemplate", request, () -> delegate.searchTemplate(request, options));
+    }
+
+    @Override
+    public MultiSearchTemplateResponse multiSearchTemplate(MultiSearchTemplateRequest request, RequestOptions options) throws IOException {
+        return invoke("multiSearchTemplate", request, () -> delegate.multiSearchTemplate(request, options));
+    }
+
+    @Override
+    public RolloverResponse rollover(RolloverRequest request, RequestOptions options) throws IOException {
+        return invoke("rollover", request, () -> delegate.rollover(request, options));
+    }
+
+    @Override
+    public GetAliasesResponse getAlias(GetAliasesRequest request, RequestOptions options) throws IOException {
+        return invoke("getAlias", request, () -> delegate.getAlias(request, options));
+    }
+
+    @Override
+    public Boolean exists(GetRequest request, RequestOptions options) throws IOException {
+        return invoke("exists", request, () -> delegate.exists(request, options));
+    }
+
+    @Override
+    public IndexResponse index(IndexRequest request, RequestOptions options) throws IOException {
+        return invoke("index", request, () -> delegate.index(request, options));
+    }
+
+    @Override
+    public BulkResponse bulk(BulkRequest request, RequestOptions options) throws IOException {
+        return invoke("bulk", request, () -> delegate.bulk(request, options));
+    }
+
+    @Override
+    public UpdateResponse update(UpdateRequest request, RequestOptions options) throws IOException {
+        return invoke("update", request, () -> delegate.update(request, options));
+    }
+
+    @Override
+    public DeleteResponse delete(DeleteRequest request, RequestOptions options) throws IOException {
+        return invoke("delete", request, () -> delegate.delete(request, options));
+    }
+
+    @Override
+    public GetResponse get(GetRequest request, RequestOptions options) throws IOException {
+        return invoke("get", request, () -> delegate.get(request, options));
+    }
+
+    @Override
+    public MultiGetResponse multiGet(MultiGetRequest request, RequestOptions options) throws IOException {
+        return invoke("multiGet", request, () -> delegate.multiGet(request, options));
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest request, RequestOptions options) throws IOException {
+        return invoke("search", request, () -> delegate.search(request, options));
+    }
+
+    @Override
+    public SearchResponse searchScroll(SearchScrollRequest request, RequestOptions options) throws IOException {
+        return invoke("searchScroll", request, () -> delegate.searchScroll(request, options));
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest request, RequestOptions options) throws IOException {
+        return invoke("clearScroll", request, () -> delegate.clearScroll(request, options));
+    }
+
+    @Override
+    public void searchScrollAsync(SearchScrollRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+        delegate.searchScrollAsync(request, options, decorate("searchScroll", request, listener));
+    }
+
+    @Override
+    public void multiGetAsync(MultiGetRequest request, RequestOptions options, ActionListener<MultiGetResponse> listener) {
+        delegate.multiGetAsync(request, options, decorate("multiGet", request, listener));
+    }
+
+    @Override
+    public void searchAsync(SearchRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+        delegate.searchAsync(request, options, decorate("search", request, listener));
+    }
+
+    @Override
+    public MultiSearchResponse multiSearch(MultiSearchRequest request, RequestOptions options) throws IOException {
+        return invoke("multiSearch", request, () -> delegate.multiSearch(request, options));
+    }
+
+    @Override
+    public BulkByScrollResponse deleteBy(DeleteByQueryRequest request, RequestOptions options) throws IOException {
+        return invoke("deleteBy", request, () -> delegate.deleteBy(request, options));
+    }
+
+    /**
+     * A request of the delegate client.
+     *
+     * @param <R> the response type
+     */
+    @FunctionalInterface
+    protected interface ClientCall<R> {
+
+        R execute() throws IOException;
+    }
+}
@@ -20,10 +20,8 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.client.reactive;
 
-import com.github.ydespreaux.spring.data.elasticsearch.client.ClientLogger;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.ActionListener;
-import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
 import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsRequest;
@@ -101,170 +99,170 @@ public class DefaultReactiveRestElasticsearchClient implements ReactiveRestElast
 
     @Override
     public Mono<ClusterHealthResponse> clusterHealth(ClusterHealthRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.cluster().healthAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.cluster().healthAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<ClusterUpdateSettingsResponse> clusterPutSettings(ClusterUpdateSettingsRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.cluster().putSettingsAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.cluster().putSettingsAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<ClusterGetSettingsResponse> clusterPutSettings(ClusterGetSettingsRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.cluster().getSettingsAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.cluster().getSettingsAsync(request, options, listenerToSink(sink)));
     }
 
     // Admin Indices
     @Override
     public Mono<GetSettingsResponse> getSettings(GetSettingsRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getSettingsAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getSettingsAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetAliasesResponse> existsAlias(GetAliasesRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getAliasAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getAliasAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetIndexResponse> getIndex(GetIndexRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<Boolean> indicesExist(GetIndexRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().existsAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().existsAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<AcknowledgedResponse> indexPutSettings(UpdateSettingsRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().putSettingsAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().putSettingsAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<AcknowledgedResponse> putTemplate(PutIndexTemplateRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().putTemplateAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().putTemplateAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetIndexTemplatesResponse> getTemplates(GetIndexTemplatesRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getTemplateAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getTemplateAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<CreateIndexResponse> createIndex(CreateIndexRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().createAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().createAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<AcknowledgedResponse> deleteIndex(DeleteIndexRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().deleteAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().deleteAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<AcknowledgedResponse> updateAliases(IndicesAliasesRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().updateAliasesAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().updateAliasesAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetMappingsResponse> getMappings(GetMappingsRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getMappingAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getMappingAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetFieldMappingsResponse> getFieldMapping(GetFieldMappingsRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getFieldMappingAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getFieldMappingAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<AcknowledgedResponse> putMapping(PutMappingRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().putMappingAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().putMappingAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<RefreshResponse> refresh(RefreshRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().refreshAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().refreshAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<SearchTemplateResponse> searchTemplate(SearchTemplateRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.searchTemplateAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.searchTemplateAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<MultiSearchTemplateResponse> multiSearchTemplate(MultiSearchTemplateRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.msearchTemplateAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.msearchTemplateAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<RolloverResponse> rollover(RolloverRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().rolloverAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().rolloverAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetAliasesResponse> getAlias(GetAliasesRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indices().getAliasAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indices().getAliasAsync(request, options, listenerToSink(sink)));
     }
 
     // Default operations
 
     @Override
     public Mono<Boolean> exists(GetRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.existsAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.existsAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<IndexResponse> index(IndexRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.indexAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.indexAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<BulkResponse> bulk(BulkRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.bulkAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.bulkAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<UpdateResponse> update(UpdateRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.updateAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.updateAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<DeleteResponse> delete(DeleteRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.deleteAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.deleteAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<BulkByScrollResponse> deleteBy(DeleteByQueryRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.deleteByQueryAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.deleteByQueryAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<GetResponse> get(GetRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.getAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.getAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<MultiGetResponse> multiGet(MultiGetRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.mgetAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.mgetAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<SearchResponse> search(SearchRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.searchAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.searchAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<SearchResponse> searchScroll(SearchScrollRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.scrollAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.scrollAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<ClearScrollResponse> clearScroll(ClearScrollRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.clearScrollAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.clearScrollAsync(request, options, listenerToSink(sink)));
     }
 
     @Override
     public Mono<MultiSearchResponse> multiSearch(MultiSearchRequest request, RequestOptions options) {
-        return Mono.create(sink -> this.client.msearchAsync(request, options, listenerToSink(logRequest(request), sink)));
+        return Mono.create(sink -> this.client.msearchAsync(request, options, listenerToSink(sink)));
     }
 
     /**
@@ -272,25 +270,17 @@ public class DefaultReactiveRestElasticsearchClient implements ReactiveRestElast
      * @param <T>
      * @return
      */
-    private <T> ActionListener<T> listenerToSink(String logId, MonoSink<T> sink) {
+    private <T> ActionListener<T> listenerToSink(MonoSink<T> sink) {
         return new ActionListener<T>() {
             @Override
             public void onResponse(T response) {
-                ClientLogger.logResponse(logId, response.toString());
                 sink.success(response);
             }
 
             @Override
             public void onFailure(Exception e) {
-                ClientLogger.logFailure(logId, e);
                 sink.error(e);
             }
         };
     }
-
-    private String logRequest(ActionRequest request){
-        String logId = ClientLogger.newLogId();
-        ClientLogger.logRequest(logId, request);
-        return logId;
-    }
 }
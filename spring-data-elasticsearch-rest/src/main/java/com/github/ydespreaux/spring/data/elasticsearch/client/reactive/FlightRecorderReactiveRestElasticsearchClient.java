@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client.reactive;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.ClientCallEvent;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator emitting a {@link ClientCallEvent} for each request sent by a {@link ReactiveRestElasticsearchClient}.
+ * The event starts at the subscription. The cost is negligible when no flight recording is active.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class FlightRecorderReactiveRestElasticsearchClient extends ReactiveRestElasticsearchClientDecorator {
+
+    /**
+     * @param delegate the decorated client
+     */
+    public FlightRecorderReactiveRestElasticsearchClient(ReactiveRestElasticsearchClient delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected <R> Mono<R> decorate(String operation, Object request, Mono<R> response) {
+        return Mono.defer(() -> {
+            ClientCallEvent event = ClientCallEvent.start(operation);
+            return response
+                    .doOnSuccess(result -> event.complete(request, result, null))
+                    .doOnError(e -> event.complete(request, null, e));
+        });
+    }
+}
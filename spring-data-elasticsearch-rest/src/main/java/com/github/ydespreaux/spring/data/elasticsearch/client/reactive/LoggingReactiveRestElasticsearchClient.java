@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.client.reactive;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.ClientLogger;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator logging the requests and the responses of a {@link ReactiveRestElasticsearchClient} with the
+ * {@link ClientLogger}. The requests and the responses are rendered only if the {@link ClientLogger} is enabled.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class LoggingReactiveRestElasticsearchClient extends ReactiveRestElasticsearchClientDecorator {
+
+    private final int maxPayloadLength;
+
+    /**
+     * @param delegate the decorated client
+     */
+    public LoggingReactiveRestElasticsearchClient(ReactiveRestElasticsearchClient delegate) {
+        this(delegate, ClientLogger.DEFAULT_MAX_PAYLOAD_LENGTH);
+    }
+
+    /**
+     * @param delegate         the decorated client
+     * @param maxPayloadLength the maximum length of the logged requests and responses (-1 for no limit)
+     */
+    public LoggingReactiveRestElasticsearchClient(ReactiveRestElasticsearchClient delegate, int maxPayloadLength) {
+        super(delegate);
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    @Override
+    protected <R> Mono<R> decorate(String operation, Object request, Mono<R> response) {
+        return Mono.defer(() -> {
+            if (!ClientLogger.isEnabled()) {
+                return response;
+            }
+            String logId = ClientLogger.newLogId();
+            ClientLogger.logRequest(logId, request, maxPayloadLength);
+            return response
+                    .doOnSuccess(result -> ClientLogger.logResponse(logId, result, maxPayloadLength))
+                    .doOnError(e -> ClientLogger.logFailure(logId, e));
+        });
+    }
+}
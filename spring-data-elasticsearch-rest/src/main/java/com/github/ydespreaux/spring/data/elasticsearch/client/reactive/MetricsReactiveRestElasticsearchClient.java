@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client.reactive;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.ClientMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator recording the {@link ClientMetrics} of the requests sent by a {@link ReactiveRestElasticsearchClient}.
+ * The latency is measured from the subscription to the completion of the response.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class MetricsReactiveRestElasticsearchClient extends ReactiveRestElasticsearchClientDecorator {
+
+    private final ClientMetrics metrics;
+
+    /**
+     * @param delegate the decorated client
+     * @param metrics  the client metrics
+     */
+    public MetricsReactiveRestElasticsearchClient(ReactiveRestElasticsearchClient delegate, ClientMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected <R> Mono<R> decorate(String operation, Object request, Mono<R> response) {
+        return Mono.defer(() -> {
+            long startTime = metrics.startTime();
+            return response
+                    .doOnSuccess(result -> metrics.record(operation, request, result, null, startTime))
+                    .doOnError(e -> metrics.record(operation, request, null, e, startTime));
+        });
+    }
+}
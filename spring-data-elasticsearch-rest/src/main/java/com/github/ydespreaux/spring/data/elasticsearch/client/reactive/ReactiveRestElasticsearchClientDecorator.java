@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.client.reactive;
+
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
+import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsRequest;
+import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsResponse;
+import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsRequest;
+import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsResponse;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexResponse;
+import org.elasticsearch.action.admin.indices.mapping.get.GetFieldMappingsRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetFieldMappingsResponse;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
+import org.elasticsearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
+import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverResponse;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesRequest;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesResponse;
+import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.*;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.script.mustache.MultiSearchTemplateRequest;
+import org.elasticsearch.script.mustache.MultiSearchTemplateResponse;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.elasticsearch.script.mustache.SearchTemplateResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Base class of the decorators of a {@link ReactiveRestElasticsearchClient} : the response of every request of the
+ * delegate client goes through {@link #decorate(String, Object, Mono)}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public abstract class ReactiveRestElasticsearchClientDecorator implements ReactiveRestElasticsearchClient {
+
+    private final ReactiveRestElasticsearchClient delegate;
+
+    protected ReactiveRestElasticsearchClientDecorator(ReactiveRestElasticsearchClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the decorated client
+     */
+    public ReactiveRestElasticsearchClient getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Decorate the response of a request.
+     *
+     * @param operation the operation name
+     * @param request   the request
+     * @param response  the response of the delegate client, the request is sent on subscription
+     * @param <R>       the response type
+     * @return the decorated response
+     */
+    protected abstract <R> Mono<R> decorate(String operation, Object request, Mono<R> response);
+
+    @Override
+    public RequestOptions getDefaultRequestOptions() {
+        return delegate.getDefaultRequestOptions();
+    }
+
+    @Override
+    public RestHighLevelClient getRestHighLevelClient() {
+        return delegate.getRestHighLevelClient();
+    }
+
+    @Override
+    public Mono<ClusterHealthResponse> clusterHealth(ClusterHealthRequest request, RequestOptions options) {
+        return decorate("clusterHealth", request, delegate.clusterHealth(request, options));
+    }
+
+    @Override
+    public Mono<ClusterUpdateSettingsResponse> clusterPutSettings(ClusterUpdateSettingsRequest request, RequestOptions options) {
+        return decorate("clusterPutSettings", request, delegate.clusterPutSettings(request, options));
+    }
+
+    @Override
+    public Mono<ClusterGetSettingsResponse> clusterPutSettings(ClusterGetSettingsRequest request, RequestOptions options) {
+        return decorate("clusterPutSettings", request, delegate.clusterPutSettings(request, options));
+    }
+
+    @Override
+    public Mono<GetSettingsResponse> getSettings(GetSettingsRequest request, RequestOptions options) {
+        return decorate("getSettings", request, delegate.getSettings(request, options));
+    }
+
+    @Override
+    public Mono<GetAliasesResponse> existsAlias(GetAliasesRequest request, RequestOptions options) {
+        return decorate("existsAlias", request, delegate.existsAlias(request, options));
+    }
+
+    @Override
+    public Mono<GetIndexResponse> getIndex(GetIndexRequest request, RequestOptions options) {
+        return decorate("getIndex", request, delegate.getIndex(request, options));
+    }
+
+    @Override
+    public Mono<Boolean> indicesExist(GetIndexRequest request, RequestOptions options) {
+        return decorate("indicesExist", request, delegate.indicesExist(request, options));
+    }
+
+    @Override
+    public Mono<AcknowledgedResponse> indexPutSettings(UpdateSettingsRequest request, RequestOptions options) {
+        return decorate("indexPutSettings", request, delegate.indexPutSettings(request, options));
+    }
+
+    @Override
+    public Mono<AcknowledgedResponse> putTemplate(PutIndexTemplateRequest request, RequestOptions options) {
+        return decorate("putTemplate", request, delegate.putTemplate(request, options));
+    }
+
+    @Override
+    public Mono<GetIndexTemplatesResponse> getTemplates(GetIndexTemplatesRequest request, RequestOptions options) {
+        return decorate("getTemplates", request, delegate.getTemplates(request, options));
+    }
+
+    @Override
+    public Mono<CreateIndexResponse> createIndex(CreateIndexRequest request, RequestOptions options) {
+        return decorate("createIndex", request, delegate.createIndex(request, options));
+    }
+
+    @Override
+    public Mono<AcknowledgedResponse> deleteIndex(DeleteIndexRequest request, RequestOptions options) {
+        return decorate("deleteIndex", request, delegate.deleteIndex(request, options));
+    }
+
+    @Override
+    public Mono<AcknowledgedResponse> updateAliases(IndicesAliasesRequest request, RequestOptions options) {
+        return decorate("updateAliases", request, delegate.updateAliases(request, options));
+    }
+
+    @Override
+    public Mono<GetMappingsResponse> getMappings(GetMappingsRequest request, RequestOptions options) {
+        return decorate("getMappings", request, delegate.getMappings(request, options));
+    }
+
+    @Override
+    public Mono<GetFieldMappingsResponse> getFieldMapping(GetFieldMappingsRequest request, RequestOptions options) {
+        return decorate("getFieldMapping", request, delegate.getFieldMapping(request, options));
+    }
+
+    @Override
+    public Mono<AcknowledgedResponse> putMapping(PutMappingRequest request, RequestOptions options) {
+        return decorate("putMapping", request, delegate.putMapping(request, options));
+    }
+
+    @Override
+    public Mono<RefreshResponse> refresh(RefreshRequest request, RequestOptions options) {
+        return decorate("refresh", request, delegate.refresh(request, options));
+    }
+
+    @Override
+    public Mono<SearchTemplateResponse> searchTemplate(SearchTemplateRequest request, RequestOptions options) {
+        return decorate("searchTemplate", request, delegate.searchTemplate(request, options));
+    }
+
+    @Override
+    public Mono<MultiSearchTemplateResponse> multiSearchTemplate(MultiSearchTemplateRequest request, RequestOptions options) {
+        return decorate("multiSearchTemplate", request, delegate.multiSearchTemplate(request, options));
+    }
+
+    @Override
+    public Mono<RolloverResponse> rollover(RolloverRequest request, RequestOptions options) {
+        return decorate("rollover", request, delegate.rollover(request, options));
+    }
+
+    @Override
+    public Mono<GetAliasesResponse> getAlias(GetAliasesRequest request, RequestOptions options) {
+        return decorate("getAlias", request, delegate.getAlias(request, options));
+    }
+
+    @Override
+    public Mono<Boolean> exists(GetRequest request, RequestOptions options) {
+        return decorate("exists", request, delegate.exists(request, options));
+    }
+
+    @Override
+    public Mono<IndexResponse> index(IndexRequest request, RequestOptions options) {
+        return decorate("index", request, delegate.index(request, options));
+    }
+
+    @Override
+    public Mono<BulkResponse> bulk(BulkRequest request, RequestOptions options) {
+        return decorate("bulk", request, delegate.bulk(request, options));
+    }
+
+    @Override
+    public Mono<UpdateResponse> update(UpdateRequest request, RequestOptions options) {
+        return decorate("update", request, delegate.update(request, options));
+    }
+
+    @Override
+    public Mono<DeleteResponse> delete(DeleteRequest request, RequestOptions options) {
+        return decorate("delete", request, delegate.delete(request, options));
+    }
+
+    @Override
+    public Mono<BulkByScrollResponse> deleteBy(DeleteByQueryRequest request, RequestOptions options) {
+        return decorate("deleteBy", request, delegate.deleteBy(request, options));
+    }
+
+    @Override
+    public Mono<GetResponse> get(GetRequest request, RequestOptions options) {
+        return decorate("get", request, delegate.get(request, options));
+    }
+
+    @Override
+    public Mono<MultiGetResponse> multiGet(MultiGetRequest request, RequestOptions options) {
+        return decorate("multiGet", request, delegate.multiGet(request, options));
+    }
+
+    @Override
+    public Mono<SearchResponse> search(SearchRequest request, RequestOptions options) {
+        return decorate("search", request, delegate.search(request, options));
+    }
+
+    @Override
+    public Mono<SearchResponse> searchScroll(SearchScrollRequest request, RequestOptions options) {
+        return decorate("searchScroll", request, delegate.searchScroll(request, options));
+    }
+
+    @Override
+    public Mono<ClearScrollResponse> clearScroll(ClearScrollRequest request, RequestOptions options) {
+        return decorate("clearScroll", request, delegate.clearScroll(request, options));
+    }
+
+    @Override
+    public Mono<MultiSearchResponse> multiSearch(MultiSearchRequest request, RequestOptions options) {
+        return decorate("multiSearch", request, delegate.multiSearch(request, options));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.config;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.elasticsearch.ElasticsearchException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Store the search templates of the scripts at startup : the id of a template is the base name of its script.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Slf4j
+public class IngestSearchTemplate implements ApplicationContextAware {
+
+    private final SearchTemplateProperties properties;
+    private final ElasticsearchOperations operations;
+    private ApplicationContext applicationContext;
+
+    public IngestSearchTemplate(SearchTemplateProperties properties, ElasticsearchOperations operations) {
+        this.properties = properties;
+        this.operations = operations;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     *
+     */
+    public void ingest() {
+        if (this.properties.getScripts().isEmpty()) {
+            return;
+        }
+        Assert.notNull(this.applicationContext, "ApplicationContext is required");
+        for (String script : this.properties.getScripts()) {
+            Resource resource = this.applicationContext.getResource(script);
+            if (!resource.exists()) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Resource {} not found", resource);
+                }
+                continue;
+            }
+            this.operations.putSearchTemplate(FilenameUtils.getBaseName(resource.getFilename()), readSource(resource));
+        }
+    }
+
+    private String readSource(Resource resource) {
+        try (InputStream input = resource.getInputStream()) {
+            return StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while reading the search template " + resource, e);
+        }
+    }
+}
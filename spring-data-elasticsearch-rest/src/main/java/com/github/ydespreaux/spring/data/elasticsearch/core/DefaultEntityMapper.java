@@ -35,12 +35,16 @@ import com.github.ydespreaux.spring.data.elasticsearch.annotations.Score;
 import com.github.ydespreaux.spring.data.elasticsearch.annotations.ScriptedField;
 import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchTypeModule;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
 
 /**
@@ -109,6 +113,19 @@ public class DefaultEntityMapper implements EntityMapper {
         }
     }
 
+    /*
+     * (non-Javadoc)
+     * @see com.github.ydespreaux.spring.data.elasticsearch.core.EntityMapper#mapToBytes(java.lang.Object)
+     */
+    @Override
+    public <T> BytesReference mapToBytes(T object) {
+        try {
+            return new BytesArray(mapper.writeValueAsBytes(object));
+        } catch (JsonProcessingException e) {
+            throw new ElasticsearchException("Json processing failed : ", e);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * @see org.springframework.data.elasticsearch.core.EntityMapper#mapToObject(java.lang.String, java.lang.Class)
@@ -116,7 +133,47 @@ public class DefaultEntityMapper implements EntityMapper {
     @Override
     public <S extends T, T> S mapToObject(String source, Class<T> clazz) {
         try {
-            return (S) mapper.readValue(source, this.registry.getEntityClassFromJson(clazz, source));
+            return (S) mapper.readValue(source, clazz);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Json processing failed : ", e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.ydespreaux.spring.data.elasticsearch.core.EntityMapper#mapToObject(org.elasticsearch.common.bytes.BytesReference, java.lang.Class)
+     */
+    @Override
+    public <S extends T, T> S mapToObject(BytesReference source, Class<T> clazz) {
+        BytesRef bytes = source.toBytesRef();
+        return mapToObject(bytes.bytes, bytes.offset, bytes.length, clazz);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.ydespreaux.spring.data.elasticsearch.core.EntityMapper#mapToObject(byte[], java.lang.Class)
+     */
+    @Override
+    public <S extends T, T> S mapToObject(byte[] source, Class<T> clazz) {
+        return mapToObject(source, 0, source.length, clazz);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.ydespreaux.spring.data.elasticsearch.core.EntityMapper#mapToObject(java.io.InputStream, java.lang.Class)
+     */
+    @Override
+    public <S extends T, T> S mapToObject(InputStream source, Class<T> clazz) {
+        try {
+            return (S) mapper.readValue(source, clazz);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Json processing failed : ", e);
+        }
+    }
+
+    private <S extends T, T> S mapToObject(byte[] source, int offset, int length, Class<T> clazz) {
+        try {
+            return (S) mapper.readValue(source, offset, length, clazz);
         } catch (IOException e) {
             throw new ElasticsearchException("Json processing failed : ", e);
         }
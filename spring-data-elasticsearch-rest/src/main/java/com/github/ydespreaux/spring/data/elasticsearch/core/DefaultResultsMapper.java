@@ -23,12 +23,14 @@ package com.github.ydespreaux.spring.data.elasticsearch.core;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.ydespreaux.spring.data.elasticsearch.client.ClientRequests;
 import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchConverter;
 import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.ScrolledPageResult;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.get.MultiGetItemResponse;
 import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.index.get.GetResult;
 import org.elasticsearch.search.SearchHit;
@@ -36,13 +38,14 @@ import org.elasticsearch.search.SearchHits;
 import org.springframework.data.domain.Page;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Yoann Despréaux
@@ -50,15 +53,49 @@ import java.util.stream.Collectors;
  */
 public class DefaultResultsMapper implements ResultsMapper {
 
+    /**
+     * Minimum number of hits mapped by a parallel task.
+     */
+    private static final int MIN_HITS_PER_TASK = 64;
+
     private final EntityMapper entityMapper;
     private final ElasticsearchConverter converter;
 
+    /**
+     * Number of hits from which a page is mapped in parallel (0 to disable).
+     */
+    private int parallelThreshold = 0;
+    private Executor parallelExecutor = ForkJoinPool.commonPool();
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
     public DefaultResultsMapper(final EntityMapper entityMapper, final ElasticsearchConverter converter) {
         Assert.notNull(entityMapper, "EntityMapper must not be null!");
         this.entityMapper = entityMapper;
         this.converter = converter;
     }
 
+    /**
+     * Enable the parallel mapping of the hits for the pages containing at least <code>threshold</code> hits.
+     * The order of the hits is preserved.
+     *
+     * @param threshold the minimum number of hits of a page mapped in parallel (0 to disable)
+     */
+    public void setParallelThreshold(int threshold) {
+        Assert.isTrue(threshold >= 0, "threshold must be positive or zero");
+        this.parallelThreshold = threshold;
+    }
+
+    /**
+     * @param executor    the executor mapping the hits when the parallel mapping is enabled
+     * @param parallelism the maximum number of tasks submitted for a page
+     */
+    public void setParallelExecutor(Executor executor, int parallelism) {
+        Assert.notNull(executor, "executor must not be null");
+        Assert.isTrue(parallelism > 0, "parallelism must be positive");
+        this.parallelExecutor = executor;
+        this.parallelism = parallelism;
+    }
+
     /**
      * @return the entity mapper
      */
@@ -76,7 +113,8 @@ public class DefaultResultsMapper implements ResultsMapper {
     @Nullable
     @Override
     public <S extends T, T> S mapEntity(Collection<DocumentField> values, Class<T> clazz) {
-        return mapEntity(buildJSONFromFields(values), clazz);
+        byte[] source = buildJSONFromFields(values);
+        return source == null ? null : getEntityMapper().mapToObject(source, clazz);
     }
 
     /**
@@ -89,7 +127,17 @@ public class DefaultResultsMapper implements ResultsMapper {
     @Nullable
     @Override
     public <S extends T, T> S mapResult(GetResponse response, Class<T> clazz) {
-        S result = mapEntity(response.getSourceAsString(), clazz);
+        MappingEvent event = MappingEvent.start(MappingEvent.DESERIALIZE, clazz);
+        S result = mapGetResponse(response, clazz);
+        if (event.stop()) {
+            event.record(response.getIndex(), result == null ? 0 : 1, sourceLength(response));
+        }
+        return result;
+    }
+
+    @Nullable
+    private <S extends T, T> S mapGetResponse(GetResponse response, Class<T> clazz) {
+        S result = mapEntity(response.getSourceAsBytesRef(), clazz);
         if (result != null) {
             setPersistentEntity(result, response, (Class<S>) result.getClass());
         }
@@ -106,9 +154,10 @@ public class DefaultResultsMapper implements ResultsMapper {
     @Nullable
     @Override
     public <S extends T, T> S mapEntity(SearchHit hit, Class<T> type) {
-        S result = null;
-        if (!StringUtils.isEmpty(hit.getSourceAsString())) {
-            result = mapEntity(hit.getSourceAsString(), type);
+        S result;
+        BytesReference source = hit.getSourceRef();
+        if (source != null && source.length() > 0) {
+            result = mapEntity(source, type);
         } else {
             result = mapEntity(hit.getFields().values(), type);
         }
@@ -120,9 +169,79 @@ public class DefaultResultsMapper implements ResultsMapper {
 
     @Override
     public <S extends T, T> List<S> mapEntity(SearchHits searchHits, Class<T> type) {
-        List<S> results = new ArrayList<>();
-        searchHits.forEach(hit -> results.add(mapEntity(hit, type)));
-        return results.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        return mapHits(searchHits.getHits(), type);
+    }
+
+    /**
+     * Map the hits, in parallel when the page is large enough.
+     *
+     * @param hits the hits
+     * @param type the entity class
+     * @return the entities in the order of the hits
+     */
+    private <S extends T, T> List<S> mapHits(SearchHit[] hits, Class<T> type) {
+        MappingEvent event = MappingEvent.start(MappingEvent.DESERIALIZE, type);
+        List<S> results = mapHitsInParallel(hits, type);
+        if (event.stop()) {
+            String index = null;
+            long size = 0;
+            for (SearchHit hit : hits) {
+                if (hit != null) {
+                    index = mergeIndex(index, hit.getIndex());
+                    size += hit.getSourceRef() == null ? 0 : hit.getSourceRef().length();
+                }
+            }
+            event.record(index == null ? ClientRequests.NONE : index, results.size(), size);
+        }
+        return results;
+    }
+
+    private <S extends T, T> List<S> mapHitsInParallel(SearchHit[] hits, Class<T> type) {
+        int tasks = parallelThreshold > 0 && hits.length >= parallelThreshold
+                ? Math.min(parallelism, hits.length / MIN_HITS_PER_TASK)
+                : 1;
+        if (tasks <= 1) {
+            List<S> results = new ArrayList<>(hits.length);
+            mapHits(hits, 0, hits.length, type, results);
+            return results;
+        }
+        int chunkSize = (hits.length + tasks - 1) / tasks;
+        List<CompletableFuture<List<S>>> futures = new ArrayList<>(tasks - 1);
+        for (int from = chunkSize; from < hits.length; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, hits.length);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<S> chunk = new ArrayList<>(end - start);
+                mapHits(hits, start, end, type, chunk);
+                return chunk;
+            }, parallelExecutor));
+        }
+        // The calling thread maps the first chunk
+        List<S> results = new ArrayList<>(hits.length);
+        mapHits(hits, 0, chunkSize, type, results);
+        try {
+            for (CompletableFuture<List<S>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private <S extends T, T> void mapHits(SearchHit[] hits, int from, int to, Class<T> type, List<S> results) {
+        for (int i = from; i < to; i++) {
+            SearchHit hit = hits[i];
+            if (hit != null) {
+                S result = mapEntity(hit, type);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+        }
     }
 
 
@@ -135,19 +254,7 @@ public class DefaultResultsMapper implements ResultsMapper {
     @Override
     public <S extends T, T> Page<S> mapResults(SearchResponse response, Class<T> clazz) {
         long totalHits = response.getHits().getTotalHits();
-        List<S> results = new ArrayList<>();
-        for (SearchHit hit : response.getHits()) {
-            if (hit != null) {
-                S result = null;
-                if (!StringUtils.isEmpty(hit.getSourceAsString())) {
-                    result = this.mapEntity(hit.getSourceAsString(), clazz);
-                } else {
-                    result = this.mapEntity(hit.getFields().values(), clazz);
-                }
-                setPersistentEntity(result, hit, (Class<S>) result.getClass());
-                results.add(result);
-            }
-        }
+        List<S> results = mapHits(response.getHits().getHits(), clazz);
         return ScrolledPageResult.of(results, totalHits, response.getScrollId());
     }
 
@@ -159,21 +266,43 @@ public class DefaultResultsMapper implements ResultsMapper {
      */
     @Override
     public <T> List<T> mapResults(MultiGetResponse responses, Class<T> clazz) {
-        LinkedList<T> list = new LinkedList<>();
-        for (MultiGetItemResponse response : responses.getResponses()) {
+        MappingEvent event = MappingEvent.start(MappingEvent.DESERIALIZE, clazz);
+        MultiGetItemResponse[] items = responses.getResponses();
+        List<T> list = new ArrayList<>(items.length);
+        for (MultiGetItemResponse response : items) {
             if (!response.isFailed() && response.getResponse().isExists()) {
-                list.add(mapResult(response.getResponse(), clazz));
+                list.add(mapGetResponse(response.getResponse(), clazz));
             }
         }
+        if (event.stop()) {
+            String index = null;
+            long size = 0;
+            for (MultiGetItemResponse response : items) {
+                index = mergeIndex(index, response.getIndex());
+                if (!response.isFailed()) {
+                    size += sourceLength(response.getResponse());
+                }
+            }
+            event.record(index == null ? ClientRequests.NONE : index, list.size(), size);
+        }
         return list;
     }
 
+    private static String mergeIndex(@Nullable String current, String index) {
+        return current == null || current.equals(index) ? index : ClientRequests.MULTIPLE;
+    }
+
+    private static long sourceLength(GetResponse response) {
+        BytesReference source = response.getSourceAsBytesRef();
+        return source == null ? 0 : source.length();
+    }
+
     /**
      * @param values
      * @return
      */
     @Nullable
-    private String buildJSONFromFields(Collection<DocumentField> values) {
+    private byte[] buildJSONFromFields(Collection<DocumentField> values) {
         JsonFactory nodeFactory = new JsonFactory();
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
         try (JsonGenerator generator = nodeFactory.createGenerator(stream, JsonEncoding.UTF8)) {
@@ -191,7 +320,7 @@ public class DefaultResultsMapper implements ResultsMapper {
             }
             generator.writeEndObject();
             generator.flush();
-            return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+            return stream.toByteArray();
         } catch (IOException e) {
             return null;
         }
@@ -1 +1,1658 @@
-/* * Copyright (C) 2018 Yoann Despréaux * * This program is free software; you can redistribute it and/or modify * it under the terms of the GNU General Public License as published by * the Free Software Foundation; either version 2 of the License, or * (at your option) any later version. * * This program is distributed in the hope that it will be useful, * but WITHOUT ANY WARRANTY; without even the implied warranty of * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the * GNU General Public License for more details. * * You should have received a copy of the GNU General Public License * along with this program; see the file COPYING . If not, write to the * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA. * * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr */package com.github.ydespreaux.spring.data.elasticsearch.core;import com.github.ydespreaux.spring.data.elasticsearch.client.RestElasticsearchClient;import com.github.ydespreaux.spring.data.elasticsearch.config.IngestTemplate;import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchConverter;import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;import com.github.ydespreaux.spring.data.elasticsearch.core.query.*;import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.ScrolledPage;import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.ScrolledPageResult;import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.RolloverTrigger;import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;import lombok.extern.slf4j.Slf4j;import org.elasticsearch.ElasticsearchException;import org.elasticsearch.ElasticsearchStatusException;import org.elasticsearch.action.admin.indices.alias.Alias;import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;import org.elasticsearch.action.admin.indices.get.GetIndexRequest;import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesRequest;import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesResponse;import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;import org.elasticsearch.action.bulk.BulkItemResponse;import org.elasticsearch.action.bulk.BulkRequest;import org.elasticsearch.action.bulk.BulkResponse;import org.elasticsearch.action.delete.DeleteRequest;import org.elasticsearch.action.get.GetRequest;import org.elasticsearch.action.get.GetResponse;import org.elasticsearch.action.index.IndexRequest;import org.elasticsearch.action.index.IndexResponse;import org.elasticsearch.action.search.*;import org.elasticsearch.client.GetAliasesResponse;import org.elasticsearch.client.Request;import org.elasticsearch.client.RequestOptions;import org.elasticsearch.client.Response;import org.elasticsearch.cluster.metadata.AliasMetaData;import org.elasticsearch.index.query.QueryBuilder;import org.elasticsearch.index.query.QueryBuilders;import org.elasticsearch.index.reindex.BulkByScrollResponse;import org.elasticsearch.index.reindex.DeleteByQueryRequest;import org.elasticsearch.rest.RestStatus;import org.elasticsearch.search.SearchHits;import org.elasticsearch.search.builder.SearchSourceBuilder;import org.springframework.context.ApplicationContext;import org.springframework.context.ApplicationContextAware;import org.springframework.core.io.Resource;import org.springframework.data.domain.Page;import org.springframework.data.domain.PageRequest;import org.springframework.data.util.CloseableIterator;import org.springframework.lang.Nullable;import org.springframework.util.Assert;import org.springframework.util.StringUtils;import java.io.IOException;import java.time.Duration;import java.util.*;import static org.elasticsearch.client.Requests.refreshRequest;/** * Class define the Elastic Search operations. * * @author Yoann Despréaux * @since 1.0.0 */@Slf4jpublic class ElasticsearchTemplate extends ElasticsearchTemplateSupport implements ElasticsearchOperations {    /**     * RestHighLevelClient client.     */    private final RestElasticsearchClient client;    /**     *     */    private IngestTemplate ingestTemplate;    /**     * Construct an instance with the given client and elasticsearchConverter parameters.     *     * @param client                 the given client.     * @param elasticsearchConverter the given elasticsearchConverter.     * @param resultsMapper          the given result mapper     */    public ElasticsearchTemplate(final RestElasticsearchClient client,                                 final ElasticsearchConverter elasticsearchConverter,                                 final ResultsMapper resultsMapper,                                 final TriggerManager triggerManager) {        super(elasticsearchConverter, resultsMapper, triggerManager);        this.client = client;    }    /**     * @param ingest     */    public void setIngestTemplate(IngestTemplate ingest) {        this.ingestTemplate = ingest;    }    /**     * @param applicationContext     * @see ApplicationContextAware#setApplicationContext(ApplicationContext)  method     */    @Override    public void setApplicationContext(ApplicationContext applicationContext) {        super.setApplicationContext(applicationContext);        if (this.ingestTemplate != null) {            this.ingestTemplate.setApplicationContext(applicationContext);        }    }    @Override    public void afterPropertiesSet() {        if (this.ingestTemplate != null) {            this.ingestTemplate.ingest();        }    }    /**     * @param request the request parameter     * @return the reponse of the result request     */    @Override    public Response performRequest(Request request) throws IOException {        return client.getRestHighLevelClient().getLowLevelClient().performRequest(request);    }    /**     * @see ElasticsearchOperations#createTemplate(String, String, Boolean)  method     */    @Override    public void createTemplate(String templateName, String location, Boolean createOnly) {        Resource resource = getResource(location);        if (!resource.exists()) {            throw new ElasticsearchException("File {} not found", location);        }        createTemplate(templateName, Collections.singletonList(resource), createOnly);    }    /**     * @see ElasticsearchOperations#createTemplate(String, String, Boolean)  method     */    @Override    public void createTemplate(String templateName, List<Resource> locations, Boolean createOnly) {        if (createOnly && templateExists(templateName)) {            return;        }        PutIndexTemplateRequest templateRequest = this.requestsBuilder().createPutIndexTemplateRequest(templateName, locations);        try {            this.client.putTemplate(templateRequest);            if (log.isDebugEnabled()) {                log.debug("New template {} added : {}", templateName, templateRequest.toString());            }        } catch (IOException e) {            throw new ElasticsearchException("Error for request: " + templateRequest.toString(), e);        }    }    /**     * @see ElasticsearchOperations#templateExists(String)  method     */    @Override    public boolean templateExists(String templateName) {        GetIndexTemplatesRequest request = new GetIndexTemplatesRequest(templateName);        try {            GetIndexTemplatesResponse response = this.client.getTemplates(request);            return !response.getIndexTemplates().isEmpty();        } catch (ElasticsearchStatusException e) {            if (e.status() == RestStatus.NOT_FOUND) {                return false;            }            throw new ElasticsearchException("Error for Get template request: " + request.toString(), e);        } catch (IOException e) {            throw new ElasticsearchException("Error for Get template request: " + request.toString(), e);        }    }    /**     * @see ElasticsearchOperations#deleteTemplate(String)  method     */    @Override    public void deleteTemplate(String templateName) {        if (templateExists(templateName)) {            Request request = this.requestsBuilder().deleteTemplateRequest(templateName);            try {                this.performRequest(request);                if (log.isDebugEnabled()) {                    log.debug("Deleted template {}", templateName);                }            } catch (IOException e) {                throw new ElasticsearchException("Error for delete template request: " + request.toString(), e);            }        }    }    /**     * @see ElasticsearchOperations#deleteIndexByName(String)   method     */    @Override    public boolean deleteIndexByName(String indexName) {        Objects.requireNonNull(indexName);        DeleteIndexRequest request = this.requestsBuilder().deleteIndexRequest(indexName);        try {            boolean deleted = this.client.deleteIndex(request).isAcknowledged();            if (log.isDebugEnabled() && deleted) {                log.debug("Deleted index {}", indexName);            }            return deleted;        } catch (ElasticsearchStatusException e) {            if (e.status() == RestStatus.NOT_FOUND) {                return false;            }            throw buildDeleteException(e, request);        } catch (IOException e) {            throw buildDeleteException(e, request);        }    }    /**     * @see ElasticsearchOperations#deleteIndexByAlias(String)    method     */    @Override    public void deleteIndexByAlias(String aliasName) {        Objects.requireNonNull(aliasName);        GetAliasesRequest request = new GetAliasesRequest(aliasName);        try {            Map<String, Set<AliasMetaData>> indices = this.client.getAlias(request).getAliases();            indices.keySet().forEach(this::deleteIndexByName);        } catch (IOException e) {            throw buildGetAliasException(e, request);        }    }    /**     * Check if Index Exist     *     * @param indexName the index name     * @return true if index exist     */    @Override    public boolean indexExists(String indexName) {        Objects.requireNonNull(indexName);        GetIndexRequest request = this.requestsBuilder().getIndexRequest(indexName);        try {            return client.indicesExist(request, RequestOptions.DEFAULT);        } catch (IOException e) {            throw new ElasticsearchException("Error while for indexExists request: " + request.toString(), e);        }    }    /**     * @param clazz     * @param <T>     * @return     */    @Override    public <T> boolean createIndex(Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        if (persistentEntity.isRolloverIndex()) {            return createRolloverIndex(persistentEntity);        } else {            return createIndex(persistentEntity);        }    }    /**     * @param alias     * @param indexName     * @return     */    @Override    public boolean createIndex(@Nullable Alias alias, String indexName) {        Assert.notNull(indexName, "No index defined for Query");        try {            return client.createIndex(this.requestsBuilder().createIndexRequest(alias, indexName)).isAcknowledged();        } catch (Exception e) {            throw new ElasticsearchException("Failed to create index " + indexName, e);        }    }    /**     *     * @param aliasReader     * @param aliasWriter     * @param indexName     * @return     */    @Override    public boolean createRolloverIndex(@Nullable Alias aliasReader, Alias aliasWriter, String indexName) {        return doCreateIndex(this.requestsBuilder().createRolloverIndex(aliasReader, aliasWriter, generateRolloverIndexName(indexName)));    }    /**     *     * @param alias     * @param indexName     * @param indexPath     * @return     */    @Override    public boolean createIndexWithSettingsAndMapping(@Nullable Alias alias, String indexName, String indexPath) {        return doCreateIndex(this.requestsBuilder().createIndexRequest(alias, indexName, indexPath));    }    /**     *     * @param aliasReader     * @param aliasWriter     * @param indexName     * @param indexPath     * @return     */    @Override    public boolean createRolloverIndexWithSettingsAndMapping(@Nullable Alias aliasReader, Alias aliasWriter, String indexName, String indexPath) {        return doCreateIndex(this.requestsBuilder().createRolloverIndex(aliasReader, aliasWriter, generateRolloverIndexName(indexName), indexPath));    }    /**     * @param request     * @return     */    private boolean doCreateIndex(CreateIndexRequest request) {        try {            return this.client.createIndex(request).isAcknowledged();        } catch (IOException e) {            throw new ElasticsearchException("Failed to create index request: " + request.toString(), e);        }    }    /**     * @param persistentEntity     * @param <T>     * @return     */    private <T> boolean createIndex(ElasticsearchPersistentEntity<T> persistentEntity) {        String indexReader = persistentEntity.getAliasOrIndexReader();        if (persistentEntity.createIndex() && !indexExists(indexReader)) {            String newIndexName = persistentEntity.getIndexName();            if (persistentEntity.isIndexTimeBased()) {                return createIndex(newIndexName);            } else if (StringUtils.hasText(persistentEntity.getIndexSettingAndMappingPath())) {                return createIndexWithSettingsAndMapping(persistentEntity.getAlias(), newIndexName, persistentEntity.getIndexSettingAndMappingPath());            } else {                return createIndex(persistentEntity.getAlias(), newIndexName);            }        }        return false;    }    /**     * @param persistentEntity     * @param <T>     * @return     */    private <T> boolean createRolloverIndex(ElasticsearchPersistentEntity<T> persistentEntity) {        boolean indexCreated = false;        RolloverConfig rolloverConfig = persistentEntity.getRolloverConfig();        if (persistentEntity.createIndex() && !indexExists(rolloverConfig.getAlias().getName())) {            String newIndexName = persistentEntity.getIndexName();            if (persistentEntity.isIndexTimeBased()) {                indexCreated = createRolloverIndex(null, rolloverConfig.getDefaultAlias(), newIndexName);            } else if (!StringUtils.isEmpty(persistentEntity.getIndexSettingAndMappingPath())) {                indexCreated = createRolloverIndexWithSettingsAndMapping(persistentEntity.getAlias(), rolloverConfig.getDefaultAlias(), newIndexName, persistentEntity.getIndexSettingAndMappingPath());            } else {                indexCreated = createRolloverIndex(persistentEntity.getAlias(), rolloverConfig.getDefaultAlias(), newIndexName);            }        }        RolloverConfig.TriggerConfig triggerConfig = rolloverConfig.getTrigger();        if (triggerConfig.isEnabled()) {            getTriggerManager().startTrigger(new RolloverTrigger(this, persistentEntity, triggerConfig.getCronExpression()));        }        return indexCreated;    }    /**     *     * @param clazz     * @param <T>     * @return     */    @Override    public <T> boolean rolloverIndex(Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        RolloverConfig rollover = persistentEntity.getRolloverConfig();        return rolloverIndex(                rollover.getAlias().getName(),                persistentEntity.getIndexSettingAndMappingPath(),                rollover.getConditions()        );    }    /**     * @param aliasName     * @param indexPath     * @param conditions     * @return     */    @Override    public boolean rolloverIndex(String aliasName, String indexPath, RolloverConfig.RolloverConditions conditions) {        RolloverRequest request = this.requestsBuilder().rolloverRequest(aliasName, indexPath, conditions);        try {            return this.client.rollover(request).isAcknowledged();        } catch (IOException e) {            throw new ElasticsearchException("Failed to rollover index request: " + request.toString(), e);        }    }    /**     * @see ElasticsearchOperations#index(Object, Class)     method     */    @Override    public <T> T index(T entity, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        IndexRequest request = this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper());        try {            IndexResponse response = client.index(request);            persistentEntity.setPersistentEntity(entity, response);            return entity;        } catch (IOException e) {            throw new ElasticsearchException("Error while index for request: " + request.toString(), e);        }    }    /**     * @see ElasticsearchOperations#bulkIndex(List, Class) method     */    @Override    public <T> List<T> bulkIndex(List<T> entities, Class<T> clazz) {        if (entities.isEmpty())            return entities;        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        BulkRequest bulkRequest = new BulkRequest();        entities.forEach(entity -> bulkRequest.add(this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper())));        try {            BulkResponse response = client.bulk(bulkRequest);            checkForBulkUpdateFailure(response);            BulkItemResponse[] items = response.getItems();            for (int i = 0; i < entities.size(); i++) {                persistentEntity.setPersistentEntity(entities.get(i), items[i]);            }            return entities;        } catch (IOException e) {            throw new ElasticsearchException("Error while bulk for request: " + bulkRequest.toString(), e);        }    }    @Override    public List bulkIndex(List<?> entities) {        if (entities.isEmpty())            return entities;        BulkRequest bulkRequest = new BulkRequest();        entities.forEach(entity -> {            Class entityClass = entity.getClass();            ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(entityClass);            bulkRequest.add(this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper()));        });        try {            BulkResponse response = client.bulk(bulkRequest);            checkForBulkUpdateFailure(response);            BulkItemResponse[] items = response.getItems();            for (int i = 0; i < entities.size(); i++) {                Object entity = entities.get(i);                ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(entity.getClass());                persistentEntity.setPersistentEntity(entities.get(i), items[i]);            }            return entities;        } catch (IOException e) {            throw new ElasticsearchException("Error while bulk for request: " + bulkRequest.toString(), e);        }    }    /**     * @see ElasticsearchOperations#findById(Class, String)  method     */    @Override    public <T> Optional<T> findById(Class<T> clazz, String documentId) {        Objects.requireNonNull(documentId, "documentId parameter canno't be null !");        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        if (persistentEntity.isIndexTimeBased() || persistentEntity.isRolloverIndex()) {            SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()                    .withQuery(QueryBuilders.termQuery("_id", documentId))                    .withPageable(PageRequest.of(0, 1))                    .build();            return findOne(query, clazz);        } else {            GetRequest request = this.requestsBuilder().getRequest(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), documentId);            try {                GetResponse response = client.get(request);                return Optional.ofNullable(this.getResultsMapper().mapResult(response, clazz));            } catch (ElasticsearchStatusException e) {                if (e.status() == RestStatus.NOT_FOUND) {                    return Optional.empty();                }                throw new ElasticsearchException("Error for delete index request: " + request.toString(), e);            } catch (IOException e) {                throw new ElasticsearchException("Error while getting for request: " + request.toString(), e);            }        }    }    @Override    public <T> Optional<T> findOne(CriteriaQuery query, Class<T> clazz) {        return getResultOne(this.search(query, clazz));    }    @Override    public <T> Optional<T> findOne(SearchQuery query, Class<T> clazz) {        return getResultOne(this.search(query, clazz));    }    @Override    public <T> Optional<T> findOne(StringQuery query, Class<T> clazz) {        return getResultOne(this.search(query, clazz));    }    private <T> Optional<T> getResultOne(List<T> items) {        if (items.isEmpty()) {            return Optional.empty();        }        return Optional.of(items.get(0));    }    /**     * @param query     * @param clazz     * @return     */    @Override    public <T> long count(SearchQuery query, Class<T> clazz) {        return executeCount(doCount(prepareCount(query, clazz), query));    }    /**     * @param criteriaQuery     * @param clazz     * @return     */    @Override    public <T> long count(CriteriaQuery criteriaQuery, Class<T> clazz) {        return executeCount(doCount(prepareCount(criteriaQuery, clazz), criteriaQuery));    }    /**     * @param searchRequest     * @return     */    private long executeCount(SearchRequest searchRequest) {        try {            return client.search(searchRequest).getHits().getTotalHits();        } catch (IOException e) {            throw buildSearchException(e, searchRequest);        }    }    @Override    public <T> Boolean existsById(Class<T> clazz, String documentId) {        Objects.requireNonNull(documentId, "documentId parameter canno't be null !");        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        if (persistentEntity.isIndexTimeBased() || persistentEntity.isRolloverIndex()) {            FetchSourceFilter.FetchSourceFilterBuilder sourceBuilder = new FetchSourceFilter.FetchSourceFilterBuilder();            sourceBuilder.withIncludes("id");            SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()                    .withQuery(QueryBuilders.termQuery("_id", documentId))                    .withSourceFilter(sourceBuilder.build())                    .withPageable(PageRequest.of(0, 1))                    .build();            SearchResponse response = executeSearch(doSearch(prepareSearch(query, clazz), query));            return response.getHits().totalHits > 0;        } else {            GetRequest request = this.requestsBuilder().getRequest(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), documentId);            try {                return client.exists(request);            } catch (ElasticsearchStatusException e) {                if (e.status() == RestStatus.NOT_FOUND) {                    return false;                }                throw new ElasticsearchException("Error for delete index request: " + request.toString(), e);            } catch (IOException e) {                throw new ElasticsearchException("Error while getting for request: " + request.toString(), e);            }        }    }    /**     * @param query     * @param javaType     * @return     */    @Override    public <T> Boolean existsByQuery(CriteriaQuery query, Class<T> javaType) {        SearchResponse response = executeSearch(doSearch(prepareSearch(query, javaType), query));        return response.getHits().totalHits > 0;    }    @Override    public <T> Boolean existsByQuery(SearchQuery query, Class<T> javaType) {        SearchResponse response = executeSearch(doSearch(prepareSearch(query, javaType), query));        return response.getHits().totalHits > 0;    }    @Override    public <T> Boolean existsByQuery(StringQuery query, Class<T> javaType) {        SearchResponse response = executeSearch(doSearch(prepareSearch(query, javaType), query));        return response.getHits().totalHits > 0;    }    @Override    public <S extends T, T> List<S> search(SearchQuery query, Class<T> clazz) {        SearchResponse response = executeSearch(doSearch(prepareSearch(query, clazz), query));        return this.getResultsMapper().mapEntity(response.getHits(), clazz);    }    /**     * @param criteriaQuery     * @param clazz     * @return     */    @Override    public <S extends T, T> List<S> search(CriteriaQuery criteriaQuery, Class<T> clazz) {        SearchResponse response = executeSearch(doSearch(prepareSearch(criteriaQuery, clazz), criteriaQuery));        return this.getResultsMapper().mapEntity(response.getHits(), clazz);    }    /**     * @param stringQuery     * @param clazz     * @return     */    @Override    public <S extends T, T> List<S> search(StringQuery stringQuery, Class<T> clazz) {        SearchResponse response = executeSearch(doSearch(prepareSearch(stringQuery, clazz), stringQuery));        return this.getResultsMapper().mapEntity(response.getHits(), clazz);    }    /**     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.     *     * @param searchQuery the given query.     * @param clazz       the given {@link Class} clazz.     * @return a {@link Page} of T instances.     */    @Override    public <S extends T, T> Page<S> startScroll(SearchQuery searchQuery, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = this.getPersistentEntityFor(clazz);        return this.startScroll(persistentEntity.getScrollTime(), searchQuery, clazz);    }    /**     * @param scrollTime  the scroll time.     * @param searchQuery the given query.     * @param clazz       the given {@link Class} clazz.     * @param <T>         the items type     * @return the scrolled page for the current continueScroll     */    @Override    public <S extends T, T> Page<S> startScroll(Duration scrollTime, SearchQuery searchQuery, Class<T> clazz) {        return this.startScroll(scrollTime, searchQuery, clazz, this.getResultsMapper());    }    /**     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.     *     * @param criteriaQuery the given query.     * @param clazz         the given {@link Class} clazz.     * @return a {@link Page} of T instances.     */    @Override    public <S extends T, T> Page<S> startScroll(CriteriaQuery criteriaQuery, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = this.getPersistentEntityFor(clazz);        return this.startScroll(persistentEntity.getScrollTime(), criteriaQuery, clazz);    }    /**     * @param scrollTime     * @param criteriaQuery     * @param clazz     * @return     */    @Override    public <S extends T, T> Page<S> startScroll(Duration scrollTime, CriteriaQuery criteriaQuery, Class<T> clazz) {        return this.startScroll(scrollTime, criteriaQuery, clazz, this.getResultsMapper());    }    /**     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.     *     * @param stringQuery the given query.     * @param clazz       the given {@link Class} clazz.     * @return a {@link Page} of T instances.     */    @Override    public <S extends T, T> Page<S> startScroll(StringQuery stringQuery, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = this.getPersistentEntityFor(clazz);        return this.startScroll(persistentEntity.getScrollTime(), stringQuery, clazz);    }    /**     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.     *     * @param scrollTime  the scroll time.     * @param stringQuery the given query.     * @param clazz       the given {@link Class} clazz.     * @return a {@link Page} of T instances.     */    @Override    public <S extends T, T> Page<S> startScroll(Duration scrollTime, StringQuery stringQuery, Class<T> clazz) {        return this.startScroll(scrollTime, stringQuery, clazz, this.getResultsMapper());    }    /**     * @param scrollTime     * @param searchQuery     * @param entityType     * @return     */    public <T> SearchResponse startScrollResponse(Duration scrollTime, SearchQuery searchQuery, Class<T> entityType) {        return executeSearch(doScroll(prepareScroll(searchQuery, scrollTime, entityType), searchQuery));    }    /**     * @param scrollTime     * @param searchQuery     * @return     */    public SearchResponse startScrollResponse(Duration scrollTime, SearchQuery searchQuery) {        return executeSearch(doScroll(prepareScroll(searchQuery, scrollTime), searchQuery));    }    /**     * @param scrollTime  the scroll time     * @param searchQuery the query     * @param clazz       the domain type     * @param mapper      the mapper     * @param <T>         the generic type     * @return the scrolled page for the current continueScroll     */    @Override    public <S extends T, T> Page<S> startScroll(Duration scrollTime, SearchQuery searchQuery, Class<T> clazz, SearchResultMapper mapper) {        SearchResponse response = startScrollResponse(scrollTime, searchQuery, clazz);        return mapper.mapResults(response, clazz);    }    /**     * @param scrollTime     * @param criteriaQuery     * @param entityType     * @param <T>     * @return     */    public <T> SearchResponse startScrollResponse(Duration scrollTime, CriteriaQuery criteriaQuery, Class<T> entityType) {        return executeSearch(doScroll(prepareScroll(criteriaQuery, scrollTime, entityType), criteriaQuery));    }    /**     * @param scrollTime    the given scrollId.     * @param criteriaQuery the given query.     * @param clazz         the item domain type     * @param mapper        the mapper to transform results     * @return a {@link Page} of T instancess.     */    @Override    public <S extends T, T> Page<S> startScroll(Duration scrollTime, CriteriaQuery criteriaQuery, Class<T> clazz, SearchResultMapper mapper) {        SearchResponse response = startScrollResponse(scrollTime, criteriaQuery, clazz);        return mapper.mapResults(response, clazz);    }    /**     * @param scrollTime     * @param stringQuery     * @param entityType     * @param <T>     * @return     */    public <T> SearchResponse startScrollResponse(Duration scrollTime, StringQuery stringQuery, Class<T> entityType) {        return executeSearch(doScroll(prepareScroll(stringQuery, scrollTime, entityType), stringQuery));    }    /**     * @param scrollTime  the given scrollId.     * @param stringQuery the given query.     * @param clazz       the item domain type     * @param mapper      the mapper to transform results     * @return a {@link Page} of T instancess.     */    @Override    public <S extends T, T> Page<S> startScroll(Duration scrollTime, StringQuery stringQuery, Class<T> clazz, SearchResultMapper mapper) {        SearchResponse response = startScrollResponse(scrollTime, stringQuery, clazz);        return mapper.mapResults(response, clazz);    }    /**     * @param request     * @return     */    private SearchResponse executeSearch(SearchRequest request) {        try {            return client.search(request);        } catch (ElasticsearchStatusException e) {            if (e.status() == RestStatus.NOT_FOUND) {                return new SearchResponse(                        new SearchResponseSections(SearchHits.empty(), null, null, false, true, null, 0),                        null, 1, 1, 0, 1000, null, null);            }            throw buildSearchException(e, request);        } catch (IOException e) {            throw buildSearchException(e, request);        }    }    /**     * @see ElasticsearchOperations#continueScroll(String, Duration, Class)   method     */    @Override    public <S extends T, T> Page<S> continueScroll(String scrollId, Duration scrollTime, Class<T> clazz) {        return continueScroll(scrollId, scrollTime, clazz, this.getResultsMapper());    }    @Nullable    private SearchResponse continueScrollResponse(String scrollId, Duration scrollTime) {        SearchScrollRequest request = this.requestsBuilder().searchScrollRequest(scrollId, scrollTime);        try {            return client.searchScroll(request);        } catch (ElasticsearchStatusException e) {            if (e.status() == RestStatus.NOT_FOUND || e.status() == RestStatus.INTERNAL_SERVER_ERROR) {                return null;            }            throw new ElasticsearchException("Error for continue scroll request: " + request.toString(), e);        } catch (IOException e) {            throw new ElasticsearchException("Error for continue scroll request: " + request.toString(), e);        }    }    /**     * @param scrollId   the scroll id     * @param scrollTime the scroll time     * @param clazz      the entity class     * @param mapper     the mapper     * @param <T>        generic type     * @return a new {@link Page}     */    @Override    public <S extends T, T> Page<S> continueScroll(String scrollId, Duration scrollTime, Class<T> clazz, SearchResultMapper mapper) {        SearchResponse response = continueScrollResponse(scrollId, scrollTime);        if (response == null) {            return ScrolledPageResult.of(Collections.emptyList(), 0L, scrollId);        }        return mapper.mapResults(response, clazz);    }    /**     * @see ElasticsearchOperations#clearScroll(String)  method     */    @Override    public void clearScroll(String scrollId) {        ClearScrollRequest request = this.requestsBuilder().clearScrollRequest(scrollId);        try {            client.clearScroll(request);        } catch (ElasticsearchStatusException e) {            if (e.status() == RestStatus.NOT_FOUND) {                return;            }            throw buildClearScrollException(e, request);        } catch (IOException e) {            throw buildClearScrollException(e, request);        }    }    /**     * @see ElasticsearchOperations#deleteAll(Class)  method     */    @Override    public <T> void deleteAll(Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        if (persistentEntity.isRolloverIndex()) {            RolloverConfig rollover = persistentEntity.getRolloverConfig();            this.deleteIndexByAlias(persistentEntity.getAliasOrIndexWriter());            this.rolloverIndex(                    persistentEntity.getAliasOrIndexWriter(),                    persistentEntity.getIndexSettingAndMappingPath(),                    rollover.getConditions());        } else if (persistentEntity.isIndexTimeBased()) {            GetAliasesRequest request = this.requestsBuilder().getAliasesRequest(persistentEntity.getAliasOrIndexReader());            try {                GetAliasesResponse response = this.client.getAlias(request);                response.getAliases().keySet().forEach(this::deleteIndexByName);            }catch (ElasticsearchStatusException e){                if (e.status() != RestStatus.NOT_FOUND) {                    throw buildGetAliasException(e, request);                }            }catch (IOException e) {                throw buildGetAliasException(e, request);            }        } else {            deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), QueryBuilders.matchAllQuery());        }    }    /**     * @see ElasticsearchOperations#deleteAll(Collection, Class)  method     */    @Override    public <T> void deleteAll(Collection<T> entities, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        Set<String> ids = new HashSet<>();        entities.forEach(entity -> {            String id = persistentEntity.getPersistentEntityId(entity);            if (id != null) {                ids.add(id);            }        });        if (!ids.isEmpty()) {            if (persistentEntity.isRolloverIndex()) {                deleteByQuery(persistentEntity.getAliasOrIndexWriter(), persistentEntity.getTypeName(), QueryBuilders.termsQuery("_id", ids));            } else {                deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), QueryBuilders.termsQuery("_id", ids));            }        }    }    /**     * @see ElasticsearchOperations#delete(Object, Class)   method     */    @Override    public <T> void delete(T entity, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        String id = persistentEntity.getPersistentEntityId(entity);        if (id != null) {            this.deleteById(id, clazz);        }    }    /**     * delete the document for the given entity, and clazz     *     * @param query the given query.     * @param clazz the given clazz.     */    @Override    public <T> void delete(CriteriaQuery query, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        Optional<QueryBuilder> queryBuilder = new CriteriaQueryProcessor().createQueryFromCriteria(query.getCriteria());        Optional<QueryBuilder> filterBuilder = new CriteriaFilterProcessor().createFilterFromCriteria(query.getCriteria());        QueryBuilder deleteQuery = queryBuilder.orElse(filterBuilder.orElse(null));        if (persistentEntity.isRolloverIndex()) {            deleteByQuery(persistentEntity.getAliasOrIndexWriter(), persistentEntity.getTypeName(), deleteQuery);        } else {            deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), deleteQuery);        }    }    /**     * @see ElasticsearchOperations#deleteById(String, Class)   method     */    @Override    public <T> void deleteById(String documentId, Class<T> clazz) {        Assert.notNull(documentId, "documentId must not be null!");        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        QueryBuilder queryBuilder = QueryBuilders.termQuery("_id", documentId);        if (persistentEntity.isIndexTimeBased()) {            deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), queryBuilder);        } else {            String indexName = persistentEntity.isRolloverIndex() ? persistentEntity.getAliasOrIndexWriter() : persistentEntity.getAliasOrIndexReader();            DeleteRequest request = this.requestsBuilder().deleteRequest(indexName, persistentEntity.getTypeName(), documentId);            try {                client.delete(request);            } catch (IOException e) {                throw new ElasticsearchException("Error for delete request: " + request.toString(), e);            }        }    }    /**     * @param query     */    private void deleteByQuery(String indexName, String typeName, @Nullable QueryBuilder query) {        DeleteByQueryRequest request = this.requestsBuilder().deleteBy(indexName, typeName, query);        try {            BulkByScrollResponse response = client.deleteBy(request);            checkForBulkDeleteFailure(response);        }catch(ElasticsearchStatusException e){            if (e.status() != RestStatus.NOT_FOUND) {                throw new ElasticsearchException("Error while deleting bulk: " + request.toString(), e);            }        } catch (IOException e) {            throw new ElasticsearchException("Error while deleting bulk: " + request.toString(), e);        }    }    /**     * @see ElasticsearchOperations#refresh(Class)  method     */    @Override    public <T> void refresh(Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        if (persistentEntity.isRolloverIndex()) {            this.refresh(persistentEntity.getAliasOrIndexWriter());        } else {            this.refresh(persistentEntity.getAliasOrIndexReader());        }    }    /**     * @param indexName the index name     */    @Override    public void refresh(String indexName) {        Assert.notNull(indexName, "No index defined for refresh()");        try {            client.refresh(refreshRequest(indexName));        } catch (ElasticsearchStatusException e) {            if (e.status() == RestStatus.NOT_FOUND) {                return;            }            throw new ElasticsearchException("failed to refresh index: " + indexName, e);        } catch (IOException e) {            throw new ElasticsearchException("failed to refresh index: " + indexName, e);        }    }    @Override    public <T> T search(SearchQuery query, ResultsExtractor<T> resultsExtractor) {        SearchResponse response = executeSearch(doSearch(prepareSearch(query, Optional.of(query.getQuery())), query));        return resultsExtractor.extract(response);    }    /**     *     * @param <T>     * @param query     * @param extractor     * @return     */    @Override    public <T> T suggest(SuggestQuery query, ResultsExtractor<T> extractor) {        return extractor.extract(executeSearch(prepareSuggest(query)));    }    /**     *     * @param <R>     * @param <T>     * @param query     * @param clazz     * @param extractor     * @return     */    @Override    public <R, T> R suggest(SuggestQuery query, Class<T> clazz, ResultsExtractor<R> extractor) {        return extractor.extract(executeSearch(prepareSuggest(query, clazz)));    }    @Override    public <T> List hasChild(HasChildQuery query, Class<T> clazz) {        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);        return this.search(prepareHasChildQuery(query, clazz), persistentEntity.getJoinDescriptor().getParentJavaType());    }    @Override    public <S extends T, T> List<S> hasParent(HasParentQuery query, Class<T> clazz) {        return this.search(prepareHasParentQuery(query, clazz), clazz);    }    @Override    public <T> List<T> hasParentId(ParentIdQuery query, Class<T> clazz) {        return this.search(prepareHasParentId(query, clazz), clazz);    }    /**     *     * @param query     * @param builder     * @return     */    @Override    protected SearchRequest prepareSearch(Query query, Optional<QueryBuilder> builder) {        SearchRequest request = super.prepareSearch(query, builder);        SearchSourceBuilder sourceBuilder = request.source();        int startRecord = 0;        if (query.getPageable().isPaged()) {            startRecord = query.getPageable().getPageNumber() * query.getPageable().getPageSize();            sourceBuilder.size(query.getPageable().getPageSize());        }        sourceBuilder.from(startRecord);        return request;    }    @Override    public <T> CloseableIterator<T> stream(SearchQuery query, Class<T> clazz) {        return stream(query, clazz, this.getResultsMapper());    }    @Override    public <T> CloseableIterator<T> stream(CriteriaQuery query, Class<T> clazz) {        final Duration scrollTime = Duration.ofMinutes(1);        return doStream(scrollTime, (ScrolledPage<T>) startScroll(scrollTime, query, clazz), clazz,                this.getResultsMapper());    }    @Override    public <T> CloseableIterator<T> stream(SearchQuery query, final Class<T> clazz, final SearchResultMapper mapper) {        final Duration scrollTime = Duration.ofMinutes(1);        return doStream(scrollTime, (ScrolledPage<T>) startScroll(scrollTime, query, clazz, mapper), clazz,                mapper);    }    private <T> CloseableIterator<T> doStream(final Duration scrollTime, final ScrolledPage<T> page,                                              final Class<T> clazz, final SearchResultMapper mapper) {        return new CloseableIterator<T>() {            /** As we couldn't retrieve single result with scroll, store current hits. */            private volatile Iterator<T> currentHits = page.iterator();            /** The scroll id. */            private volatile String scrollId = page.getScrollId();            /** If stream is finished (ie: cluster returns no results. */            private volatile boolean finished = !currentHits.hasNext();            @Override            public void close() {                try {                    // Clear scroll on cluster only in case of error (cause elasticsearch auto clear scroll when it's done)                    if (!finished && scrollId != null && currentHits != null && currentHits.hasNext()) {                        clearScroll(scrollId);                    }                } finally {                    currentHits = null;                    scrollId = null;                }            }            @Override            public boolean hasNext() {                // Test if stream is finished                if (finished) {                    return false;                }                // Test if it remains hits                if (currentHits == null || !currentHits.hasNext()) {                    // Do a new request                    final ScrolledPage<T> scroll = (ScrolledPage<T>) continueScroll(scrollId, scrollTime, clazz, mapper);                    // Save hits and scroll id                    currentHits = scroll.iterator();                    finished = !currentHits.hasNext();                    scrollId = scroll.getScrollId();                }                return currentHits.hasNext();            }            @Override            public T next() {                if (hasNext()) {                    return currentHits.next();                }                throw new NoSuchElementException();            }            @Override            public void remove() {                throw new UnsupportedOperationException("remove");            }        };    }}
\ No newline at end of file
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.RestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.config.IngestSearchTemplate;
+import com.github.ydespreaux.spring.data.elasticsearch.config.IngestTemplate;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.BulkIndexer;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.BulkIndexerListener;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.BulkIndexerSettings;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.DefaultBulkIndexer;
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchConverter;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResults;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.CursorPageRequest;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.SearchAfterCursor;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.SearchAfterPage;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.SearchAfterPageResult;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.UnpagedSearchStrategy;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.*;
+import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.PrefetchingScrollIterator;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.ScrolledPage;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.ScrolledPageResult;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.SlicedScroll;
+import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.RolloverTrigger;
+import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.indices.alias.Alias;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesRequest;
+import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesResponse;
+import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.*;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.cluster.metadata.AliasMetaData;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.elasticsearch.client.Requests.refreshRequest;
+
+/**
+ * Class define the Elastic Search operations.
+ *
+ * @author Yoann Despréaux
+ * @since 1.0.0
+ */
+@Slf4j
+public class ElasticsearchTemplate extends ElasticsearchTemplateSupport implements ElasticsearchOperations {
+    /**
+     * RestHighLevelClient client.
+     */
+    private final RestElasticsearchClient client;
+
+    /**
+     *
+     */
+    private IngestTemplate ingestTemplate;
+
+    private IngestSearchTemplate ingestSearchTemplate;
+
+    /**
+     * Default settings of the bulk indexers.
+     */
+    private BulkIndexerSettings bulkIndexerSettings = BulkIndexerSettings.defaultSettings();
+
+    /**
+     * Number of scroll pages fetched ahead by the streams, 0 to disable the prefetch.
+     */
+    private int streamPrefetch = 0;
+
+    /**
+     * Strategy used to read all the documents of a query that is not paged.
+     */
+    private UnpagedSearchStrategy unpagedSearchStrategy = UnpagedSearchStrategy.SCROLL;
+
+    /**
+     * Size of the pages read for a query that is not paged.
+     */
+    private int unpagedSearchPageSize = 500;
+
+    /**
+     * Construct an instance with the given client and elasticsearchConverter parameters.
+     *
+     * @param client                 the given client.
+     * @param elasticsearchConverter the given elasticsearchConverter.
+     * @param resultsMapper          the given result mapper
+     */
+    public ElasticsearchTemplate(final RestElasticsearchClient client,
+                                 final ElasticsearchConverter elasticsearchConverter,
+                                 final ResultsMapper resultsMapper,
+                                 final TriggerManager triggerManager) {
+        super(elasticsearchConverter, resultsMapper, triggerManager);
+        this.client = client;
+    }
+
+
+    /**
+     * @param ingest
+     */
+    public void setIngestTemplate(IngestTemplate ingest) {
+        this.ingestTemplate = ingest;
+    }
+
+    /**
+     * @param ingest the search templates stored at startup
+     */
+    public void setIngestSearchTemplate(IngestSearchTemplate ingest) {
+        this.ingestSearchTemplate = ingest;
+    }
+
+    /**
+     * @param settings the default settings of the bulk indexers
+     */
+    public void setBulkIndexerSettings(BulkIndexerSettings settings) {
+        Assert.notNull(settings, "settings must not be null");
+        this.bulkIndexerSettings = settings;
+    }
+
+    /**
+     * @param streamPrefetch the number of scroll pages fetched asynchronously ahead of the consumer of a stream,
+     *                       0 to fetch the next page only when the current page is consumed
+     */
+    public void setStreamPrefetch(int streamPrefetch) {
+        Assert.isTrue(streamPrefetch >= 0, "streamPrefetch must be positive");
+        this.streamPrefetch = streamPrefetch;
+    }
+
+    /**
+     * @param strategy the strategy used to read all the documents of a query that is not paged
+     */
+    public void setUnpagedSearchStrategy(UnpagedSearchStrategy strategy) {
+        Assert.notNull(strategy, "strategy must not be null");
+        this.unpagedSearchStrategy = strategy;
+    }
+
+    /**
+     * @param pageSize the size of the pages read for a query that is not paged
+     */
+    public void setUnpagedSearchPageSize(int pageSize) {
+        Assert.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        this.unpagedSearchPageSize = pageSize;
+    }
+
+    /**
+     * @param applicationContext
+     * @see ApplicationContextAware#setApplicationContext(ApplicationContext)  method
+     */
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        super.setApplicationContext(applicationContext);
+        if (this.ingestTemplate != null) {
+            this.ingestTemplate.setApplicationContext(applicationContext);
+        }
+        if (this.ingestSearchTemplate != null) {
+            this.ingestSearchTemplate.setApplicationContext(applicationContext);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.ingestTemplate != null) {
+            this.ingestTemplate.ingest();
+        }
+        if (this.ingestSearchTemplate != null) {
+            this.ingestSearchTemplate.ingest();
+        }
+    }
+
+    /**
+     * @param request the request parameter
+     * @return the reponse of the result request
+     */
+    @Override
+    public Response performRequest(Request request) throws IOException {
+        return client.getRestHighLevelClient().getLowLevelClient().performRequest(request);
+    }
+
+    /**
+     * @see ElasticsearchOperations#createTemplate(String, String, Boolean)  method
+     */
+    @Override
+    public void createTemplate(String templateName, String location, Boolean createOnly) {
+        Resource resource = getResource(location);
+        if (!resource.exists()) {
+            throw new ElasticsearchException("File {} not found", location);
+        }
+        createTemplate(templateName, Collections.singletonList(resource), createOnly);
+    }
+
+    /**
+     * @see ElasticsearchOperations#createTemplate(String, String, Boolean)  method
+     */
+    @Override
+    public void createTemplate(String templateName, List<Resource> locations, Boolean createOnly) {
+        if (createOnly && templateExists(templateName)) {
+            return;
+        }
+        PutIndexTemplateRequest templateRequest = this.requestsBuilder().createPutIndexTemplateRequest(templateName, locations);
+        try {
+            this.client.putTemplate(templateRequest);
+            if (log.isDebugEnabled()) {
+                log.debug("New template {} added : {}", templateName, templateRequest.toString());
+            }
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for request: " + templateRequest.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#templateExists(String)  method
+     */
+    @Override
+    public boolean templateExists(String templateName) {
+        GetIndexTemplatesRequest request = new GetIndexTemplatesRequest(templateName);
+        try {
+            GetIndexTemplatesResponse response = this.client.getTemplates(request);
+            return !response.getIndexTemplates().isEmpty();
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND) {
+                return false;
+            }
+            throw new ElasticsearchException("Error for Get template request: " + request.toString(), e);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for Get template request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteTemplate(String)  method
+     */
+    @Override
+    public void deleteTemplate(String templateName) {
+        if (templateExists(templateName)) {
+            Request request = this.requestsBuilder().deleteTemplateRequest(templateName);
+            try {
+                this.performRequest(request);
+                if (log.isDebugEnabled()) {
+                    log.debug("Deleted template {}", templateName);
+                }
+            } catch (IOException e) {
+                throw new ElasticsearchException("Error for delete template request: " + request.toString(), e);
+            }
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#putSearchTemplate(String, String)  method
+     */
+    @Override
+    public void putSearchTemplate(String templateId, String source) {
+        Request request = this.requestsBuilder().putSearchTemplateRequest(templateId, source);
+        try {
+            this.performRequest(request);
+            if (log.isDebugEnabled()) {
+                log.debug("New search template {} added", templateId);
+            }
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for put search template request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteSearchTemplate(String)  method
+     */
+    @Override
+    public void deleteSearchTemplate(String templateId) {
+        Request request = this.requestsBuilder().deleteSearchTemplateRequest(templateId);
+        try {
+            this.performRequest(request);
+            if (log.isDebugEnabled()) {
+                log.debug("Deleted search template {}", templateId);
+            }
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() != RestStatus.NOT_FOUND.getStatus()) {
+                throw new ElasticsearchException("Error for delete search template request: " + request.toString(), e);
+            }
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for delete search template request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteIndexByName(String)   method
+     */
+    @Override
+    public boolean deleteIndexByName(String indexName) {
+        Objects.requireNonNull(indexName);
+        DeleteIndexRequest request = this.requestsBuilder().deleteIndexRequest(indexName);
+        try {
+            boolean deleted = this.client.deleteIndex(request).isAcknowledged();
+            if (log.isDebugEnabled() && deleted) {
+                log.debug("Deleted index {}", indexName);
+            }
+            return deleted;
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND) {
+                return false;
+            }
+            throw buildDeleteException(e, request);
+        } catch (IOException e) {
+            throw buildDeleteException(e, request);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteIndexByAlias(String)    method
+     */
+    @Override
+    public void deleteIndexByAlias(String aliasName) {
+        Objects.requireNonNull(aliasName);
+        GetAliasesRequest request = new GetAliasesRequest(aliasName);
+        try {
+            Map<String, Set<AliasMetaData>> indices = this.client.getAlias(request).getAliases();
+            indices.keySet().forEach(this::deleteIndexByName);
+        } catch (IOException e) {
+            throw buildGetAliasException(e, request);
+        }
+    }
+
+    /**
+     * Check if Index Exist
+     *
+     * @param indexName the index name
+     * @return true if index exist
+     */
+    @Override
+    public boolean indexExists(String indexName) {
+        Objects.requireNonNull(indexName);
+        GetIndexRequest request = this.requestsBuilder().getIndexRequest(indexName);
+        try {
+            return client.indicesExist(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while for indexExists request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @param clazz
+     * @param <T>
+     * @return
+     */
+    @Override
+    public <T> boolean createIndex(Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        if (persistentEntity.isRolloverIndex()) {
+            return createRolloverIndex(persistentEntity);
+        } else {
+            return createIndex(persistentEntity);
+        }
+    }
+
+    /**
+     * @param alias
+     * @param indexName
+     * @return
+     */
+    @Override
+    public boolean createIndex(@Nullable Alias alias, String indexName) {
+        Assert.notNull(indexName, "No index defined for Query");
+        try {
+            return client.createIndex(this.requestsBuilder().createIndexRequest(alias, indexName)).isAcknowledged();
+        } catch (Exception e) {
+            throw new ElasticsearchException("Failed to create index " + indexName, e);
+        }
+    }
+
+
+    /**
+     *
+     * @param aliasReader
+     * @param aliasWriter
+     * @param indexName
+     * @return
+     */
+    @Override
+    public boolean createRolloverIndex(@Nullable Alias aliasReader, Alias aliasWriter, String indexName) {
+        return doCreateIndex(this.requestsBuilder().createRolloverIndex(aliasReader, aliasWriter, generateRolloverIndexName(indexName)));
+    }
+
+    /**
+     *
+     * @param alias
+     * @param indexName
+     * @param indexPath
+     * @return
+     */
+    @Override
+    public boolean createIndexWithSettingsAndMapping(@Nullable Alias alias, String indexName, String indexPath) {
+        return doCreateIndex(this.requestsBuilder().createIndexRequest(alias, indexName, indexPath));
+    }
+
+    /**
+     *
+     * @param aliasReader
+     * @param aliasWriter
+     * @param indexName
+     * @param indexPath
+     * @return
+     */
+    @Override
+    public boolean createRolloverIndexWithSettingsAndMapping(@Nullable Alias aliasReader, Alias aliasWriter, String indexName, String indexPath) {
+        return doCreateIndex(this.requestsBuilder().createRolloverIndex(aliasReader, aliasWriter, generateRolloverIndexName(indexName), indexPath));
+    }
+
+    /**
+     * @param request
+     * @return
+     */
+    private boolean doCreateIndex(CreateIndexRequest request) {
+        try {
+            return this.client.createIndex(request).isAcknowledged();
+        } catch (IOException e) {
+            throw new ElasticsearchException("Failed to create index request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @param persistentEntity
+     * @param <T>
+     * @return
+     */
+    private <T> boolean createIndex(ElasticsearchPersistentEntity<T> persistentEntity) {
+        String indexReader = persistentEntity.getAliasOrIndexReader();
+        if (persistentEntity.createIndex() && !indexExists(indexReader)) {
+            String newIndexName = persistentEntity.getIndexName();
+            if (persistentEntity.isIndexTimeBased()) {
+                return createIndex(newIndexName);
+            } else if (StringUtils.hasText(persistentEntity.getIndexSettingAndMappingPath())) {
+                return createIndexWithSettingsAndMapping(persistentEntity.getAlias(), newIndexName, persistentEntity.getIndexSettingAndMappingPath());
+            } else {
+                return createIndex(persistentEntity.getAlias(), newIndexName);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param persistentEntity
+     * @param <T>
+     * @return
+     */
+    private <T> boolean createRolloverIndex(ElasticsearchPersistentEntity<T> persistentEntity) {
+        boolean indexCreated = false;
+        RolloverConfig rolloverConfig = persistentEntity.getRolloverConfig();
+        if (persistentEntity.createIndex() && !indexExists(rolloverConfig.getAlias().getName())) {
+            String newIndexName = persistentEntity.getIndexName();
+            if (persistentEntity.isIndexTimeBased()) {
+                indexCreated = createRolloverIndex(null, rolloverConfig.getDefaultAlias(), newIndexName);
+            } else if (!StringUtils.isEmpty(persistentEntity.getIndexSettingAndMappingPath())) {
+                indexCreated = createRolloverIndexWithSettingsAndMapping(persistentEntity.getAlias(), rolloverConfig.getDefaultAlias(), newIndexName, persistentEntity.getIndexSettingAndMappingPath());
+            } else {
+                indexCreated = createRolloverIndex(persistentEntity.getAlias(), rolloverConfig.getDefaultAlias(), newIndexName);
+            }
+        }
+        RolloverConfig.TriggerConfig triggerConfig = rolloverConfig.getTrigger();
+        if (triggerConfig.isEnabled()) {
+            getTriggerManager().startTrigger(new RolloverTrigger(this, persistentEntity, triggerConfig.getCronExpression()));
+        }
+        return indexCreated;
+    }
+
+    /**
+     *
+     * @param clazz
+     * @param <T>
+     * @return
+     */
+    @Override
+    public <T> boolean rolloverIndex(Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        RolloverConfig rollover = persistentEntity.getRolloverConfig();
+        return rolloverIndex(
+                rollover.getAlias().getName(),
+                persistentEntity.getIndexSettingAndMappingPath(),
+                rollover.getConditions()
+        );
+    }
+
+    /**
+     * @param aliasName
+     * @param indexPath
+     * @param conditions
+     * @return
+     */
+    @Override
+    public boolean rolloverIndex(String aliasName, String indexPath, RolloverConfig.RolloverConditions conditions) {
+        RolloverRequest request = this.requestsBuilder().rolloverRequest(aliasName, indexPath, conditions);
+        try {
+            return this.client.rollover(request).isAcknowledged();
+        } catch (IOException e) {
+            throw new ElasticsearchException("Failed to rollover index request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#index(Object, Class)     method
+     */
+    @Override
+    public <T> T index(T entity, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        IndexRequest request = this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper());
+        try {
+            IndexResponse response = client.index(request);
+            persistentEntity.setPersistentEntity(entity, response);
+            return entity;
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while index for request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#bulkIndex(List, Class) method
+     */
+    @Override
+    public <T> List<T> bulkIndex(List<T> entities, Class<T> clazz) {
+        if (entities.isEmpty())
+            return entities;
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        BulkRequest bulkRequest = new BulkRequest();
+        entities.forEach(entity -> bulkRequest.add(this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper())));
+        try {
+            BulkResponse response = client.bulk(bulkRequest);
+            checkForBulkUpdateFailure(response);
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < entities.size(); i++) {
+                persistentEntity.setPersistentEntity(entities.get(i), items[i]);
+            }
+            return entities;
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while bulk for request: " + bulkRequest.toString(), e);
+        }
+    }
+
+    @Override
+    public List bulkIndex(List<?> entities) {
+        if (entities.isEmpty())
+            return entities;
+        BulkRequest bulkRequest = new BulkRequest();
+        entities.forEach(entity -> {
+            Class entityClass = entity.getClass();
+            ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(entityClass);
+            bulkRequest.add(this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper()));
+        });
+        try {
+            BulkResponse response = client.bulk(bulkRequest);
+            checkForBulkUpdateFailure(response);
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < entities.size(); i++) {
+                Object entity = entities.get(i);
+                ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(entity.getClass());
+                persistentEntity.setPersistentEntity(entities.get(i), items[i]);
+            }
+            return entities;
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while bulk for request: " + bulkRequest.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#bulkIndexer(Class, BulkIndexerListener) method
+     */
+    @Override
+    public <T> BulkIndexer<T> bulkIndexer(Class<T> clazz, @Nullable BulkIndexerListener<T> listener) {
+        return bulkIndexer(clazz, this.bulkIndexerSettings, listener);
+    }
+
+    /**
+     * @see ElasticsearchOperations#bulkIndexer(Class, BulkIndexerSettings, BulkIndexerListener) method
+     */
+    @Override
+    public <T> BulkIndexer<T> bulkIndexer(Class<T> clazz, BulkIndexerSettings settings, @Nullable BulkIndexerListener<T> listener) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return new DefaultBulkIndexer<>(persistentEntity,
+                entity -> this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper()),
+                client::bulk,
+                this::checkForBulkUpdateFailure,
+                settings,
+                listener);
+    }
+
+    /**
+     * @see ElasticsearchOperations#findById(Class, String)  method
+     */
+    @Override
+    public <T> Optional<T> findById(Class<T> clazz, String documentId) {
+        Objects.requireNonNull(documentId, "documentId parameter canno't be null !");
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        if (isFindByIdBatched()) {
+            return Optional.ofNullable(join(findByIdLoader(persistentEntity).load(documentId)));
+        }
+        if (persistentEntity.isIndexTimeBased() || persistentEntity.isRolloverIndex()) {
+            SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
+                    .withQuery(QueryBuilders.termQuery("_id", documentId))
+                    .withPageable(PageRequest.of(0, 1))
+                    .build();
+            return findOne(query, clazz);
+        } else {
+            GetRequest request = this.requestsBuilder().getRequest(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), documentId);
+            try {
+                GetResponse response = client.get(request);
+                return Optional.ofNullable(this.getResultsMapper().mapResult(response, clazz));
+            } catch (ElasticsearchStatusException e) {
+                if (e.status() == RestStatus.NOT_FOUND) {
+                    return Optional.empty();
+                }
+                throw new ElasticsearchException("Error for delete index request: " + request.toString(), e);
+            } catch (IOException e) {
+                throw new ElasticsearchException("Error while getting for request: " + request.toString(), e);
+            }
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#findAllById(Class, Iterable)  method
+     */
+    @Override
+    public <T> List<T> findAllById(Class<T> clazz, Iterable<String> documentIds) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        List<List<String>> batches = partitionIds(documentIds);
+        List<CompletableFuture<List<T>>> results = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        AtomicInteger nextBatch = new AtomicInteger();
+        for (int i = 0; i < Math.min(getMultiGetConcurrency(), batches.size()); i++) {
+            findNextBatchAsync(persistentEntity, batches, results, nextBatch);
+        }
+        List<T> entities = new ArrayList<>();
+        for (CompletableFuture<List<T>> result : results) {
+            entities.addAll(join(result));
+        }
+        return entities;
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Execute the next batch of ids, then the following one when the response is received : at most
+     * multiGetConcurrency requests are executed concurrently.
+     */
+    private <T> void findNextBatchAsync(ElasticsearchPersistentEntity<T> persistentEntity, List<List<String>> batches,
+                                        List<CompletableFuture<List<T>>> results, AtomicInteger nextBatch) {
+        int index = nextBatch.getAndIncrement();
+        if (index >= batches.size()) {
+            return;
+        }
+        CompletableFuture<List<T>> batch;
+        try {
+            batch = findAllByIdAsync(persistentEntity, batches.get(index));
+        } catch (RuntimeException e) {
+            results.get(index).completeExceptionally(e);
+            findNextBatchAsync(persistentEntity, batches, results, nextBatch);
+            return;
+        }
+        batch.whenComplete((entities, e) -> {
+            if (e != null) {
+                results.get(index).completeExceptionally(e);
+            } else {
+                results.get(index).complete(entities);
+            }
+            findNextBatchAsync(persistentEntity, batches, results, nextBatch);
+        });
+    }
+
+    @Override
+    protected <T> CompletableFuture<List<T>> findAllByIdAsync(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        Class<T> clazz = persistentEntity.getJavaType();
+        if (isMultiGetSupported(persistentEntity)) {
+            MultiGetRequest request = prepareMultiGet(persistentEntity, documentIds);
+            client.multiGetAsync(request, new ActionListener<MultiGetResponse>() {
+                @Override
+                public void onResponse(MultiGetResponse response) {
+                    try {
+                        future.complete(getResultsMapper().mapResults(response, clazz));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    future.completeExceptionally(new ElasticsearchException("Error for multi get request: " + request.toString(), e));
+                }
+            });
+        } else {
+            SearchRequest request = prepareSearchByIds(persistentEntity, documentIds);
+            client.searchAsync(request, new ActionListener<SearchResponse>() {
+                @Override
+                public void onResponse(SearchResponse response) {
+                    try {
+                        future.complete(sortByIds(documentIds, getResultsMapper().<T, T>mapEntity(response.getHits(), clazz), persistentEntity));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    if (e instanceof ElasticsearchStatusException && ((ElasticsearchStatusException) e).status() == RestStatus.NOT_FOUND) {
+                        future.complete(Collections.emptyList());
+                    } else {
+                        future.completeExceptionally(buildSearchException(e, request));
+                    }
+                }
+            });
+        }
+        return future;
+    }
+
+    @Override
+    public <T> Optional<T> findOne(CriteriaQuery query, Class<T> clazz) {
+        return getResultOne(this.search(query, clazz));
+    }
+
+    @Override
+    public <T> Optional<T> findOne(SearchQuery query, Class<T> clazz) {
+        return getResultOne(this.search(query, clazz));
+    }
+
+    @Override
+    public <T> Optional<T> findOne(StringQuery query, Class<T> clazz) {
+        return getResultOne(this.search(query, clazz));
+    }
+
+    private <T> Optional<T> getResultOne(List<T> items) {
+        if (items.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(items.get(0));
+    }
+
+    /**
+     * @param query
+     * @param clazz
+     * @return
+     */
+    @Override
+    public <T> long count(SearchQuery query, Class<T> clazz) {
+        return executeCount(doCount(prepareCount(query, clazz), query));
+    }
+
+    /**
+     * @param criteriaQuery
+     * @param clazz
+     * @return
+     */
+    @Override
+    public <T> long count(CriteriaQuery criteriaQuery, Class<T> clazz) {
+        return executeCount(doCount(prepareCount(criteriaQuery, clazz), criteriaQuery));
+    }
+
+    /**
+     * @param searchRequest
+     * @return
+     */
+    private long executeCount(SearchRequest searchRequest) {
+        try {
+            return client.search(searchRequest).getHits().getTotalHits();
+        } catch (IOException e) {
+            throw buildSearchException(e, searchRequest);
+        }
+    }
+
+    @Override
+    public <T> Boolean existsById(Class<T> clazz, String documentId) {
+        Objects.requireNonNull(documentId, "documentId parameter canno't be null !");
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        if (persistentEntity.isIndexTimeBased() || persistentEntity.isRolloverIndex()) {
+            FetchSourceFilter.FetchSourceFilterBuilder sourceBuilder = new FetchSourceFilter.FetchSourceFilterBuilder();
+            sourceBuilder.withIncludes("id");
+            SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
+                    .withQuery(QueryBuilders.termQuery("_id", documentId))
+                    .withSourceFilter(sourceBuilder.build())
+                    .withPageable(PageRequest.of(0, 1))
+                    .build();
+
+            SearchResponse response = executeSearch(doSearch(prepareSearch(query, clazz), query));
+            return response.getHits().totalHits > 0;
+        } else {
+            GetRequest request = this.requestsBuilder().getRequest(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), documentId);
+            try {
+                return client.exists(request);
+            } catch (ElasticsearchStatusException e) {
+                if (e.status() == RestStatus.NOT_FOUND) {
+                    return false;
+                }
+                throw new ElasticsearchException("Error for delete index request: " + request.toString(), e);
+            } catch (IOException e) {
+                throw new ElasticsearchException("Error while getting for request: " + request.toString(), e);
+            }
+
+        }
+    }
+
+    /**
+     * @param query
+     * @param javaType
+     * @return
+     */
+    @Override
+    public <T> Boolean existsByQuery(CriteriaQuery query, Class<T> javaType) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(query, javaType), query));
+        return response.getHits().totalHits > 0;
+    }
+
+    @Override
+    public <T> Boolean existsByQuery(SearchQuery query, Class<T> javaType) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(query, javaType), query));
+        return response.getHits().totalHits > 0;
+    }
+
+    @Override
+    public <T> Boolean existsByQuery(StringQuery query, Class<T> javaType) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(query, javaType), query));
+        return response.getHits().totalHits > 0;
+    }
+
+    @Override
+    public <S extends T, T> List<S> search(SearchQuery query, Class<T> clazz) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(query, clazz), query));
+        return this.getResultsMapper().mapEntity(response.getHits(), clazz);
+    }
+
+    /**
+     * @param criteriaQuery
+     * @param clazz
+     * @return
+     */
+    @Override
+    public <S extends T, T> List<S> search(CriteriaQuery criteriaQuery, Class<T> clazz) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(criteriaQuery, clazz), criteriaQuery));
+        return this.getResultsMapper().mapEntity(response.getHits(), clazz);
+    }
+
+    /**
+     * @param stringQuery
+     * @param clazz
+     * @return
+     */
+    @Override
+    public <S extends T, T> List<S> search(StringQuery stringQuery, Class<T> clazz) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(stringQuery, clazz), stringQuery));
+        return this.getResultsMapper().mapEntity(response.getHits(), clazz);
+    }
+
+    @Override
+    public <S extends T, T> Page<S> searchTemplate(SearchTemplateQuery query, Class<T> clazz) {
+        SearchTemplateRequest request = prepareSearchTemplate(query, clazz);
+        try {
+            SearchHits hits = client.searchTemplate(request).getResponse().getHits();
+            return new PageImpl<>(this.getResultsMapper().mapEntity(hits, clazz), query.getPageable(), hits.getTotalHits());
+        } catch (ElasticsearchStatusException e) {
+            if (isIndexNotFound(e)) {
+                return Page.empty(query.getPageable());
+            }
+            throw new ElasticsearchException("Error for search template request: " + request.toString(), e);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for search template request: " + request.toString(), e);
+        }
+    }
+
+    @Override
+    public MultiSearchResults multiSearch(List<QueryAndType<?>> queries) {
+        if (queries.isEmpty()) {
+            return new MultiSearchResults(Collections.emptyList());
+        }
+        MultiSearchRequest request = prepareMultiSearch(queries);
+        try {
+            return mapMultiSearch(queries, client.multiSearch(request));
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for multi search request: " + request.toString(), e);
+        }
+    }
+
+
+    /**
+     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.
+     *
+     * @param searchQuery the given query.
+     * @param clazz       the given {@link Class} clazz.
+     * @return a {@link Page} of T instances.
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(SearchQuery searchQuery, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = this.getPersistentEntityFor(clazz);
+        return this.startScroll(persistentEntity.getScrollTime(), searchQuery, clazz);
+    }
+
+    /**
+     * @param scrollTime  the scroll time.
+     * @param searchQuery the given query.
+     * @param clazz       the given {@link Class} clazz.
+     * @param <T>         the items type
+     * @return the scrolled page for the current continueScroll
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(Duration scrollTime, SearchQuery searchQuery, Class<T> clazz) {
+        return this.startScroll(scrollTime, searchQuery, clazz, this.getResultsMapper());
+    }
+
+    /**
+     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.
+     *
+     * @param criteriaQuery the given query.
+     * @param clazz         the given {@link Class} clazz.
+     * @return a {@link Page} of T instances.
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(CriteriaQuery criteriaQuery, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = this.getPersistentEntityFor(clazz);
+        return this.startScroll(persistentEntity.getScrollTime(), criteriaQuery, clazz);
+    }
+
+    /**
+     * @param scrollTime
+     * @param criteriaQuery
+     * @param clazz
+     * @return
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(Duration scrollTime, CriteriaQuery criteriaQuery, Class<T> clazz) {
+        return this.startScroll(scrollTime, criteriaQuery, clazz, this.getResultsMapper());
+    }
+
+    /**
+     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.
+     *
+     * @param stringQuery the given query.
+     * @param clazz       the given {@link Class} clazz.
+     * @return a {@link Page} of T instances.
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(StringQuery stringQuery, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = this.getPersistentEntityFor(clazz);
+        return this.startScroll(persistentEntity.getScrollTime(), stringQuery, clazz);
+    }
+
+    /**
+     * Start the {@link Page}, with the given scrollTime, size, builder and clazz.
+     *
+     * @param scrollTime  the scroll time.
+     * @param stringQuery the given query.
+     * @param clazz       the given {@link Class} clazz.
+     * @return a {@link Page} of T instances.
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(Duration scrollTime, StringQuery stringQuery, Class<T> clazz) {
+        return this.startScroll(scrollTime, stringQuery, clazz, this.getResultsMapper());
+    }
+
+    /**
+     * @param scrollTime
+     * @param searchQuery
+     * @param entityType
+     * @return
+     */
+    public <T> SearchResponse startScrollResponse(Duration scrollTime, SearchQuery searchQuery, Class<T> entityType) {
+        return executeSearch(doScroll(prepareScroll(searchQuery, scrollTime, entityType), searchQuery));
+    }
+
+    /**
+     * @param scrollTime
+     * @param searchQuery
+     * @return
+     */
+    public SearchResponse startScrollResponse(Duration scrollTime, SearchQuery searchQuery) {
+        return executeSearch(doScroll(prepareScroll(searchQuery, scrollTime), searchQuery));
+    }
+
+    /**
+     * @param scrollTime  the scroll time
+     * @param searchQuery the query
+     * @param clazz       the domain type
+     * @param mapper      the mapper
+     * @param <T>         the generic type
+     * @return the scrolled page for the current continueScroll
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(Duration scrollTime, SearchQuery searchQuery, Class<T> clazz, SearchResultMapper mapper) {
+        SearchResponse response = startScrollResponse(scrollTime, searchQuery, clazz);
+        return mapper.mapResults(response, clazz);
+    }
+
+    /**
+     * @param scrollTime
+     * @param criteriaQuery
+     * @param entityType
+     * @param <T>
+     * @return
+     */
+    public <T> SearchResponse startScrollResponse(Duration scrollTime, CriteriaQuery criteriaQuery, Class<T> entityType) {
+        return executeSearch(doScroll(prepareScroll(criteriaQuery, scrollTime, entityType), criteriaQuery));
+    }
+
+    /**
+     * @param scrollTime    the given scrollId.
+     * @param criteriaQuery the given query.
+     * @param clazz         the item domain type
+     * @param mapper        the mapper to transform results
+     * @return a {@link Page} of T instancess.
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(Duration scrollTime, CriteriaQuery criteriaQuery, Class<T> clazz, SearchResultMapper mapper) {
+        SearchResponse response = startScrollResponse(scrollTime, criteriaQuery, clazz);
+        return mapper.mapResults(response, clazz);
+    }
+
+    /**
+     * @param scrollTime
+     * @param stringQuery
+     * @param entityType
+     * @param <T>
+     * @return
+     */
+    public <T> SearchResponse startScrollResponse(Duration scrollTime, StringQuery stringQuery, Class<T> entityType) {
+        return executeSearch(doScroll(prepareScroll(stringQuery, scrollTime, entityType), stringQuery));
+    }
+
+    /**
+     * @param scrollTime  the given scrollId.
+     * @param stringQuery the given query.
+     * @param clazz       the item domain type
+     * @param mapper      the mapper to transform results
+     * @return a {@link Page} of T instancess.
+     */
+    @Override
+    public <S extends T, T> Page<S> startScroll(Duration scrollTime, StringQuery stringQuery, Class<T> clazz, SearchResultMapper mapper) {
+        SearchResponse response = startScrollResponse(scrollTime, stringQuery, clazz);
+        return mapper.mapResults(response, clazz);
+    }
+
+    /**
+     * @see ElasticsearchOperations#searchPage(SearchQuery, Class)
+     */
+    @Override
+    public <S extends T, T> SearchAfterPage<S> searchPage(SearchQuery searchQuery, Class<T> clazz) {
+        return doSearchPage(doSearch(prepareSearch(searchQuery, clazz), searchQuery), searchQuery, clazz);
+    }
+
+    /**
+     * @see ElasticsearchOperations#searchPage(CriteriaQuery, Class)
+     */
+    @Override
+    public <S extends T, T> SearchAfterPage<S> searchPage(CriteriaQuery criteriaQuery, Class<T> clazz) {
+        return doSearchPage(doSearch(prepareSearch(criteriaQuery, clazz), criteriaQuery), criteriaQuery, clazz);
+    }
+
+    /**
+     * @see ElasticsearchOperations#searchPage(StringQuery, Class)
+     */
+    @Override
+    public <S extends T, T> SearchAfterPage<S> searchPage(StringQuery stringQuery, Class<T> clazz) {
+        return doSearchPage(doSearch(prepareSearch(stringQuery, clazz), stringQuery), stringQuery, clazz);
+    }
+
+    /**
+     * @see ElasticsearchOperations#searchAll(CriteriaQuery, Class)
+     */
+    @Override
+    public <S extends T, T> List<S> searchAll(CriteriaQuery criteriaQuery, Class<T> clazz) {
+        if (this.unpagedSearchStrategy == UnpagedSearchStrategy.SCROLL) {
+            return scrollAll(criteriaQuery, clazz);
+        }
+        criteriaQuery.setPageable(CursorPageRequest.of(0, this.unpagedSearchPageSize, (String) null));
+        SearchAfterPage<S> page = searchPage(criteriaQuery, clazz);
+        List<S> results = new ArrayList<>(page.getContent());
+        while (page.getNumberOfElements() == this.unpagedSearchPageSize && results.size() < page.getTotalElements()) {
+            criteriaQuery.setPageable(page.nextPageable());
+            page = searchPage(criteriaQuery, clazz);
+            results.addAll(page.getContent());
+        }
+        return results;
+    }
+
+    private <S extends T, T> List<S> scrollAll(CriteriaQuery criteriaQuery, Class<T> clazz) {
+        criteriaQuery.setPageable(PageRequest.of(0, this.unpagedSearchPageSize));
+        SearchResponse response = executeSearch(doSearch(prepareSearch(criteriaQuery, clazz), criteriaQuery));
+        if (response.getHits().getTotalHits() <= this.unpagedSearchPageSize) {
+            // The whole result in a single request, without scroll context
+            return this.getResultsMapper().mapEntity(response.getHits(), clazz);
+        }
+        // A scroll cannot start after the first page : the result is read again from the start, in the order of the query
+        final Duration scrollTime = Duration.ofMinutes(1);
+        ScrolledPage<S> page = (ScrolledPage<S>) startScroll(scrollTime, criteriaQuery, clazz);
+        List<S> results = new ArrayList<>(page.getContent());
+        String scrollId = page.getScrollId();
+        try {
+            while (page.hasContent() && results.size() < page.getTotalElements()) {
+                page = (ScrolledPage<S>) continueScroll(scrollId, scrollTime, clazz);
+                scrollId = page.getScrollId();
+                results.addAll(page.getContent());
+            }
+        } finally {
+            if (scrollId != null) {
+                clearScroll(scrollId);
+            }
+        }
+        return results;
+    }
+
+    private <S extends T, T> SearchAfterPage<S> doSearchPage(SearchRequest request, Query query, Class<T> clazz) {
+        Pageable pageable = query.getPageable();
+        Assert.isTrue(pageable.isPaged(), "Pageable must be paged");
+        String tiebreaker = query.getPagingTiebreaker() != null ? query.getPagingTiebreaker() : getPersistentEntityFor(clazz).getPagingTiebreaker();
+        doSearchAfter(request, pageable, tiebreaker);
+        SearchResponse response = executeSearch(request);
+        SearchHit[] hits = response.getHits().getHits();
+        List<S> content = this.getResultsMapper().mapEntity(response.getHits(), clazz);
+        String cursor = hits.length == 0 ? null : SearchAfterCursor.encode(hits[hits.length - 1].getSortValues());
+        return new SearchAfterPageResult<>(content, pageable, response.getHits().getTotalHits(), cursor);
+    }
+
+    /**
+     * @param request
+     * @return
+     */
+    private SearchResponse executeSearch(SearchRequest request) {
+        try {
+            return client.search(request);
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND) {
+                return new SearchResponse(
+                        new SearchResponseSections(SearchHits.empty(), null, null, false, true, null, 0),
+                        null, 1, 1, 0, 1000, null, null);
+            }
+            throw buildSearchException(e, request);
+        } catch (IOException e) {
+            throw buildSearchException(e, request);
+        }
+
+    }
+
+
+    /**
+     * @see ElasticsearchOperations#continueScroll(String, Duration, Class)   method
+     */
+    @Override
+    public <S extends T, T> Page<S> continueScroll(String scrollId, Duration scrollTime, Class<T> clazz) {
+        return continueScroll(scrollId, scrollTime, clazz, this.getResultsMapper());
+    }
+
+    @Nullable
+    private SearchResponse continueScrollResponse(String scrollId, Duration scrollTime) {
+        SearchScrollRequest request = this.requestsBuilder().searchScrollRequest(scrollId, scrollTime);
+        try {
+            return client.searchScroll(request);
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND || e.status() == RestStatus.INTERNAL_SERVER_ERROR) {
+                return null;
+            }
+            throw new ElasticsearchException("Error for continue scroll request: " + request.toString(), e);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error for continue scroll request: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @param scrollId   the scroll id
+     * @param scrollTime the scroll time
+     * @param clazz      the entity class
+     * @param mapper     the mapper
+     * @param <T>        generic type
+     * @return a new {@link Page}
+     */
+    @Override
+    public <S extends T, T> Page<S> continueScroll(String scrollId, Duration scrollTime, Class<T> clazz, SearchResultMapper mapper) {
+        SearchResponse response = continueScrollResponse(scrollId, scrollTime);
+        if (response == null) {
+            return ScrolledPageResult.of(Collections.emptyList(), 0L, scrollId);
+        }
+        return mapper.mapResults(response, clazz);
+    }
+
+    /**
+     * Asynchronous variant of {@link #continueScrollResponse(String, Duration)}.
+     * The response is not mapped : the thread receiving it is the I/O thread of the client.
+     *
+     * @param scrollId   the scroll id
+     * @param scrollTime the scroll time
+     * @return the future response, without hits if the scroll context is lost
+     */
+    private CompletableFuture<SearchResponse> continueScrollAsync(String scrollId, Duration scrollTime) {
+        SearchScrollRequest request = this.requestsBuilder().searchScrollRequest(scrollId, scrollTime);
+        CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+        client.searchScrollAsync(request, new ActionListener<SearchResponse>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (e instanceof ElasticsearchStatusException
+                        && (((ElasticsearchStatusException) e).status() == RestStatus.NOT_FOUND || ((ElasticsearchStatusException) e).status() == RestStatus.INTERNAL_SERVER_ERROR)) {
+                    future.complete(new SearchResponse(InternalSearchResponse.empty(), scrollId, 0, 0, 0, 0,
+                            ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY));
+                } else {
+                    future.completeExceptionally(new ElasticsearchException("Error for continue scroll request: " + request.toString(), e));
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @see ElasticsearchOperations#clearScroll(String)  method
+     */
+    @Override
+    public void clearScroll(String scrollId) {
+        ClearScrollRequest request = this.requestsBuilder().clearScrollRequest(scrollId);
+        try {
+            client.clearScroll(request);
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND) {
+                return;
+            }
+            throw buildClearScrollException(e, request);
+        } catch (IOException e) {
+            throw buildClearScrollException(e, request);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteAll(Class)  method
+     */
+    @Override
+    public <T> void deleteAll(Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        if (persistentEntity.isRolloverIndex()) {
+            RolloverConfig rollover = persistentEntity.getRolloverConfig();
+            this.deleteIndexByAlias(persistentEntity.getAliasOrIndexWriter());
+            this.rolloverIndex(
+                    persistentEntity.getAliasOrIndexWriter(),
+                    persistentEntity.getIndexSettingAndMappingPath(),
+                    rollover.getConditions());
+        } else if (persistentEntity.isIndexTimeBased()) {
+            GetAliasesRequest request = this.requestsBuilder().getAliasesRequest(persistentEntity.getAliasOrIndexReader());
+            try {
+                GetAliasesResponse response = this.client.getAlias(request);
+                response.getAliases().keySet().forEach(this::deleteIndexByName);
+            }catch (ElasticsearchStatusException e){
+                if (e.status() != RestStatus.NOT_FOUND) {
+                    throw buildGetAliasException(e, request);
+                }
+            }catch (IOException e) {
+                throw buildGetAliasException(e, request);
+            }
+        } else {
+            deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), QueryBuilders.matchAllQuery());
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteAll(Collection, Class)  method
+     */
+    @Override
+    public <T> void deleteAll(Collection<T> entities, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        Set<String> ids = new HashSet<>();
+        entities.forEach(entity -> {
+            String id = persistentEntity.getPersistentEntityId(entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        });
+        if (!ids.isEmpty()) {
+            if (persistentEntity.isRolloverIndex()) {
+                deleteByQuery(persistentEntity.getAliasOrIndexWriter(), persistentEntity.getTypeName(), QueryBuilders.termsQuery("_id", ids));
+            } else {
+                deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), QueryBuilders.termsQuery("_id", ids));
+            }
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#delete(Object, Class)   method
+     */
+    @Override
+    public <T> void delete(T entity, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        String id = persistentEntity.getPersistentEntityId(entity);
+        if (id != null) {
+            this.deleteById(id, clazz);
+        }
+    }
+
+    /**
+     * delete the document for the given entity, and clazz
+     *
+     * @param query the given query.
+     * @param clazz the given clazz.
+     */
+    @Override
+    public <T> void delete(CriteriaQuery query, Class<T> clazz) {
+
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        Optional<QueryBuilder> queryBuilder = new CriteriaQueryProcessor().createQueryFromCriteria(query.getCriteria());
+        Optional<QueryBuilder> filterBuilder = new CriteriaFilterProcessor().createFilterFromCriteria(query.getCriteria());
+        QueryBuilder deleteQuery = queryBuilder.orElse(filterBuilder.orElse(null));
+        if (persistentEntity.isRolloverIndex()) {
+            deleteByQuery(persistentEntity.getAliasOrIndexWriter(), persistentEntity.getTypeName(), deleteQuery);
+        } else {
+            deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), deleteQuery);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#deleteById(String, Class)   method
+     */
+    @Override
+    public <T> void deleteById(String documentId, Class<T> clazz) {
+        Assert.notNull(documentId, "documentId must not be null!");
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        QueryBuilder queryBuilder = QueryBuilders.termQuery("_id", documentId);
+        if (persistentEntity.isIndexTimeBased()) {
+            deleteByQuery(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), queryBuilder);
+        } else {
+            String indexName = persistentEntity.isRolloverIndex() ? persistentEntity.getAliasOrIndexWriter() : persistentEntity.getAliasOrIndexReader();
+            DeleteRequest request = this.requestsBuilder().deleteRequest(indexName, persistentEntity.getTypeName(), documentId);
+            try {
+                client.delete(request);
+            } catch (IOException e) {
+                throw new ElasticsearchException("Error for delete request: " + request.toString(), e);
+            }
+        }
+    }
+
+    /**
+     * @param query
+     */
+    private void deleteByQuery(String indexName, String typeName, @Nullable QueryBuilder query) {
+        DeleteByQueryRequest request = this.requestsBuilder().deleteBy(indexName, typeName, query);
+        try {
+            BulkByScrollResponse response = client.deleteBy(request);
+            checkForBulkDeleteFailure(response);
+        }catch(ElasticsearchStatusException e){
+            if (e.status() != RestStatus.NOT_FOUND) {
+                throw new ElasticsearchException("Error while deleting bulk: " + request.toString(), e);
+            }
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while deleting bulk: " + request.toString(), e);
+        }
+    }
+
+    /**
+     * @see ElasticsearchOperations#refresh(Class)  method
+     */
+    @Override
+    public <T> void refresh(Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        if (persistentEntity.isRolloverIndex()) {
+            this.refresh(persistentEntity.getAliasOrIndexWriter());
+        } else {
+            this.refresh(persistentEntity.getAliasOrIndexReader());
+        }
+    }
+
+    /**
+     * @param indexName the index name
+     */
+    @Override
+    public void refresh(String indexName) {
+        Assert.notNull(indexName, "No index defined for refresh()");
+        try {
+            client.refresh(refreshRequest(indexName));
+        } catch (ElasticsearchStatusException e) {
+            if (e.status() == RestStatus.NOT_FOUND) {
+                return;
+            }
+            throw new ElasticsearchException("failed to refresh index: " + indexName, e);
+        } catch (IOException e) {
+            throw new ElasticsearchException("failed to refresh index: " + indexName, e);
+        }
+    }
+
+    @Override
+    public <T> T search(SearchQuery query, ResultsExtractor<T> resultsExtractor) {
+        SearchResponse response = executeSearch(doSearch(prepareSearch(query, Optional.of(query.getQuery())), query));
+        return resultsExtractor.extract(response);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param query
+     * @param extractor
+     * @return
+     */
+    @Override
+    public <T> T suggest(SuggestQuery query, ResultsExtractor<T> extractor) {
+        return extractor.extract(executeSearch(prepareSuggest(query)));
+    }
+
+    /**
+     *
+     * @param <R>
+     * @param <T>
+     * @param query
+     * @param clazz
+     * @param extractor
+     * @return
+     */
+    @Override
+    public <R, T> R suggest(SuggestQuery query, Class<T> clazz, ResultsExtractor<R> extractor) {
+        return extractor.extract(executeSearch(prepareSuggest(query, clazz)));
+    }
+
+    @Override
+    public <T> List hasChild(HasChildQuery query, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return this.search(prepareHasChildQuery(query, clazz), persistentEntity.getJoinDescriptor().getParentJavaType());
+    }
+
+    @Override
+    public <S extends T, T> List<S> hasParent(HasParentQuery query, Class<T> clazz) {
+        return this.search(prepareHasParentQuery(query, clazz), clazz);
+    }
+
+    @Override
+    public <T> List<T> hasParentId(ParentIdQuery query, Class<T> clazz) {
+        return this.search(prepareHasParentId(query, clazz), clazz);
+    }
+
+    /**
+     *
+     * @param query
+     * @param builder
+     * @return
+     */
+    @Override
+    protected SearchRequest prepareSearch(Query query, Optional<QueryBuilder> builder) {
+        SearchRequest request = super.prepareSearch(query, builder);
+        SearchSourceBuilder sourceBuilder = request.source();
+        int startRecord = 0;
+        if (query.getPageable().isPaged()) {
+            startRecord = query.getPageable().getPageNumber() * query.getPageable().getPageSize();
+            sourceBuilder.size(query.getPageable().getPageSize());
+        }
+        sourceBuilder.from(startRecord);
+        return request;
+    }
+
+    @Override
+    public <T> CloseableIterator<T> stream(SearchQuery query, Class<T> clazz) {
+        return stream(query, clazz, this.getResultsMapper());
+    }
+
+    @Override
+    public <T> CloseableIterator<T> stream(CriteriaQuery query, Class<T> clazz) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return doStream(scrollTime, (ScrolledPage<T>) startScroll(scrollTime, query, clazz), clazz,
+                this.getResultsMapper());
+    }
+
+    @Override
+    public <T> CloseableIterator<T> stream(SearchQuery query, final Class<T> clazz, final SearchResultMapper mapper) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return doStream(scrollTime, (ScrolledPage<T>) startScroll(scrollTime, query, clazz, mapper), clazz,
+                mapper);
+    }
+
+    @Override
+    public <T> CloseableIterator<T> stream(SearchQuery query, Class<T> clazz, int slices) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return slicedScroll(scrollTime, clazz, slices,
+                slice -> doSlice(doScroll(prepareScroll(query, scrollTime, clazz), query), slice, slices)).iterator(slices, scrollTime);
+    }
+
+    @Override
+    public <T> CloseableIterator<T> stream(CriteriaQuery query, Class<T> clazz, int slices) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return slicedScroll(scrollTime, clazz, slices,
+                slice -> doSlice(doScroll(prepareScroll(query, scrollTime, clazz), query), slice, slices)).iterator(slices, scrollTime);
+    }
+
+    @Override
+    public <T> Stream<T> parallelStream(SearchQuery query, Class<T> clazz, int slices) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return slicedScroll(scrollTime, clazz, slices,
+                slice -> doSlice(doScroll(prepareScroll(query, scrollTime, clazz), query), slice, slices)).parallelStream();
+    }
+
+    @Override
+    public <T> Stream<T> parallelStream(CriteriaQuery query, Class<T> clazz, int slices) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return slicedScroll(scrollTime, clazz, slices,
+                slice -> doSlice(doScroll(prepareScroll(query, scrollTime, clazz), query), slice, slices)).parallelStream();
+    }
+
+    /**
+     * The slice requests are built in the calling thread, the query being shared by every slice.
+     *
+     * @param scrollTime   the scroll time
+     * @param clazz        the entity class
+     * @param slices       the number of slices
+     * @param sliceRequest the factory of the scroll request of a slice
+     * @param <T>          the entity type
+     * @return a new sliced scroll
+     */
+    @SuppressWarnings("unchecked")
+    private <T> SlicedScroll<T> slicedScroll(Duration scrollTime, Class<T> clazz, int slices, IntFunction<SearchRequest> sliceRequest) {
+        Assert.isTrue(slices > 0, "slices must be greater than 0");
+        final SearchResultMapper mapper = this.getResultsMapper();
+        final List<SearchRequest> requests = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            requests.add(sliceRequest.apply(slice));
+        }
+        return new SlicedScroll<>(slices,
+                slice -> (ScrolledPage<T>) mapper.mapResults(executeSearch(requests.get(slice)), clazz),
+                scrollId -> (ScrolledPage<T>) continueScroll(scrollId, scrollTime, clazz, mapper),
+                this::clearScroll);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CloseableIterator<T> doStream(final Duration scrollTime, final ScrolledPage<T> page,
+                                              final Class<T> clazz, final SearchResultMapper mapper) {
+        if (this.streamPrefetch > 0) {
+            return new PrefetchingScrollIterator<>(page,
+                    scrollId -> continueScrollAsync(scrollId, scrollTime),
+                    response -> (ScrolledPage<T>) mapper.mapResults(response, clazz),
+                    this::clearScroll,
+                    this.streamPrefetch);
+        }
+        return new CloseableIterator<T>() {
+
+            /** As we couldn't retrieve single result with scroll, store current hits. */
+            private volatile Iterator<T> currentHits = page.iterator();
+
+            /** The scroll id. */
+            private volatile String scrollId = page.getScrollId();
+
+            /** If stream is finished (ie: cluster returns no results. */
+            private volatile boolean finished = !currentHits.hasNext();
+
+            @Override
+            public void close() {
+                try {
+                    // Clear scroll on cluster only in case of error (cause elasticsearch auto clear scroll when it's done)
+                    if (!finished && scrollId != null && currentHits != null && currentHits.hasNext()) {
+                        clearScroll(scrollId);
+                    }
+                } finally {
+                    currentHits = null;
+                    scrollId = null;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                // Test if stream is finished
+                if (finished) {
+                    return false;
+                }
+                // Test if it remains hits
+                if (currentHits == null || !currentHits.hasNext()) {
+                    // Do a new request
+                    final ScrolledPage<T> scroll = (ScrolledPage<T>) continueScroll(scrollId, scrollTime, clazz, mapper);
+                    // Save hits and scroll id
+                    currentHits = scroll.iterator();
+                    finished = !currentHits.hasNext();
+                    scrollId = scroll.getScrollId();
+                }
+                return currentHits.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (hasNext()) {
+                    return currentHits.next();
+                }
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove");
+            }
+        };
+    }
+}
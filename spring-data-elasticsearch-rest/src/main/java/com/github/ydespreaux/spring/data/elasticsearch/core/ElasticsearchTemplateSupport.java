@@ -24,8 +24,14 @@ package com.github.ydespreaux.spring.data.elasticsearch.core;
 import com.github.ydespreaux.spring.data.elasticsearch.annotations.IndexedDocument;
 import com.github.ydespreaux.spring.data.elasticsearch.annotations.ProjectionDocument;
 import com.github.ydespreaux.spring.data.elasticsearch.annotations.RolloverDocument;
+import com.github.ydespreaux.spring.data.elasticsearch.core.batch.BatchLoader;
+import com.github.ydespreaux.spring.data.elasticsearch.core.batch.BatchLoaderSettings;
 import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchConverter;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResult;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResults;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.CursorPageRequest;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.SearchAfterCursor;
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.*;
 import com.github.ydespreaux.spring.data.elasticsearch.core.request.RequestsBuilder;
 import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;
@@ -36,9 +42,13 @@ import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
 import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -46,26 +56,41 @@ import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.join.query.HasChildQueryBuilder;
 import org.elasticsearch.join.query.HasParentQueryBuilder;
 import org.elasticsearch.join.query.JoinQueryBuilders;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
 import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.io.Resource;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.text.MessageFormat;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static org.elasticsearch.index.query.QueryBuilders.wrapperQuery;
 import static org.springframework.util.CollectionUtils.isEmpty;
@@ -75,7 +100,10 @@ import static org.springframework.util.CollectionUtils.isEmpty;
  * @since 1.0.0
  */
 @Slf4j
-public abstract class ElasticsearchTemplateSupport implements ApplicationContextAware, InitializingBean {
+public abstract class ElasticsearchTemplateSupport implements ApplicationContextAware, InitializingBean, DisposableBean {
+
+    public static final int DEFAULT_MULTI_GET_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MULTI_GET_CONCURRENCY = 4;
 
     /**
      * {@link ElasticsearchConverter} property.
@@ -94,6 +122,36 @@ public abstract class ElasticsearchTemplateSupport implements ApplicationContext
 
     private RequestsBuilder requestsBuilder;
 
+    /**
+     * Maximum number of documents fetched by a request of findAllById.
+     */
+    private int multiGetBatchSize = DEFAULT_MULTI_GET_BATCH_SIZE;
+
+    /**
+     * Maximum number of concurrent requests of findAllById.
+     */
+    @Getter
+    private int multiGetConcurrency = DEFAULT_MULTI_GET_CONCURRENCY;
+
+    /**
+     * Maximum number of searches of a multi search executed concurrently by the cluster, 0 for the cluster default.
+     */
+    private int maxConcurrentSearches = 0;
+
+    /**
+     * Settings of the batching of the findById calls, null if the calls are not batched.
+     */
+    @Nullable
+    private BatchLoaderSettings findByIdBatching;
+
+    /**
+     * Scheduler loading the batches of the findById calls.
+     */
+    @Nullable
+    private ScheduledExecutorService batchScheduler;
+
+    private final Map<Class<?>, BatchLoader<String, ?>> findByIdLoaders = new ConcurrentHashMap<>();
+
     /**
      * The used {@link ApplicationContext}
      */
@@ -122,6 +180,86 @@ public abstract class ElasticsearchTemplateSupport implements ApplicationContext
         return values.toArray(valuesAsArray);
     }
 
+    /**
+     * @param multiGetBatchSize the maximum number of documents fetched by a request of findAllById
+     */
+    public void setMultiGetBatchSize(int multiGetBatchSize) {
+        Assert.isTrue(multiGetBatchSize > 0, "multiGetBatchSize must be greater than 0");
+        this.multiGetBatchSize = multiGetBatchSize;
+    }
+
+    /**
+     * @param multiGetConcurrency the maximum number of concurrent requests of findAllById
+     */
+    public void setMultiGetConcurrency(int multiGetConcurrency) {
+        Assert.isTrue(multiGetConcurrency > 0, "multiGetConcurrency must be greater than 0");
+        this.multiGetConcurrency = multiGetConcurrency;
+    }
+
+    /**
+     * @param maxConcurrentSearches the maximum number of searches of a multi search executed concurrently by the
+     *                              cluster, 0 for the cluster default
+     */
+    public void setMaxConcurrentSearches(int maxConcurrentSearches) {
+        Assert.isTrue(maxConcurrentSearches >= 0, "maxConcurrentSearches must be greater than or equal to 0");
+        this.maxConcurrentSearches = maxConcurrentSearches;
+    }
+
+    /**
+     * Batch the concurrent findById calls : the ids of an entity requested during a short window are fetched by a
+     * single findAllById request.
+     *
+     * @param settings the settings of the batches, null to fetch each document by its own request
+     */
+    public synchronized void setFindByIdBatching(@Nullable BatchLoaderSettings settings) {
+        this.findByIdBatching = settings;
+        this.findByIdLoaders.clear();
+        if (settings != null && this.batchScheduler == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("find-by-id-batch-");
+            threadFactory.setDaemon(true);
+            this.batchScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+    }
+
+    /**
+     * @return true if the findById calls are batched
+     */
+    protected boolean isFindByIdBatched() {
+        return this.findByIdBatching != null;
+    }
+
+    /**
+     * @param persistentEntity the persistent entity
+     * @param <T>              the entity type
+     * @return the loader batching the findById calls of the entity
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> BatchLoader<String, T> findByIdLoader(ElasticsearchPersistentEntity<T> persistentEntity) {
+        Assert.state(this.findByIdBatching != null && this.batchScheduler != null, "findById batching is disabled");
+        return (BatchLoader<String, T>) this.findByIdLoaders.computeIfAbsent(persistentEntity.getJavaType(),
+                type -> new BatchLoader<String, T>(this.findByIdBatching, this.batchScheduler,
+                        documentIds -> findAllByIdAsync(persistentEntity, documentIds)
+                                .thenApply(entities -> mapById(entities, persistentEntity))));
+    }
+
+    /**
+     * Fetch a batch of documents.
+     *
+     * @param persistentEntity the persistent entity
+     * @param documentIds      the ids
+     * @param <T>              the entity type
+     * @return the future entities found
+     */
+    protected abstract <T> CompletableFuture<List<T>> findAllByIdAsync(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds);
+
+    @Override
+    public synchronized void destroy() {
+        if (this.batchScheduler != null) {
+            this.batchScheduler.shutdown();
+            this.batchScheduler = null;
+        }
+    }
+
     /**
      * @return
      */
@@ -583,6 +721,53 @@ public abstract class ElasticsearchTemplateSupport implements ApplicationContext
         }
     }
 
+    /**
+     * Add the tiebreaker to the sort of the request, and the search_after values if the pageable holds a cursor.
+     *
+     * @param request    the search request
+     * @param pageable   the pageable
+     * @param tiebreaker the unique field completing the sort
+     * @return the search request
+     */
+    protected SearchRequest doSearchAfter(SearchRequest request, Pageable pageable, String tiebreaker) {
+        SearchSourceBuilder sourceBuilder = request.source();
+        List<SortBuilder<?>> sorts = sourceBuilder.sorts();
+        boolean hasTiebreaker = false;
+        if (isEmpty(sorts)) {
+            sourceBuilder.sort(SortBuilders.scoreSort());
+        } else {
+            hasTiebreaker = sorts.stream().anyMatch(sort -> sort instanceof FieldSortBuilder && tiebreaker.equals(((FieldSortBuilder) sort).getFieldName()));
+        }
+        if (!hasTiebreaker) {
+            sourceBuilder.sort(SortBuilders.fieldSort(tiebreaker).order(SortOrder.ASC));
+        }
+        String cursor = CursorPageRequest.cursorOf(pageable);
+        if (cursor != null) {
+            sourceBuilder.from(0);
+            sourceBuilder.searchAfter(SearchAfterCursor.decode(cursor));
+        }
+        return request;
+    }
+
+    /**
+     * Restrict the scroll request to the given slice. The documents are sorted by {@code _doc} if no sort is defined.
+     *
+     * @param request the scroll request
+     * @param id      the slice id
+     * @param max     the number of slices
+     * @return the search request
+     */
+    protected SearchRequest doSlice(SearchRequest request, int id, int max) {
+        SearchSourceBuilder sourceBuilder = request.source();
+        if (max > 1) {
+            sourceBuilder.slice(new SliceBuilder(id, max));
+        }
+        if (isEmpty(sourceBuilder.sorts())) {
+            sourceBuilder.sort(SortBuilders.fieldSort(FieldSortBuilder.DOC_FIELD_NAME));
+        }
+        return request;
+    }
+
     /**
      * @param sort
      * @param searchSourceBuilder
@@ -603,6 +788,195 @@ public abstract class ElasticsearchTemplateSupport implements ApplicationContext
     }
 
 
+    /**
+     * Split the distinct ids into batches of the requests of findAllById.
+     *
+     * @param documentIds the ids
+     * @return the batches, in the order of the ids
+     */
+    protected List<List<String>> partitionIds(Iterable<String> documentIds) {
+        Assert.notNull(documentIds, "documentIds must not be null");
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String documentId : documentIds) {
+            Assert.notNull(documentId, "documentId must not be null");
+            distinctIds.add(documentId);
+        }
+        List<List<String>> batches = new ArrayList<>(distinctIds.size() / multiGetBatchSize + 1);
+        List<String> batch = new ArrayList<>(Math.min(distinctIds.size(), multiGetBatchSize));
+        for (String documentId : distinctIds) {
+            if (batch.size() == multiGetBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(multiGetBatchSize);
+            }
+            batch.add(documentId);
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * The documents of the entities stored in time based or rollover indices are searched by an ids query on the
+     * alias reader, the others are fetched by a multi get request.
+     *
+     * @param persistentEntity the persistent entity
+     * @param <T>              the entity type
+     * @return true if the documents are fetched by a multi get request
+     */
+    protected <T> boolean isMultiGetSupported(ElasticsearchPersistentEntity<T> persistentEntity) {
+        return !persistentEntity.isIndexTimeBased() && !persistentEntity.isRolloverIndex();
+    }
+
+    /**
+     * @param persistentEntity the persistent entity
+     * @param documentIds      the ids
+     * @param <T>              the entity type
+     * @return the multi get request of the documents
+     */
+    protected <T> MultiGetRequest prepareMultiGet(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds) {
+        return requestsBuilder().multiGetRequest(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(),
+                getRouting(persistentEntity), documentIds);
+    }
+
+    /**
+     * @param persistentEntity the persistent entity
+     * @param documentIds      the ids
+     * @param <T>              the entity type
+     * @return the search request of the documents by an ids query
+     */
+    protected <T> SearchRequest prepareSearchByIds(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds) {
+        SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
+                .withQuery(QueryBuilders.idsQuery().addIds(documentIds.toArray(new String[0])))
+                .build();
+        SearchRequest request = doSearch(prepareSearch(query, persistentEntity.getJavaType()), query);
+        request.source().size(documentIds.size());
+        request.routing(getRouting(persistentEntity));
+        return request;
+    }
+
+    /**
+     * Prepare the searches of a multi search with the pipeline of the single searches.
+     *
+     * @param queries the queries
+     * @return the multi search request
+     */
+    protected MultiSearchRequest prepareMultiSearch(List<QueryAndType<?>> queries) {
+        MultiSearchRequest request = new MultiSearchRequest();
+        if (this.maxConcurrentSearches > 0) {
+            request.maxConcurrentSearchRequests(this.maxConcurrentSearches);
+        }
+        for (QueryAndType<?> item : queries) {
+            request.add(prepareSearch(item));
+        }
+        return request;
+    }
+
+    /**
+     * @param query the search template query
+     * @param clazz the entity class
+     * @param <T>   the entity type
+     * @return the request executing the search template on the index of the entity
+     */
+    protected <T> SearchTemplateRequest prepareSearchTemplate(SearchTemplateQuery query, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return requestsBuilder().searchTemplateRequest(persistentEntity.getAliasOrIndexReader(), persistentEntity.getTypeName(), query);
+    }
+
+    private SearchRequest prepareSearch(QueryAndType<?> item) {
+        Query query = item.getQuery();
+        if (query instanceof SearchQuery) {
+            return doSearch(prepareSearch((SearchQuery) query, item.getType()), (SearchQuery) query);
+        }
+        if (query instanceof CriteriaQuery) {
+            return doSearch(prepareSearch(query, item.getType()), (CriteriaQuery) query);
+        }
+        if (query instanceof StringQuery) {
+            return doSearch(prepareSearch(query, item.getType()), (StringQuery) query);
+        }
+        throw new InvalidDataAccessApiUsageException("Unsupported query: " + query.getClass().getName());
+    }
+
+    /**
+     * Map the responses of a multi search : a failed search, or a search whose documents cannot be mapped, does not
+     * fail the others, and a search on a missing index returns no entity as the single searches.
+     *
+     * @param queries  the queries
+     * @param response the multi search response
+     * @return the results in the order of the queries
+     */
+    protected MultiSearchResults mapMultiSearch(List<QueryAndType<?>> queries, MultiSearchResponse response) {
+        MultiSearchResponse.Item[] items = response.getResponses();
+        List<MultiSearchResult<?>> results = new ArrayList<>(items.length);
+        for (int i = 0; i < items.length; i++) {
+            results.add(mapMultiSearchItem(queries.get(i), items[i]));
+        }
+        return new MultiSearchResults(results);
+    }
+
+    private <T> MultiSearchResult<T> mapMultiSearchItem(QueryAndType<T> query, MultiSearchResponse.Item item) {
+        if (item.isFailure()) {
+            if (isIndexNotFound(item.getFailure())) {
+                return MultiSearchResult.of(query, Collections.emptyList(), 0);
+            }
+            return MultiSearchResult.failed(query, item.getFailure());
+        }
+        try {
+            SearchHits hits = item.getResponse().getHits();
+            return MultiSearchResult.of(query, getResultsMapper().<T, T>mapEntity(hits, query.getType()), hits.getTotalHits());
+        } catch (RuntimeException e) {
+            // A document that cannot be mapped fails its own search only
+            return MultiSearchResult.failed(query, e);
+        }
+    }
+
+    /**
+     * @param failure the failure of a request
+     * @return true if the request failed because the index does not exist, false for any other failure (including the
+     * other 404 errors, such as a missing stored script)
+     */
+    protected static boolean isIndexNotFound(Throwable failure) {
+        // The reactive client translates the 404 errors to IndexNotFoundException, keeping the response failure as cause
+        Throwable error = failure instanceof IndexNotFoundException && failure.getCause() != null ? failure.getCause() : failure;
+        if (error instanceof IndexNotFoundException) {
+            return true;
+        }
+        // The failures parsed from the response keep only the type of the exception in their message
+        return error.getMessage() != null && error.getMessage().contains("type=index_not_found_exception");
+    }
+
+    /**
+     * @param documentIds      the ids
+     * @param entities         the entities found
+     * @param persistentEntity the persistent entity
+     * @param <T>              the entity type
+     * @return the entities in the order of the ids
+     */
+    protected <T> List<T> sortByIds(List<String> documentIds, List<T> entities, ElasticsearchPersistentEntity<T> persistentEntity) {
+        Map<String, T> entitiesById = mapById(entities, persistentEntity);
+        List<T> sorted = new ArrayList<>(entities.size());
+        for (String documentId : documentIds) {
+            T entity = entitiesById.get(documentId);
+            if (entity != null) {
+                sorted.add(entity);
+            }
+        }
+        return sorted;
+    }
+
+    private static <T> Map<String, T> mapById(List<T> entities, ElasticsearchPersistentEntity<T> persistentEntity) {
+        Map<String, T> entitiesById = new HashMap<>(entities.size() * 2);
+        for (T entity : entities) {
+            entitiesById.putIfAbsent(persistentEntity.getPersistentEntityId(entity), entity);
+        }
+        return entitiesById;
+    }
+
+    @Nullable
+    private static <T> String getRouting(ElasticsearchPersistentEntity<T> persistentEntity) {
+        return persistentEntity.isChildDocument() ? persistentEntity.getJoinDescriptor().getRouting() : null;
+    }
+
     /**
      * @param query
      * @param clazz
@@ -21,6 +21,14 @@
 package com.github.ydespreaux.spring.data.elasticsearch.core;
 
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * DocumentMapper interface, it will allow to customize how we mapping object to json
@@ -36,6 +44,19 @@ public interface EntityMapper {
      */
     <T> String mapToString(T object);
 
+    /**
+     * Map the object to its UTF-8 json representation.
+     * The default implementation falls back to {@link #mapToString(Object)}.
+     *
+     * @param object the object to map
+     * @param <T>    generic type
+     * @return the UTF-8 json representation
+     * @since 1.2.0
+     */
+    default <T> BytesReference mapToBytes(T object) {
+        return new BytesArray(mapToString(object));
+    }
+
     /**
      * @param source the json source
      * @param clazz  the item class
@@ -44,6 +65,52 @@ public interface EntityMapper {
      */
     <S extends T, T> S mapToObject(String source, Class<T> clazz);
 
+    /**
+     * Map the UTF-8 json source without decoding it to a {@link String}.
+     * The default implementation falls back to {@link #mapToObject(String, Class)}.
+     *
+     * @param source the json source
+     * @param clazz  the item class
+     * @param <T>    generic type
+     * @return the object corresponding to json source
+     * @since 1.2.0
+     */
+    default <S extends T, T> S mapToObject(BytesReference source, Class<T> clazz) {
+        return mapToObject(source.utf8ToString(), clazz);
+    }
+
+    /**
+     * Map the UTF-8 json source without decoding it to a {@link String}.
+     * The default implementation falls back to {@link #mapToObject(String, Class)}.
+     *
+     * @param source the json source
+     * @param clazz  the item class
+     * @param <T>    generic type
+     * @return the object corresponding to json source
+     * @since 1.2.0
+     */
+    default <S extends T, T> S mapToObject(byte[] source, Class<T> clazz) {
+        return mapToObject(new String(source, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * Map the UTF-8 json source read from the given stream. The stream is not closed.
+     * The default implementation falls back to {@link #mapToObject(String, Class)}.
+     *
+     * @param source the json source
+     * @param clazz  the item class
+     * @param <T>    generic type
+     * @return the object corresponding to json source
+     * @since 1.2.0
+     */
+    default <S extends T, T> S mapToObject(InputStream source, Class<T> clazz) {
+        try {
+            return mapToObject(StreamUtils.copyToString(source, StandardCharsets.UTF_8), clazz);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Json processing failed : ", e);
+        }
+    }
+
     /**
      * @param persistentEntity
      * @param <T>
@@ -29,7 +29,6 @@ import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.Elasticsearc
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.lang.Nullable;
 
-import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -44,8 +43,6 @@ import static java.lang.String.format;
  */
 public class EntitySerializerRegistry {
 
-    private static final String JOIN_TYPE_FIELD = "name";
-
 
     private final SimpleModule deserializersCustomModule = new SimpleModule("deserializersCustomModule");
     private final ObjectMapper mapper;
@@ -53,6 +50,7 @@ public class EntitySerializerRegistry {
     private Map<Class<?>, JoinDescriptor<?>> descriptors = new ConcurrentHashMap<>();
     private Map<Class<?>, Map<String, Class<?>>> relationships = new ConcurrentHashMap<>();
     private Map<Class<?>, Boolean> registry = new ConcurrentHashMap<>();
+    private Map<Class<?>, Map<String, Class<?>>> entityClassesByType = new ConcurrentHashMap<>();
 
     EntitySerializerRegistry(ObjectMapper mapper) {
         this.mapper = mapper;
@@ -60,7 +58,7 @@ public class EntitySerializerRegistry {
             @Override
             public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
                 if (customSerializers.containsKey(beanDesc.getBeanClass())) {
-                    return new PersistentEntityDeserializer(deserializer, customSerializers.get(beanDesc.getBeanClass()));
+                    return new PersistentEntityDeserializer<>((JsonDeserializer<Object>) deserializer, (ElasticsearchPersistentEntity<Object>) customSerializers.get(beanDesc.getBeanClass()), EntitySerializerRegistry.this::getEntityClassByType);
                 }
                 return deserializer;
             }
@@ -68,26 +66,6 @@ public class EntitySerializerRegistry {
         mapper.registerModule(deserializersCustomModule);
     }
 
-    private boolean isJoinDocument(Class<?> clazz) {
-        Boolean isJoinDocument = this.registry.get(clazz);
-        return isJoinDocument != null && isJoinDocument;
-    }
-
-    /**
-     * @param clazz
-     * @param source
-     * @param <S>
-     * @param <T>
-     * @return
-     * @throws IOException
-     */
-    public <S extends T, T> Class<S> getEntityClassFromJson(Class<T> clazz, String source) throws IOException {
-        if (isJoinDocument(clazz)) {
-            return getEntityClassFromJson((JoinDescriptor<T>) descriptors.get(clazz), source);
-        }
-        return (Class<S>) clazz;
-    }
-
     /**
      * @param persistentEntity
      * @param <T>
@@ -109,42 +87,26 @@ public class EntitySerializerRegistry {
             addRelationship(persistentEntity);
         }
         this.registry.put(javaType, persistentEntity.isParentDocument() || persistentEntity.isChildDocument());
+        // The relationships have changed
+        this.entityClassesByType.clear();
     }
 
     private <T> boolean isCustomSerializer(ElasticsearchPersistentEntity<T> persistentEntity) {
-        return persistentEntity.isChildDocument();
+        return persistentEntity.isParentDocument() || persistentEntity.isChildDocument();
     }
 
     private <T> boolean isCustomDeserializer(ElasticsearchPersistentEntity<T> persistentEntity) {
         return persistentEntity.isParentDocument() || persistentEntity.isChildDocument();
     }
 
-    /**
-     * @param descriptor
-     * @param json
-     * @return
-     */
-    private <S extends T, T> Class<S> getEntityClassFromJson(JoinDescriptor<T> descriptor, String json) throws IOException {
-        JsonNode rootNode = new ObjectMapper().readTree(json);
-        String fieldName = descriptor.getName();
-        if (rootNode.has(fieldName)) {
-            JsonNode joinNode = rootNode.get(fieldName);
-            if (joinNode.has(JOIN_TYPE_FIELD)) {
-                String type = joinNode.get(JOIN_TYPE_FIELD).asText();
-                return getEntityClassByType(descriptor.getJavaType(), type);
-            }
-        }
-        return (Class<S>) descriptor.getJavaType();
-    }
-
     /**
      * @param entityClass
      * @param type
-     * @param <T>
      * @return
      */
-    private <S extends T, T> Class<S> getEntityClassByType(Class<T> entityClass, String type) {
-        Class<S> childClass = (Class<S>) getChildEntityClassByTypeImpl(entityClass, type, new HashSet<>());
+    private Class<?> getEntityClassByType(Class<?> entityClass, String type) {
+        Class<?> childClass = entityClassesByType.computeIfAbsent(entityClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, key -> getChildEntityClassByTypeImpl(entityClass, type, new HashSet<>()));
         if (childClass == null) {
             throw new InvalidDataAccessApiUsageException(format("No entity found with type %s for the parent document %s", type, entityClass.getSimpleName()));
         }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the serialization of the documents sent to the cluster or of the deserialization of the
+ * documents received from the cluster.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Name("com.github.ydespreaux.elasticsearch.Mapping")
+@Label("Elasticsearch Mapping")
+@Category({"Elasticsearch", "Mapping"})
+@Description("Serialization or deserialization of elasticsearch documents")
+@StackTrace(false)
+public class MappingEvent extends Event {
+
+    public static final String SERIALIZE = "serialize";
+    public static final String DESERIALIZE = "deserialize";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Entity Type")
+    private Class<?> entityType;
+
+    @Label("Index")
+    private String index;
+
+    @Label("Document Count")
+    private long documentCount;
+
+    @Label("Size")
+    @DataAmount
+    private long size;
+
+    /**
+     * Starts the event of a mapping phase.
+     *
+     * @param phase      {@link #SERIALIZE} or {@link #DESERIALIZE}
+     * @param entityType the entity class
+     * @return the started event
+     */
+    public static MappingEvent start(String phase, Class<?> entityType) {
+        MappingEvent event = new MappingEvent();
+        event.phase = phase;
+        event.entityType = entityType;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event.
+     *
+     * @return true if the event must be recorded with {@link #record(String, long, long)}
+     */
+    public boolean stop() {
+        end();
+        return shouldCommit();
+    }
+
+    /**
+     * Commits the event.
+     *
+     * @param index         the index of the documents
+     * @param documentCount the number of documents
+     * @param size          the size of the documents, in bytes
+     */
+    public void record(String index, long documentCount, long size) {
+        this.index = index;
+        this.documentCount = documentCount;
+        this.size = size;
+        commit();
+    }
+}
@@ -21,8 +21,10 @@
 package com.github.ydespreaux.spring.data.elasticsearch.core;
 
 import com.github.ydespreaux.spring.data.elasticsearch.client.reactive.ReactiveRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.BulkIndexerSettings;
 import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchConverter;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResults;
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.*;
 import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;
 import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;
@@ -32,6 +34,7 @@ import org.reactivestreams.Publisher;
 import org.springframework.lang.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.ParallelFlux;
 
 import java.util.List;
 
@@ -234,6 +237,20 @@ public interface ReactiveElasticsearchOperations {
      */
     <T> Flux<T> bulkIndex(Flux<T> publisher, Class<T> clazz);
 
+    /**
+     * Bulk index operation for the given {@link Flux} of entities, and gievn {@link Class}.
+     * The entities are sent by batches bounded by number of documents, size and time, with at most
+     * {@link BulkIndexerSettings#getConcurrentRequests()} bulk requests in flight. The entities are emitted in the order
+     * of the publisher as each batch is acknowledged.
+     *
+     * @param publisher the given entities {@link Flux}.
+     * @param clazz     the given {@link Class}.
+     * @param settings  the batch settings
+     * @param <T>       the entity type
+     * @return documents indexed
+     */
+    <T> Flux<T> bulkIndex(Flux<T> publisher, Class<T> clazz, BulkIndexerSettings settings);
+
     /**
      * @param entities  all entities to index
      * @return the entities indexed
@@ -249,6 +266,13 @@ public interface ReactiveElasticsearchOperations {
      */
     Flux bulkIndex(Flux<?> publisher);
 
+    /**
+     * @param publisher all entities to index
+     * @param settings  the batch settings
+     * @return the entities indexed
+     */
+    Flux bulkIndex(Flux<?> publisher, BulkIndexerSettings settings);
+
     /**
      * Find an elasticsearch document for the given clazz, and documentId.
      *
@@ -259,6 +283,18 @@ public interface ReactiveElasticsearchOperations {
      */
     <T> Mono<T> findById(String documentId, Class<T> clazz);
 
+    /**
+     * Find the documents of the given ids : the documents are fetched by multi get requests, or searched by ids
+     * queries when the entity is stored in time based or rollover indices. The ids are split in batches executed
+     * concurrently.
+     *
+     * @param documentIds the ids of the documents
+     * @param clazz       the entity class
+     * @param <T>         generic type
+     * @return the entities found, in the order of the ids
+     */
+    <T> Flux<T> findAllById(Iterable<String> documentIds, Class<T> clazz);
+
     <T> Mono<T> findOne(CriteriaQuery query, Class<T> clazz);
 
     <T> Mono<T> findOne(SearchQuery query, Class<T> clazz);
@@ -381,6 +417,26 @@ public interface ReactiveElasticsearchOperations {
      */
     <S extends T, T> Flux<S> search(StringQuery stringQuery, Class<T> clazz);
 
+    /**
+     * Execute the given queries with a single multi search request : each query is prepared as a single search and
+     * its hits are mapped to its entity class. The failure of a query does not fail the other queries.
+     *
+     * @param queries the queries
+     * @return the results of the queries, in the order of the queries
+     */
+    Mono<MultiSearchResults> multiSearch(List<QueryAndType<?>> queries);
+
+    /**
+     * Execute a stored search template on the index of the entity : the query is parsed and cached by the cluster,
+     * only the template id and the params are sent.
+     *
+     * @param query the search template query
+     * @param clazz the entity class
+     * @param <T>   generic type
+     * @return the entities found
+     */
+    <S extends T, T> Flux<S> searchTemplate(SearchTemplateQuery query, Class<T> clazz);
+
     /**
      * @param query
      * @param resultsExtractor
@@ -431,6 +487,71 @@ public interface ReactiveElasticsearchOperations {
      */
     <T> Flux<T> hasParentId(ParentIdQuery query, Class<T> clazz);
 
+    /**
+     * Read every document of the query with a scroll. The next page is only requested when the downstream
+     * needs it, and the scroll is cleared on completion, error or cancellation.
+     * The page size is the query page size if the query is paged, the default scroll page size otherwise.
+     *
+     * @param query the query
+     * @param clazz the entity class
+     * @param <T>   the entity type
+     * @return a {@link Flux} of the documents
+     * @since 1.2.0
+     */
+    <T> Flux<T> scroll(SearchQuery query, Class<T> clazz);
+
+    /**
+     * Read every document of the query with a scroll. The next page is only requested when the downstream
+     * needs it, and the scroll is cleared on completion, error or cancellation.
+     * The page size is the query page size if the query is paged, the default scroll page size otherwise.
+     *
+     * @param query the query
+     * @param clazz the entity class
+     * @param <T>   the entity type
+     * @return a {@link Flux} of the documents
+     * @since 1.2.0
+     */
+    <T> Flux<T> scroll(CriteriaQuery query, Class<T> clazz);
+
+    /**
+     * Read every document of the query with a scroll. The next page is only requested when the downstream
+     * needs it, and the scroll is cleared on completion, error or cancellation.
+     * The page size is the query page size if the query is paged, the default scroll page size otherwise.
+     *
+     * @param query the query
+     * @param clazz the entity class
+     * @param <T>   the entity type
+     * @return a {@link Flux} of the documents
+     * @since 1.2.0
+     */
+    <T> Flux<T> scroll(StringQuery query, Class<T> clazz);
+
+    /**
+     * Read the documents with a sliced scroll, each slice being read by its own rail.
+     * The scrolls are cleared on completion, error or cancellation.
+     *
+     * @param query  the query
+     * @param clazz  the entity class
+     * @param slices the number of slices
+     * @param <T>    the entity type
+     * @return a {@link ParallelFlux} with one rail per slice
+     * @since 1.2.0
+     */
+    <T> ParallelFlux<T> scroll(SearchQuery query, Class<T> clazz, int slices);
+
+    /**
+     * Read the documents with a sliced scroll, each slice being read by its own rail.
+     * The scrolls are cleared on completion, error or cancellation.
+     *
+     * @param query  the query
+     * @param clazz  the entity class
+     * @param slices the number of slices
+     * @param <T>    the entity type
+     * @return a {@link ParallelFlux} with one rail per slice
+     * @since 1.2.0
+     */
+    <T> ParallelFlux<T> scroll(CriteriaQuery query, Class<T> clazz, int slices);
+
     /**
      * Callback interface to be used with {@link #execute(ClientCallback)} for operating directly on
      * {@link ReactiveRestElasticsearchClient}.
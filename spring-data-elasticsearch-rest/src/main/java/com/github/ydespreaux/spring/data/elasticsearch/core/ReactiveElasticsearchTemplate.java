@@ -21,8 +21,11 @@
 package com.github.ydespreaux.spring.data.elasticsearch.core;
 
 import com.github.ydespreaux.spring.data.elasticsearch.client.reactive.ReactiveRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.BulkIndexerSettings;
+import com.github.ydespreaux.spring.data.elasticsearch.core.bulk.ReactiveBulkBatcher;
 import com.github.ydespreaux.spring.data.elasticsearch.core.converter.ElasticsearchConverter;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResults;
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.*;
 import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;
 import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;
@@ -42,14 +45,18 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.MultiSearchRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchResponseSections;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -64,23 +71,53 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-
+import reactor.core.publisher.ParallelFlux;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import static org.elasticsearch.client.Requests.refreshRequest;
 
 @Slf4j
 public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport implements ReactiveElasticsearchOperations {
 
+    private static final int DEFAULT_SCROLL_PAGE_SIZE = 500;
+    private static final int MAX_RESULT_WINDOW = 10000;
+
     private final ReactiveRestElasticsearchClient client;
 
     private final ElasticsearchExceptionTranslator exceptionTranslator;
 
     private ElasticsearchOperations syncOperations;
 
+    /**
+     * Default settings of the bulk requests.
+     */
+    private BulkIndexerSettings bulkIndexerSettings = BulkIndexerSettings.defaultSettings();
+
+    /**
+     * Default page size of the scrolls.
+     */
+    private int scrollPageSize = DEFAULT_SCROLL_PAGE_SIZE;
+
+    /**
+     * Scheduler handling the responses, the I/O thread of the client is used if null.
+     */
+    @Nullable
+    private Scheduler responseScheduler;
+
     /**
      * Construct an instance with the given client and elasticsearchConverter parameters.
      *
@@ -98,6 +135,32 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
         this.exceptionTranslator = new ElasticsearchExceptionTranslator();
     }
 
+    /**
+     * @param settings the default settings of the bulk requests
+     */
+    public void setBulkIndexerSettings(BulkIndexerSettings settings) {
+        Assert.notNull(settings, "settings must not be null");
+        this.bulkIndexerSettings = settings;
+    }
+
+    /**
+     * @param scrollPageSize the page size of the scrolls whose query is not paged
+     */
+    public void setScrollPageSize(int scrollPageSize) {
+        Assert.isTrue(scrollPageSize > 0, "scrollPageSize must be greater than 0");
+        this.scrollPageSize = scrollPageSize;
+    }
+
+    /**
+     * Set the scheduler handling the responses : the mapping of the documents and the processing of the results are
+     * executed by this scheduler instead of the I/O threads of the client.
+     *
+     * @param responseScheduler the scheduler, null to handle the responses on the I/O threads
+     */
+    public void setResponseScheduler(@Nullable Scheduler responseScheduler) {
+        this.responseScheduler = responseScheduler;
+    }
+
     /**
      * Obtain the {@link ReactiveRestElasticsearchClient} to operate upon.
      *
@@ -113,7 +176,11 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
      */
     @Override
     public <T> Publisher<T> execute(ClientCallback<Publisher<T>> callback) {
-        return Flux.defer(() -> callback.doWithClient(client)).onErrorMap(this::translateException);
+        Flux<T> response = Flux.defer(() -> callback.doWithClient(client));
+        if (this.responseScheduler != null) {
+            response = response.publishOn(this.responseScheduler);
+        }
+        return response.onErrorMap(this::translateException);
     }
 
     private Throwable translateException(Throwable throwable) {
@@ -379,32 +446,25 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
     }
 
     /**
-     * Bulk index operation for the given {@link List} of entities, and gievn {@link Class}.
+     * Bulk index operation for the given {@link Flux} of entities, and gievn {@link Class}.
+     * The entities are sent by batches bounded by the default {@link BulkIndexerSettings}.
      *
-     * @param publisher the given entities {@link List}.
+     * @param publisher the given entities {@link Flux}.
      * @param clazz    the given {@link Class}.
      * @return documents indexed
      */
     @Override
     public <T> Flux<T> bulkIndex(Flux<T> publisher, Class<T> clazz) {
+        return bulkIndex(publisher, clazz, this.bulkIndexerSettings);
+    }
+
+    /**
+     * @see ReactiveElasticsearchOperations#bulkIndex(Flux, Class, BulkIndexerSettings)
+     */
+    @Override
+    public <T> Flux<T> bulkIndex(Flux<T> publisher, Class<T> clazz, BulkIndexerSettings settings) {
         ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
-        return publisher
-                .collectList()
-                .map(entities -> {
-                    BulkRequest bulkRequest = new BulkRequest();
-                    entities.forEach(entity -> bulkRequest.add(this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper())));
-                    return bulkRequest;
-                })
-                .flatMap(bulkRequest -> Mono.from(execute(c -> c.bulk(bulkRequest, RequestOptions.DEFAULT))))
-                .flatMapMany(response -> {
-                    checkForBulkUpdateFailure(response);
-                    BulkItemResponse[] items = response.getItems();
-                    for (int i = 0; i < publisher.count().block(); i++) {
-                        persistentEntity.setPersistentEntity(publisher.elementAt(i).block(), items[i]);
-                    }
-                    return publisher;
-                })
-                .onErrorResume(error -> Mono.error(new ElasticsearchException("Error while bulk", error)));
+        return doBulkIndex(publisher, entity -> persistentEntity, settings);
     }
 
     /**
@@ -413,29 +473,53 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
      */
     @Override
     public Flux bulkIndex(Flux<?> publisher) {
-        return publisher
-                .collectList()
-                .map(entities -> {
-                    BulkRequest bulkRequest = new BulkRequest();
-                    entities.forEach(entity -> {
-                        Class entityClass = entity.getClass();
-                        ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(entityClass);
-                        bulkRequest.add(this.requestsBuilder().indexRequest(entity, persistentEntity, this.getResultsMapper()));
-                    });
-                    return bulkRequest;
-                })
-                .flatMap(bulkRequest -> Mono.from(execute(c -> c.bulk(bulkRequest, RequestOptions.DEFAULT))))
-                .flatMapMany(response -> {
+        return bulkIndex(publisher, this.bulkIndexerSettings);
+    }
+
+    /**
+     * @see ReactiveElasticsearchOperations#bulkIndex(Flux, BulkIndexerSettings)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Flux bulkIndex(Flux<?> publisher, BulkIndexerSettings settings) {
+        return doBulkIndex((Flux<Object>) publisher, entity -> getPersistentEntityFor((Class<Object>) entity.getClass()), settings);
+    }
+
+    /**
+     * Build the index requests as the entities are emitted, send them by batches and emit the entities of each batch
+     * once acknowledged, in the order of the publisher.
+     *
+     * @param publisher                the entities to index
+     * @param persistentEntityResolver the persistent entity of each entity
+     * @param settings                 the batch settings
+     * @param <T>                      the entity type
+     * @return the indexed entities
+     */
+    private <T> Flux<T> doBulkIndex(Flux<T> publisher,
+                                    Function<T, ElasticsearchPersistentEntity<T>> persistentEntityResolver,
+                                    BulkIndexerSettings settings) {
+        Flux<Tuple2<T, IndexRequest>> requests = publisher
+                .map(entity -> Tuples.of(entity, this.requestsBuilder().indexRequest(entity, persistentEntityResolver.apply(entity), this.getResultsMapper())));
+        return ReactiveBulkBatcher.batch(requests, request -> request.getT2().source().length(), settings)
+                .flatMapSequential(batch -> doBulk(batch, persistentEntityResolver), Math.max(1, settings.getConcurrentRequests()), 1);
+    }
+
+    private <T> Flux<T> doBulk(List<Tuple2<T, IndexRequest>> batch, Function<T, ElasticsearchPersistentEntity<T>> persistentEntityResolver) {
+        BulkRequest bulkRequest = new BulkRequest();
+        batch.forEach(request -> bulkRequest.add(request.getT2()));
+        return Mono.from(execute(c -> c.bulk(bulkRequest, RequestOptions.DEFAULT)))
+                .flatMapIterable(response -> {
                     checkForBulkUpdateFailure(response);
                     BulkItemResponse[] items = response.getItems();
-                    for (int i = 0; i < publisher.count().block(); i++) {
-                        Object entity = publisher.elementAt(i).block();
-                        ElasticsearchPersistentEntity persistentEntity = getPersistentEntityFor(entity.getClass());
-                        persistentEntity.setPersistentEntity(entity, items[i]);
+                    List<T> entities = new ArrayList<>(items.length);
+                    for (int i = 0; i < items.length; i++) {
+                        T entity = batch.get(i).getT1();
+                        persistentEntityResolver.apply(entity).setPersistentEntity(entity, items[i]);
+                        entities.add(entity);
                     }
-                    return publisher;
+                    return entities;
                 })
-                .onErrorResume(error -> Mono.error(new ElasticsearchException("Error while bulk", error)));
+                .onErrorMap(error -> new ElasticsearchException("Error while bulk for request: " + bulkRequest.toString(), error));
     }
 
 
@@ -450,6 +534,9 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
     public <T> Mono<T> findById(String id, Class<T> entityType) {
         Assert.notNull(id, "Id must not be null!");
         ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(entityType);
+        if (isFindByIdBatched()) {
+            return Mono.defer(() -> Mono.fromFuture(findByIdLoader(persistentEntity).load(id)));
+        }
         if (persistentEntity.isIndexTimeBased() || persistentEntity.isRolloverIndex()) {
             SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
                     .withQuery(QueryBuilders.termQuery("_id", id))
@@ -464,19 +551,62 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
     }
 
 
+    /**
+     * @see ReactiveElasticsearchOperations#findAllById(Iterable, Class)  method
+     */
+    @Override
+    public <T> Flux<T> findAllById(Iterable<String> documentIds, Class<T> clazz) {
+        ElasticsearchPersistentEntity<T> persistentEntity = getPersistentEntityFor(clazz);
+        return Flux.defer(() -> Flux.fromIterable(partitionIds(documentIds)))
+                .flatMapSequential(batch -> doFindAllById(persistentEntity, batch), getMultiGetConcurrency());
+    }
+
+    @Override
+    protected <T> CompletableFuture<List<T>> findAllByIdAsync(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds) {
+        return doFindAllById(persistentEntity, documentIds).collectList().toFuture();
+    }
+
+    private <T> Flux<T> doFindAllById(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds) {
+        Class<T> clazz = persistentEntity.getJavaType();
+        if (isMultiGetSupported(persistentEntity)) {
+            MultiGetRequest request = prepareMultiGet(persistentEntity, documentIds);
+            return Mono.from(execute(c -> c.multiGet(request)))
+                    .flatMapIterable(response -> getResultsMapper().mapResults(response, clazz));
+        }
+        return executeSearch(prepareSearchByIds(persistentEntity, documentIds))
+                .flatMapIterable(response -> sortByIds(documentIds, getResultsMapper().<T, T>mapEntity(response.getHits(), clazz), persistentEntity));
+    }
+
+    /**
+     * Only the first hit is fetched if the query is not paged.
+     *
+     * @param request the search request
+     * @param clazz   the entity class
+     * @param <T>     the entity type
+     * @return the first entity
+     */
+    private <T> Mono<T> doFindOne(SearchRequest request, Class<T> clazz) {
+        if (request.source().size() < 0) {
+            request.source().size(1);
+        }
+        return executeSearch(request)
+                .flatMapMany(response -> Flux.fromIterable(getResultsMapper().<T, T>mapEntity(response.getHits(), clazz)))
+                .next();
+    }
+
     @Override
     public <T> Mono<T> findOne(CriteriaQuery query, Class<T> clazz) {
-        return this.search(query, clazz).next();
+        return doFindOne(doSearch(prepareSearch(query, clazz), query), clazz);
     }
 
     @Override
     public <T> Mono<T> findOne(SearchQuery query, Class<T> clazz) {
-        return this.search(query, clazz).next();
+        return doFindOne(doSearch(prepareSearch(query, clazz), query), clazz);
     }
 
     @Override
     public <T> Mono<T> findOne(StringQuery query, Class<T> clazz) {
-        return this.search(query, clazz).next();
+        return doFindOne(doSearch(prepareSearch(query, clazz), query), clazz);
     }
 
     /**
@@ -697,9 +827,7 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
      */
     @Override
     public <S extends T, T> Flux<S> search(SearchQuery query, Class<T> clazz) {
-        return executeSearch(doSearch(prepareSearch(query, clazz), query))
-                .map(SearchResponse::getHits)
-                .flatMapMany(hits -> Flux.fromIterable(getResultsMapper().mapEntity(hits, clazz)));
+        return doSearch(doSearch(prepareSearch(query, clazz), query), query, clazz);
     }
 
     /**
@@ -709,9 +837,7 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
      */
     @Override
     public <S extends T, T> Flux<S> search(CriteriaQuery query, Class<T> clazz) {
-        return executeSearch(doSearch(prepareSearch(query, clazz), query))
-                .map(SearchResponse::getHits)
-                .flatMapMany(hits -> Flux.fromIterable(getResultsMapper().mapEntity(hits, clazz)));
+        return doSearch(doSearch(prepareSearch(query, clazz), query), query, clazz);
     }
 
     /**
@@ -721,9 +847,28 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
      */
     @Override
     public <S extends T, T> Flux<S> search(StringQuery query, Class<T> clazz) {
-        return executeSearch(doSearch(prepareSearch(query, clazz), query))
-                .map(SearchResponse::getHits)
-                .flatMapMany(hits -> Flux.fromIterable(getResultsMapper().mapEntity(hits, clazz)));
+        return doSearch(doSearch(prepareSearch(query, clazz), query), query, clazz);
+    }
+
+    @Override
+    public <S extends T, T> Flux<S> searchTemplate(SearchTemplateQuery query, Class<T> clazz) {
+        return Mono.fromSupplier(() -> prepareSearchTemplate(query, clazz))
+                .flatMap(request -> Mono.from(execute(c -> c.searchTemplate(request))))
+                .flatMapIterable(response -> getResultsMapper().<S, T>mapEntity(response.getResponse().getHits(), clazz))
+                .onErrorResume(ElasticsearchTemplateSupport::isIndexNotFound, error -> Flux.empty())
+                .onErrorMap(error -> error instanceof IndexNotFoundException && error.getCause() != null, Throwable::getCause);
+    }
+
+    @Override
+    public Mono<MultiSearchResults> multiSearch(List<QueryAndType<?>> queries) {
+        if (queries.isEmpty()) {
+            return Mono.just(new MultiSearchResults(Collections.emptyList()));
+        }
+        return Mono.defer(() -> {
+            MultiSearchRequest request = prepareMultiSearch(queries);
+            return Mono.from(execute(c -> c.multiSearch(request)))
+                    .map(response -> mapMultiSearch(queries, response));
+        });
     }
 
     /**
@@ -733,8 +878,64 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
      */
     @Override
     public <T> Flux<T> search(SearchQuery query, ResultsExtractor<Flux<T>> resultsExtractor) {
-        return executeSearch(doSearch(prepareSearch(query, Optional.of(query.getQuery())), query))
-                .flatMapMany(resultsExtractor::extract);
+        SearchRequest request = doSearch(prepareSearch(query, Optional.of(query.getQuery())), query);
+        if (query.getPageable().isUnpaged()) {
+            // The extractor reads a single response
+            request.source().size(MAX_RESULT_WINDOW);
+        }
+        return executeSearch(request).flatMapMany(resultsExtractor::extract);
+    }
+
+    @Override
+    public <T> Flux<T> scroll(SearchQuery query, Class<T> clazz) {
+        return doScrollSearch(toScroll(doSearch(prepareSearch(query, clazz), query), query, clazz), getPersistentEntityFor(clazz).getScrollTime(), clazz);
+    }
+
+    @Override
+    public <T> Flux<T> scroll(CriteriaQuery query, Class<T> clazz) {
+        return doScrollSearch(toScroll(doSearch(prepareSearch(query, clazz), query), query, clazz), getPersistentEntityFor(clazz).getScrollTime(), clazz);
+    }
+
+    @Override
+    public <T> Flux<T> scroll(StringQuery query, Class<T> clazz) {
+        return doScrollSearch(toScroll(doSearch(prepareSearch(query, clazz), query), query, clazz), getPersistentEntityFor(clazz).getScrollTime(), clazz);
+    }
+
+    /**
+     * A paged query reads the requested page, an unpaged query reads every document with a scroll.
+     *
+     * @param request the search request
+     * @param query   the query
+     * @param clazz   the entity class
+     * @param <S>     the entity type
+     * @param <T>     the entity class type
+     * @return a {@link Flux} of the documents
+     */
+    private <S extends T, T> Flux<S> doSearch(SearchRequest request, Query query, Class<T> clazz) {
+        if (query.getPageable().isPaged()) {
+            return executeSearch(request)
+                    .map(SearchResponse::getHits)
+                    .flatMapMany(hits -> Flux.fromIterable(getResultsMapper().mapEntity(hits, clazz)));
+        }
+        return doScrollSearch(toScroll(request, query, clazz), getPersistentEntityFor(clazz).getScrollTime(), clazz);
+    }
+
+    /**
+     * Turn the search request into a scroll request reading pages of the query page size, or of the default
+     * scroll page size if the query is not paged.
+     *
+     * @param request the search request
+     * @param query   the query
+     * @param clazz   the entity class
+     * @param <T>     the entity type
+     * @return the scroll request
+     */
+    private <T> SearchRequest toScroll(SearchRequest request, Query query, Class<T> clazz) {
+        Duration scrollTime = getPersistentEntityFor(clazz).getScrollTime();
+        request.scroll(TimeValue.timeValueMillis(scrollTime.toMillis()));
+        request.source().from(0);
+        request.source().size(query.getPageable().isPaged() ? query.getPageable().getPageSize() : this.scrollPageSize);
+        return request;
     }
 
     @Override
@@ -763,6 +964,80 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
         return this.search(prepareHasParentId(query, clazz), clazz);
     }
 
+    @Override
+    public <T> ParallelFlux<T> scroll(SearchQuery query, Class<T> clazz, int slices) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return doSlicedScroll(scrollTime, clazz, slices,
+                slice -> doSlice(doScroll(prepareScroll(query, scrollTime, clazz), query), slice, slices));
+    }
+
+    @Override
+    public <T> ParallelFlux<T> scroll(CriteriaQuery query, Class<T> clazz, int slices) {
+        final Duration scrollTime = Duration.ofMinutes(1);
+        return doSlicedScroll(scrollTime, clazz, slices,
+                slice -> doSlice(doScroll(prepareScroll(query, scrollTime, clazz), query), slice, slices));
+    }
+
+    /**
+     * The scroll request of each slice is built when its rail is subscribed, each rail reading its slice.
+     *
+     * @param scrollTime   the scroll time
+     * @param clazz        the entity class
+     * @param slices       the number of slices
+     * @param sliceRequest the factory of the scroll request of a slice
+     * @param <T>          the entity type
+     * @return a {@link ParallelFlux} with one rail per slice
+     */
+    private <T> ParallelFlux<T> doSlicedScroll(Duration scrollTime, Class<T> clazz, int slices, IntFunction<SearchRequest> sliceRequest) {
+        Assert.isTrue(slices > 0, "slices must be greater than 0");
+        return Flux.range(0, slices)
+                .map(sliceRequest::apply)
+                .doOnNext(request -> {
+                    if (request.source().size() < 0) {
+                        request.source().size(this.scrollPageSize);
+                    }
+                })
+                .parallel(slices, 1)
+                .flatMap(request -> doScrollSearch(request, scrollTime, clazz), false, 1, 1);
+    }
+
+    /**
+     * Read every page of the scroll opened by the given request. A page is only requested once the hits of the
+     * previous page have been consumed, and the scroll is cleared on completion, error or cancellation.
+     *
+     * @param request    the scroll request
+     * @param scrollTime the scroll time
+     * @param clazz      the entity class
+     * @param <S>        the entity type
+     * @param <T>        the entity class type
+     * @return a {@link Flux} of the documents
+     */
+    private <S extends T, T> Flux<S> doScrollSearch(SearchRequest request, Duration scrollTime, Class<T> clazz) {
+        return Flux.using(
+                () -> new AtomicReference<String>(),
+                scrollId -> executeSearch(request)
+                        .expand(response -> response.getHits().getHits().length == 0 ? Mono.empty() : continueScroll(response.getScrollId(), scrollTime))
+                        .doOnNext(response -> scrollId.set(response.getScrollId()))
+                        .takeWhile(response -> response.getHits().getHits().length > 0)
+                        .concatMapIterable(response -> getResultsMapper().<S, T>mapEntity(response.getHits(), clazz), 1),
+                scrollId -> clearScroll(scrollId.get()));
+    }
+
+    private Mono<SearchResponse> continueScroll(String scrollId, Duration scrollTime) {
+        SearchScrollRequest request = this.requestsBuilder().searchScrollRequest(scrollId, scrollTime);
+        return Mono.from(execute(c -> c.searchScroll(request)))
+                .onErrorMap(error -> new ElasticsearchException("Error for continue scroll request: " + request.toString(), error));
+    }
+
+    private void clearScroll(@Nullable String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        Mono.from(execute(c -> c.clearScroll(this.requestsBuilder().clearScrollRequest(scrollId))))
+                .subscribe(response -> {
+                }, error -> log.warn("Unable to clear the scroll {}", scrollId, error));
+    }
+
     /**
      * @param request
      * @return
@@ -784,8 +1059,11 @@ public class ReactiveElasticsearchTemplate extends ElasticsearchTemplateSupport
     @Override
     protected SearchRequest prepareSearch(Query query, Optional<QueryBuilder> builder) {
         SearchRequest request = super.prepareSearch(query, builder);
-        SearchSourceBuilder sourceBuilder = request.source();
-        sourceBuilder.size(10000);
+        if (query.getPageable().isPaged()) {
+            SearchSourceBuilder sourceBuilder = request.source();
+            sourceBuilder.from(query.getPageable().getPageNumber() * query.getPageable().getPageSize());
+            sourceBuilder.size(query.getPageable().getPageSize());
+        }
         return request;
     }
 
@@ -20,6 +20,7 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.core;
 
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
@@ -64,6 +65,21 @@ public interface ResultsMapper extends SearchResultMapper, GetResultMapper, Mult
         return null;
     }
 
+    /**
+     * @param source the UTF-8 json source
+     * @param clazz  the entity class
+     * @param <T>    generic type
+     * @return the entity
+     * @since 1.2.0
+     */
+    @Nullable
+    default <S extends T, T> S mapEntity(@Nullable BytesReference source, Class<T> clazz) {
+        if (source != null && source.length() > 0) {
+            return getEntityMapper().mapToObject(source, clazz);
+        }
+        return null;
+    }
+
     /**
      * Map a single {@link SearchHit} to an instance of the given type.
      *
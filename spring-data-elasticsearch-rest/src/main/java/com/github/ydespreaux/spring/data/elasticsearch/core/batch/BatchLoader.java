@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.batch;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collect the keys loaded concurrently during a short time window, and load them with a single call of the batch
+ * function : the batch is loaded when the window elapses or when the maximum batch size is reached.
+ * <p>
+ * The keys loaded several times in the same window share the same result. The future of each key is completed
+ * individually, with null if the batch function returned no value for the key.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction;
+    private final ScheduledExecutorService scheduler;
+    private final int maxBatchSize;
+    private final long windowNanos;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    @Nullable
+    private ScheduledFuture<?> scheduledLoad;
+
+    /**
+     * @param settings      the settings
+     * @param scheduler     the scheduler loading the batches when the window elapses
+     * @param batchFunction the function loading the values of a batch of keys
+     */
+    public BatchLoader(BatchLoaderSettings settings,
+                       ScheduledExecutorService scheduler,
+                       Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction) {
+        Assert.notNull(settings, "settings must not be null");
+        Assert.isTrue(settings.getMaxBatchSize() > 0, "maxBatchSize must be greater than 0");
+        Assert.notNull(scheduler, "scheduler must not be null");
+        Assert.notNull(batchFunction, "batchFunction must not be null");
+        this.batchFunction = batchFunction;
+        this.scheduler = scheduler;
+        this.maxBatchSize = settings.getMaxBatchSize();
+        this.windowNanos = settings.getWindow() == null ? 0 : settings.getWindow().toNanos();
+    }
+
+    /**
+     * @param key the key
+     * @return the future value of the key, completed with null if no value is found
+     */
+    public CompletableFuture<V> load(K key) {
+        Assert.notNull(key, "key must not be null");
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> batch = null;
+        synchronized (this.lock) {
+            future = this.pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (this.pending.size() >= this.maxBatchSize || this.windowNanos <= 0) {
+                batch = takePending();
+            } else if (this.scheduledLoad == null) {
+                this.scheduledLoad = this.scheduler.schedule(this::loadPending, this.windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            loadBatch(batch);
+        }
+        return future;
+    }
+
+    /**
+     * Load the pending keys without waiting for the end of the window.
+     */
+    public void loadPending() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this.lock) {
+            if (this.pending.isEmpty()) {
+                this.scheduledLoad = null;
+                return;
+            }
+            batch = takePending();
+        }
+        loadBatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = this.pending;
+        this.pending = new LinkedHashMap<>();
+        if (this.scheduledLoad != null) {
+            this.scheduledLoad.cancel(false);
+            this.scheduledLoad = null;
+        }
+        return batch;
+    }
+
+    private void loadBatch(Map<K, CompletableFuture<V>> batch) {
+        CompletableFuture<Map<K, V>> values;
+        try {
+            values = this.batchFunction.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            values = new CompletableFuture<>();
+            values.completeExceptionally(e);
+        }
+        values.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            batch.forEach((key, future) -> {
+                if (cause != null) {
+                    future.completeExceptionally(cause);
+                } else {
+                    future.complete(result.get(key));
+                }
+            });
+        });
+    }
+}
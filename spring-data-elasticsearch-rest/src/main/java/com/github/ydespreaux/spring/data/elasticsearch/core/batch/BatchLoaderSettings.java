@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link BatchLoader}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Builder(toBuilder = true)
+public class BatchLoaderSettings {
+
+    // Number of keys triggering the load of a batch
+    @Builder.Default
+    private final int maxBatchSize = 100;
+
+    // Time window collecting the keys of a batch, from the first key
+    @Builder.Default
+    private final Duration window = Duration.ofMillis(2);
+
+    /**
+     * @return the default settings
+     */
+    public static BatchLoaderSettings defaultSettings() {
+        return BatchLoaderSettings.builder().build();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import java.io.Closeable;
+import java.time.Duration;
+
+/**
+ * Write-behind indexer accumulating documents into bulk requests.
+ * <p>
+ * Documents may be added from many threads. Pending documents are sent when the number of actions, the estimated size
+ * of the bulk request or the flush interval defined by the {@link BulkIndexerSettings} is reached.
+ *
+ * @param <T> the document type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public interface BulkIndexer<T> extends Closeable {
+
+    /**
+     * Add a document to the pending bulk request.
+     *
+     * @param entity the document to index
+     * @throws java.util.concurrent.RejectedExecutionException if the bulk must be sent, the maximum number of concurrent
+     *                                                         requests is reached and the backpressure policy is
+     *                                                         {@link BulkIndexerSettings.BackpressurePolicy#REJECT}
+     */
+    void add(T entity);
+
+    /**
+     * Send the pending documents.
+     */
+    void flush();
+
+    /**
+     * Send the pending documents and wait until all the bulk requests in flight are completed. A new call after a
+     * timeout waits again for the requests still in flight.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if all the bulk requests completed before the timeout
+     */
+    boolean awaitClose(Duration timeout);
+
+    /**
+     * Send the pending documents and wait until all the bulk requests in flight are completed.
+     */
+    @Override
+    void close();
+}
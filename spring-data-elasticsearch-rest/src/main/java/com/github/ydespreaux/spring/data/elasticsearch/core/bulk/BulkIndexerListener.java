@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import org.elasticsearch.action.bulk.BulkItemResponse;
+
+import java.util.List;
+
+/**
+ * Callback notified of the result of each document sent by a {@link BulkIndexer}.
+ *
+ * @param <T> the document type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public interface BulkIndexerListener<T> {
+
+    /**
+     * Called for each item of an executed bulk request, whether it succeeded or not.
+     *
+     * @param entity   the document
+     * @param response the item response
+     */
+    void onItemResponse(T entity, BulkItemResponse response);
+
+    /**
+     * Called when a bulk request failed or has item failures. When the request itself failed, all its
+     * documents are given; when only some items failed, only the documents of the failed items are given.
+     *
+     * @param entities the failed documents
+     * @param failure  the failure
+     */
+    default void onFailure(List<T> entities, Throwable failure) {
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link BulkIndexer}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+@Builder(toBuilder = true)
+public class BulkIndexerSettings {
+
+    // Number of documents triggering a flush (-1 to disable)
+    @Builder.Default
+    private final int bulkActions = 1000;
+
+    // Estimated size in bytes triggering a flush (-1 to disable)
+    @Builder.Default
+    private final long bulkSize = 5L * 1024 * 1024;
+
+    // Interval between two flushes of the pending documents
+    @Nullable
+    private final Duration flushInterval;
+
+    // Number of bulk requests executed concurrently (0 to execute in the calling thread)
+    @Builder.Default
+    private final int concurrentRequests = 1;
+
+    // Behavior when the number of concurrent requests is reached
+    @Builder.Default
+    private final BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+
+    /**
+     * @return the default settings
+     */
+    public static BulkIndexerSettings defaultSettings() {
+        return BulkIndexerSettings.builder().build();
+    }
+
+    /**
+     * Behavior of the {@link BulkIndexer} when a bulk request must be sent while the maximum number of concurrent
+     * requests is reached.
+     */
+    public enum BackpressurePolicy {
+        /**
+         * The calling thread waits until a request in flight completes.
+         */
+        BLOCK,
+        /**
+         * The bulk request is rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+         */
+        REJECT
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Default {@link BulkIndexer} implementation.
+ * <p>
+ * The index requests are built in the calling thread. The bulk requests are executed by a pool of
+ * {@link BulkIndexerSettings#getConcurrentRequests()} threads, or in the calling thread if no concurrent request is
+ * allowed. The threads are daemon threads.
+ * <p>
+ * Every batch taken from the pending documents is registered as in flight until its bulk request is executed:
+ * {@link #awaitClose(Duration)} waits for all of them, and the pool is shut down once the last one is done.
+ *
+ * @param <T> the document type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Slf4j
+public class DefaultBulkIndexer<T> implements BulkIndexer<T> {
+
+    private final ElasticsearchPersistentEntity<T> persistentEntity;
+    private final Function<T, IndexRequest> requestFactory;
+    private final BulkRequestExecutor requestExecutor;
+    private final Consumer<BulkResponse> failureHandler;
+    private final BulkIndexerSettings settings;
+    @Nullable
+    private final BulkIndexerListener<T> listener;
+
+    private final Semaphore semaphore;
+    @Nullable
+    private final ExecutorService executor;
+    @Nullable
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * One party for the close, and one party for each batch in flight. Terminated when the indexer is closed and
+     * every batch is executed.
+     */
+    private final Phaser inFlight;
+
+    private final Object lock = new Object();
+    private Batch<T> pending = new Batch<>();
+    private volatile boolean closed = false;
+
+    /**
+     * @param persistentEntity the persistent entity of the documents
+     * @param requestFactory   the index request factory
+     * @param requestExecutor  the bulk request executor
+     * @param failureHandler   the handler checking the bulk response for failures
+     * @param settings         the settings
+     * @param listener         the listener notified for each document
+     */
+    public DefaultBulkIndexer(ElasticsearchPersistentEntity<T> persistentEntity,
+                              Function<T, IndexRequest> requestFactory,
+                              BulkRequestExecutor requestExecutor,
+                              Consumer<BulkResponse> failureHandler,
+                              BulkIndexerSettings settings,
+                              @Nullable BulkIndexerListener<T> listener) {
+        Assert.notNull(persistentEntity, "persistentEntity must not be null");
+        Assert.notNull(requestFactory, "requestFactory must not be null");
+        Assert.notNull(requestExecutor, "requestExecutor must not be null");
+        Assert.notNull(failureHandler, "failureHandler must not be null");
+        Assert.notNull(settings, "settings must not be null");
+        Assert.isTrue(settings.getConcurrentRequests() >= 0, "concurrentRequests must be positive or zero");
+        this.persistentEntity = persistentEntity;
+        this.requestFactory = requestFactory;
+        this.requestExecutor = requestExecutor;
+        this.failureHandler = failureHandler;
+        this.settings = settings;
+        this.listener = listener;
+        int concurrentRequests = settings.getConcurrentRequests();
+        this.semaphore = new Semaphore(Math.max(1, concurrentRequests));
+        this.executor = concurrentRequests > 0
+                ? Executors.newFixedThreadPool(concurrentRequests, daemonThreadFactory("bulk-indexer-"))
+                : null;
+        this.inFlight = new Phaser(1) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                if (executor != null) {
+                    executor.shutdown();
+                }
+                return true;
+            }
+        };
+        Duration flushInterval = settings.getFlushInterval();
+        if (flushInterval != null && !flushInterval.isZero() && !flushInterval.isNegative()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("bulk-indexer-flush-"));
+            long interval = flushInterval.toMillis();
+            this.scheduler.scheduleWithFixedDelay(this::scheduledFlush, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * @see BulkIndexer#add(Object)
+     */
+    @Override
+    public void add(T entity) {
+        Assert.notNull(entity, "entity must not be null");
+        ensureOpen();
+        IndexRequest request = this.requestFactory.apply(entity);
+        Batch<T> batch = null;
+        synchronized (this.lock) {
+            ensureOpen();
+            this.pending.add(entity, request);
+            if (isFull(this.pending)) {
+                batch = swap();
+            }
+        }
+        if (batch != null) {
+            execute(batch);
+        }
+    }
+
+    /**
+     * @see BulkIndexer#flush()
+     */
+    @Override
+    public void flush() {
+        ensureOpen();
+        doFlush();
+    }
+
+    /**
+     * @see BulkIndexer#awaitClose(Duration)
+     */
+    @Override
+    public boolean awaitClose(Duration timeout) {
+        boolean closing = false;
+        Batch<T> batch = null;
+        synchronized (this.lock) {
+            if (!this.closed) {
+                this.closed = true;
+                closing = true;
+                if (!this.pending.isEmpty()) {
+                    batch = swap();
+                }
+            }
+        }
+        if (closing) {
+            if (this.scheduler != null) {
+                this.scheduler.shutdown();
+            }
+            try {
+                if (batch != null) {
+                    execute(batch);
+                }
+            } finally {
+                this.inFlight.arriveAndDeregister();
+            }
+        }
+        try {
+            // The phase cannot advance before the close party arrived: the indexer is terminated at the end of phase 0
+            this.inFlight.awaitAdvanceInterruptibly(0, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @see BulkIndexer#close()
+     */
+    @Override
+    public void close() {
+        awaitClose(Duration.ofMillis(Long.MAX_VALUE));
+    }
+
+    private void scheduledFlush() {
+        try {
+            doFlush();
+        } catch (Exception e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Scheduled flush of the bulk indexer failed", e);
+            }
+        }
+    }
+
+    private void doFlush() {
+        Batch<T> batch;
+        synchronized (this.lock) {
+            // The pending documents of a closed indexer are flushed by the close
+            if (this.closed || this.pending.isEmpty()) {
+                return;
+            }
+            batch = swap();
+        }
+        execute(batch);
+    }
+
+    private boolean isFull(Batch<T> batch) {
+        return (this.settings.getBulkActions() > 0 && batch.request.numberOfActions() >= this.settings.getBulkActions())
+                || (this.settings.getBulkSize() > 0 && batch.request.estimatedSizeInBytes() >= this.settings.getBulkSize());
+    }
+
+    /**
+     * Take the pending documents, registered as in flight. Must be called while holding the lock.
+     */
+    private Batch<T> swap() {
+        this.inFlight.register();
+        Batch<T> batch = this.pending;
+        this.pending = new Batch<>();
+        return batch;
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Bulk indexer already closed");
+        }
+    }
+
+    private void execute(Batch<T> batch) {
+        boolean submitted = false;
+        try {
+            acquire(batch);
+            if (this.executor == null) {
+                try {
+                    doExecute(batch);
+                } finally {
+                    this.semaphore.release();
+                }
+                return;
+            }
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        doExecute(batch);
+                    } finally {
+                        this.semaphore.release();
+                        this.inFlight.arriveAndDeregister();
+                    }
+                });
+                submitted = true;
+            } catch (RejectedExecutionException e) {
+                this.semaphore.release();
+                notifyFailure(batch.entities, e);
+                throw e;
+            }
+        } finally {
+            if (!submitted) {
+                this.inFlight.arriveAndDeregister();
+            }
+        }
+    }
+
+    private void acquire(Batch<T> batch) {
+        if (this.settings.getBackpressure() == BulkIndexerSettings.BackpressurePolicy.REJECT) {
+            if (!this.semaphore.tryAcquire()) {
+                RejectedExecutionException e = new RejectedExecutionException(
+                        "Bulk request of " + batch.entities.size() + " documents rejected: "
+                                + this.settings.getConcurrentRequests() + " concurrent requests already in flight");
+                notifyFailure(batch.entities, e);
+                throw e;
+            }
+            return;
+        }
+        try {
+            this.semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            notifyFailure(batch.entities, e);
+            throw new ElasticsearchException("Interrupted while waiting for a bulk request in flight", e);
+        }
+    }
+
+    private void doExecute(Batch<T> batch) {
+        BulkResponse response;
+        try {
+            response = this.requestExecutor.execute(batch.request);
+        } catch (IOException e) {
+            notifyFailure(batch.entities, new ElasticsearchException("Error while bulk for request: " + batch.request.toString(), e));
+            return;
+        } catch (Exception e) {
+            notifyFailure(batch.entities, e);
+            return;
+        }
+        List<T> failedEntities = new ArrayList<>();
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < items.length; i++) {
+            T entity = batch.entities.get(i);
+            if (items[i].isFailed()) {
+                failedEntities.add(entity);
+            } else {
+                this.persistentEntity.setPersistentEntity(entity, items[i]);
+            }
+            if (this.listener != null) {
+                this.listener.onItemResponse(entity, items[i]);
+            }
+        }
+        try {
+            this.failureHandler.accept(response);
+        } catch (Exception e) {
+            // Only the documents Elasticsearch rejected are reported, the other ones have been indexed.
+            notifyFailure(failedEntities.isEmpty() ? batch.entities : failedEntities, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private void notifyFailure(List<T> entities, Throwable failure) {
+        if (this.listener != null) {
+            this.listener.onFailure(entities, failure);
+        } else if (log.isErrorEnabled()) {
+            log.error("Bulk indexing of " + entities.size() + " documents failed", failure);
+        }
+    }
+
+    /**
+     * Executes a bulk request.
+     */
+    @FunctionalInterface
+    public interface BulkRequestExecutor {
+
+        /**
+         * @param request the bulk request
+         * @return the bulk response
+         * @throws IOException if the request failed
+         */
+        BulkResponse execute(BulkRequest request) throws IOException;
+    }
+
+    /**
+     * Pending documents and their bulk request.
+     *
+     * @param <T> the document type
+     */
+    private static final class Batch<T> {
+
+        private final BulkRequest request = new BulkRequest();
+        private final List<T> entities = new ArrayList<>();
+
+        void add(T entity, IndexRequest indexRequest) {
+            this.request.add(indexRequest);
+            this.entities.add(entity);
+        }
+
+        boolean isEmpty() {
+            return this.entities.isEmpty();
+        }
+    }
+}
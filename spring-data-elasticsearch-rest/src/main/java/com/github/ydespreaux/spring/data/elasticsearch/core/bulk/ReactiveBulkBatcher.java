@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Split a {@link Flux} of documents into batches bounded by number of documents, estimated size and time, according to
+ * the {@link BulkIndexerSettings}.
+ * <p>
+ * The source is requested on demand: at most one batch per downstream request is accumulated.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public final class ReactiveBulkBatcher {
+
+    private static final Object FLUSH = new Object();
+    private static final Object END = new Object();
+
+    private ReactiveBulkBatcher() {
+    }
+
+    /**
+     * @param source       the documents
+     * @param sizeFunction the function giving the estimated size in bytes of a document
+     * @param settings     the settings
+     * @param <T>          the document type
+     * @return the batches of documents, never empty
+     */
+    public static <T> Flux<List<T>> batch(Flux<T> source, ToLongFunction<T> sizeFunction, BulkIndexerSettings settings) {
+        return Flux.defer(() -> {
+            BatchState<T> state = new BatchState<>(settings, sizeFunction);
+            Flux<Object> signals = source.<Object>map(document -> document).concatWith(Mono.just(END));
+            Duration flushInterval = settings.getFlushInterval();
+            if (flushInterval != null && !flushInterval.isZero() && !flushInterval.isNegative()) {
+                signals = Flux.merge(signals, Flux.interval(flushInterval).onBackpressureDrop().map(tick -> FLUSH))
+                        .takeUntil(signal -> signal == END);
+            }
+            return signals
+                    .bufferUntil(state::isBoundary)
+                    .map(ReactiveBulkBatcher::<T>documents)
+                    .filter(documents -> !documents.isEmpty());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> documents(List<Object> signals) {
+        List<T> documents = new ArrayList<>(signals.size());
+        for (Object signal : signals) {
+            if (signal != FLUSH && signal != END) {
+                documents.add((T) signal);
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Size of the current batch, reset when a batch is closed.
+     *
+     * @param <T> the document type
+     */
+    private static final class BatchState<T> {
+
+        private final int maxActions;
+        private final long maxSize;
+        private final ToLongFunction<T> sizeFunction;
+        private int actions;
+        private long size;
+
+        BatchState(BulkIndexerSettings settings, ToLongFunction<T> sizeFunction) {
+            this.maxActions = settings.getBulkActions();
+            this.maxSize = settings.getBulkSize();
+            this.sizeFunction = sizeFunction;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean isBoundary(Object signal) {
+            if (signal == FLUSH || signal == END) {
+                reset();
+                return true;
+            }
+            this.actions++;
+            this.size += this.sizeFunction.applyAsLong((T) signal);
+            if ((this.maxActions > 0 && this.actions >= this.maxActions) || (this.maxSize > 0 && this.size >= this.maxSize)) {
+                reset();
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            this.actions = 0;
+            this.size = 0;
+        }
+    }
+}
@@ -20,57 +20,142 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.core.converter.serializer;
 
-import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.github.ydespreaux.spring.data.elasticsearch.core.JoinDescriptor;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.util.function.BiFunction;
 
 /**
  * PersistentEntityDeserializer
+ * <p>
+ * Deserialize the join documents in a single pass : the fields are buffered while the join field is read, then the
+ * document is deserialized from the buffer to the class matching the join type.
  *
  * @author Yoann Despréaux
  * @since 1.0.1
  */
 public class PersistentEntityDeserializer<T> extends JsonDeserializer<T> implements ResolvableDeserializer {
 
+    private static final String JOIN_TYPE_FIELD = "name";
+    private static final String JOIN_PARENT_FIELD = "parent";
+
     private final JsonDeserializer<T> defaultDeserializer;
     private final ElasticsearchPersistentEntity<T> persistentEntity;
+    private final BiFunction<Class<?>, String, Class<?>> typeResolver;
 
-    public PersistentEntityDeserializer(JsonDeserializer<T> deserializer, ElasticsearchPersistentEntity<T> persistentEntity) {
+    /**
+     * @param deserializer     the bean deserializer
+     * @param persistentEntity the persistent entity
+     * @param typeResolver     the function resolving the class of a join type from the requested class
+     */
+    public PersistentEntityDeserializer(JsonDeserializer<T> deserializer, ElasticsearchPersistentEntity<T> persistentEntity,
+                                        BiFunction<Class<?>, String, Class<?>> typeResolver) {
         this.defaultDeserializer = deserializer;
         this.persistentEntity = persistentEntity;
+        this.typeResolver = typeResolver;
     }
 
     @Override
     public T deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-        JsonLocation startLocation = jsonParser.getCurrentLocation();
-        T bean = this.defaultDeserializer.deserialize(jsonParser, deserializationContext);
-        if (isCustomDeserializer()) {
-            JsonNode node = new ObjectMapper().readTree(startLocation.getSourceRef().toString());
-            if (persistentEntity.isChildDocument()) {
-                JoinDescriptor<T> childDescriptor = persistentEntity.getJoinDescriptor();
-                String fieldName = childDescriptor.getName();
-                if (node.has(fieldName)) {
-                    JsonNode joinNode = node.get(fieldName);
-                    if (joinNode.has("parent")) {
-                        persistentEntity.setParentId(bean, joinNode.get("parent").asText());
-                    }
-                }
-            }
+        JoinDescriptor<T> descriptor = persistentEntity.getJoinDescriptor();
+        if (descriptor == null) {
+            return this.defaultDeserializer.deserialize(jsonParser, deserializationContext);
+        }
+        TokenBuffer buffer = new TokenBuffer(jsonParser, deserializationContext);
+        JoinField joinField = bufferFields(jsonParser, buffer, descriptor.getName());
+        JsonParser bufferParser = buffer.asParser(jsonParser.getCodec());
+        bufferParser.nextToken();
+
+        Class<?> documentClass = joinField.type == null || joinField.type.equals(descriptor.getType())
+                ? persistentEntity.getJavaType()
+                : typeResolver.apply(persistentEntity.getJavaType(), joinField.type);
+        if (documentClass.equals(persistentEntity.getJavaType())) {
+            return deserializeBuffered(bufferParser, deserializationContext, joinField.parent);
+        }
+        JsonDeserializer<Object> deserializer = deserializationContext.findRootValueDeserializer(deserializationContext.constructType(documentClass));
+        if (deserializer instanceof PersistentEntityDeserializer) {
+            return (T) ((PersistentEntityDeserializer<?>) deserializer).deserializeBuffered(bufferParser, deserializationContext, joinField.parent);
+        }
+        return (T) deserializer.deserialize(bufferParser, deserializationContext);
+    }
+
+    /**
+     * @param bufferParser           the parser of the buffered fields
+     * @param deserializationContext the context
+     * @param parent                 the parent id read from the join field
+     * @return the document
+     * @throws IOException if the document cannot be read
+     */
+    private T deserializeBuffered(JsonParser bufferParser, DeserializationContext deserializationContext, @Nullable String parent) throws IOException {
+        T bean = this.defaultDeserializer.deserialize(bufferParser, deserializationContext);
+        if (parent != null && persistentEntity.isChildDocument()) {
+            persistentEntity.setParentId(bean, parent);
         }
         return bean;
     }
 
-    private boolean isCustomDeserializer() {
-        return persistentEntity.isChildDocument();
+    /**
+     * Copy every field of the current object into the buffer, except the join field which is read.
+     */
+    private static JoinField bufferFields(JsonParser parser, TokenBuffer buffer, String joinFieldName) throws IOException {
+        JoinField joinField = new JoinField();
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        buffer.writeStartObject();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String fieldName = parser.getCurrentName();
+            token = parser.nextToken();
+            if (joinFieldName.equals(fieldName)) {
+                readJoinField(parser, token, joinField);
+            } else {
+                buffer.writeFieldName(fieldName);
+                buffer.copyCurrentStructure(parser);
+            }
+        }
+        buffer.writeEndObject();
+        return joinField;
+    }
+
+    private static void readJoinField(JsonParser parser, JsonToken token, JoinField joinField) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            joinField.type = parser.getText();
+        } else if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (JOIN_TYPE_FIELD.equals(fieldName) && valueToken.isScalarValue()) {
+                    joinField.type = parser.getText();
+                } else if (JOIN_PARENT_FIELD.equals(fieldName) && valueToken.isScalarValue()) {
+                    joinField.parent = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
     }
+
     @Override
     public void resolve(DeserializationContext deserializationContext) throws JsonMappingException {
-        ((ResolvableDeserializer) defaultDeserializer).resolve(deserializationContext);
+        if (defaultDeserializer instanceof ResolvableDeserializer) {
+            ((ResolvableDeserializer) defaultDeserializer).resolve(deserializationContext);
+        }
     }
 
+    private static class JoinField {
+        @Nullable
+        private String type;
+        @Nullable
+        private String parent;
+    }
 }
@@ -20,64 +20,84 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.core.converter.serializer;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
 import com.github.ydespreaux.spring.data.elasticsearch.core.JoinDescriptor;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.Setter;
 
 import java.io.IOException;
 
 /**
  * PersistentEntitySerializer
+ * <p>
+ * The bean serializer of the entity is resolved once, when the serializer is registered in the provider cache.
  *
  * @author Yoann Despréaux
  * @since 1.0.1
  */
-public class PersistentEntitySerializer<T> extends JsonSerializer<T> {
+public class PersistentEntitySerializer<T> extends JsonSerializer<T> implements ResolvableSerializer {
+
+    private static final SerializableString JOIN_TYPE_FIELD = new SerializedString("name");
+    private static final SerializableString JOIN_PARENT_FIELD = new SerializedString("parent");
 
     private final ElasticsearchPersistentEntity<T> persistentEntity;
+    private final SerializableString joinFieldName;
+    private final SerializableString joinType;
+
+    private volatile JsonSerializer<Object> delegate;
 
     public PersistentEntitySerializer(ElasticsearchPersistentEntity<T> persistentEntity) {
         this.persistentEntity = persistentEntity;
+        JoinDescriptor<T> descriptor = persistentEntity.getJoinDescriptor();
+        this.joinFieldName = new SerializedString(descriptor.getName());
+        this.joinType = new SerializedString(descriptor.getType());
     }
 
     @Override
-    public void serialize(T value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
-        jsonGenerator.writeStartObject();
+    public void resolve(SerializerProvider serializerProvider) throws JsonMappingException {
         JavaType javaType = serializerProvider.constructType(persistentEntity.getJavaType());
         BeanDescription beanDesc = serializerProvider.getConfig().introspect(javaType);
         JsonSerializer<Object> serializer = BeanSerializerFactory.instance.findBeanSerializer(serializerProvider,
                 javaType,
                 beanDesc);
+        if (serializer instanceof ResolvableSerializer) {
+            ((ResolvableSerializer) serializer).resolve(serializerProvider);
+        }
         // this is basically your 'writeAllFields()'-method:
-        serializer.unwrappingSerializer(null).serialize(value, jsonGenerator, serializerProvider);
+        this.delegate = serializer.unwrappingSerializer(null);
+    }
 
-        JoinDescriptor<T> descriptor = this.persistentEntity.getJoinDescriptor();
+    @Override
+    public void serialize(T value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        JsonSerializer<Object> serializer = this.delegate;
+        if (serializer == null) {
+            resolve(serializerProvider);
+            serializer = this.delegate;
+        }
+        jsonGenerator.writeStartObject();
+        serializer.serialize(value, jsonGenerator, serializerProvider);
+
+        jsonGenerator.writeFieldName(joinFieldName);
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName(JOIN_TYPE_FIELD);
+        jsonGenerator.writeString(joinType);
         if (this.persistentEntity.isChildDocument()) {
-            jsonGenerator.writeObjectField(descriptor.getName(), JoinType.builder().name(descriptor.getType()).parent(this.persistentEntity.getParentId(value)).build());
-        } else if (this.persistentEntity.isParentDocument()) {
-            jsonGenerator.writeObjectField(descriptor.getName(), JoinType.builder().name(descriptor.getType()).build());
+            Object parent = this.persistentEntity.getParentId(value);
+            if (parent != null) {
+                jsonGenerator.writeFieldName(JOIN_PARENT_FIELD);
+                serializerProvider.defaultSerializeValue(parent, jsonGenerator);
+            }
         }
         jsonGenerator.writeEndObject();
-    }
-
-    @Getter
-    @Setter
-    @Builder
-    static class JoinType {
-
-        private String name;
-
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private Object parent;
+        jsonGenerator.writeEndObject();
     }
 
 }
@@ -20,6 +20,7 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.core.mapping;
 
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.PagingMode;
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.SourceFilter;
 import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.support.ElasticsearchEntityInformation;
@@ -140,6 +141,14 @@ public interface ElasticsearchPersistentEntity<T> extends PersistentEntity<T, El
      */
     Boolean isIndexTimeBased();
 
+    /**
+     * @return the index pattern of a time based index, null otherwise
+     */
+    @Nullable
+    default String getIndexPattern() {
+        return null;
+    }
+
     /**
      * @return the index path
      */
@@ -200,6 +209,16 @@ public interface ElasticsearchPersistentEntity<T> extends PersistentEntity<T, El
      */
     Duration getScrollTime();
 
+    /**
+     * @return the paging strategy of the document
+     */
+    PagingMode getPagingMode();
+
+    /**
+     * @return the unique field used as tiebreaker with {@link PagingMode#SEARCH_AFTER}
+     */
+    String getPagingTiebreaker();
+
     /**
      * @param result
      * @param response
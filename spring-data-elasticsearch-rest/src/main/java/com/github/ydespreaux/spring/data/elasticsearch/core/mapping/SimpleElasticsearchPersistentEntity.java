@@ -29,12 +29,19 @@ import com.github.ydespreaux.spring.data.elasticsearch.core.query.FetchSourceFil
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.SourceFilter;
 import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;
 import com.github.ydespreaux.spring.data.elasticsearch.core.utils.ContextUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.search.SearchHit;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.model.BasicPersistentEntity;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.lang.Nullable;
@@ -45,7 +52,10 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @param <T> generic type
@@ -56,6 +66,12 @@ import java.util.Set;
 @Getter
 public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntity<T, ElasticsearchPersistentProperty> implements ElasticsearchPersistentEntity<T>, ApplicationContextAware {
 
+    /**
+     * Sorting on {@code _id} loads its fielddata in the heap of the data nodes with elasticsearch 6 : a keyword field
+     * with doc values, unique per document, should be declared as tiebreaker with {@code @Paging(tiebreaker = ...)}.
+     */
+    private static final String DEFAULT_PAGING_TIEBREAKER = "_id";
+
     @Nullable
     private ApplicationContext context;
     private Class<T> entityClass;
@@ -74,11 +90,17 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
     private Set<ScriptFieldProperty> scriptProperties = new HashSet<>();
     private SourceFilter sourceFilter;
     private Duration scrollTime;
+    private PagingMode pagingMode = PagingMode.SCROLL;
+    private String pagingTiebreaker = DEFAULT_PAGING_TIEBREAKER;
     private RolloverConfig rollover;
 
     @Nullable
     private JoinDescriptor<T> joinDescriptor;
 
+    @Getter(AccessLevel.NONE)
+    @Nullable
+    private volatile HitBinder hitBinder;
+
     /**
      * @param typeInformation a {@link TypeInformation} parameter
      */
@@ -119,6 +141,7 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
     private void afterIndexedDocumentPropertySet(IndexedDocument document) {
         afterPropertySet(document.index());
         afterPropertySet(document.alias());
+        afterPropertySet(document.paging());
         this.scrollTime = Duration.ofSeconds(document.scrollTimeSeconds());
     }
 
@@ -126,9 +149,17 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
         afterPropertySet(document.index());
         afterPropertySet(document.alias());
         afterPropertySet(document.rollover());
+        afterPropertySet(document.paging());
         this.scrollTime = Duration.ofSeconds(document.scrollTimeSeconds());
     }
 
+    private void afterPropertySet(Paging pagingAnnotation) {
+        this.pagingMode = pagingAnnotation.value();
+        if (StringUtils.hasText(pagingAnnotation.tiebreaker())) {
+            this.pagingTiebreaker = getEnvironmentValue(pagingAnnotation.tiebreaker());
+        }
+    }
+
     private void afterPropertySet(Alias aliasAnnotation) {
         if (StringUtils.isEmpty(aliasAnnotation.name())) {
             return;
@@ -216,6 +247,53 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
     }
 
 
+    @Override
+    public void verify() {
+        super.verify();
+        this.hitBinder = new HitBinder();
+    }
+
+    /**
+     * @return true if the entity is a document stored in an index
+     */
+    private boolean isDocument() {
+        return this.entityClass.isAnnotationPresent(IndexedDocument.class)
+                || this.entityClass.isAnnotationPresent(RolloverDocument.class)
+                || this.entityClass.isAnnotationPresent(ProjectionDocument.class);
+    }
+
+    /**
+     * @return the binder of the document metadata, built once all the properties are known
+     */
+    private HitBinder getHitBinder() {
+        HitBinder binder = this.hitBinder;
+        if (binder == null) {
+            binder = new HitBinder();
+            this.hitBinder = binder;
+        }
+        return binder;
+    }
+
+    @Override
+    public void setPersistentEntity(T result, SearchHit hit) {
+        getHitBinder().bind(result, hit);
+    }
+
+    @Override
+    public void setPersistentEntity(T result, GetResponse response) {
+        getHitBinder().bind(result, response.getId(), response.getVersion(), response.getIndex());
+    }
+
+    @Override
+    public void setPersistentEntity(T result, IndexResponse response) {
+        getHitBinder().bind(result, response.getId(), response.getVersion(), response.getIndex());
+    }
+
+    @Override
+    public void setPersistentEntity(T result, BulkItemResponse response) {
+        getHitBinder().bind(result, response.getId(), response.getVersion(), response.getIndex());
+    }
+
     @Override
     public String getIndexName() {
         if (isIndexTimeBased()) {
@@ -390,6 +468,22 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
         return this.scrollTime;
     }
 
+    /**
+     * @return the paging strategy
+     */
+    @Override
+    public PagingMode getPagingMode() {
+        return this.pagingMode;
+    }
+
+    /**
+     * @return the tiebreaker field
+     */
+    @Override
+    public String getPagingTiebreaker() {
+        return this.pagingTiebreaker;
+    }
+
     /**
      * @return true if the index must be created
      */
@@ -566,4 +660,74 @@ public class SimpleElasticsearchPersistentEntity<T> extends BasicPersistentEntit
             return this.fieldName;
         }
     }
+
+    /**
+     * Set the metadata of a document (id, version, score, index name and script fields) with a single property
+     * accessor. The properties are resolved once for the entity.
+     */
+    private class HitBinder {
+
+        @Nullable
+        private final ElasticsearchPersistentProperty idProperty;
+        @Nullable
+        private final ElasticsearchPersistentProperty versionProperty;
+        @Nullable
+        private final ElasticsearchPersistentProperty scoreProperty;
+        @Nullable
+        private final ElasticsearchPersistentProperty indexNameProperty;
+        private final List<ScriptFieldPropertyImpl> scriptProperties;
+
+        HitBinder() {
+            this.idProperty = getIdProperty();
+            this.versionProperty = getVersionProperty();
+            this.scoreProperty = SimpleElasticsearchPersistentEntity.this.scoreProperty;
+            this.indexNameProperty = SimpleElasticsearchPersistentEntity.this.indexNameProperty;
+            this.scriptProperties = SimpleElasticsearchPersistentEntity.this.scriptProperties.stream()
+                    .map(property -> (ScriptFieldPropertyImpl) property)
+                    .collect(Collectors.toList());
+            // Embedded and nested types have no id
+            if (this.idProperty == null && isDocument() && log.isWarnEnabled()) {
+                log.warn("No propertyId defined for entity class {}", entityClass);
+            }
+        }
+
+        void bind(T entity, SearchHit hit) {
+            PersistentPropertyAccessor<T> accessor = bind(entity, hit.getId(), hit.getVersion(), hit.getIndex());
+            if (accessor == null) {
+                return;
+            }
+            if (scoreProperty != null) {
+                accessor.setProperty(scoreProperty, hit.getScore());
+            }
+            if (!scriptProperties.isEmpty()) {
+                Map<String, DocumentField> fields = hit.getFields();
+                if (fields != null && !fields.isEmpty()) {
+                    for (ScriptFieldPropertyImpl scriptProperty : scriptProperties) {
+                        DocumentField field = fields.get(scriptProperty.getFieldName());
+                        if (field != null) {
+                            accessor.setProperty(scriptProperty.property, field.getValue());
+                        }
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        PersistentPropertyAccessor<T> bind(T entity, String id, long version, String indexName) {
+            if (idProperty == null && versionProperty == null && scoreProperty == null && indexNameProperty == null && scriptProperties.isEmpty()) {
+                return null;
+            }
+            PersistentPropertyAccessor<T> accessor = getPropertyAccessor(entity);
+            if (idProperty != null) {
+                accessor.setProperty(idProperty, id);
+            }
+            if (versionProperty != null) {
+                accessor.setProperty(versionProperty, version);
+            }
+            if (indexNameProperty != null) {
+                accessor.setProperty(indexNameProperty, indexName);
+            }
+            return accessor;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core.multisearch;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.QueryAndType;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a query of a multi search : the entities found, or the failure of the query.
+ *
+ * @param <T> the entity type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class MultiSearchResult<T> {
+
+    private final QueryAndType<T> query;
+    private final List<T> content;
+    private final long totalHits;
+    @Nullable
+    private final Exception failure;
+
+    private MultiSearchResult(QueryAndType<T> query, List<T> content, long totalHits, @Nullable Exception failure) {
+        this.query = query;
+        this.content = content;
+        this.totalHits = totalHits;
+        this.failure = failure;
+    }
+
+    public static <T> MultiSearchResult<T> of(QueryAndType<T> query, List<T> content, long totalHits) {
+        return new MultiSearchResult<>(query, content, totalHits, null);
+    }
+
+    public static <T> MultiSearchResult<T> failed(QueryAndType<T> query, Exception failure) {
+        return new MultiSearchResult<>(query, Collections.emptyList(), 0, failure);
+    }
+
+    /**
+     * @return true if the query failed, the other queries of the multi search are not affected
+     */
+    public boolean isFailed() {
+        return this.failure != null;
+    }
+}
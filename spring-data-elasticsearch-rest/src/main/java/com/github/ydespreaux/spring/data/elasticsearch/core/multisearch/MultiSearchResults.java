@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core.multisearch;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.QueryAndType;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Results of a multi search, in the order of the queries.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class MultiSearchResults implements Iterable<MultiSearchResult<?>> {
+
+    private final List<MultiSearchResult<?>> results;
+
+    public MultiSearchResults(List<MultiSearchResult<?>> results) {
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    /**
+     * @param query the query of the multi search
+     * @param <T>   the entity type
+     * @return the result of the query
+     * @throws IllegalArgumentException if the query is not a query of the multi search
+     */
+    @SuppressWarnings("unchecked")
+    public <T> MultiSearchResult<T> get(QueryAndType<T> query) {
+        for (MultiSearchResult<?> result : this.results) {
+            if (result.getQuery() == query) {
+                return (MultiSearchResult<T>) result;
+            }
+        }
+        throw new IllegalArgumentException("Query not found in the multi search");
+    }
+
+    /**
+     * @param index the index of the query
+     * @return the result of the query
+     */
+    public MultiSearchResult<?> get(int index) {
+        return this.results.get(index);
+    }
+
+    public int size() {
+        return this.results.size();
+    }
+
+    public List<MultiSearchResult<?>> getResults() {
+        return this.results;
+    }
+
+    @Override
+    public Iterator<MultiSearchResult<?>> iterator() {
+        return this.results.iterator();
+    }
+}
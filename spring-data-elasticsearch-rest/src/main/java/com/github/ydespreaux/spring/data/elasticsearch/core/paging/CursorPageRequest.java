@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.paging;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+
+/**
+ * {@link PageRequest} carrying the cursor returned by the previous {@link SearchAfterPage}.
+ * When a cursor is defined the page is read with search_after instead of from/size.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class CursorPageRequest extends PageRequest {
+
+    @Nullable
+    private final String cursor;
+
+    /**
+     * @param page   zero-based page index.
+     * @param size   the size of the page to be returned.
+     * @param sort   must not be {@literal null}, use {@link Sort#unsorted()} instead.
+     * @param cursor the cursor of the previous page
+     */
+    @SuppressWarnings("deprecation")
+    protected CursorPageRequest(int page, int size, Sort sort, @Nullable String cursor) {
+        super(page, size, sort);
+        this.cursor = cursor;
+    }
+
+    /**
+     * @param page   zero-based page index.
+     * @param size   the size of the page to be returned.
+     * @param cursor the cursor of the previous page
+     * @return a new {@link CursorPageRequest}
+     */
+    public static CursorPageRequest of(int page, int size, @Nullable String cursor) {
+        return of(page, size, Sort.unsorted(), cursor);
+    }
+
+    /**
+     * @param page   zero-based page index.
+     * @param size   the size of the page to be returned.
+     * @param sort   must not be {@literal null}, use {@link Sort#unsorted()} instead.
+     * @param cursor the cursor of the previous page
+     * @return a new {@link CursorPageRequest}
+     */
+    public static CursorPageRequest of(int page, int size, Sort sort, @Nullable String cursor) {
+        return new CursorPageRequest(page, size, sort, cursor);
+    }
+
+    /**
+     * @param pageable the pageable
+     * @return the cursor of the given pageable if any
+     */
+    @Nullable
+    public static String cursorOf(Pageable pageable) {
+        return pageable instanceof CursorPageRequest ? ((CursorPageRequest) pageable).getCursor() : null;
+    }
+
+    /**
+     * @return the cursor of the previous page, can be {@literal null}.
+     */
+    @Nullable
+    public String getCursor() {
+        return this.cursor;
+    }
+
+    /**
+     * @return true if a cursor is defined
+     */
+    public boolean hasCursor() {
+        return this.cursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CursorPageRequest)) return false;
+        if (!super.equals(o)) return false;
+        CursorPageRequest that = (CursorPageRequest) o;
+        return Objects.equals(getCursor(), that.getCursor());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), getCursor());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cursor page request [number: %d, size %d, sort: %s, cursor: %s]", getPageNumber(), getPageSize(),
+                getSort(), this.cursor);
+    }
+}
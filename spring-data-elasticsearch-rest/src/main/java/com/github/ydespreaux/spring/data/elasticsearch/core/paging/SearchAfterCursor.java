@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.paging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Encode the sort values of the last hit of a page into an opaque cursor, and decode it for the search_after of the
+ * next page.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public final class SearchAfterCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SearchAfterCursor() {
+    }
+
+    /**
+     * @param sortValues the sort values of the last hit
+     * @return the cursor, {@literal null} if no sort values
+     */
+    @Nullable
+    public static String encode(@Nullable Object[] sortValues) {
+        if (sortValues == null || sortValues.length == 0) {
+            return null;
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(sortValues));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid sort values", e);
+        }
+    }
+
+    /**
+     * @param cursor the cursor
+     * @return the sort values
+     */
+    public static Object[] decode(String cursor) {
+        try {
+            return MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Object[].class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
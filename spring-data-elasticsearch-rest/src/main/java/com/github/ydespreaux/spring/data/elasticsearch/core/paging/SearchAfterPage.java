@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.paging;
+
+import org.springframework.data.domain.Page;
+import org.springframework.lang.Nullable;
+
+/**
+ * Page read with from/size or search_after.
+ *
+ * @param <T> generic type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public interface SearchAfterPage<T> extends Page<T> {
+
+    /**
+     * @return the cursor to read the next page, {@literal null} if the page is empty.
+     */
+    @Nullable
+    String getCursor();
+}
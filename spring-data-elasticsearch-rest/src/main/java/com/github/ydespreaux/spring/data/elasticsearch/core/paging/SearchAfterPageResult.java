@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.paging;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @param <T> generic type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class SearchAfterPageResult<T> extends PageImpl<T> implements SearchAfterPage<T> {
+
+    /**
+     *
+     */
+    @Nullable
+    private final String cursor;
+
+    public SearchAfterPageResult(List<T> content, Pageable pageable, long totalElements, @Nullable String cursor) {
+        super(content, pageable, totalElements);
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return the next {@link CursorPageRequest} carrying the cursor of this page.
+     */
+    @Override
+    public Pageable nextPageable() {
+        if (!hasNext() || this.cursor == null) {
+            return super.nextPageable();
+        }
+        Pageable pageable = getPageable();
+        return CursorPageRequest.of(pageable.getPageNumber() + 1, pageable.getPageSize(), pageable.getSort(), this.cursor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SearchAfterPageResult)) return false;
+        if (!super.equals(o)) return false;
+        SearchAfterPageResult<?> that = (SearchAfterPageResult<?>) o;
+        return Objects.equals(getCursor(), that.getCursor());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), getCursor());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core.paging;
+
+/**
+ * Strategy used to read all the documents of a query that is not paged.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public enum UnpagedSearchStrategy {
+    /**
+     * A result smaller than a page is read in a single search. A larger result is read from the start in a scroll
+     * context, in the order of the query (score by default), cleared once the last page is read.
+     */
+    SCROLL,
+    /**
+     * Pages read with search_after, without context on the cluster. A result smaller than a page is read in a
+     * single request. The sort is completed by the paging tiebreaker of the entity : with the default {@code _id}
+     * tiebreaker, elasticsearch 6 loads the fielddata of {@code _id} in the heap.
+     */
+    SEARCH_AFTER
+}
@@ -56,6 +56,7 @@ abstract class AbstractQuery implements Query {
     protected SearchType searchType = SearchType.DFS_QUERY_THEN_FETCH;
     protected IndicesOptions indicesOptions;
     protected boolean trackScores;
+    protected String pagingTiebreaker;
 
     @Nullable
     @Override
@@ -197,4 +198,15 @@ abstract class AbstractQuery implements Query {
     public SourceFilter getSourceFilter() {
         return sourceFilter;
     }
+
+    @Nullable
+    @Override
+    public String getPagingTiebreaker() {
+        return pagingTiebreaker;
+    }
+
+    @Override
+    public void setPagingTiebreaker(@Nullable String pagingTiebreaker) {
+        this.pagingTiebreaker = pagingTiebreaker;
+    }
 }
@@ -167,4 +167,23 @@ public interface Query {
      */
     @Nullable
     IndicesOptions getIndicesOptions();
+
+    /**
+     * Get the unique field completing the sort of a search_after page
+     *
+     * @return null to use the tiebreaker of the document
+     */
+    @Nullable
+    default String getPagingTiebreaker() {
+        return null;
+    }
+
+    /**
+     * Set the unique field completing the sort of a search_after page. Ignored by default: the queries which do not
+     * hold a tiebreaker use the tiebreaker of the document.
+     *
+     * @param pagingTiebreaker the tiebreaker field, null to use the tiebreaker of the document
+     */
+    default void setPagingTiebreaker(@Nullable String pagingTiebreaker) {
+    }
 }
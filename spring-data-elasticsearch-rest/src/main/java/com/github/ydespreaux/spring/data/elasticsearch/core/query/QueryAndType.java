@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core.query;
+
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+/**
+ * Query of a multi search, with the entity class of its results.
+ *
+ * @param <T> the entity type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class QueryAndType<T> {
+
+    private final Query query;
+    private final Class<T> type;
+
+    private QueryAndType(Query query, Class<T> type) {
+        Assert.notNull(query, "query must not be null");
+        Assert.notNull(type, "type must not be null");
+        this.query = query;
+        this.type = type;
+    }
+
+    public static <T> QueryAndType<T> of(SearchQuery query, Class<T> type) {
+        return new QueryAndType<>(query, type);
+    }
+
+    public static <T> QueryAndType<T> of(CriteriaQuery query, Class<T> type) {
+        return new QueryAndType<>(query, type);
+    }
+
+    public static <T> QueryAndType<T> of(StringQuery query, Class<T> type) {
+        return new QueryAndType<>(query, type);
+    }
+}
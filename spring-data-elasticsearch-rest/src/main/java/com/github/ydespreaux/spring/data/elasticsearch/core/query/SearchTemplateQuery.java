@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core.query;
+
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Search executing a stored search template with the given params.
+ * <p>
+ * The template is responsible of the paging : when the query is paged, the {@code from} and {@code size} params are
+ * added unless they are given.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class SearchTemplateQuery {
+
+    public static final String FROM_PARAM = "from";
+    public static final String SIZE_PARAM = "size";
+
+    private final String templateId;
+    private final Map<String, Object> params;
+    private Pageable pageable = Pageable.unpaged();
+
+    public SearchTemplateQuery(String templateId) {
+        this(templateId, Collections.emptyMap());
+    }
+
+    public SearchTemplateQuery(String templateId, Map<String, Object> params) {
+        Assert.hasText(templateId, "templateId must not be empty");
+        Assert.notNull(params, "params must not be null");
+        this.templateId = templateId;
+        this.params = params;
+    }
+
+    public SearchTemplateQuery setPageable(Pageable pageable) {
+        Assert.notNull(pageable, "pageable must not be null");
+        this.pageable = pageable;
+        return this;
+    }
+
+    /**
+     * @return the params of the template, with the paging params
+     */
+    public Map<String, Object> getTemplateParams() {
+        if (this.pageable.isUnpaged()) {
+            return this.params;
+        }
+        Map<String, Object> templateParams = new LinkedHashMap<>(this.params);
+        templateParams.putIfAbsent(FROM_PARAM, this.pageable.getOffset());
+        templateParams.putIfAbsent(SIZE_PARAM, this.pageable.getPageSize());
+        return templateParams;
+    }
+}
@@ -20,13 +20,16 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.core.request;
 
+import com.github.ydespreaux.spring.data.elasticsearch.core.MappingEvent;
 import com.github.ydespreaux.spring.data.elasticsearch.core.ResultsMapper;
 import com.github.ydespreaux.spring.data.elasticsearch.core.indices.CreateIndexBuilder;
 import com.github.ydespreaux.spring.data.elasticsearch.core.indices.TemplateBuilder;
 import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.SearchTemplateQuery;
 import com.github.ydespreaux.spring.data.elasticsearch.core.request.config.RolloverConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
+import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
@@ -36,23 +39,32 @@ import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.MultiGetRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.Requests;
+import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -158,6 +170,45 @@ public class RequestsBuilder {
         return new Request("DELETE", "_template/" + templateName);
     }
 
+    /**
+     * @param templateId the id of the search template
+     * @param source     the mustache source of the search template
+     * @return the request storing the search template
+     */
+    public Request putSearchTemplateRequest(String templateId, String source) {
+        Request request = new Request("PUT", "/_scripts/" + templateId);
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            builder.startObject()
+                    .startObject("script")
+                    .field("lang", "mustache")
+                    .field("source", source)
+                    .endObject()
+                    .endObject();
+            request.setJsonEntity(Strings.toString(builder));
+        } catch (IOException e) {
+            throw new ElasticsearchException("Error while building the search template " + templateId, e);
+        }
+        return request;
+    }
+
+    public Request deleteSearchTemplateRequest(String templateId) {
+        return new Request("DELETE", "/_scripts/" + templateId);
+    }
+
+    /**
+     * @param indexName the index name
+     * @param typeName  the type name
+     * @param query     the search template query
+     * @return the request executing the stored search template
+     */
+    public SearchTemplateRequest searchTemplateRequest(String indexName, String typeName, SearchTemplateQuery query) {
+        SearchTemplateRequest request = new SearchTemplateRequest(new SearchRequest(indexName).types(typeName));
+        request.setScriptType(ScriptType.STORED);
+        request.setScript(query.getTemplateId());
+        request.setScriptParams(query.getTemplateParams());
+        return request;
+    }
+
     public GetAliasesRequest getAliasesRequest(String aliasName) {
         return new GetAliasesRequest(aliasName);
     }
@@ -214,11 +265,12 @@ public class RequestsBuilder {
      */
     public <T> IndexRequest indexRequest(T source, ElasticsearchPersistentEntity<T> persistentEntity, ResultsMapper mapper) {
         Objects.requireNonNull(source);
+        MappingEvent event = MappingEvent.start(MappingEvent.SERIALIZE, persistentEntity.getJavaType());
         String indexName = persistentEntity.getAliasOrIndexWriter(source);
         String type = persistentEntity.getTypeName();
         String id = persistentEntity.getPersistentEntityId(source);
         IndexRequest indexRequest = id != null ? new IndexRequest(indexName, type, id) : new IndexRequest(indexName, type);
-        indexRequest.source(mapper.getEntityMapper().mapToString(source), Requests.INDEX_CONTENT_TYPE);
+        indexRequest.source(mapper.getEntityMapper().mapToBytes(source), Requests.INDEX_CONTENT_TYPE);
         Long version = persistentEntity.getPersistentEntityVersion(source);
         if (version != null) {
             indexRequest.version(version);
@@ -227,6 +279,9 @@ public class RequestsBuilder {
         if (persistentEntity.isChildDocument()) {
             indexRequest.routing(persistentEntity.getJoinDescriptor().getRouting());
         }
+        if (event.stop()) {
+            event.record(indexName, 1, indexRequest.source().length());
+        }
         return indexRequest;
     }
 
@@ -234,6 +289,21 @@ public class RequestsBuilder {
         return new GetRequest(indexName, typeName, documentId);
     }
 
+    /**
+     * @param indexName   the index name
+     * @param typeName    the type name
+     * @param routing     the routing of the documents
+     * @param documentIds the ids of the documents
+     * @return the multi get request of the documents, in the order of the ids
+     */
+    public MultiGetRequest multiGetRequest(String indexName, String typeName, @Nullable String routing, Collection<String> documentIds) {
+        MultiGetRequest request = new MultiGetRequest();
+        for (String documentId : documentIds) {
+            request.add(new MultiGetRequest.Item(indexName, typeName, documentId).routing(routing));
+        }
+        return request;
+    }
+
     public SearchScrollRequest searchScrollRequest(String scrollId, Duration scrollTime) {
         return new SearchScrollRequest(scrollId).scroll(TimeValue.timeValueMillis(scrollTime.toMillis()));
     }
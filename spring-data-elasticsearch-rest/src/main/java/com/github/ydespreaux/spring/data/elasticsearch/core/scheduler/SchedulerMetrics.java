@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scheduler;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link SchedulerStatistics} of a {@link TimedScheduler} : the queueing time of the tasks as a
+ * function timer and its maximum as a time gauge.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class SchedulerMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "elasticsearch.scheduler";
+
+    private final SchedulerStatistics statistics;
+
+    /**
+     * @param statistics the statistics of the scheduler
+     */
+    public SchedulerMetrics(SchedulerStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder(METRIC_PREFIX + ".queue", statistics, SchedulerStatistics::getCount,
+                stats -> stats.getTotalTime().toNanos(), TimeUnit.NANOSECONDS)
+                .description("Time spent by the tasks waiting to be executed by the response scheduler")
+                .register(registry);
+        TimeGauge.builder(METRIC_PREFIX + ".queue.max", statistics, TimeUnit.NANOSECONDS, stats -> stats.getMaxTime().toNanos())
+                .description("Maximum time spent by a task waiting to be executed by the response scheduler")
+                .register(registry);
+    }
+}
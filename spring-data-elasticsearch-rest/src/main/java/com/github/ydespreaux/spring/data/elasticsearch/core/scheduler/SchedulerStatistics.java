@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Statistics of the queueing time of the tasks executed by a {@link TimedScheduler}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class SchedulerStatistics implements LongConsumer {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos the queueing time of a task, in nanoseconds
+     */
+    @Override
+    public void accept(long nanos) {
+        count.increment();
+        totalTime.add(nanos);
+        maxTime.accumulate(nanos);
+    }
+
+    /**
+     * @return the number of executed tasks
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the total queueing time
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalTime.sum());
+    }
+
+    /**
+     * @return the maximum queueing time
+     */
+    public Duration getMaxTime() {
+        return Duration.ofNanos(maxTime.get());
+    }
+
+    /**
+     * @return the mean queueing time
+     */
+    public Duration getMeanTime() {
+        long tasks = count.sum();
+        return tasks == 0 ? Duration.ZERO : Duration.ofNanos(totalTime.sum() / tasks);
+    }
+}
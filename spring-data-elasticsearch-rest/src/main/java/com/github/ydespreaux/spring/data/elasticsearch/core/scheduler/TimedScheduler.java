@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scheduler;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Scheduler recording the time spent by the tasks waiting to be executed by the delegate scheduler.
+ * Only the tasks scheduled without delay are timed.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class TimedScheduler implements Scheduler {
+
+    private final Scheduler delegate;
+    private final LongConsumer queueingTimeRecorder;
+
+    /**
+     * @param delegate             the scheduler executing the tasks
+     * @param queueingTimeRecorder the recorder of the queueing time, in nanoseconds
+     */
+    public TimedScheduler(Scheduler delegate, LongConsumer queueingTimeRecorder) {
+        this.delegate = delegate;
+        this.queueingTimeRecorder = queueingTimeRecorder;
+    }
+
+    private Runnable timed(Runnable task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            queueingTimeRecorder.accept(System.nanoTime() - submitted);
+            task.run();
+        };
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        return delegate.schedule(timed(task));
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return delegate.schedule(task, delay, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return delegate.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    @Override
+    public long now(TimeUnit unit) {
+        return delegate.now(unit);
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new TimedWorker(delegate.createWorker());
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+    }
+
+    private class TimedWorker implements Worker {
+
+        private final Worker worker;
+
+        TimedWorker(Worker worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public Disposable schedule(Runnable task) {
+            return worker.schedule(timed(task));
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return worker.schedule(task, delay, unit);
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return worker.schedulePeriodically(task, initialDelay, period, unit);
+        }
+
+        @Override
+        public void dispose() {
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return worker.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scroll;
+
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.search.SearchResponse;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Scroll iterator fetching the next pages asynchronously while the current page is consumed.
+ * <p>
+ * At most {@code prefetch} pages are buffered ahead of the consumer. As each scroll request needs the scroll id
+ * returned by the previous one, the pages are fetched one after the other, the next request being sent as soon
+ * as the previous response is received and the buffer is not full.
+ * <p>
+ * The responses are buffered as received and mapped to the documents by the consuming thread, so that the thread
+ * receiving the responses (the I/O reactor thread of the client) is never busy mapping the documents.
+ *
+ * @param <T> the document type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Slf4j
+public class PrefetchingScrollIterator<T> implements CloseableIterator<T> {
+
+    private final Function<String, CompletableFuture<SearchResponse>> continueScroll;
+    private final Function<SearchResponse, ScrolledPage<T>> mapper;
+    private final Consumer<String> clearScroll;
+    private final int prefetch;
+
+    private final Object lock = new Object();
+    private final Deque<SearchResponse> buffer = new ArrayDeque<>();
+    private Iterator<T> currentHits;
+    @Nullable
+    private String scrollId;
+    private boolean inFlight = false;
+    private boolean finished;
+    private boolean closed = false;
+    @Nullable
+    private Throwable failure;
+
+    /**
+     * @param page           the first page of the scroll
+     * @param continueScroll the function fetching asynchronously the response following the given scroll id
+     * @param mapper         the function mapping a response to a page, called by the consuming thread
+     * @param clearScroll    the consumer clearing a scroll
+     * @param prefetch       the maximum number of pages fetched ahead of the consumer
+     */
+    public PrefetchingScrollIterator(ScrolledPage<T> page, Function<String, CompletableFuture<SearchResponse>> continueScroll,
+                                     Function<SearchResponse, ScrolledPage<T>> mapper, Consumer<String> clearScroll, int prefetch) {
+        Assert.isTrue(prefetch > 0, "prefetch must be greater than 0");
+        this.continueScroll = continueScroll;
+        this.mapper = mapper;
+        this.clearScroll = clearScroll;
+        this.prefetch = prefetch;
+        this.currentHits = page.iterator();
+        this.scrollId = page.getScrollId();
+        this.finished = !page.hasContent();
+        synchronized (lock) {
+            fetchIfNeeded();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentHits.hasNext()) {
+            SearchResponse response;
+            synchronized (lock) {
+                while (buffer.isEmpty() && !finished && !closed && failure == null) {
+                    fetchIfNeeded();
+                    if (inFlight) {
+                        waitForPage();
+                    } else if (buffer.isEmpty() && failure == null) {
+                        // Nothing left to fetch
+                        finished = true;
+                    }
+                }
+                if (failure != null) {
+                    Throwable cause = failure;
+                    close();
+                    throw new ElasticsearchException("Error while prefetching the scroll pages", cause);
+                }
+                if (buffer.isEmpty()) {
+                    return false;
+                }
+                response = buffer.poll();
+                fetchIfNeeded();
+            }
+            currentHits = map(response);
+        }
+        return true;
+    }
+
+    private Iterator<T> map(SearchResponse response) {
+        try {
+            return mapper.apply(response).iterator();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (hasNext()) {
+            return currentHits.next();
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void close() {
+        String openScrollId;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            openScrollId = finished ? null : scrollId;
+            buffer.clear();
+            currentHits = Collections.emptyIterator();
+            lock.notifyAll();
+        }
+        // Clear scroll on cluster only if the scroll is not finished
+        if (openScrollId != null) {
+            clear(openScrollId);
+        }
+    }
+
+    /**
+     * Send the next scroll request if none is running, the scroll is not finished and the buffer is not full.
+     * Must be called holding the lock.
+     */
+    private void fetchIfNeeded() {
+        if (inFlight || finished || closed || failure != null || buffer.size() >= prefetch || scrollId == null) {
+            return;
+        }
+        inFlight = true;
+        try {
+            continueScroll.apply(scrollId).whenComplete(this::onPage);
+        } catch (RuntimeException e) {
+            onPage(null, e);
+        }
+    }
+
+    private void onPage(@Nullable SearchResponse response, @Nullable Throwable error) {
+        String orphanScrollId = null;
+        synchronized (lock) {
+            inFlight = false;
+            if (error != null) {
+                failure = error;
+            } else if (response != null) {
+                boolean hasContent = response.getHits().getHits().length > 0;
+                if (closed) {
+                    orphanScrollId = hasContent ? response.getScrollId() : null;
+                } else {
+                    if (response.getScrollId() != null) {
+                        scrollId = response.getScrollId();
+                    }
+                    if (hasContent) {
+                        buffer.add(response);
+                    } else {
+                        finished = true;
+                    }
+                }
+            }
+            lock.notifyAll();
+            fetchIfNeeded();
+        }
+        if (orphanScrollId != null) {
+            clear(orphanScrollId);
+        }
+    }
+
+    private void waitForPage() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        }
+    }
+
+    private void clear(String scrollIdToClear) {
+        try {
+            clearScroll.accept(scrollIdToClear);
+        } catch (RuntimeException e) {
+            log.warn("Unable to clear the scroll {}", scrollIdToClear, e);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scroll;
+
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sliced scroll : the scroll is split into several slices, which can be consumed independently.
+ * <p>
+ * Each slice is read sequentially, but the slices can be read concurrently either by a {@link CloseableIterator}
+ * fed by a bounded pool of threads, or by a parallel {@link Stream}. Closing the iterator or the stream clears every
+ * scroll still open : the iterator or the stream must be closed once consumed or abandoned. The threads of an iterator
+ * that is not closed stop, and clear their scrolls, once no page has been consumed for the consumer timeout.
+ *
+ * @param <T> the document type
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Slf4j
+public class SlicedScroll<T> implements Closeable {
+
+    private static final Object SLICE_END = new Object();
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final Duration DEFAULT_CONSUMER_TIMEOUT = Duration.ofMinutes(1);
+
+    private final int slices;
+    private final IntFunction<ScrolledPage<T>> startSlice;
+    private final Function<String, ScrolledPage<T>> continueScroll;
+    private final Consumer<String> clearScroll;
+    private final Map<Integer, String> scrollIds = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    /**
+     * @param slices         the number of slices
+     * @param startSlice     the function starting the scroll of a slice
+     * @param continueScroll the function reading the next page of a scroll
+     * @param clearScroll    the consumer clearing a scroll
+     */
+    public SlicedScroll(int slices, IntFunction<ScrolledPage<T>> startSlice, Function<String, ScrolledPage<T>> continueScroll, Consumer<String> clearScroll) {
+        Assert.isTrue(slices > 0, "slices must be greater than 0");
+        this.slices = slices;
+        this.startSlice = startSlice;
+        this.continueScroll = continueScroll;
+        this.clearScroll = clearScroll;
+    }
+
+    /**
+     * @return the number of slices
+     */
+    public int getSlices() {
+        return slices;
+    }
+
+    /**
+     * Read the slices concurrently on a pool of {@code slices} threads. At most {@code bufferedPages} pages are
+     * fetched ahead of the consumer.
+     *
+     * @param bufferedPages the maximum number of pages fetched and not yet consumed
+     * @return a new iterator
+     */
+    public CloseableIterator<T> iterator(int bufferedPages) {
+        return iterator(bufferedPages, DEFAULT_CONSUMER_TIMEOUT);
+    }
+
+    /**
+     * Read the slices concurrently on a pool of {@code slices} daemon threads. At most {@code bufferedPages} pages
+     * are fetched ahead of the consumer. If no page is consumed for {@code consumerTimeout}, typically the scroll time,
+     * the iterator is considered abandoned : the threads stop and the scrolls are cleared.
+     *
+     * @param bufferedPages   the maximum number of pages fetched and not yet consumed
+     * @param consumerTimeout the maximum time waited for the consumer
+     * @return a new iterator
+     */
+    public CloseableIterator<T> iterator(int bufferedPages, Duration consumerTimeout) {
+        Assert.isTrue(bufferedPages > 0, "bufferedPages must be greater than 0");
+        Assert.isTrue(consumerTimeout != null && !consumerTimeout.isNegative() && !consumerTimeout.isZero(), "consumerTimeout must be positive");
+        return new ConcurrentSliceIterator(bufferedPages, consumerTimeout);
+    }
+
+    /**
+     * @return a spliterator splitting on slice boundaries
+     */
+    public Spliterator<T> spliterator() {
+        return new SliceSpliterator(0, slices);
+    }
+
+    /**
+     * @return a parallel stream over every slice, clearing the scrolls on close
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true).onClose(this::close);
+    }
+
+    /**
+     * Clear every scroll still open.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for (Integer slice : new ArrayList<>(scrollIds.keySet())) {
+            release(slice);
+        }
+    }
+
+    /**
+     * Read the next page of the given slice. The scroll of the slice is cleared as soon as the slice is exhausted.
+     *
+     * @param slice     the slice id
+     * @param scrollId the current scroll id of the slice, or null if the slice has not been started
+     * @return the next page
+     */
+    private ScrolledPage<T> nextPage(int slice, @Nullable String scrollId) {
+        ScrolledPage<T> page = scrollId == null ? startSlice.apply(slice) : continueScroll.apply(scrollId);
+        if (page.getScrollId() != null) {
+            scrollIds.put(slice, page.getScrollId());
+        }
+        if (!page.hasContent() || closed) {
+            release(slice);
+        }
+        return page;
+    }
+
+    private void release(int slice) {
+        String scrollId = scrollIds.remove(slice);
+        if (scrollId != null) {
+            try {
+                clearScroll.accept(scrollId);
+            } catch (RuntimeException e) {
+                log.warn("Unable to clear the scroll of the slice {}", slice, e);
+            }
+        }
+    }
+
+    /**
+     * Iterator fed by one task per slice. The tasks block when the buffer is full.
+     */
+    private class ConcurrentSliceIterator implements CloseableIterator<T> {
+
+        private final BlockingQueue<Object> buffer;
+        private final ExecutorService executor;
+        private final long consumerTimeoutNanos;
+        private int remainingSlices = slices;
+        private Iterator<T> currentHits = Collections.emptyIterator();
+
+        ConcurrentSliceIterator(int bufferedPages, Duration consumerTimeout) {
+            this.buffer = new LinkedBlockingQueue<>(bufferedPages + slices);
+            this.consumerTimeoutNanos = consumerTimeout.toNanos();
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sliced-scroll-");
+            threadFactory.setDaemon(true);
+            this.executor = Executors.newFixedThreadPool(slices, threadFactory);
+            for (int slice = 0; slice < slices; slice++) {
+                final int id = slice;
+                this.executor.execute(() -> readSlice(id));
+            }
+            this.executor.shutdown();
+        }
+
+        private void readSlice(int slice) {
+            try {
+                String scrollId = null;
+                while (!closed) {
+                    ScrolledPage<T> page = nextPage(slice, scrollId);
+                    if (!page.hasContent()) {
+                        break;
+                    }
+                    scrollId = page.getScrollId();
+                    offer(page.getContent());
+                }
+            } catch (RuntimeException e) {
+                offer(e);
+            } finally {
+                offer(SLICE_END);
+            }
+        }
+
+        private void offer(Object element) {
+            long start = System.nanoTime();
+            try {
+                while (!closed && !buffer.offer(element, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    if (System.nanoTime() - start > consumerTimeoutNanos) {
+                        // The consumer has not taken a page for the consumer timeout : the iterator is abandoned
+                        log.warn("No page of the sliced scroll consumed for {} ms, the scrolls are cleared", TimeUnit.NANOSECONDS.toMillis(consumerTimeoutNanos));
+                        SlicedScroll.this.close();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (!currentHits.hasNext()) {
+                if (closed || remainingSlices == 0) {
+                    return false;
+                }
+                Object element = take();
+                if (element == SLICE_END) {
+                    remainingSlices--;
+                } else if (element instanceof RuntimeException) {
+                    close();
+                    throw new ElasticsearchException("Error while reading a sliced scroll", (RuntimeException) element);
+                } else {
+                    currentHits = ((List<T>) element).iterator();
+                }
+            }
+            return true;
+        }
+
+        private Object take() {
+            try {
+                return buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new ElasticsearchException("Interrupted while reading a sliced scroll", e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (hasNext()) {
+                return currentHits.next();
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void close() {
+            SlicedScroll.this.close();
+            executor.shutdownNow();
+            buffer.clear();
+            currentHits = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * Spliterator over a range of slices, read one after the other.
+     */
+    private class SliceSpliterator implements Spliterator<T> {
+
+        private int slice;
+        private final int fence;
+        @Nullable
+        private String scrollId;
+        private Iterator<T> currentHits = Collections.emptyIterator();
+        private boolean started = false;
+
+        SliceSpliterator(int origin, int fence) {
+            this.slice = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!currentHits.hasNext()) {
+                if (closed || slice >= fence) {
+                    return false;
+                }
+                started = true;
+                ScrolledPage<T> page = nextPage(slice, scrollId);
+                if (page.hasContent()) {
+                    scrollId = page.getScrollId();
+                    currentHits = page.iterator();
+                } else {
+                    scrollId = null;
+                    slice++;
+                }
+            }
+            action.accept(currentHits.next());
+            return true;
+        }
+
+        @Override
+        @Nullable
+        public Spliterator<T> trySplit() {
+            if (started || fence - slice < 2) {
+                return null;
+            }
+            int middle = (slice + fence) >>> 1;
+            SliceSpliterator prefix = new SliceSpliterator(slice, middle);
+            this.slice = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL;
+        }
+    }
+}
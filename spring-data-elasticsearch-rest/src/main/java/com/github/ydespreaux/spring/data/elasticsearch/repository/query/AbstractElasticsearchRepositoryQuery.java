@@ -19,7 +19,14 @@
  */
 package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
 
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.PagingMode;
 import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperations;
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.CursorPageRequest;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Query;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.StringQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.RepositoryQuery;
 
@@ -45,4 +52,53 @@ public abstract class AbstractElasticsearchRepositoryQuery implements Repository
     public QueryMethod getQueryMethod() {
         return queryMethod;
     }
+
+    /**
+     * Read the page of the query with from/size or search_after if the pageable holds a cursor or if the paging mode
+     * of the method, or else of the document, is {@link PagingMode#SEARCH_AFTER}. Otherwise a scroll is started.
+     *
+     * @param query    the query
+     * @param pageable the pageable
+     * @return the page
+     */
+    protected Page<?> startPage(CriteriaQuery query, Pageable pageable) {
+        query.setPageable(pageable);
+        Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+        if (isSearchAfterPaging(pageable, javaType)) {
+            addPagingTiebreaker(query);
+            return elasticsearchOperations.searchPage(query, javaType);
+        }
+        return elasticsearchOperations.startScroll(query, javaType);
+    }
+
+    /**
+     * @param query    the query
+     * @param pageable the pageable
+     * @return the page
+     * @see #startPage(CriteriaQuery, Pageable)
+     */
+    protected Page<?> startPage(StringQuery query, Pageable pageable) {
+        query.setPageable(pageable);
+        Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+        if (isSearchAfterPaging(pageable, javaType)) {
+            addPagingTiebreaker(query);
+            return elasticsearchOperations.searchPage(query, javaType);
+        }
+        return elasticsearchOperations.startScroll(query, javaType);
+    }
+
+    private boolean isSearchAfterPaging(Pageable pageable, Class<?> javaType) {
+        if (pageable instanceof CursorPageRequest) {
+            return true;
+        }
+        PagingMode mode = queryMethod.getAnnotatedPagingMode();
+        if (mode == null) {
+            mode = elasticsearchOperations.getPersistentEntityFor(javaType).getPagingMode();
+        }
+        return mode == PagingMode.SEARCH_AFTER;
+    }
+
+    private void addPagingTiebreaker(Query query) {
+        query.setPagingTiebreaker(queryMethod.getAnnotatedPagingTiebreaker());
+    }
 }
@@ -20,12 +20,10 @@
 package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
 
 import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperations;
-import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
-import com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser.ElasticsearchQueryCreator;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser.PartTreeQueryPlan;
 import org.elasticsearch.ElasticsearchException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.lang.Nullable;
@@ -40,12 +38,12 @@ import org.springframework.util.ClassUtils;
 public class ElasticsearchPartQuery extends AbstractElasticsearchRepositoryQuery {
 
     private final PartTree tree;
-    private final MappingContext<?, ElasticsearchPersistentProperty> mappingContext;
+    private final PartTreeQueryPlan plan;
 
     public ElasticsearchPartQuery(ElasticsearchQueryMethod method, ElasticsearchOperations elasticsearchOperations) {
         super(method, elasticsearchOperations);
         this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
-        this.mappingContext = elasticsearchOperations.getElasticsearchConverter().getMappingContext();
+        this.plan = PartTreeQueryPlan.compile(this.tree, elasticsearchOperations.getElasticsearchConverter().getMappingContext());
     }
 
     @Nullable
@@ -58,17 +56,14 @@ public class ElasticsearchPartQuery extends AbstractElasticsearchRepositoryQuery
             elasticsearchOperations.delete(query, queryMethod.getEntityInformation().getJavaType());
             return result;
         } else if (queryMethod.isPageQuery()) {
-            query.setPageable(accessor.getPageable());
-            return elasticsearchOperations.startScroll(query, queryMethod.getEntityInformation().getJavaType());
+            return startPage(query, accessor.getPageable());
         } else if (queryMethod.isStreamQuery()) {
             throw new ElasticsearchException("Stream query method not supported");
         } else if (queryMethod.isCollectionQuery()) {
-            if (!accessor.getPageable().isPaged()) {
-                int itemCount = (int) elasticsearchOperations.count(query, queryMethod.getEntityInformation().getJavaType());
-                query.setPageable(PageRequest.of(0, Math.max(1, itemCount)));
-            } else {
-                query.setPageable(accessor.getPageable());
+            if (accessor.getPageable().isUnpaged()) {
+                return elasticsearchOperations.searchAll(query, queryMethod.getEntityInformation().getJavaType());
             }
+            query.setPageable(accessor.getPageable());
             return elasticsearchOperations.search(query, queryMethod.getEntityInformation().getJavaType());
         } else if (tree.isCountProjection()) {
             return elasticsearchOperations.count(query, queryMethod.getEntityInformation().getJavaType());
@@ -86,12 +81,11 @@ public class ElasticsearchPartQuery extends AbstractElasticsearchRepositoryQuery
 
         if (queryMethod.isCollectionQuery()) {
             if (accessor.getPageable().isUnpaged()) {
-                int itemCount = (int) elasticsearchOperations.count(query, queryMethod.getEntityInformation().getJavaType());
-                query.setPageable(PageRequest.of(0, Math.max(1, itemCount)));
+                result = elasticsearchOperations.searchAll(query, queryMethod.getEntityInformation().getJavaType());
             } else {
                 query.setPageable(accessor.getPageable());
+                result = elasticsearchOperations.search(query, queryMethod.getEntityInformation().getJavaType());
             }
-            result = elasticsearchOperations.search(query, queryMethod.getEntityInformation().getJavaType());
         }
 
         if (ClassUtils.isAssignable(Number.class, queryMethod.getReturnedObjectType())) {
@@ -101,6 +95,6 @@ public class ElasticsearchPartQuery extends AbstractElasticsearchRepositoryQuery
     }
 
     public CriteriaQuery createQuery(ParametersParameterAccessor accessor) {
-        return new ElasticsearchQueryCreator(tree, accessor, mappingContext).createQuery();
+        return plan.bind(accessor);
     }
 }
@@ -19,11 +19,14 @@
  */
 package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
 
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Paging;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.PagingMode;
 import com.github.ydespreaux.spring.data.elasticsearch.annotations.Query;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.lang.Nullable;
 
 import java.lang.reflect.Method;
 
@@ -38,10 +41,12 @@ import static org.springframework.util.StringUtils.isEmpty;
 public class ElasticsearchQueryMethod extends QueryMethod {
 
     private final Query queryAnnotation;
+    private final Paging pagingAnnotation;
 
     public ElasticsearchQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
         this.queryAnnotation = method.getAnnotation(Query.class);
+        this.pagingAnnotation = method.getAnnotation(Paging.class);
     }
 
     public boolean hasAnnotatedQuery() {
@@ -56,6 +61,17 @@ public class ElasticsearchQueryMethod extends QueryMethod {
         return (String) AnnotationUtils.getValue(queryAnnotation, "value");
     }
 
+    /**
+     * @return true if the method executes a stored search template
+     */
+    public boolean hasAnnotatedTemplate() {
+        return this.queryAnnotation != null && !isEmpty(this.queryAnnotation.templateId());
+    }
+
+    public String getAnnotatedTemplateId() {
+        return (String) AnnotationUtils.getValue(queryAnnotation, "templateId");
+    }
+
     @Override
     public String getNamedQueryName() {
         if (hasAnnotatedNamedQuery()) {
@@ -68,4 +84,20 @@ public class ElasticsearchQueryMethod extends QueryMethod {
         return (String) AnnotationUtils.getValue(queryAnnotation, "name");
     }
 
+    /**
+     * @return the paging mode defined on the method, {@literal null} to use the paging mode of the document.
+     */
+    @Nullable
+    public PagingMode getAnnotatedPagingMode() {
+        return this.pagingAnnotation == null ? null : this.pagingAnnotation.value();
+    }
+
+    /**
+     * @return the tiebreaker defined on the method, {@literal null} to use the tiebreaker of the document.
+     */
+    @Nullable
+    public String getAnnotatedPagingTiebreaker() {
+        return this.pagingAnnotation == null || isEmpty(this.pagingAnnotation.tiebreaker()) ? null : this.pagingAnnotation.tiebreaker();
+    }
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperations;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.SearchTemplateQuery;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.util.Assert;
+
+/**
+ * Query executing a stored search template.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ElasticsearchSearchTemplateQuery extends AbstractElasticsearchRepositoryQuery {
+
+    private final SearchTemplateParameters templateParameters = new SearchTemplateParameters();
+    private final String templateId;
+
+    public ElasticsearchSearchTemplateQuery(ElasticsearchQueryMethod queryMethod, ElasticsearchOperations elasticsearchOperations,
+                                            String templateId) {
+        super(queryMethod, elasticsearchOperations);
+        Assert.hasText(templateId, "Template id cannot be empty");
+        this.templateId = templateId;
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
+        SearchTemplateQuery query = new SearchTemplateQuery(this.templateId, this.templateParameters.getParams(queryMethod.getParameters(), accessor));
+        if (accessor.getPageable().isPaged()) {
+            query.setPageable(accessor.getPageable());
+        }
+        Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+        if (queryMethod.isPageQuery()) {
+            return elasticsearchOperations.searchTemplate(query, javaType);
+        } else if (queryMethod.isCollectionQuery()) {
+            return elasticsearchOperations.searchTemplate(query, javaType).getContent();
+        }
+        return elasticsearchOperations.searchTemplate(query, javaType).get().findFirst();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.repository.query.ParameterAccessor;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query string parsed once into literal segments and parameter slots ({@code ?0}, {@code ?1}...), bound by a single
+ * concatenation.
+ * <p>
+ * A slot inside a json string receives the escaped text of its value. A slot outside a json string receives a json
+ * value : numbers and booleans as is, collections and arrays as json arrays, null as null, and the other values as
+ * escaped json strings.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+final class ParameterizedQuery {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String[] literals;
+    private final int[] parameterIndexes;
+    private final boolean[] quoted;
+    private final int literalLength;
+
+    private ParameterizedQuery(List<String> literals, List<Integer> parameterIndexes, List<Boolean> quoted) {
+        this.literals = literals.toArray(new String[0]);
+        this.parameterIndexes = new int[parameterIndexes.size()];
+        this.quoted = new boolean[quoted.size()];
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        for (int i = 0; i < this.parameterIndexes.length; i++) {
+            this.parameterIndexes[i] = parameterIndexes.get(i);
+            this.quoted[i] = quoted.get(i);
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @param query the query string
+     * @return the parsed query
+     */
+    static ParameterizedQuery parse(String query) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> parameterIndexes = new ArrayList<>();
+        List<Boolean> quoted = new ArrayList<>();
+        boolean inString = false;
+        int literalStart = 0;
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (c == '\\' && inString) {
+                i += 2;
+                continue;
+            }
+            if (c == '"') {
+                inString = !inString;
+            } else if (c == '?' && i + 1 < query.length() && Character.isDigit(query.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < query.length() && Character.isDigit(query.charAt(end))) {
+                    end++;
+                }
+                literals.add(query.substring(literalStart, i));
+                parameterIndexes.add(Integer.parseInt(query.substring(i + 1, end)));
+                quoted.add(inString);
+                literalStart = end;
+                i = end;
+                continue;
+            }
+            i++;
+        }
+        literals.add(query.substring(Math.min(literalStart, query.length())));
+        return new ParameterizedQuery(literals, parameterIndexes, quoted);
+    }
+
+    /**
+     * @return the greatest parameter index, -1 if the query has no parameter
+     */
+    int getMaxParameterIndex() {
+        int max = -1;
+        for (int index : this.parameterIndexes) {
+            max = Math.max(max, index);
+        }
+        return max;
+    }
+
+    /**
+     * @param accessor          the parameters
+     * @param conversionService the service converting the values to text
+     * @return the query string with the values of the parameters
+     */
+    String bind(ParameterAccessor accessor, ConversionService conversionService) {
+        if (this.parameterIndexes.length == 0) {
+            return this.literals[0];
+        }
+        StringBuilder builder = new StringBuilder(this.literalLength + 16 * this.parameterIndexes.length);
+        for (int i = 0; i < this.parameterIndexes.length; i++) {
+            builder.append(this.literals[i]);
+            Object value = accessor.getBindableValue(this.parameterIndexes[i]);
+            if (this.quoted[i]) {
+                escape(builder, asText(value, conversionService));
+            } else {
+                appendValue(builder, value, conversionService);
+            }
+        }
+        return builder.append(this.literals[this.parameterIndexes.length]).toString();
+    }
+
+    private static void appendValue(StringBuilder builder, Object value, ConversionService conversionService) {
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            builder.append(value);
+        } else if (value instanceof Iterable) {
+            builder.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    builder.append(',');
+                }
+                appendValue(builder, element, conversionService);
+                first = false;
+            }
+            builder.append(']');
+        } else if (value.getClass().isArray()) {
+            builder.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                appendValue(builder, Array.get(value, i), conversionService);
+            }
+            builder.append(']');
+        } else {
+            builder.append('"');
+            escape(builder, asText(value, conversionService));
+            builder.append('"');
+        }
+    }
+
+    private static String asText(Object value, ConversionService conversionService) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (conversionService.canConvert(value.getClass(), String.class)) {
+            return conversionService.convert(value, String.class);
+        }
+        return value.toString();
+    }
+
+    private static void escape(StringBuilder builder, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+    }
+}
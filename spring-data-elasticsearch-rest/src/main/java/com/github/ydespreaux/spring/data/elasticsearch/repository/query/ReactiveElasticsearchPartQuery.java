@@ -20,10 +20,8 @@
 package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
 
 import com.github.ydespreaux.spring.data.elasticsearch.core.ReactiveElasticsearchOperations;
-import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
 import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
-import com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser.ElasticsearchQueryCreator;
-import org.springframework.data.mapping.context.MappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser.PartTreeQueryPlan;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.lang.Nullable;
@@ -37,12 +35,12 @@ import org.springframework.lang.Nullable;
 public class ReactiveElasticsearchPartQuery extends AbstractReactiveElasticsearchRepositoryQuery {
 
     private final PartTree tree;
-    private final MappingContext<?, ElasticsearchPersistentProperty> mappingContext;
+    private final PartTreeQueryPlan plan;
 
     public ReactiveElasticsearchPartQuery(ReactiveElasticsearchQueryMethod method, ReactiveElasticsearchOperations elasticsearchOperations) {
         super(method, elasticsearchOperations);
         this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
-        this.mappingContext = elasticsearchOperations.getElasticsearchConverter().getMappingContext();
+        this.plan = PartTreeQueryPlan.compile(this.tree, elasticsearchOperations.getElasticsearchConverter().getMappingContext());
     }
 
     @Nullable
@@ -63,6 +61,6 @@ public class ReactiveElasticsearchPartQuery extends AbstractReactiveElasticsearc
     }
 
     public CriteriaQuery createQuery(ParametersParameterAccessor accessor) {
-        return new ElasticsearchQueryCreator(tree, accessor, mappingContext).createQuery();
+        return plan.bind(accessor);
     }
 }
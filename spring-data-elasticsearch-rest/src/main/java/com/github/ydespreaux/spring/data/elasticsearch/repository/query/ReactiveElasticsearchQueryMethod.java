@@ -59,6 +59,17 @@ public class ReactiveElasticsearchQueryMethod extends QueryMethod {
         return (String) AnnotationUtils.getValue(queryAnnotation, "value");
     }
 
+    /**
+     * @return true if the method executes a stored search template
+     */
+    public boolean hasAnnotatedTemplate() {
+        return this.queryAnnotation != null && !isEmpty(this.queryAnnotation.templateId());
+    }
+
+    public String getAnnotatedTemplateId() {
+        return (String) AnnotationUtils.getValue(queryAnnotation, "templateId");
+    }
+
     @Override
     public String getNamedQueryName() {
         if (hasAnnotatedNamedQuery()) {
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.SearchTemplateQuery;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.util.Assert;
+
+/**
+ * Query executing a stored search template.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ReactiveElasticsearchSearchTemplateQuery extends AbstractReactiveElasticsearchRepositoryQuery {
+
+    private final SearchTemplateParameters templateParameters = new SearchTemplateParameters();
+    private final String templateId;
+
+    public ReactiveElasticsearchSearchTemplateQuery(ReactiveElasticsearchQueryMethod queryMethod, ReactiveElasticsearchOperations elasticsearchOperations,
+                                                    String templateId) {
+        super(queryMethod, elasticsearchOperations);
+        Assert.hasText(templateId, "Template id cannot be empty");
+        this.templateId = templateId;
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
+        SearchTemplateQuery query = new SearchTemplateQuery(this.templateId, this.templateParameters.getParams(queryMethod.getParameters(), accessor));
+        if (accessor.getPageable().isPaged()) {
+            query.setPageable(accessor.getPageable());
+        }
+        if (queryMethod.isStreamQuery()) {
+            return reactiveElasticsearchOperations.searchTemplate(query, queryMethod.getEntityInformation().getJavaType());
+        }
+        return reactiveElasticsearchOperations.searchTemplate(query, queryMethod.getEntityInformation().getJavaType()).next();
+    }
+}
@@ -26,9 +26,6 @@ import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.util.Assert;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * ElasticsearchStringQuery
  *
@@ -37,15 +34,16 @@ import java.util.regex.Pattern;
  */
 public class ReactiveElasticsearchStringQuery extends AbstractReactiveElasticsearchRepositoryQuery {
 
-    private static final Pattern PARAMETER_PLACEHOLDER = Pattern.compile("\\?(\\d+)");
     private final GenericConversionService conversionService = new GenericConversionService();
-    private String query;
+    private final ParameterizedQuery query;
 
     public ReactiveElasticsearchStringQuery(ReactiveElasticsearchQueryMethod queryMethod, ReactiveElasticsearchOperations elasticsearchOperations,
                                             String query) {
         super(queryMethod, elasticsearchOperations);
         Assert.notNull(query, "Query cannot be empty");
-        this.query = query;
+        this.query = ParameterizedQuery.parse(query);
+        Assert.isTrue(this.query.getMaxParameterIndex() < queryMethod.getParameters().getBindableParameters().getNumberOfParameters(),
+                () -> "Invalid parameter index in query " + query);
         if (!conversionService.canConvert(java.util.Date.class, String.class)) {
             conversionService.addConverter(DateTimeConverters.JavaDateConverter.INSTANCE);
         }
@@ -68,26 +66,6 @@ public class ReactiveElasticsearchStringQuery extends AbstractReactiveElasticsea
     }
 
     protected StringQuery createQuery(ParametersParameterAccessor parameterAccessor) {
-        String queryString = replacePlaceholders(this.query, parameterAccessor);
-        return new StringQuery(queryString);
-    }
-
-    private String replacePlaceholders(String input, ParametersParameterAccessor accessor) {
-        Matcher matcher = PARAMETER_PLACEHOLDER.matcher(input);
-        String result = input;
-        while (matcher.find()) {
-            String group = matcher.group();
-            int index = Integer.parseInt(matcher.group(1));
-            result = result.replace(group, getParameterWithIndex(accessor, index));
-        }
-        return result;
-    }
-
-    private String getParameterWithIndex(ParametersParameterAccessor accessor, int index) {
-        Object parameter = accessor.getBindableValue(index);
-        if (conversionService.canConvert(parameter.getClass(), String.class)) {
-            return conversionService.convert(parameter, String.class);
-        }
-        return parameter.toString();
+        return new StringQuery(this.query.bind(parameterAccessor, this.conversionService));
     }
 }
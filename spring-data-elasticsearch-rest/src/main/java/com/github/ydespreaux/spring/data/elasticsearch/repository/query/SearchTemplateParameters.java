@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.DateTimeConverters;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Params of a search template, built from the bindable parameters of a query method : a parameter is named by its
+ * {@link org.springframework.data.repository.query.Param @Param} annotation, or else by its index. The names compiled
+ * with {@code -parameters} are ignored so the params do not depend on the compiler options.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+final class SearchTemplateParameters {
+
+    private final GenericConversionService conversionService = new GenericConversionService();
+
+    SearchTemplateParameters() {
+        conversionService.addConverter(DateTimeConverters.JavaDateConverter.INSTANCE);
+        conversionService.addConverter(DateTimeConverters.LocalDateTimeConverter.INSTANCE);
+        conversionService.addConverter(DateTimeConverters.LocalDateConverter.INSTANCE);
+    }
+
+    Map<String, Object> getParams(Parameters<?, ?> parameters, ParametersParameterAccessor accessor) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        int index = 0;
+        for (Parameter parameter : parameters.getBindableParameters()) {
+            String name = parameter.isExplicitlyNamed() ? parameter.getName().get() : String.valueOf(index);
+            params.put(name, convert(accessor.getBindableValue(index)));
+            index++;
+        }
+        return params;
+    }
+
+    private Object convert(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Collection || value instanceof Map) {
+            // Rendered as json values by the template
+            return value;
+        }
+        if (conversionService.canConvert(value.getClass(), String.class)) {
+            return conversionService.convert(value, String.class);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Point;
+import org.springframework.data.repository.query.parser.Part;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Adds the operation of a {@link Part} to a {@link Criteria}, consuming the parameter values it needs. The
+ * operation is resolved once per part so that the binder can be reused for every call of the query method.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@FunctionalInterface
+interface CriteriaBinder {
+
+    String ILLEGAL_CRITERIA_ERROR = "Illegal criteria found '%s'.";
+
+    /**
+     * @param criteria   the criteria of the part field
+     * @param parameters the remaining parameter values
+     * @return the criteria
+     */
+    Criteria bind(Criteria criteria, Iterator<?> parameters);
+
+    /**
+     * @param part the part of the query method
+     * @return the binder of the part
+     */
+    static CriteriaBinder of(Part part) {
+        Part.Type type = part.getType();
+        switch (type) {
+            case TRUE:
+                return (criteria, parameters) -> criteria.is(true);
+            case FALSE:
+                return (criteria, parameters) -> criteria.is(false);
+            case NEGATING_SIMPLE_PROPERTY:
+                return (criteria, parameters) -> criteria.is(parameters.next()).not();
+            case REGEX:
+                return (criteria, parameters) -> criteria.expression(parameters.next().toString());
+            case NOT_LIKE:
+            case NOT_CONTAINING:
+                return (criteria, parameters) -> criteria.contains(parameters.next().toString()).not();
+            case LIKE:
+            case CONTAINING:
+                return (criteria, parameters) -> criteria.contains(parameters.next().toString());
+            case STARTING_WITH:
+                return (criteria, parameters) -> criteria.startsWith(parameters.next().toString());
+            case ENDING_WITH:
+                return (criteria, parameters) -> criteria.endsWith(parameters.next().toString());
+            case GREATER_THAN:
+                return (criteria, parameters) -> criteria.greaterThan(parameters.next());
+            case AFTER:
+            case GREATER_THAN_EQUAL:
+                return (criteria, parameters) -> criteria.greaterThanEqual(parameters.next());
+            case LESS_THAN:
+                return (criteria, parameters) -> criteria.lessThan(parameters.next());
+            case BEFORE:
+            case LESS_THAN_EQUAL:
+                return (criteria, parameters) -> criteria.lessThanEqual(parameters.next());
+            case BETWEEN:
+                return (criteria, parameters) -> criteria.between(parameters.next(), parameters.next());
+            case IN:
+                return (criteria, parameters) -> criteria.in(asArray(parameters.next()));
+            case NOT_IN:
+                return (criteria, parameters) -> criteria.notIn(asArray(parameters.next()));
+            case SIMPLE_PROPERTY:
+                if (part.getProperty().getType() != GeoPoint.class) {
+                    return (criteria, parameters) -> criteria.is(parameters.next());
+                }
+                // it means it's a simple find with exact geopoint matching (e.g. findByLocation)
+                // and because Elasticsearch does not have any kind of query with just a geopoint
+                // as argument we use a "geo distance" query with a distance of one meter.
+                return (criteria, parameters) -> within(type, criteria, parameters.next(), ".001km");
+            case WITHIN:
+                return (criteria, parameters) -> within(type, criteria, parameters.next(), parameters.next());
+            case NEAR:
+                return (criteria, parameters) -> near(type, criteria, parameters);
+            default:
+                throw new InvalidDataAccessApiUsageException(String.format(ILLEGAL_CRITERIA_ERROR, type));
+        }
+    }
+
+    private static Criteria within(Part.Type type, Criteria criteria, Object firstParameter, Object secondParameter) {
+        if (firstParameter instanceof GeoPoint && secondParameter instanceof String)
+            return criteria.within((GeoPoint) firstParameter, (String) secondParameter);
+
+        if (firstParameter instanceof Point && secondParameter instanceof Distance)
+            return criteria.within((Point) firstParameter, (Distance) secondParameter);
+
+        if (firstParameter instanceof String && secondParameter instanceof String)
+            return criteria.within((String) firstParameter, (String) secondParameter);
+        throw new InvalidDataAccessApiUsageException(String.format(ILLEGAL_CRITERIA_ERROR, type));
+    }
+
+    private static Criteria near(Part.Type type, Criteria criteria, Iterator<?> parameters) {
+        Object firstParameter = parameters.next();
+
+        if (firstParameter instanceof Box) {
+            return criteria.boundedBy((Box) firstParameter);
+        }
+
+        Object secondParameter = parameters.next();
+        if (firstParameter instanceof Point && secondParameter instanceof Point) {
+            return criteria.boundedBy((Point) firstParameter, (Point) secondParameter);
+        }
+        if (firstParameter instanceof GeoPoint && secondParameter instanceof GeoPoint) {
+            return criteria.boundedBy((GeoPoint) firstParameter, (GeoPoint) secondParameter);
+        }
+        if (firstParameter instanceof String && secondParameter instanceof String) {
+            return criteria.boundedBy((String) firstParameter, (String) secondParameter);
+        }
+
+        // "near" query can be the same query as the "within" query
+        if (firstParameter instanceof Point && secondParameter instanceof String)
+            return criteria.within((GeoPoint) firstParameter, (String) secondParameter);
+
+        if (firstParameter instanceof Point && secondParameter instanceof Distance)
+            return criteria.within((Point) firstParameter, (Distance) secondParameter);
+        throw new InvalidDataAccessApiUsageException(String.format(ILLEGAL_CRITERIA_ERROR, type));
+    }
+
+    private static Object[] asArray(Object o) {
+        if (o instanceof Collection) {
+            return ((Collection<?>) o).toArray();
+        } else if (o.getClass().isArray()) {
+            return (Object[]) o;
+        }
+        return new Object[]{o};
+    }
+}
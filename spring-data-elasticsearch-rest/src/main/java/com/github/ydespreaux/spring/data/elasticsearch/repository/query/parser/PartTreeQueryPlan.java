@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Query plan of a derived query method. The {@link PartTree} is compiled once: the field name and the operation of
+ * each part are resolved when the plan is created, and binding the parameters of a call only creates the criteria.
+ * The criteria are chained in the same way as the {@link ElasticsearchQueryCreator}.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public final class PartTreeQueryPlan {
+
+    private final List<List<CompiledPart>> branches;
+    private final Sort sort;
+
+    private PartTreeQueryPlan(List<List<CompiledPart>> branches, Sort sort) {
+        this.branches = branches;
+        this.sort = sort;
+    }
+
+    /**
+     * Compile the tree of a query method.
+     *
+     * @param tree    the part tree of the query method
+     * @param context the mapping context used to resolve the field names
+     * @return the query plan
+     */
+    public static PartTreeQueryPlan compile(PartTree tree, MappingContext<?, ElasticsearchPersistentProperty> context) {
+        List<List<CompiledPart>> branches = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<CompiledPart> parts = new ArrayList<>();
+            for (Part part : orPart) {
+                String fieldName = context.getPersistentPropertyPath(part.getProperty())
+                        .toDotPath(ElasticsearchPersistentProperty.PropertyToFieldNameConverter.INSTANCE);
+                parts.add(new CompiledPart(fieldName, CriteriaBinder.of(part)));
+            }
+            if (!parts.isEmpty()) {
+                branches.add(Collections.unmodifiableList(parts));
+            }
+        }
+        return new PartTreeQueryPlan(Collections.unmodifiableList(branches), tree.getSort());
+    }
+
+    /**
+     * Bind the parameters of a call.
+     *
+     * @param accessor the parameters of the call
+     * @return the query or null if the method has no criteria
+     */
+    @Nullable
+    public CriteriaQuery bind(ParameterAccessor accessor) {
+        Iterator<Object> parameters = accessor.iterator();
+        Criteria criteria = null;
+        for (List<CompiledPart> branch : branches) {
+            Criteria branchCriteria = null;
+            for (CompiledPart part : branch) {
+                Criteria partCriteria = part.bind(parameters);
+                if (branchCriteria == null) {
+                    branchCriteria = partCriteria;
+                } else {
+                    branchCriteria.and(partCriteria);
+                }
+            }
+            criteria = criteria == null ? branchCriteria : criteria.or(branchCriteria);
+        }
+        if (criteria == null) {
+            return null;
+        }
+        Sort dynamicSort = accessor.getSort();
+        return new CriteriaQuery(criteria).addSort(dynamicSort.isSorted() ? sort.and(dynamicSort) : sort);
+    }
+
+    private static final class CompiledPart {
+
+        private final String fieldName;
+        private final CriteriaBinder binder;
+
+        CompiledPart(String fieldName, CriteriaBinder binder) {
+            this.fieldName = fieldName;
+            this.binder = binder;
+        }
+
+        Criteria bind(Iterator<?> parameters) {
+            return binder.bind(new Criteria(fieldName), parameters);
+        }
+    }
+}
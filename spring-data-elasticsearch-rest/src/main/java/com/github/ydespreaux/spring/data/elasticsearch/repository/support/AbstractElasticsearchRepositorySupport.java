@@ -6,6 +6,8 @@ import org.springframework.util.Assert;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class AbstractElasticsearchRepositorySupport<T, K> {
 
@@ -79,6 +81,20 @@ public abstract class AbstractElasticsearchRepositorySupport<T, K> {
         Assert.notNull(id, "id must not be null!");
     }
 
+    /**
+     * @param ids the ids
+     * @return the string representations of the ids
+     */
+    protected List<String> stringIdRepresentations(Iterable<K> ids) {
+        Assert.notNull(ids, "ids must not be null!");
+        List<String> documentIds = new ArrayList<>();
+        for (K id : ids) {
+            assertNotNullId(id);
+            documentIds.add(stringIdRepresentation(id));
+        }
+        return documentIds;
+    }
+
     protected void assertNotNullPageable(Pageable pageable) {
         Assert.notNull(pageable, "pageable is required");
     }
@@ -59,6 +59,15 @@ public abstract class AbstractReactiveElasticsearchRepository<T, K> extends Abst
         return reactiveElasticsearchOperations.findById(stringIdRepresentation(id), getEntityClass());
     }
 
+    /**
+     * @param ids must not be {@literal null}.
+     * @return the documents
+     */
+    @Override
+    public Flux<T> findAllById(Iterable<K> ids) {
+        return reactiveElasticsearchOperations.findAllById(stringIdRepresentations(ids), getEntityClass());
+    }
+
     /**
      * @param id the identifier
      * @return true if the document exists
@@ -24,6 +24,7 @@ import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperati
 import com.github.ydespreaux.spring.data.elasticsearch.repository.ElasticsearchRepository;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ElasticsearchPartQuery;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ElasticsearchQueryMethod;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ElasticsearchSearchTemplateQuery;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ElasticsearchStringQuery;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.NamedQueries;
@@ -97,6 +98,8 @@ public class ElasticsearchRepositoryFactory extends RepositoryFactorySupport {
             if (namedQueries.hasQuery(namedQueryName)) {
                 String namedQuery = namedQueries.getQuery(namedQueryName);
                 return new ElasticsearchStringQuery(queryMethod, elasticsearchOperations, namedQuery);
+            } else if (queryMethod.hasAnnotatedTemplate()) {
+                return new ElasticsearchSearchTemplateQuery(queryMethod, elasticsearchOperations, queryMethod.getAnnotatedTemplateId());
             } else if (queryMethod.hasAnnotatedQuery()) {
                 return new ElasticsearchStringQuery(queryMethod, elasticsearchOperations, queryMethod.getAnnotatedQuery());
             }
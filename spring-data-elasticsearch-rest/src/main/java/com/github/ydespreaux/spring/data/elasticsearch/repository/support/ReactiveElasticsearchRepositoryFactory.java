@@ -24,6 +24,7 @@ import com.github.ydespreaux.spring.data.elasticsearch.core.ReactiveElasticsearc
 import com.github.ydespreaux.spring.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ReactiveElasticsearchPartQuery;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ReactiveElasticsearchQueryMethod;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ReactiveElasticsearchSearchTemplateQuery;
 import com.github.ydespreaux.spring.data.elasticsearch.repository.query.ReactiveElasticsearchStringQuery;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.NamedQueries;
@@ -97,6 +98,8 @@ public class ReactiveElasticsearchRepositoryFactory extends ReactiveRepositoryFa
             if (namedQueries.hasQuery(namedQueryName)) {
                 String namedQuery = namedQueries.getQuery(namedQueryName);
                 return new ReactiveElasticsearchStringQuery(queryMethod, reactiveElasticsearchOperations, namedQuery);
+            } else if (queryMethod.hasAnnotatedTemplate()) {
+                return new ReactiveElasticsearchSearchTemplateQuery(queryMethod, reactiveElasticsearchOperations, queryMethod.getAnnotatedTemplateId());
             } else if (queryMethod.hasAnnotatedQuery()) {
                 return new ReactiveElasticsearchStringQuery(queryMethod, reactiveElasticsearchOperations, queryMethod.getAnnotatedQuery());
             }
@@ -1 +1,55 @@
-/* * Copyright (C) 2018 Yoann Despréaux * * This program is free software; you can redistribute it and/or modify * it under the terms of the GNU General Public License as published by * the Free Software Foundation; either version 2 of the License, or * (at your option) any later version. * * This program is distributed in the hope that it will be useful, * but WITHOUT ANY WARRANTY; without even the implied warranty of * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the * GNU General Public License for more details. * * You should have received a copy of the GNU General Public License * along with this program; see the file COPYING . If not, write to the * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA. * * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr */package com.github.ydespreaux.spring.data.elasticsearch.repository.support;import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperations;/** * @param <T> entity generic class * @author Yoann Despréaux * @since 1.0.0 */public class SimpleElasticsearchRepository<T> extends AbstractElasticsearchRepository<T, String> {    /**     * @param metadata                the metadata of entity     * @param elasticsearchOperations a {@link ElasticsearchOperations}     */    public SimpleElasticsearchRepository(ElasticsearchEntityInformation<T, String> metadata, ElasticsearchOperations elasticsearchOperations) {        super(metadata, elasticsearchOperations);    }    /**     * @param elasticsearchOperations a {@link ElasticsearchOperations}     */    public SimpleElasticsearchRepository(ElasticsearchOperations elasticsearchOperations) {        super(elasticsearchOperations);    }    /**     * @param id the identifier     * @return the string representation     */    @Override    protected String stringIdRepresentation(String id) {        return id;    }}
\ No newline at end of file
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.repository.support;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchOperations;
+
+/**
+ * @param <T> entity generic class
+ * @author Yoann Despréaux
+ * @since 1.0.0
+ */
+public class SimpleElasticsearchRepository<T> extends AbstractElasticsearchRepository<T, String> {
+    /**
+     * @param metadata                the metadata of entity
+     * @param elasticsearchOperations a {@link ElasticsearchOperations}
+     */
+    public SimpleElasticsearchRepository(ElasticsearchEntityInformation<T, String> metadata, ElasticsearchOperations elasticsearchOperations) {
+        super(metadata, elasticsearchOperations);
+    }
+
+    /**
+     * @param elasticsearchOperations a {@link ElasticsearchOperations}
+     */
+    public SimpleElasticsearchRepository(ElasticsearchOperations elasticsearchOperations) {
+        super(elasticsearchOperations);
+    }
+
+    /**
+     * @param id the identifier
+     * @return the string representation
+     */
+    @Override
+    protected String stringIdRepresentation(String id) {
+        return id;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ClientRequestsTest {
+
+    @Test
+    void index() {
+        assertThat(ClientRequests.index(new SearchRequest("articles")), is("articles"));
+        assertThat(ClientRequests.index(new SearchRequest()), is(ClientRequests.NONE));
+        assertThat(ClientRequests.index(new SearchRequest("a", "b")), is(ClientRequests.MULTIPLE));
+        assertThat(ClientRequests.index(new BulkRequest().add(indexRequest("a")).add(indexRequest("a"))), is("a"));
+        assertThat(ClientRequests.index(new BulkRequest().add(indexRequest("a")).add(indexRequest("b"))), is(ClientRequests.MULTIPLE));
+        assertThat(ClientRequests.index(new ClearScrollRequest()), is(ClientRequests.NONE));
+    }
+
+    @Test
+    void documentCountAndRequestSize() {
+        IndexRequest indexRequest = indexRequest("a");
+        assertThat(ClientRequests.documentCount(new BulkRequest().add(indexRequest).add(indexRequest("b")), null), is(2L));
+        assertThat(ClientRequests.documentCount(new DeleteRequest("a", "doc", "1"), null), is(1L));
+        assertThat(ClientRequests.documentCount(new SearchRequest("a"), null), is(0L));
+        assertThat(ClientRequests.requestSize(indexRequest), is((long) indexRequest.source().length()));
+        assertThat(ClientRequests.responseSize(null), is(0L));
+    }
+
+    private static IndexRequest indexRequest(String index) {
+        return new IndexRequest(index, "doc", "1").source("{\"title\":\"Spring\"}", XContentType.JSON);
+    }
+}
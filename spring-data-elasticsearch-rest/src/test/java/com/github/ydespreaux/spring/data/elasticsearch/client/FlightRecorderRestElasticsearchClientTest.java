@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.elasticsearch.action.IndicesRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class FlightRecorderRestElasticsearchClientTest {
+
+    private final FlightRecorderRestElasticsearchClient client = new FlightRecorderRestElasticsearchClient(null);
+
+    @Test
+    void clientCallsAreRecorded() throws IOException {
+        BulkRequest bulkRequest = new BulkRequest()
+                .add(new IndexRequest("articles", "article", "1").source("{}", XContentType.JSON))
+                .add(new IndexRequest("articles", "article", "2").source("{}", XContentType.JSON));
+        List<RecordedEvent> events = record(() -> {
+            client.invoke("bulk", bulkRequest, () -> new BulkResponse(new BulkItemResponse[0], 1));
+            assertThrows(IOException.class, () -> client.invoke("get", new GetRequest("books", "book", "1"), () -> {
+                throw new IOException("connection refused");
+            }));
+        });
+        assertThat(events, hasSize(2));
+        RecordedEvent bulk = events.get(0);
+        assertThat(bulk.getString("operation"), is("bulk"));
+        assertThat(bulk.getString("index"), is("articles"));
+        assertThat(bulk.getLong("documentCount"), is(0L));
+        assertThat(bulk.getLong("requestSize"), is(bulkRequest.estimatedSizeInBytes()));
+        RecordedEvent get = events.get(1);
+        assertThat(get.getString("operation"), is("get"));
+        assertThat(get.getString("index"), is("books"));
+        assertThat(get.getString("failure"), is(IOException.class.getName()));
+    }
+
+    @Test
+    void eventsAreNotRecordedWithoutRecording() throws IOException {
+        IndicesRequest request = new IndicesRequest() {
+            @Override
+            public String[] indices() {
+                throw new IllegalStateException("The event must not be described");
+            }
+
+            @Override
+            public IndicesOptions indicesOptions() {
+                return IndicesOptions.strictExpand();
+            }
+        };
+        assertThat(client.invoke("search", request, () -> "response"), is("response"));
+    }
+
+    private List<RecordedEvent> record(Action action) throws IOException {
+        Path file = Files.createTempFile("client-calls", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ClientCallEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.github.ydespreaux.elasticsearch.ClientCall"))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.common.xcontent.ToXContentObject;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class LoggingRestElasticsearchClientTest {
+
+    private final LoggingRestElasticsearchClient client = new LoggingRestElasticsearchClient(null, 10);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ClientLogger.class);
+    private Level level;
+
+    @BeforeEach
+    void disableLogger() {
+        // The test configuration enables the logger on TRACE once spring boot has initialized the logging
+        this.level = logger.getLevel();
+        logger.setLevel(Level.DEBUG);
+    }
+
+    @AfterEach
+    void restoreLogger() {
+        logger.setLevel(this.level);
+    }
+
+    @Test
+    void disabledLoggerDoesNotRenderPayloads() throws IOException {
+        Object request = new Unprintable();
+        Object response = new Unprintable();
+        assertThat(ClientLogger.isEnabled(), is(false));
+        assertThat(client.invoke("search", request, () -> response), is(sameInstance(response)));
+    }
+
+    @Test
+    void disabledLoggerKeepsListener() {
+        ActionListener<Object> listener = ActionListener.wrap(response -> {
+        }, e -> {
+        });
+        assertThat(client.decorate("search", new Unprintable(), listener), is(sameInstance(listener)));
+    }
+
+    @Test
+    void renderTruncatesPayload() {
+        assertThat(ClientLogger.render("0123456789", 10), is("0123456789"));
+        assertThat(ClientLogger.render("0123456789abc", 10), is("0123456789... (13 chars)"));
+        assertThat(ClientLogger.render("0123456789abc", -1), is("0123456789abc"));
+        assertThat(ClientLogger.render(null, 10), is("null"));
+    }
+
+    @Test
+    void renderStreamsSearchRequest() {
+        SearchRequest request = new SearchRequest("index").source(new SearchSourceBuilder().query(QueryBuilders.termQuery("field", "value")));
+        assertThat(ClientLogger.render(request, -1).startsWith("SearchRequest{"), is(true));
+        assertThat(ClientLogger.render(request, 1000),
+                is("SearchRequest{indices=[index], types=[], routing=null, scroll=null, source={\"query\":{\"term\":{\"field\":{\"value\":\"value\",\"boost\":1.0}}}}}"));
+        assertThat(ClientLogger.render(request, 30), is("SearchRequest{indices=[index],... (truncated)"));
+    }
+
+    @Test
+    void renderStopsStreamingAtMaxLength() {
+        AtomicInteger written = new AtomicInteger();
+        ToXContentObject payload = (builder, params) -> {
+            builder.startObject();
+            for (int i = 0; i < 1_000_000; i++) {
+                builder.field("field" + i, i);
+                written.incrementAndGet();
+            }
+            return builder.endObject();
+        };
+        assertThat(ClientLogger.render(payload, 20), is("{\"field0\":0,\"field1\"... (truncated)"));
+        assertThat(written.get(), is(lessThan(10_000)));
+    }
+
+    static class Unprintable {
+
+        @Override
+        public String toString() {
+            throw new IllegalStateException("The payload must not be rendered");
+        }
+    }
+}
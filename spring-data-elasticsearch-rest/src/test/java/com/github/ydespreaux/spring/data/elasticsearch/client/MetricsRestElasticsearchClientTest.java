@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class MetricsRestElasticsearchClientTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MetricsRestElasticsearchClient client = new MetricsRestElasticsearchClient(null, new ClientMetrics(registry));
+
+    @Test
+    void searchRecordsLatencyTookHitsAndOpenScrolls() throws IOException {
+        SearchRequest request = new SearchRequest("articles").scroll(TimeValue.timeValueMinutes(1));
+        SearchResponse response = new SearchResponse(InternalSearchResponse.empty(), "scroll-1", 1, 1, 0, 12,
+                ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+
+        client.invoke("search", request, () -> response);
+
+        assertThat(registry.get("elasticsearch.client.requests")
+                .tags("operation", "search", "index", "articles", "outcome", "success", "exception", "none")
+                .timer().count(), is(1L));
+        assertThat(registry.get("elasticsearch.client.took").tags("operation", "search").timer()
+                .totalTime(TimeUnit.MILLISECONDS), is(12.0));
+        assertThat(registry.get("elasticsearch.client.hits").tags("index", "articles").summary().count(), is(1L));
+        assertThat(registry.get("elasticsearch.client.scroll.open").gauge().value(), is(1.0));
+
+        ClearScrollRequest clearRequest = new ClearScrollRequest();
+        clearRequest.addScrollId("scroll-1");
+        client.invoke("clearScroll", clearRequest, () -> new ClearScrollResponse(true, 1));
+        assertThat(registry.get("elasticsearch.client.scroll.open").gauge().value(), is(0.0));
+    }
+
+    @Test
+    void openScrollsExpireWithTheirKeepAlive() throws IOException {
+        MockClock clock = new MockClock();
+        MeterRegistry clockRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        MetricsRestElasticsearchClient clockClient = new MetricsRestElasticsearchClient(null, new ClientMetrics(clockRegistry));
+
+        clockClient.invoke("search", new SearchRequest("articles").scroll(TimeValue.timeValueMinutes(1)), () -> scrollResponse("scroll-1"));
+        clockClient.invoke("search", new SearchRequest("articles").scroll(TimeValue.timeValueMinutes(5)), () -> scrollResponse("scroll-2"));
+        assertThat(clockRegistry.get("elasticsearch.client.scroll.open").gauge().value(), is(2.0));
+
+        clock.add(30, TimeUnit.SECONDS);
+        SearchScrollRequest scrollRequest = new SearchScrollRequest("scroll-1").scroll(TimeValue.timeValueMinutes(1));
+        clockClient.invoke("searchScroll", scrollRequest, () -> scrollResponse("scroll-1"));
+
+        clock.add(50, TimeUnit.SECONDS);
+        assertThat(clockRegistry.get("elasticsearch.client.scroll.open").gauge().value(), is(2.0));
+        clock.add(20, TimeUnit.SECONDS);
+        assertThat(clockRegistry.get("elasticsearch.client.scroll.open").gauge().value(), is(1.0));
+        clock.add(5, TimeUnit.MINUTES);
+        assertThat(clockRegistry.get("elasticsearch.client.scroll.open").gauge().value(), is(0.0));
+    }
+
+    @Test
+    void indexTagIsComputedByTheIndexTagFunction() throws IOException {
+        MetricsRestElasticsearchClient taggedClient = new MetricsRestElasticsearchClient(null,
+                new ClientMetrics(registry, index -> index.startsWith("articles-") ? "articles" : index));
+
+        taggedClient.invoke("get", new GetRequest("articles-2019.03", "article", "1"), () -> null);
+
+        assertThat(registry.get("elasticsearch.client.requests").tags("operation", "get", "index", "articles")
+                .timer().count(), is(1L));
+    }
+
+    @Test
+    void bulkRecordsItemsAndFailures() throws IOException {
+        BulkRequest request = new BulkRequest()
+                .add(indexRequest("articles", "1"))
+                .add(indexRequest("articles", "2"));
+        BulkResponse response = new BulkResponse(new BulkItemResponse[]{
+                new BulkItemResponse(0, DocWriteRequest.OpType.INDEX,
+                        new BulkItemResponse.Failure("articles", "article", "1", new IllegalStateException())),
+                new BulkItemResponse(1, DocWriteRequest.OpType.INDEX,
+                        new BulkItemResponse.Failure("articles", "article", "2", new IllegalStateException()))
+        }, 5);
+
+        client.invoke("bulk", request, () -> response);
+
+        assertThat(registry.get("elasticsearch.client.bulk.items").tags("index", "articles").counter().count(), is(2.0));
+        assertThat(registry.get("elasticsearch.client.bulk.failures").tags("index", "articles").counter().count(), is(2.0));
+        assertThat(registry.get("elasticsearch.client.bulk.size").summary().totalAmount(), is((double) request.estimatedSizeInBytes()));
+    }
+
+    @Test
+    void failureRecordsErrorOutcome() {
+        assertThrows(IOException.class, () -> client.invoke("get", new GetRequest("articles", "article", "1"), () -> {
+            throw new IOException("connection refused");
+        }));
+        assertThat(registry.get("elasticsearch.client.requests")
+                .tags("operation", "get", "outcome", "error", "exception", "IOException")
+                .timer().count(), is(1L));
+    }
+
+    private static SearchResponse scrollResponse(String scrollId) {
+        return new SearchResponse(InternalSearchResponse.empty(), scrollId, 1, 1, 0, 1,
+                ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    private static IndexRequest indexRequest(String index, String id) {
+        return new IndexRequest(index, "article", id).source("{}", XContentType.JSON);
+    }
+}
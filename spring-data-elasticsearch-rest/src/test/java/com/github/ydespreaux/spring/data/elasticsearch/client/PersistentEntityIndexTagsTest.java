@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.client;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.ShapeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class PersistentEntityIndexTagsTest {
+
+    private PersistentEntityIndexTags tags;
+
+    @BeforeEach
+    void initTags() {
+        SimpleElasticsearchMappingContext mappingContext = new SimpleElasticsearchMappingContext();
+        mappingContext.setApplicationContext(new StaticApplicationContext());
+        mappingContext.getRequiredPersistentEntity(Book.class);
+        mappingContext.getRequiredPersistentEntity(ShapeEntity.class);
+        this.tags = new PersistentEntityIndexTags(mappingContext);
+    }
+
+    @Test
+    void indexOfAnEntityIsTaggedWithItsName() {
+        assertThat(tags.apply("books"), is("books"));
+    }
+
+    @Test
+    void timeBasedIndicesAreTaggedWithTheAliasOfTheEntity() {
+        assertThat(tags.apply("plots"), is("plots"));
+        assertThat(tags.apply("plot-2018"), is("plots"));
+        assertThat(tags.apply("plot-2019"), is("plots"));
+    }
+
+    @Test
+    void unknownIndicesAreTaggedOther() {
+        assertThat(tags.apply("logs-2019.03.01"), is(PersistentEntityIndexTags.OTHER));
+    }
+
+    @Test
+    void noneAndMultipleAreKept() {
+        assertThat(tags.apply(ClientRequests.NONE), is(ClientRequests.NONE));
+        assertThat(tags.apply(ClientRequests.MULTIPLE), is(ClientRequests.MULTIPLE));
+    }
+
+    @Test
+    void literalPrefixOfTheIndexPattern() {
+        assertThat(PersistentEntityIndexTags.literalPrefix("'plot-'yyyy"), is("plot-"));
+        assertThat(PersistentEntityIndexTags.literalPrefix("article-%s"), is("article-"));
+        assertThat(PersistentEntityIndexTags.literalPrefix("%s-%s"), is(nullValue()));
+        assertThat(PersistentEntityIndexTags.literalPrefix("yyyy"), is(nullValue()));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import lombok.Getter;
+import lombok.Setter;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class DefaultEntityMapperTest {
+
+    private static final String JSON = "{\"name\":\"élément\",\"value\":12}";
+
+    private final DefaultEntityMapper mapper = new DefaultEntityMapper(new JacksonProperties());
+
+    private static void assertDocument(Document document) {
+        assertThat(document.getName(), is("élément"));
+        assertThat(document.getValue(), is(12));
+    }
+
+    @Test
+    void mapFromBytes() {
+        assertDocument(mapper.mapToObject(JSON.getBytes(StandardCharsets.UTF_8), Document.class));
+    }
+
+    @Test
+    void mapFromBytesReferenceSlice() {
+        byte[] padded = ("[[" + JSON + "]]").getBytes(StandardCharsets.UTF_8);
+        BytesReference source = new BytesArray(padded, 2, padded.length - 4);
+        assertDocument(mapper.mapToObject(source, Document.class));
+    }
+
+    @Test
+    void mapFromCompositeBytesReference() {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        BytesReference source = new CompositeBytesReference(new BytesArray(bytes, 0, 10), new BytesArray(bytes, 10, bytes.length - 10));
+        assertDocument(mapper.mapToObject(source, Document.class));
+    }
+
+    @Test
+    void mapFromInputStream() {
+        assertDocument(mapper.mapToObject(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)), Document.class));
+    }
+
+    @Test
+    void mapToBytes() {
+        Document document = mapper.mapToObject(JSON, Document.class);
+        BytesReference first = mapper.mapToBytes(document);
+        document.setName("other");
+        BytesReference second = mapper.mapToBytes(document);
+        assertThat(first.utf8ToString(), is(mapper.mapToString(mapper.mapToObject(JSON, Document.class))));
+        assertThat(second.utf8ToString(), is(mapper.mapToString(document)));
+        assertDocument(mapper.mapToObject(first, Document.class));
+    }
+
+    @Test
+    void customMapperFallsBackToString() {
+        EntityMapper stringMapper = new EntityMapper() {
+            @Override
+            public <T> String mapToString(T object) {
+                return mapper.mapToString(object);
+            }
+
+            @Override
+            public <S extends T, T> S mapToObject(String source, Class<T> clazz) {
+                return mapper.mapToObject(source, clazz);
+            }
+
+            @Override
+            public <T> void register(ElasticsearchPersistentEntity<T> persistentEntity) {
+                // Nothing to do
+            }
+        };
+        assertThat(stringMapper.mapToBytes(mapper.mapToObject(JSON, Document.class)).utf8ToString(), is(mapper.mapToString(mapper.mapToObject(JSON, Document.class))));
+        assertDocument(stringMapper.mapToObject(new BytesArray(JSON), Document.class));
+        assertDocument(stringMapper.mapToObject(JSON.getBytes(StandardCharsets.UTF_8), Document.class));
+        assertDocument(stringMapper.mapToObject(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)), Document.class));
+    }
+
+    @Getter
+    @Setter
+    static class Document {
+        private String name;
+        private Integer value;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.MappingElasticsearchConverter;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.Getter;
+import lombok.Setter;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.data.annotation.Id;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class DefaultResultsMapperTest {
+
+    private ExecutorService executor;
+    private DefaultResultsMapper mapper;
+
+    private static SearchHits searchHits(int size) {
+        SearchHit[] hits = new SearchHit[size];
+        for (int i = 0; i < size; i++) {
+            hits[i] = new SearchHit(i, String.valueOf(i), new Text("_doc"), Collections.emptyMap());
+            hits[i].sourceRef(new BytesArray("{\"value\":" + i + "}"));
+        }
+        return new SearchHits(hits, size, 1f);
+    }
+
+    @BeforeEach
+    void initialize() {
+        DefaultEntityMapper entityMapper = new DefaultEntityMapper(new JacksonProperties());
+        this.mapper = new DefaultResultsMapper(entityMapper, new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext(), entityMapper));
+        this.executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void mapHitsInParallelPreservesOrder() {
+        mapper.setParallelThreshold(100);
+        mapper.setParallelExecutor(executor, 4);
+        List<Document> documents = mapper.mapEntity(searchHits(1000), Document.class);
+        assertThat(documents.size(), is(1000));
+        for (int i = 0; i < documents.size(); i++) {
+            assertThat(documents.get(i).getId(), is(String.valueOf(i)));
+            assertThat(documents.get(i).getValue(), is(i));
+        }
+    }
+
+    @Test
+    void mapSmallPageSequentially() {
+        mapper.setParallelThreshold(100);
+        mapper.setParallelExecutor(command -> {
+            throw new IllegalStateException("The page must not be mapped in parallel");
+        }, 4);
+        List<Document> documents = mapper.mapEntity(searchHits(50), Document.class);
+        assertThat(documents.stream().map(Document::getValue).collect(Collectors.toList()),
+                contains(IntStream.range(0, 50).boxed().toArray()));
+    }
+
+    @Test
+    void mapHitsInParallelPropagatesFailure() {
+        mapper.setParallelThreshold(100);
+        mapper.setParallelExecutor(executor, 4);
+        SearchHits hits = searchHits(1000);
+        hits.getHits()[900].sourceRef(new BytesArray("{\"value\":"));
+        assertThrows(ElasticsearchException.class, () -> mapper.mapEntity(hits, Document.class));
+    }
+
+    @Test
+    void mapHitsRecordsMappingEvent() throws IOException {
+        SearchHits hits = searchHits(10);
+        long size = Arrays.stream(hits.getHits()).mapToLong(hit -> hit.getSourceRef().length()).sum();
+        Path file = Files.createTempFile("mapping", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MappingEvent.class);
+            recording.start();
+            mapper.mapEntity(hits, Document.class);
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.github.ydespreaux.elasticsearch.Mapping"))
+                    .collect(Collectors.toList());
+            assertThat(events.size(), is(1));
+            assertThat(events.get(0).getString("phase"), is(MappingEvent.DESERIALIZE));
+            assertThat(events.get(0).getClass("entityType").getName(), is(Document.class.getName()));
+            assertThat(events.get(0).getLong("documentCount"), is(10L));
+            assertThat(events.get(0).getLong("size"), is(size));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Getter
+    @Setter
+    static class Document {
+        @Id
+        private String id;
+        private Integer value;
+    }
+}
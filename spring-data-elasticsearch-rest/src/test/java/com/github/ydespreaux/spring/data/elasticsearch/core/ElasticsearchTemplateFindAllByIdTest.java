@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.DefaultRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.VehicleEvent;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubElasticsearchServer;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubTemplates;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ElasticsearchTemplateFindAllByIdTest {
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer().missing("404").start();
+        templates = new StubTemplates(server, 4, Collections.singletonMap("index.vehicles.trigger.enabled", "false"));
+        templates.getTemplate().setMultiGetBatchSize(2);
+        templates.getReactiveTemplate().setMultiGetBatchSize(2);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    @Test
+    void findAllByIdChunksMultiGetInInputOrder() {
+        long requests = server.getRequestCount();
+        List<Book> books = templates.getTemplate().findAllById(Book.class, Arrays.asList("5", "3", "404", "1", "3", "2"));
+        assertThat(books.stream().map(Book::getDocumentId).collect(Collectors.toList()), contains("5", "3", "1", "2"));
+        assertThat(server.getRequestCount() - requests, is(3L));
+    }
+
+    @Test
+    void findAllByIdSearchesRolloverIndexByIds() {
+        List<VehicleEvent> events = templates.getTemplate().findAllById(VehicleEvent.class, Arrays.asList("9", "404", "10", "1"));
+        assertThat(events.stream().map(VehicleEvent::getDocumentId).collect(Collectors.toList()), contains("9", "10", "1"));
+    }
+
+    @Test
+    void findAllByIdWithoutIds() {
+        long requests = server.getRequestCount();
+        assertThat(templates.getTemplate().findAllById(Book.class, Collections.emptyList()), is(empty()));
+        assertThat(server.getRequestCount(), is(requests));
+    }
+
+    @Test
+    void findAllByIdFailsWhenABatchThrowsSynchronously() {
+        ElasticsearchTemplate source = templates.getTemplate();
+        ElasticsearchTemplate template = new ElasticsearchTemplate(new DefaultRestElasticsearchClient(templates.getClient()),
+                source.getElasticsearchConverter(), source.getResultsMapper(), source.getTriggerManager()) {
+            @Override
+            protected <T> CompletableFuture<List<T>> findAllByIdAsync(ElasticsearchPersistentEntity<T> persistentEntity, List<String> documentIds) {
+                if (documentIds.contains("boom")) {
+                    throw new IllegalStateException("boom");
+                }
+                return super.findAllByIdAsync(persistentEntity, documentIds);
+            }
+        };
+        template.setApplicationContext(templates.getApplicationContext());
+        template.setMultiGetBatchSize(2);
+        template.setMultiGetConcurrency(1);
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(IllegalStateException.class,
+                () -> template.findAllById(Book.class, Arrays.asList("1", "2", "3", "4", "boom"))));
+        assertThat(e.getMessage(), is("boom"));
+    }
+
+    @Test
+    void reactiveFindAllById() {
+        StepVerifier.create(templates.getReactiveTemplate().findAllById(Arrays.asList("5", "3", "404", "1", "2"), Book.class)
+                .map(Book::getDocumentId))
+                .expectNext("5", "3", "1", "2")
+                .verifyComplete();
+        StepVerifier.create(templates.getReactiveTemplate().findAllById(Arrays.asList("9", "404", "10", "1"), VehicleEvent.class)
+                .map(VehicleEvent::getDocumentId))
+                .expectNext("9", "10", "1")
+                .verifyComplete();
+    }
+}
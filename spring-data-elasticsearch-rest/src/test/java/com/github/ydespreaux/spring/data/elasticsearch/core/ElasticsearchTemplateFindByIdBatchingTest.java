@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.batch.BatchLoaderSettings;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubElasticsearchServer;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubTemplates;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ElasticsearchTemplateFindByIdBatchingTest {
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer().missing("404").start();
+        templates = new StubTemplates(server, 4);
+        BatchLoaderSettings settings = BatchLoaderSettings.builder().maxBatchSize(4).window(Duration.ofMillis(50)).build();
+        templates.getTemplate().setFindByIdBatching(settings);
+        templates.getReactiveTemplate().setFindByIdBatching(settings);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    @Test
+    void concurrentFindByIdSendOneMultiGet() {
+        long requests = server.getRequestCount();
+        List<CompletableFuture<Optional<Book>>> results = Arrays.asList("1", "2", "404", "1").stream()
+                .map(id -> CompletableFuture.supplyAsync(() -> templates.getTemplate().findById(Book.class, id)))
+                .collect(Collectors.toList());
+        List<String> ids = results.stream()
+                .map(CompletableFuture::join)
+                .map(book -> book.map(Book::getDocumentId).orElse("none"))
+                .collect(Collectors.toList());
+        assertThat(ids, contains("1", "2", "none", "1"));
+        assertThat(server.getRequestCount() - requests, is(1L));
+    }
+
+    @Test
+    void reactiveConcurrentFindByIdSendOneMultiGet() {
+        long requests = server.getRequestCount();
+        StepVerifier.create(Flux.just("3", "404", "4")
+                .flatMapSequential(id -> templates.getReactiveTemplate().findById(id, Book.class)
+                        .map(Book::getDocumentId)
+                        .defaultIfEmpty("none")))
+                .expectNext("3", "none", "4")
+                .verifyComplete();
+        assertThat(server.getRequestCount() - requests, is(1L));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Index;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.IndexedDocument;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResult;
+import com.github.ydespreaux.spring.data.elasticsearch.core.multisearch.MultiSearchResults;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.NativeSearchQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.QueryAndType;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.StringQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Product;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.SampleEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubElasticsearchServer;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubTemplates;
+import lombok.Getter;
+import lombok.Setter;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.PageRequest;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ElasticsearchTemplateMultiSearchTest {
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+
+    private final QueryAndType<Book> books = QueryAndType.of(new NativeSearchQuery.NativeSearchQueryBuilder()
+            .withQuery(QueryBuilders.matchAllQuery())
+            .withPageable(PageRequest.of(1, 2))
+            .build(), Book.class);
+    private final QueryAndType<Book> criteria = QueryAndType.of(new CriteriaQuery(Criteria.where("title").is("Document 1")), Book.class);
+    private final QueryAndType<Product> missing = QueryAndType.of(new StringQuery("{\"match_all\":{}}"), Product.class);
+    private final QueryAndType<SampleEntity> failing = QueryAndType.of(new StringQuery("{\"match_all\":{}}"), SampleEntity.class);
+    private final QueryAndType<Unmappable> unmappable = QueryAndType.of(new StringQuery("{\"match_all\":{}}"), Unmappable.class);
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer()
+                .totalHits(5)
+                .missingIndices("products")
+                .failingIndices("sample-entity-index")
+                .start();
+        templates = new StubTemplates(server, 4);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    @Test
+    void multiSearchSendOneRequest() {
+        long requests = server.getRequestCount();
+        MultiSearchResults results = templates.getTemplate().multiSearch(Arrays.asList(books, criteria, missing, failing));
+        assertThat(server.getRequestCount() - requests, is(1L));
+        assertThat(results.size(), is(4));
+        assertResults(results);
+    }
+
+    @Test
+    void multiSearchWithoutQueries() {
+        long requests = server.getRequestCount();
+        assertThat(templates.getTemplate().multiSearch(Collections.emptyList()).getResults(), is(empty()));
+        assertThat(server.getRequestCount(), is(requests));
+    }
+
+    @Test
+    void reactiveMultiSearch() {
+        StepVerifier.create(templates.getReactiveTemplate().multiSearch(Arrays.asList(books, criteria, missing, failing)))
+                .assertNext(this::assertResults)
+                .verifyComplete();
+    }
+
+    @Test
+    void multiSearchIsolateMappingFailures() {
+        MultiSearchResults results = templates.getTemplate().multiSearch(Arrays.asList(books, unmappable));
+        assertThat(results.get(books).isFailed(), is(false));
+        assertThat(documentIds(results.get(books).getContent()), contains("2", "3"));
+        assertThat(results.get(unmappable).isFailed(), is(true));
+        assertThat(results.get(unmappable).getFailure(), is(notNullValue()));
+    }
+
+    @Test
+    void reactiveMultiSearchIsolateMappingFailures() {
+        StepVerifier.create(templates.getReactiveTemplate().multiSearch(Arrays.asList(books, unmappable)))
+                .assertNext(results -> {
+                    assertThat(results.get(books).isFailed(), is(false));
+                    assertThat(results.get(unmappable).isFailed(), is(true));
+                })
+                .verifyComplete();
+    }
+
+    private void assertResults(MultiSearchResults results) {
+        MultiSearchResult<Book> page = results.get(books);
+        assertThat(page.isFailed(), is(false));
+        assertThat(page.getTotalHits(), is(5L));
+        assertThat(documentIds(page.getContent()), contains("2", "3"));
+        assertThat(results.get(criteria).getContent().size(), is(5));
+        // A missing index returns no entity as a single search
+        assertThat(results.get(missing).isFailed(), is(false));
+        assertThat(results.get(missing).getContent(), is(empty()));
+        // A failed search does not fail the others
+        assertThat(results.get(failing).isFailed(), is(true));
+        assertThat(results.get(failing).getFailure(), is(notNullValue()));
+        assertThat(results.get(failing).getContent(), is(empty()));
+    }
+
+    private static List<String> documentIds(List<Book> books) {
+        return books.stream().map(Book::getDocumentId).collect(Collectors.toList());
+    }
+
+    /**
+     * The title of the stub documents is not a number.
+     */
+    @Getter
+    @Setter
+    @IndexedDocument(index = @Index(name = "unmappable", type = "unmappable"))
+    static class Unmappable {
+        @Id
+        private String documentId;
+        private Integer title;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.paging.UnpagedSearchStrategy;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubElasticsearchServer;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubTemplates;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ElasticsearchTemplateSearchAllTest {
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer().start();
+        templates = new StubTemplates(server, 4);
+        templates.getTemplate().setUnpagedSearchPageSize(4);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    private List<String> searchAll(UnpagedSearchStrategy strategy, long totalHits) {
+        server.totalHits(totalHits);
+        templates.getTemplate().setUnpagedSearchStrategy(strategy);
+        List<Book> books = templates.getTemplate().searchAll(new CriteriaQuery(Criteria.where("title").is("Spring")), Book.class);
+        return books.stream().map(Book::getDocumentId).collect(Collectors.toList());
+    }
+
+    private List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+
+    @Test
+    void searchAfterReadSmallResultInOneRequest() {
+        long requests = server.getRequestCount();
+        assertThat(searchAll(UnpagedSearchStrategy.SEARCH_AFTER, 3), is(ids(3)));
+        assertThat(server.getRequestCount() - requests, is(1L));
+    }
+
+    @Test
+    void searchAfterReadAllPages() {
+        long requests = server.getRequestCount();
+        assertThat(searchAll(UnpagedSearchStrategy.SEARCH_AFTER, 10), is(ids(10)));
+        assertThat(server.getRequestCount() - requests, is(3L));
+    }
+
+    @Test
+    void searchAfterStopOnFullLastPage() {
+        long requests = server.getRequestCount();
+        assertThat(searchAll(UnpagedSearchStrategy.SEARCH_AFTER, 8), is(ids(8)));
+        assertThat(server.getRequestCount() - requests, is(2L));
+    }
+
+    @Test
+    void scrollReadSmallResultInOneRequest() {
+        long requests = server.getRequestCount();
+        assertThat(searchAll(UnpagedSearchStrategy.SCROLL, 4), is(ids(4)));
+        assertThat(server.getRequestCount() - requests, is(1L));
+    }
+
+    @Test
+    void scrollReadAllPagesInTheQueryOrderAndClearScroll() {
+        long requests = server.getRequestCount();
+        assertThat(searchAll(UnpagedSearchStrategy.SCROLL, 10), is(ids(10)));
+        // first page, start, 2 continue and clear
+        assertThat(server.getRequestCount() - requests, is(5L));
+        assertThat(server.getLastSearch().has("sort"), is(false));
+    }
+
+    @Test
+    void scrollIsTheDefaultStrategy() throws IOException {
+        server.totalHits(10);
+        try (StubTemplates defaultTemplates = new StubTemplates(server, 1)) {
+            long requests = server.getRequestCount();
+            List<Book> books = defaultTemplates.getTemplate().searchAll(new CriteriaQuery(Criteria.where("title").is("Spring")), Book.class);
+            assertThat(books.size(), is(10));
+            // A single search (page of 500), sorted by score
+            assertThat(server.getRequestCount() - requests, is(1L));
+            assertThat(server.getLastSearch().has("sort"), is(false));
+        }
+    }
+
+    @Test
+    void searchPageAddsTheQueryTiebreakerAfterTheScore() {
+        server.totalHits(3);
+        CriteriaQuery query = new CriteriaQuery(Criteria.where("title").is("Spring"));
+        query.setPageable(PageRequest.of(0, 4));
+        query.setPagingTiebreaker("isbn");
+        templates.getTemplate().searchPage(query, Book.class);
+        assertThat(server.getLastSearch().path("sort").toString(), is("[{\"_score\":{\"order\":\"desc\"}},{\"isbn\":{\"order\":\"asc\"}}]"));
+    }
+
+    @Test
+    void searchAllWithoutResult() {
+        assertThat(searchAll(UnpagedSearchStrategy.SEARCH_AFTER, 0), is(ids(0)));
+        assertThat(searchAll(UnpagedSearchStrategy.SCROLL, 0), is(ids(0)));
+    }
+}
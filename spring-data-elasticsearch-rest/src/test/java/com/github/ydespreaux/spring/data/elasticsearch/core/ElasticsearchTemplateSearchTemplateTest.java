@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Query;
+import com.github.ydespreaux.spring.data.elasticsearch.config.IngestSearchTemplate;
+import com.github.ydespreaux.spring.data.elasticsearch.config.SearchTemplateProperties;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.SearchTemplateQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubElasticsearchServer;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubTemplates;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.ElasticsearchRepository;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.support.ElasticsearchRepositoryFactory;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.support.ReactiveElasticsearchRepositoryFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ElasticsearchTemplateSearchTemplateTest {
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer().totalHits(25).missingScripts("unknown-template").start();
+        templates = new StubTemplates(server, 4);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    @Test
+    void ingestSearchTemplates() {
+        SearchTemplateProperties properties = new SearchTemplateProperties();
+        properties.setScripts(Collections.singletonList("classpath:search-templates/books-by-title.mustache"));
+        IngestSearchTemplate ingest = new IngestSearchTemplate(properties, templates.getTemplate());
+        ingest.setApplicationContext(new StaticApplicationContext());
+        ingest.ingest();
+        assertThat(server.getStoredScripts().get("books-by-title"), containsString("\"title\": \"{{title}}\""));
+    }
+
+    @Test
+    void putAndDeleteSearchTemplate() {
+        templates.getTemplate().putSearchTemplate("books-by-price", "{\"query\":{\"term\":{\"price\":\"{{price}}\"}}}");
+        assertThat(server.getStoredScripts().get("books-by-price"), is("{\"query\":{\"term\":{\"price\":\"{{price}}\"}}}"));
+        templates.getTemplate().deleteSearchTemplate("books-by-price");
+        assertThat(server.getStoredScripts(), not(hasKey("books-by-price")));
+        // A missing template is ignored
+        templates.getTemplate().deleteSearchTemplate("books-by-price");
+    }
+
+    @Test
+    void searchTemplateWithPagingParams() {
+        SearchTemplateQuery query = new SearchTemplateQuery("books-by-title", Collections.singletonMap("title", "Document"))
+                .setPageable(PageRequest.of(2, 5));
+        Page<Book> page = templates.getTemplate().searchTemplate(query, Book.class);
+        assertThat(documentIds(page.getContent()), contains("10", "11", "12", "13", "14"));
+        assertThat(page.getTotalElements(), is(25L));
+        assertThat(server.getLastSearchTemplate().path("id").asText(), is("books-by-title"));
+        assertThat(server.getLastSearchTemplate().path("params").path("title").asText(), is("Document"));
+        assertThat(server.getLastSearchTemplate().path("params").path("from").asInt(), is(10));
+        assertThat(server.getLastSearchTemplate().path("params").path("size").asInt(), is(5));
+    }
+
+    @Test
+    void reactiveSearchTemplate() {
+        SearchTemplateQuery query = new SearchTemplateQuery("books-by-title").setPageable(PageRequest.of(0, 3));
+        StepVerifier.create(templates.getReactiveTemplate().<Book, Book>searchTemplate(query, Book.class).map(Book::getDocumentId))
+                .expectNext("0", "1", "2")
+                .verifyComplete();
+    }
+
+    @Test
+    void searchTemplateFailsWhenTheTemplateIsMissing() {
+        SearchTemplateQuery query = new SearchTemplateQuery("unknown-template").setPageable(PageRequest.of(0, 3));
+        ElasticsearchException e = assertThrows(ElasticsearchException.class, () -> templates.getTemplate().searchTemplate(query, Book.class));
+        assertThat(e.getCause().getMessage(), containsString("resource_not_found_exception"));
+        StepVerifier.create(templates.getReactiveTemplate().<Book, Book>searchTemplate(query, Book.class))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error, is(instanceOf(ElasticsearchStatusException.class)));
+                    assertThat(error.getMessage(), containsString("resource_not_found_exception"));
+                })
+                .verify();
+    }
+
+    @Test
+    void searchTemplateOnMissingIndexIsEmpty() throws IOException {
+        try (StubElasticsearchServer missingServer = new StubElasticsearchServer().missingIndices("books").start();
+             StubTemplates missingTemplates = new StubTemplates(missingServer, 1)) {
+            SearchTemplateQuery query = new SearchTemplateQuery("books-by-title").setPageable(PageRequest.of(0, 3));
+            assertThat(missingTemplates.getTemplate().searchTemplate(query, Book.class).getContent(), is(empty()));
+            StepVerifier.create(missingTemplates.getReactiveTemplate().<Book, Book>searchTemplate(query, Book.class))
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void repositoryQueryWithTemplateId() {
+        BookTemplateRepository repository = new ElasticsearchRepositoryFactory(templates.getTemplate()).getRepository(BookTemplateRepository.class);
+        assertThat(documentIds(repository.findByTemplate("Document", PageRequest.of(1, 2))), contains("2", "3"));
+        assertThat(server.getLastSearchTemplate().path("params").path("title").asText(), is("Document"));
+        assertThat(repository.findOneByTemplate("Document").getDocumentId(), is("0"));
+        // Parameter without @Param, passed by its index
+        assertThat(server.getLastSearchTemplate().path("params").path("0").asText(), is("Document"));
+    }
+
+    @Test
+    void reactiveRepositoryQueryWithTemplateId() {
+        ReactiveBookTemplateRepository repository = new ReactiveElasticsearchRepositoryFactory(templates.getReactiveTemplate())
+                .getRepository(ReactiveBookTemplateRepository.class);
+        StepVerifier.create(repository.findByTemplate("Document").map(Book::getDocumentId).take(2))
+                .expectNext("0", "1")
+                .verifyComplete();
+        StepVerifier.create(repository.findOneByTemplate("Document").map(Book::getDocumentId))
+                .expectNext("0")
+                .verifyComplete();
+    }
+
+    private static List<String> documentIds(List<Book> books) {
+        return books.stream().map(Book::getDocumentId).collect(Collectors.toList());
+    }
+
+    interface BookTemplateRepository extends ElasticsearchRepository<Book, String> {
+
+        @Query(templateId = "books-by-title")
+        List<Book> findByTemplate(@Param("title") String title, Pageable pageable);
+
+        @Query(templateId = "books-by-title")
+        Book findOneByTemplate(String title);
+    }
+
+    interface ReactiveBookTemplateRepository extends ReactiveElasticsearchRepository<Book, String> {
+
+        @Query(templateId = "books-by-title")
+        Flux<Book> findByTemplate(@Param("title") String title);
+
+        @Query(templateId = "books-by-title")
+        Mono<Book> findOneByTemplate(String title);
+    }
+}
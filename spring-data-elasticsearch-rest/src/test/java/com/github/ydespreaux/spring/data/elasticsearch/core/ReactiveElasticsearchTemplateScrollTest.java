@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubElasticsearchServer;
+import com.github.ydespreaux.spring.data.elasticsearch.load.StubTemplates;
+import org.elasticsearch.ElasticsearchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ReactiveElasticsearchTemplateScrollTest {
+
+    private static final Duration CLEAR_TIMEOUT = Duration.ofSeconds(5);
+
+    private StubElasticsearchServer server;
+    private StubTemplates templates;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new StubElasticsearchServer().sourceSize(16).start();
+        templates = new StubTemplates(server, 4);
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    private CriteriaQuery query(Pageable pageable) {
+        CriteriaQuery query = new CriteriaQuery(Criteria.where("title").is("Spring"));
+        query.setPageable(pageable);
+        return query;
+    }
+
+    private List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+
+    @Test
+    void scrollReadAllPagesAndClearScroll() throws InterruptedException {
+        server.totalHits(25);
+        long requests = server.getRequestCount();
+        StepVerifier.create(templates.getReactiveTemplate().scroll(query(PageRequest.of(0, 10)), Book.class).map(Book::getDocumentId))
+                .expectNextSequence(ids(0, 25))
+                .verifyComplete();
+        assertThat(server.pollClearedScroll(CLEAR_TIMEOUT), is(notNullValue()));
+        // start, 2 continue with hits, 1 empty continue and clear
+        assertThat(server.getRequestCount() - requests, is(5L));
+    }
+
+    @Test
+    void cancelledScrollIsCleared() throws InterruptedException {
+        server.totalHits(100);
+        long requests = server.getRequestCount();
+        StepVerifier.create(templates.getReactiveTemplate().scroll(query(PageRequest.of(0, 10)), Book.class).map(Book::getDocumentId).take(15))
+                .expectNextSequence(ids(0, 15))
+                .verifyComplete();
+        assertThat(server.pollClearedScroll(CLEAR_TIMEOUT), is(notNullValue()));
+        // The pages are read on demand : the 10 pages of the result are not all read
+        assertThat(server.getRequestCount() - requests <= 4, is(true));
+    }
+
+    @Test
+    void failedScrollIsCleared() throws InterruptedException {
+        server.totalHits(100).failingScrollFrom(20);
+        StepVerifier.create(templates.getReactiveTemplate().scroll(query(PageRequest.of(0, 10)), Book.class).map(Book::getDocumentId))
+                .expectNextSequence(ids(0, 20))
+                .expectErrorSatisfies(error -> assertThat(error, is(instanceOf(ElasticsearchException.class))))
+                .verify();
+        // The last scroll id returned before the failure
+        assertThat(server.pollClearedScroll(CLEAR_TIMEOUT), endsWith(":20:10"));
+    }
+
+    @Test
+    void unpagedSearchReadMoreThanTenThousandDocuments() throws InterruptedException {
+        server.totalHits(10_050);
+        templates.getReactiveTemplate().setScrollPageSize(1000);
+        StepVerifier.create(templates.getReactiveTemplate().search(query(Pageable.unpaged()), Book.class))
+                .expectNextCount(10_050)
+                .verifyComplete();
+        assertThat(server.pollClearedScroll(CLEAR_TIMEOUT), is(notNullValue()));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.core.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class BatchLoaderTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<String>> batches = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private BatchLoader<String, String> loader(int maxBatchSize, Duration window) {
+        return loader(maxBatchSize, window, keys -> CompletableFuture.completedFuture(keys.stream()
+                .filter(key -> !key.startsWith("missing"))
+                .collect(Collectors.toMap(Function.identity(), key -> "value-" + key))));
+    }
+
+    private BatchLoader<String, String> loader(int maxBatchSize, Duration window, Function<List<String>, CompletableFuture<Map<String, String>>> function) {
+        return new BatchLoader<>(BatchLoaderSettings.builder().maxBatchSize(maxBatchSize).window(window).build(), scheduler, keys -> {
+            synchronized (batches) {
+                batches.add(keys);
+            }
+            return function.apply(keys);
+        });
+    }
+
+    @Test
+    void loadBatchWhenWindowElapses() throws Exception {
+        BatchLoader<String, String> loader = loader(10, Duration.ofMillis(20));
+        CompletableFuture<String> first = loader.load("1");
+        CompletableFuture<String> second = loader.load("2");
+        CompletableFuture<String> missing = loader.load("missing");
+        assertThat(first.isDone(), is(false));
+        assertThat(first.get(5, TimeUnit.SECONDS), is("value-1"));
+        assertThat(second.get(5, TimeUnit.SECONDS), is("value-2"));
+        assertThat(missing.get(5, TimeUnit.SECONDS), is(nullValue()));
+        assertThat(batches, contains(Arrays.asList("1", "2", "missing")));
+    }
+
+    @Test
+    void loadBatchWhenMaxBatchSizeIsReached() {
+        BatchLoader<String, String> loader = loader(2, Duration.ofMinutes(1));
+        CompletableFuture<String> first = loader.load("1");
+        CompletableFuture<String> second = loader.load("2");
+        CompletableFuture<String> third = loader.load("3");
+        assertThat(first.join(), is("value-1"));
+        assertThat(second.join(), is("value-2"));
+        assertThat(third.isDone(), is(false));
+        loader.loadPending();
+        assertThat(third.join(), is("value-3"));
+        assertThat(batches, contains(Arrays.asList("1", "2"), Arrays.asList("3")));
+    }
+
+    @Test
+    void loadDuplicateKeysOnce() {
+        BatchLoader<String, String> loader = loader(10, Duration.ofMinutes(1));
+        CompletableFuture<String> first = loader.load("1");
+        CompletableFuture<String> duplicate = loader.load("1");
+        loader.load("2");
+        loader.loadPending();
+        assertThat(duplicate, is(sameInstance(first)));
+        assertThat(first.join(), is("value-1"));
+        assertThat(batches, contains(Arrays.asList("1", "2")));
+    }
+
+    @Test
+    void loadWithoutWindow() {
+        BatchLoader<String, String> loader = loader(10, Duration.ZERO);
+        assertThat(loader.load("1").join(), is("value-1"));
+        assertThat(loader.load("2").join(), is("value-2"));
+        assertThat(batches, contains(Arrays.asList("1"), Arrays.asList("2")));
+    }
+
+    @Test
+    void propagateBatchError() {
+        IllegalStateException error = new IllegalStateException("failure");
+        BatchLoader<String, String> loader = loader(2, Duration.ofMinutes(1), keys -> {
+            CompletableFuture<Map<String, String>> result = new CompletableFuture<>();
+            result.completeExceptionally(error);
+            return result;
+        });
+        CompletableFuture<String> first = loader.load("1");
+        CompletableFuture<String> second = loader.load("2");
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), is(sameInstance(error)));
+        assertThat(second.isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    void propagateBatchFunctionException() {
+        BatchLoader<String, String> loader = loader(1, Duration.ofMinutes(1), keys -> {
+            throw new IllegalArgumentException("invalid");
+        });
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> loader.load("1").get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), is(instanceOf(IllegalArgumentException.class)));
+    }
+}
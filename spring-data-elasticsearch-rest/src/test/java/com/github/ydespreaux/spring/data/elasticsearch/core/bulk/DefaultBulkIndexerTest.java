@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import lombok.Getter;
+import lombok.Setter;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class DefaultBulkIndexerTest {
+
+    @SuppressWarnings("unchecked")
+    private final ElasticsearchPersistentEntity<Document> persistentEntity = (ElasticsearchPersistentEntity<Document>) new SimpleElasticsearchMappingContext()
+            .getRequiredPersistentEntity(Document.class);
+
+    private static IndexRequest indexRequest(Document document) {
+        return new IndexRequest("index", "doc", document.getId()).source("{}", XContentType.JSON);
+    }
+
+    private static BulkResponse bulkResponse(BulkRequest request) {
+        List<DocWriteRequest<?>> requests = request.requests();
+        BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+        for (int i = 0; i < items.length; i++) {
+            IndexResponse response = new IndexResponse(new ShardId("index", "_na_", 0), "doc", requests.get(i).id(), 1, 1, 3, true);
+            items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, response);
+        }
+        return new BulkResponse(items, 1);
+    }
+
+    private static Document document(String id) {
+        Document document = new Document();
+        document.setId(id);
+        return document;
+    }
+
+    @Test
+    void shouldFlushByNumberOfActions() {
+        List<Integer> bulkSizes = Collections.synchronizedList(new ArrayList<>());
+        List<Document> indexed = Collections.synchronizedList(new ArrayList<>());
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(2).concurrentRequests(0).build();
+        Document last = document("5");
+        try (BulkIndexer<Document> indexer = new DefaultBulkIndexer<>(persistentEntity, DefaultBulkIndexerTest::indexRequest,
+                request -> {
+                    bulkSizes.add(request.numberOfActions());
+                    return bulkResponse(request);
+                },
+                response -> {
+                },
+                settings,
+                (entity, response) -> indexed.add(entity))) {
+            for (int i = 1; i < 5; i++) {
+                indexer.add(document(String.valueOf(i)));
+            }
+            indexer.add(last);
+            assertThat(bulkSizes, contains(2, 2));
+        }
+        assertThat(bulkSizes, contains(2, 2, 1));
+        assertThat(indexed, hasSize(5));
+        assertThat(last.getVersion(), is(equalTo(3L)));
+    }
+
+    @Test
+    void shouldRejectWhenTooManyRequestsInFlight() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        BulkIndexerSettings settings = BulkIndexerSettings.builder()
+                .bulkActions(1)
+                .concurrentRequests(1)
+                .backpressure(BulkIndexerSettings.BackpressurePolicy.REJECT)
+                .build();
+        BulkIndexer<Document> indexer = new DefaultBulkIndexer<>(persistentEntity, DefaultBulkIndexerTest::indexRequest,
+                request -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return bulkResponse(request);
+                },
+                response -> {
+                },
+                settings,
+                new BulkIndexerListener<Document>() {
+                    @Override
+                    public void onItemResponse(Document entity, BulkItemResponse response) {
+                    }
+
+                    @Override
+                    public void onFailure(List<Document> entities, Throwable failure) {
+                        failures.add(failure);
+                    }
+                });
+        indexer.add(document("1"));
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        assertThrows(RejectedExecutionException.class, () -> indexer.add(document("2")));
+        release.countDown();
+        assertThat(indexer.awaitClose(Duration.ofSeconds(10)), is(true));
+        assertThat(failures, hasSize(1));
+        assertThat(failures.get(0), is(instanceOf(RejectedExecutionException.class)));
+    }
+
+    @Test
+    void shouldReportTimeoutUntilRequestsInFlightComplete() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(1).concurrentRequests(1).build();
+        BulkIndexer<Document> indexer = new DefaultBulkIndexer<>(persistentEntity, DefaultBulkIndexerTest::indexRequest,
+                request -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return bulkResponse(request);
+                },
+                response -> {
+                },
+                settings,
+                null);
+        indexer.add(document("1"));
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(indexer.awaitClose(Duration.ofMillis(50)), is(false));
+        assertThat(indexer.awaitClose(Duration.ofMillis(50)), is(false));
+        release.countDown();
+        assertThat(indexer.awaitClose(Duration.ofSeconds(10)), is(true));
+        assertThat(indexer.awaitClose(Duration.ZERO), is(true));
+    }
+
+    @Test
+    void shouldNotDropDocumentsAddedConcurrentlyWithClose() throws InterruptedException {
+        List<Document> indexed = Collections.synchronizedList(new ArrayList<>());
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(3).concurrentRequests(2).build();
+        BulkIndexer<Document> indexer = new DefaultBulkIndexer<>(persistentEntity, DefaultBulkIndexerTest::indexRequest,
+                DefaultBulkIndexerTest::bulkResponse,
+                response -> {
+                },
+                settings,
+                new BulkIndexerListener<Document>() {
+                    @Override
+                    public void onItemResponse(Document entity, BulkItemResponse response) {
+                        indexed.add(entity);
+                    }
+
+                    @Override
+                    public void onFailure(List<Document> entities, Throwable failure) {
+                        failures.add(failure);
+                    }
+                });
+        List<Document> accepted = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch ready = new CountDownLatch(4);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int producer = t;
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                for (int i = 0; ; i++) {
+                    Document document = document(producer + "-" + i);
+                    try {
+                        indexer.add(document);
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                    accepted.add(document);
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        ready.await();
+        Thread.sleep(20);
+        assertThat(indexer.awaitClose(Duration.ofSeconds(10)), is(true));
+        for (Thread thread : producers) {
+            thread.join(10000);
+        }
+        assertThat(failures, is(empty()));
+        assertThat(indexed, hasSize(accepted.size()));
+    }
+
+    @Test
+    void shouldReportOnlyTheFailedItems() {
+        List<Document> indexed = new ArrayList<>();
+        List<Document> failed = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(3).concurrentRequests(0).build();
+        Document rejected = document("2");
+        try (BulkIndexer<Document> indexer = new DefaultBulkIndexer<>(persistentEntity, DefaultBulkIndexerTest::indexRequest,
+                request -> {
+                    BulkItemResponse[] items = bulkResponse(request).getItems();
+                    items[1] = new BulkItemResponse(1, DocWriteRequest.OpType.INDEX,
+                            new BulkItemResponse.Failure("index", "doc", "2", new IllegalArgumentException("failed to parse field [value]")));
+                    return new BulkResponse(items, 1);
+                },
+                response -> {
+                    if (response.hasFailures()) {
+                        throw new ElasticsearchException(response.buildFailureMessage());
+                    }
+                },
+                settings,
+                new BulkIndexerListener<Document>() {
+                    @Override
+                    public void onItemResponse(Document entity, BulkItemResponse response) {
+                        if (!response.isFailed()) {
+                            indexed.add(entity);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(List<Document> entities, Throwable failure) {
+                        failed.addAll(entities);
+                        failures.add(failure);
+                    }
+                })) {
+            indexer.add(document("1"));
+            indexer.add(rejected);
+            indexer.add(document("3"));
+        }
+        assertThat(indexed, hasSize(2));
+        assertThat(failed, contains(rejected));
+        assertThat(failures, hasSize(1));
+        assertThat(failures.get(0).getMessage(), containsString("failed to parse field [value]"));
+        assertThat(rejected.getVersion(), is(nullValue()));
+    }
+
+    @Getter
+    @Setter
+    static class Document {
+        @Id
+        private String id;
+        @Version
+        private Long version;
+    }
+}
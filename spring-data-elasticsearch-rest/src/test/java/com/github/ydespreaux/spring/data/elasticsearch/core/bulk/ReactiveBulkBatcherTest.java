@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.bulk;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ReactiveBulkBatcherTest {
+
+    @Test
+    void shouldSplitByNumberOfActions() {
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(2).bulkSize(-1).build();
+        StepVerifier.create(ReactiveBulkBatcher.batch(Flux.range(1, 5), value -> 1L, settings))
+                .expectNext(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSplitBySize() {
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(-1).bulkSize(10).build();
+        StepVerifier.create(ReactiveBulkBatcher.batch(Flux.just(4, 4, 4, 12, 1), Integer::longValue, settings))
+                .expectNext(Arrays.asList(4, 4, 4), Collections.singletonList(12), Collections.singletonList(1))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFlushOnInterval() {
+        BulkIndexerSettings settings = BulkIndexerSettings.builder().bulkActions(100).flushInterval(Duration.ofSeconds(1)).build();
+        TestPublisher<Integer> publisher = TestPublisher.create();
+        StepVerifier.withVirtualTime(() -> ReactiveBulkBatcher.batch(publisher.flux(), value -> 1L, settings))
+                .expectSubscription()
+                .then(() -> publisher.next(1, 2))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(Arrays.asList(1, 2))
+                .then(() -> publisher.next(3).complete())
+                .expectNext(Collections.singletonList(3))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.converter.serializer;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultEntityMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.MappingElasticsearchConverter;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Question;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class PersistentEntityDeserializerTest {
+
+    private DefaultEntityMapper mapper;
+
+    @BeforeEach
+    void initialize() {
+        this.mapper = new DefaultEntityMapper(new JacksonProperties());
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext(), mapper);
+        converter.setApplicationContext(new StaticApplicationContext());
+        converter.getRequiredPersistentEntity(Question.class);
+        converter.getRequiredPersistentEntity(Question.Answer.class);
+        converter.getRequiredPersistentEntity(Question.Vote.class);
+        converter.getRequiredPersistentEntity(Question.Comment.class);
+    }
+
+    @Test
+    void deserializeParentDocument() {
+        Question question = mapper.mapToObject("{\"description\":\"question\",\"join_field\":\"question\"}", Question.class);
+        assertThat(question.getClass(), is(Question.class));
+        assertThat(question.getDescription(), is("question"));
+    }
+
+    @Test
+    void deserializeDocumentWithoutJoinField() {
+        Question question = mapper.mapToObject("{\"description\":\"question\"}", Question.class);
+        assertThat(question.getClass(), is(Question.class));
+        assertThat(question.getDescription(), is("question"));
+    }
+
+    @Test
+    void deserializeChildDocumentWithJoinFieldFirst() {
+        Question question = mapper.mapToObject("{\"join_field\":{\"name\":\"answer\",\"parent\":\"q1\"},\"description\":\"answer\"}", Question.class);
+        assertThat(question, instanceOf(Question.Answer.class));
+        assertThat(question.getDescription(), is("answer"));
+        assertThat(((Question.Answer) question).getParentId(), is("q1"));
+    }
+
+    @Test
+    void deserializeGrandChildDocumentFromBytes() {
+        byte[] source = "{\"description\":\"vote\",\"stars\":4,\"join_field\":{\"parent\":\"a1\",\"name\":\"vote\"}}".getBytes(StandardCharsets.UTF_8);
+        Question question = mapper.mapToObject(new BytesArray(source), Question.class);
+        assertThat(question, instanceOf(Question.Vote.class));
+        Question.Vote vote = (Question.Vote) question;
+        assertThat(vote.getDescription(), is("vote"));
+        assertThat(vote.getStars(), is(4));
+        assertThat(vote.getParentId(), is("a1"));
+    }
+
+    @Test
+    void deserializeChildDocumentFromStream() {
+        byte[] source = "{\"description\":\"comment\",\"join_field\":{\"name\":\"comment\",\"parent\":\"q1\"}}".getBytes(StandardCharsets.UTF_8);
+        Question question = mapper.mapToObject(new ByteArrayInputStream(source), Question.class);
+        assertThat(question, instanceOf(Question.Comment.class));
+        assertThat(((Question.Comment) question).getParentId(), is("q1"));
+    }
+
+    @Test
+    void deserializeChildDocumentAsChildClass() {
+        Question.Answer answer = mapper.mapToObject("{\"description\":\"vote\",\"join_field\":{\"name\":\"vote\",\"parent\":\"a1\"}}", Question.Answer.class);
+        assertThat(answer, instanceOf(Question.Vote.class));
+        assertThat(answer.getParentId(), is("a1"));
+    }
+
+    @Test
+    void failsWithUnknownType() {
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> mapper.mapToObject("{\"description\":\"unknown\",\"join_field\":\"unknown\"}", Question.class));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.converter.serializer;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultEntityMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.MappingElasticsearchConverter;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class PersistentEntitySerializerTest {
+
+    private DefaultEntityMapper mapper;
+
+    @BeforeEach
+    void initialize() {
+        this.mapper = new DefaultEntityMapper(new JacksonProperties());
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext(), mapper);
+        converter.setApplicationContext(new StaticApplicationContext());
+        converter.getRequiredPersistentEntity(Question.class);
+        converter.getRequiredPersistentEntity(Question.Answer.class);
+        converter.getRequiredPersistentEntity(Question.Vote.class);
+        converter.getRequiredPersistentEntity(Question.Comment.class);
+    }
+
+    @Test
+    void serializeParentDocument() {
+        assertThat(mapper.mapToString(new Question("q1", "question")),
+                is("{\"description\":\"question\",\"join_field\":{\"name\":\"question\"}}"));
+    }
+
+    @Test
+    void serializeChildDocument() {
+        String expected = "{\"description\":\"answer\",\"join_field\":{\"name\":\"answer\",\"parent\":\"q1\"}}";
+        assertThat(mapper.mapToString(new Question.Answer("a1", "q1", "answer")), is(expected));
+        // The serializer is reused from one document to the other
+        assertThat(mapper.mapToBytes(new Question.Answer("a1", "q1", "answer")).utf8ToString(), is(expected));
+    }
+
+    @Test
+    void serializeChildDocumentWithoutParent() {
+        assertThat(mapper.mapToString(new Question.Comment("c1", null, "comment")),
+                is("{\"description\":\"comment\",\"join_field\":{\"name\":\"comment\"}}"));
+    }
+
+    @Test
+    void serializeAndDeserializeGrandChildDocument() {
+        String json = mapper.mapToString(new Question.Vote("v1", "a1", "vote", 5));
+        assertThat(json, is("{\"description\":\"vote\",\"stars\":5,\"join_field\":{\"name\":\"vote\",\"parent\":\"a1\"}}"));
+        Question question = mapper.mapToObject(json, Question.class);
+        assertThat(question, instanceOf(Question.Vote.class));
+        assertThat(((Question.Vote) question).getStars(), is(5));
+        assertThat(((Question.Vote) question).getParentId(), is("a1"));
+    }
+}
@@ -20,8 +20,24 @@
 
 package com.github.ydespreaux.spring.data.elasticsearch.core.mapping;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Index;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.IndexName;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.IndexedDocument;
 import com.github.ydespreaux.spring.data.elasticsearch.annotations.Score;
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.ScriptedField;
+import org.elasticsearch.action.OriginalIndices;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchShardTarget;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.model.Property;
@@ -30,6 +46,9 @@ import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.util.ReflectionUtils;
 
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -92,6 +111,84 @@ public class SimpleElasticsearchPersistentEntityTest {
                 .withMessageContaining("second");
     }
 
+    @Test
+    void setPersistentEntityFromSearchHit() {
+        SimpleElasticsearchPersistentEntity<EntityWithMetadata> entity = (SimpleElasticsearchPersistentEntity<EntityWithMetadata>)
+                new SimpleElasticsearchMappingContext().getRequiredPersistentEntity(EntityWithMetadata.class);
+        SearchHit hit = new SearchHit(1, "doc-1", new Text("_doc"),
+                Collections.singletonMap("distance", new DocumentField("distance", Collections.singletonList(12.5))));
+        hit.version(3L);
+        hit.score(1.5f);
+        hit.shard(new SearchShardTarget("node", new ShardId("index-1", "uuid", 0), null, OriginalIndices.NONE));
+
+        EntityWithMetadata result = new EntityWithMetadata();
+        entity.setPersistentEntity(result, hit);
+
+        assertThat(result.id).isEqualTo("doc-1");
+        assertThat(result.version).isEqualTo(3L);
+        assertThat(result.score).isEqualTo(1.5f);
+        assertThat(result.indexName).isEqualTo("index-1");
+        assertThat(result.distance).isEqualTo(12.5);
+    }
+
+    @Test
+    void setPersistentEntityFromSearchHitWithoutScriptFields() {
+        SimpleElasticsearchPersistentEntity<EntityWithMetadata> entity = (SimpleElasticsearchPersistentEntity<EntityWithMetadata>)
+                new SimpleElasticsearchMappingContext().getRequiredPersistentEntity(EntityWithMetadata.class);
+        SearchHit hit = new SearchHit(1, "doc-2", new Text("_doc"), Collections.emptyMap());
+
+        EntityWithMetadata result = new EntityWithMetadata();
+        entity.setPersistentEntity(result, hit);
+
+        assertThat(result.id).isEqualTo("doc-2");
+        assertThat(result.indexName).isNull();
+        assertThat(result.distance).isNull();
+    }
+
+    @Test
+    void warnMissingIdOnlyForDocuments() {
+        Logger logger = (Logger) LoggerFactory.getLogger(SimpleElasticsearchPersistentEntity.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            SimpleElasticsearchMappingContext context = new SimpleElasticsearchMappingContext();
+            context.setApplicationContext(new StaticApplicationContext());
+            context.getRequiredPersistentEntity(EmbeddedWithoutId.class);
+            assertThat(appender.list).isEmpty();
+            context.getRequiredPersistentEntity(DocumentWithoutId.class);
+            assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                    .containsExactly("No propertyId defined for entity class " + DocumentWithoutId.class);
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    static class EmbeddedWithoutId {
+
+        String name;
+    }
+
+    @IndexedDocument(index = @Index(name = "documents"))
+    static class DocumentWithoutId {
+
+        String name;
+    }
+
+    static class EntityWithMetadata {
+
+        @Id
+        String id;
+        @Version
+        Long version;
+        @Score
+        float score;
+        @IndexName
+        String indexName;
+        @ScriptedField
+        Double distance;
+    }
+
     static class TwoScoreProperties {
 
         @Score
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class SearchAfterPageResultTest {
+
+    @Test
+    void cursorShouldRoundTripSortValues() {
+        String cursor = SearchAfterCursor.encode(new Object[]{"title", 1546300800000L, 1.5d});
+        assertThat(cursor, is(notNullValue()));
+        assertThat(SearchAfterCursor.decode(cursor), is(arrayContaining("title", 1546300800000L, 1.5d)));
+    }
+
+    @Test
+    void cursorShouldBeNullWithoutSortValues() {
+        assertThat(SearchAfterCursor.encode(new Object[0]), is(nullValue()));
+        assertThat(SearchAfterCursor.encode(null), is(nullValue()));
+    }
+
+    @Test
+    void decodeShouldRejectInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> SearchAfterCursor.decode("not a cursor"));
+    }
+
+    @Test
+    void nextPageableShouldCarryCursor() {
+        Sort sort = Sort.by("title");
+        SearchAfterPageResult<String> page = new SearchAfterPageResult<>(Arrays.asList("a", "b"), PageRequest.of(0, 2, sort), 5, "cursor");
+        Pageable next = page.nextPageable();
+        assertThat(next, is(equalTo(CursorPageRequest.of(1, 2, sort, "cursor"))));
+        assertThat(CursorPageRequest.cursorOf(next), is(equalTo("cursor")));
+    }
+
+    @Test
+    void lastPageShouldNotHaveNextPageable() {
+        SearchAfterPageResult<String> page = new SearchAfterPageResult<>(Collections.singletonList("e"), CursorPageRequest.of(2, 2, "cursor"), 5, "last");
+        assertThat(page.hasNext(), is(false));
+        assertThat(page.nextPageable().isPaged(), is(false));
+    }
+}
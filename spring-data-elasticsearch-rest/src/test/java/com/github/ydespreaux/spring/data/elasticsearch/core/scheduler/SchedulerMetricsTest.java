@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scheduler;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class SchedulerMetricsTest {
+
+    @Test
+    void publishQueueingTime() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        new SchedulerMetrics(statistics).bindTo(registry);
+        statistics.accept(Duration.ofMillis(10).toNanos());
+        statistics.accept(Duration.ofMillis(30).toNanos());
+
+        FunctionTimer queue = registry.find("elasticsearch.scheduler.queue").functionTimer();
+        assertThat(queue, is(notNullValue()));
+        assertThat(queue.count(), is(2.0));
+        assertThat(queue.totalTime(TimeUnit.MILLISECONDS), is(40.0));
+        TimeGauge max = registry.find("elasticsearch.scheduler.queue.max").timeGauge();
+        assertThat(max, is(notNullValue()));
+        assertThat(max.value(TimeUnit.MILLISECONDS), is(30.0));
+    }
+}
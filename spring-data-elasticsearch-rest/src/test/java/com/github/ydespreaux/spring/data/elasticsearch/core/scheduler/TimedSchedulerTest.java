@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class TimedSchedulerTest {
+
+    private final SchedulerStatistics statistics = new SchedulerStatistics();
+    private final TimedScheduler scheduler = new TimedScheduler(Schedulers.newSingle("timed-test", true), statistics);
+
+    @AfterEach
+    void dispose() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void recordQueueingTime() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.schedule(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        // Waits behind the first task
+        scheduler.schedule(done::countDown);
+        Thread.sleep(50);
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(statistics.getCount(), is(2L));
+        assertThat(statistics.getMaxTime(), greaterThanOrEqualTo(Duration.ofMillis(50)));
+        assertThat(statistics.getTotalTime(), greaterThanOrEqualTo(statistics.getMaxTime()));
+    }
+
+    @Test
+    void publishOnTimedScheduler() {
+        StepVerifier.create(Flux.range(0, 10)
+                .publishOn(scheduler)
+                .map(i -> Thread.currentThread().getName()))
+                .thenConsumeWhile(name -> {
+                    assertThat(name, startsWith("timed-test"));
+                    return true;
+                })
+                .verifyComplete();
+        assertThat(statistics.getCount(), greaterThanOrEqualTo(1L));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scroll;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class PrefetchingScrollIteratorTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<String> clearedScrolls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final Set<String> mappingThreads = ConcurrentHashMap.newKeySet();
+
+    private static ScrolledPage<Integer> page(int offset, int total) {
+        return map(response(offset, total));
+    }
+
+    /**
+     * The scroll id of a response is its offset, the id of a hit is its value.
+     */
+    private static SearchResponse response(int offset, int total) {
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = offset; i < Math.min(offset + PAGE_SIZE, total); i++) {
+            hits.add(new SearchHit(i, String.valueOf(i), null, Collections.emptyMap()));
+        }
+        InternalSearchResponse internalResponse = new InternalSearchResponse(
+                new SearchHits(hits.toArray(new SearchHit[0]), total, 1.0f), null, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, String.valueOf(offset), 1, 1, 0, 1,
+                ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    private static ScrolledPage<Integer> map(SearchResponse response) {
+        List<Integer> content = new ArrayList<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            content.add(Integer.valueOf(hit.getId()));
+        }
+        return ScrolledPageResult.of(content, response.getHits().getTotalHits(), response.getScrollId());
+    }
+
+    private PrefetchingScrollIterator<Integer> iterator(int total, int prefetch) {
+        return new PrefetchingScrollIterator<>(page(0, total),
+                scrollId -> CompletableFuture.supplyAsync(() -> {
+                    requests.incrementAndGet();
+                    return response(Integer.parseInt(scrollId) + PAGE_SIZE, total);
+                }, executor),
+                response -> {
+                    mappingThreads.add(Thread.currentThread().getName());
+                    return map(response);
+                },
+                clearedScrolls::add,
+                prefetch);
+    }
+
+    @Test
+    void readsEveryPage() {
+        List<Integer> results = new ArrayList<>();
+        try (PrefetchingScrollIterator<Integer> iterator = iterator(10, 2)) {
+            iterator.forEachRemaining(results::add);
+        }
+        assertThat(results, contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertThat(clearedScrolls, is(empty()));
+        // The responses are mapped by the consuming thread, not by the thread receiving them
+        assertThat(mappingThreads, contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void mappingFailureClearsTheScroll() {
+        PrefetchingScrollIterator<Integer> iterator = new PrefetchingScrollIterator<>(page(0, 10),
+                scrollId -> CompletableFuture.completedFuture(response(Integer.parseInt(scrollId) + PAGE_SIZE, 10)),
+                response -> {
+                    throw new IllegalStateException("mapping failure");
+                },
+                clearedScrolls::add,
+                1);
+        assertThrows(IllegalStateException.class, () -> iterator.forEachRemaining(value -> {
+        }));
+        // The page following the failed one is already prefetched
+        assertThat(clearedScrolls, contains("6"));
+    }
+
+    @Test
+    void prefetchIsBounded() throws InterruptedException {
+        PrefetchingScrollIterator<Integer> iterator = iterator(100, 2);
+        assertThat(iterator.next(), is(0));
+        Thread.sleep(200);
+        assertThat(requests.get(), is(2));
+        iterator.close();
+        assertThat(clearedScrolls, is(not(empty())));
+    }
+
+    @Test
+    void emptyFirstPage() {
+        PrefetchingScrollIterator<Integer> iterator = new PrefetchingScrollIterator<>(
+                ScrolledPageResult.of(Collections.emptyList(), 0L, "0"),
+                scrollId -> {
+                    throw new IllegalStateException("no request expected");
+                },
+                PrefetchingScrollIteratorTest::map,
+                clearedScrolls::add,
+                1);
+        assertThat(iterator.hasNext(), is(false));
+        iterator.close();
+        assertThat(clearedScrolls, is(empty()));
+    }
+
+    @Test
+    void failurePropagated() {
+        PrefetchingScrollIterator<Integer> iterator = new PrefetchingScrollIterator<>(page(0, 10),
+                scrollId -> {
+                    CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+                    future.completeExceptionally(new IllegalStateException("scroll failure"));
+                    return future;
+                },
+                PrefetchingScrollIteratorTest::map,
+                clearedScrolls::add,
+                1);
+        assertThrows(ElasticsearchException.class, () -> iterator.forEachRemaining(value -> {
+        }));
+        assertThat(clearedScrolls, contains("0"));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.core.scroll;
+
+import org.elasticsearch.ElasticsearchException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class SlicedScrollTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final Set<String> clearedScrolls = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Slice i holds the documents "i-0" to "i-(size-1)", the scroll id of a page being "slice:offset".
+     */
+    private SlicedScroll<String> slicedScroll(int... sliceSizes) {
+        return new SlicedScroll<>(sliceSizes.length,
+                slice -> page(slice, 0, sliceSizes[slice]),
+                scrollId -> {
+                    String[] parts = scrollId.split(":");
+                    int slice = Integer.parseInt(parts[0]);
+                    return page(slice, Integer.parseInt(parts[1]) + PAGE_SIZE, sliceSizes[slice]);
+                },
+                clearedScrolls::add);
+    }
+
+    private static ScrolledPage<String> page(int slice, int offset, int size) {
+        List<String> content = new ArrayList<>();
+        for (int i = offset; i < Math.min(offset + PAGE_SIZE, size); i++) {
+            content.add(slice + "-" + i);
+        }
+        return ScrolledPageResult.of(content, (long) size, slice + ":" + offset);
+    }
+
+    private static List<String> documents(int... sliceSizes) {
+        List<String> documents = new ArrayList<>();
+        for (int slice = 0; slice < sliceSizes.length; slice++) {
+            for (int i = 0; i < sliceSizes[slice]; i++) {
+                documents.add(slice + "-" + i);
+            }
+        }
+        return documents;
+    }
+
+    @Test
+    void iteratorMergesEverySlice() {
+        List<String> results = new ArrayList<>();
+        try (CloseableIterator<String> iterator = slicedScroll(5, 0, 3, 8).iterator(2)) {
+            iterator.forEachRemaining(results::add);
+        }
+        assertThat(results, containsInAnyOrder(documents(5, 0, 3, 8).toArray()));
+        assertThat(clearedScrolls, hasSize(4));
+    }
+
+    @Test
+    void closeClearsOpenScrolls() {
+        CloseableIterator<String> iterator = slicedScroll(10, 10, 10).iterator(1);
+        assertThat(iterator.hasNext(), is(true));
+        iterator.next();
+        iterator.close();
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(clearedScrolls, is(not(empty())));
+    }
+
+    @Test
+    void abandonedIteratorStopsAndClearsScrolls() throws InterruptedException {
+        Set<Boolean> daemons = ConcurrentHashMap.newKeySet();
+        SlicedScroll<String> scroll = new SlicedScroll<>(3,
+                slice -> {
+                    daemons.add(Thread.currentThread().isDaemon());
+                    return page(slice, 0, 100);
+                },
+                scrollId -> page(Integer.parseInt(scrollId.split(":")[0]), Integer.parseInt(scrollId.split(":")[1]) + PAGE_SIZE, 100),
+                clearedScrolls::add);
+        CloseableIterator<String> iterator = scroll.iterator(1, Duration.ofMillis(200));
+        assertThat(iterator.hasNext(), is(true));
+        // Never closed : the producers give up once the consumer timeout is elapsed
+        long deadline = System.currentTimeMillis() + 5000;
+        while (clearedScrolls.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(clearedScrolls, hasSize(3));
+        assertThat(daemons, contains(true));
+    }
+
+    @Test
+    void iteratorPropagatesSliceFailure() {
+        SlicedScroll<String> scroll = new SlicedScroll<>(2,
+                slice -> {
+                    if (slice == 1) {
+                        throw new IllegalStateException("slice failure");
+                    }
+                    return page(slice, 0, 1);
+                },
+                scrollId -> page(0, 1, 1),
+                clearedScrolls::add);
+        CloseableIterator<String> iterator = scroll.iterator(2);
+        assertThrows(ElasticsearchException.class, () -> iterator.forEachRemaining(document -> {
+        }));
+    }
+
+    @Test
+    void parallelStreamReadsEverySlice() {
+        List<String> results;
+        try (Stream<String> stream = slicedScroll(4, 7, 1, 0, 6).parallelStream()) {
+            results = stream.collect(Collectors.toList());
+        }
+        assertThat(results, containsInAnyOrder(documents(4, 7, 1, 0, 6).toArray()));
+        assertThat(clearedScrolls, hasSize(5));
+    }
+
+    @Test
+    void spliteratorSplitsOnSliceBoundaries() {
+        Spliterator<String> spliterator = slicedScroll(2, 2, 2, 2).spliterator();
+        Spliterator<String> prefix = spliterator.trySplit();
+        assertThat(prefix, is(notNullValue()));
+        List<String> prefixDocuments = new ArrayList<>();
+        prefix.forEachRemaining(prefixDocuments::add);
+        assertThat(prefixDocuments, contains("0-0", "0-1", "1-0", "1-1"));
+        assertThat(spliterator.trySplit(), is(notNullValue()));
+    }
+}
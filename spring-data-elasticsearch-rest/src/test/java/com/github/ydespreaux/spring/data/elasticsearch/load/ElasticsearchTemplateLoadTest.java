@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.load;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.NativeSearchQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.SearchQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.reactivestreams.Publisher;
+
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Throughput and latency of the sync and reactive templates against the stub server.
+ * <p>
+ * Executed by the load profile : <code>mvn test -Pload</code>, the reports are written in
+ * <code>target/load-report.csv</code>. The run is configured by the system properties :
+ * <ul>
+ * <li>load.concurrency : the levels of concurrency, 1,8,32 by default</li>
+ * <li>load.warmup : the duration of the warm up of each run, PT2S by default</li>
+ * <li>load.duration : the duration of each run, PT10S by default</li>
+ * <li>load.latency : the latency of the stub server, PT1MS by default</li>
+ * <li>load.source-size : the size in bytes of the documents, 512 by default</li>
+ * <li>load.bulk-size : the number of documents of the bulk requests, 100 by default</li>
+ * <li>load.report : the path of the csv report</li>
+ * </ul>
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Slf4j
+@Tag("load")
+public class ElasticsearchTemplateLoadTest {
+
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("load.concurrency", "1,8,32").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final int BULK_SIZE = Integer.getInteger("load.bulk-size", 100);
+
+    private static final List<LoadReport> reports = Collections.synchronizedList(new ArrayList<>());
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+    private static LoadDriver driver;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer()
+                .latency(Duration.parse(System.getProperty("load.latency", "PT0.001S")))
+                .sourceSize(Integer.getInteger("load.source-size", 512))
+                .totalHits(1000)
+                .pageSize(10)
+                .start();
+        templates = new StubTemplates(server, Arrays.stream(CONCURRENCY).max().orElse(1));
+        driver = new LoadDriver(
+                Duration.parse(System.getProperty("load.warmup", "PT2S")),
+                Duration.parse(System.getProperty("load.duration", "PT10S")));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        try {
+            Path path = Paths.get(System.getProperty("load.report", "target/load-report.csv"));
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            List<String> lines = new ArrayList<>();
+            lines.add(LoadReport.CSV_HEADER);
+            lines.addAll(reports.stream().map(LoadReport::toCsv).collect(Collectors.toList()));
+            Files.write(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            log.info("Load report written in {}", path.toAbsolutePath());
+        } finally {
+            templates.close();
+            server.close();
+        }
+    }
+
+    @Test
+    void findById() throws Exception {
+        run("findById",
+                () -> templates.getTemplate().findById(Book.class, nextId()),
+                () -> templates.getReactiveTemplate().findById(nextId(), Book.class));
+    }
+
+    @Test
+    void search() throws Exception {
+        SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
+                .withQuery(matchAllQuery())
+                .withPageable(PageRequest.of(0, 10))
+                .build();
+        run("search",
+                () -> templates.getTemplate().search(query, Book.class),
+                () -> templates.getReactiveTemplate().search(query, Book.class));
+    }
+
+    @Test
+    void bulkIndex() throws Exception {
+        run("bulkIndex",
+                () -> templates.getTemplate().bulkIndex(books(), Book.class),
+                () -> templates.getReactiveTemplate().bulkIndex(books(), Book.class));
+    }
+
+    private void run(String scenario, Callable<?> sync, Supplier<? extends Publisher<?>> reactive) throws Exception {
+        for (int concurrency : CONCURRENCY) {
+            report(driver.run(scenario, concurrency, sync));
+            report(driver.runReactive(scenario, concurrency, reactive));
+        }
+    }
+
+    private void report(LoadReport report) {
+        log.info("{}", report);
+        reports.add(report);
+        assertThat(report.getErrors(), is(0L));
+        assertThat(report.getOperations(), is(greaterThan(0L)));
+    }
+
+    private String nextId() {
+        return Long.toString(sequence.incrementAndGet());
+    }
+
+    private List<Book> books() {
+        return IntStream.range(0, BULK_SIZE)
+                .mapToObj(i -> Book.builder().documentId(nextId()).title("Book " + i).price(10.5).build())
+                .collect(Collectors.toList());
+    }
+}
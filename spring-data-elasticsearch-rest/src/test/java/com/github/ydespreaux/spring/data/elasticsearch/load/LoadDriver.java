@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.load;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed loop load driver : each of the concurrent users executes the operation again as soon as the previous
+ * execution is completed, during a warm up then during the measurement.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class LoadDriver {
+
+    public static final String SYNC = "sync";
+    public static final String REACTIVE = "reactive";
+
+    private final Duration warmup;
+    private final Duration duration;
+
+    /**
+     * @param warmup   the duration of the warm up, not measured
+     * @param duration the duration of the measurement
+     */
+    public LoadDriver(Duration warmup, Duration duration) {
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Execute a blocking operation, one thread by concurrent user.
+     *
+     * @param scenario    the name of the scenario
+     * @param concurrency the number of concurrent users
+     * @param operation   the operation
+     * @return the report
+     * @throws Exception if the users cannot be executed
+     */
+    public LoadReport run(String scenario, int concurrency, Callable<?> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            runBlocking(executor, concurrency, operation, deadline(this.warmup), new Recorder());
+            Recorder recorder = new Recorder();
+            long start = System.nanoTime();
+            runBlocking(executor, concurrency, operation, deadline(this.duration), recorder);
+            return recorder.report(scenario, SYNC, concurrency, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Execute a reactive operation, the concurrent users are concurrent subscriptions.
+     *
+     * @param scenario    the name of the scenario
+     * @param concurrency the number of concurrent users
+     * @param operation   the operation
+     * @return the report
+     */
+    public LoadReport runReactive(String scenario, int concurrency, Supplier<? extends Publisher<?>> operation) {
+        runReactive(concurrency, operation, deadline(this.warmup), new Recorder());
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        runReactive(concurrency, operation, deadline(this.duration), recorder);
+        return recorder.report(scenario, REACTIVE, concurrency, System.nanoTime() - start);
+    }
+
+    private void runBlocking(ExecutorService executor, int concurrency, Callable<?> operation, long deadline, Recorder recorder) throws Exception {
+        List<Future<?>> users = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            users.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        operation.call();
+                        recorder.record(System.nanoTime() - start);
+                    } catch (Exception e) {
+                        recorder.error();
+                    }
+                }
+            }));
+        }
+        for (Future<?> user : users) {
+            user.get();
+        }
+    }
+
+    private void runReactive(int concurrency, Supplier<? extends Publisher<?>> operation, long deadline, Recorder recorder) {
+        Flux.range(0, concurrency)
+                .flatMap(user -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return Flux.from(operation.get())
+                            .then()
+                            .doOnSuccess(v -> recorder.record(System.nanoTime() - start))
+                            .onErrorResume(e -> {
+                                recorder.error();
+                                return Mono.empty();
+                            });
+                }).repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast();
+    }
+
+    private static long deadline(Duration duration) {
+        return System.nanoTime() + duration.toNanos();
+    }
+
+    /**
+     * Latencies of the successful operations and count of the failed operations.
+     */
+    private static class Recorder {
+
+        private final AtomicLong errors = new AtomicLong();
+        private long[] latencies = new long[1024];
+        private int size;
+
+        synchronized void record(long latency) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+        }
+
+        void error() {
+            errors.incrementAndGet();
+        }
+
+        synchronized LoadReport report(String scenario, String api, int concurrency, long durationNanos) {
+            return new LoadReport(scenario, api, concurrency, Arrays.copyOf(latencies, size), errors.get(),
+                    Math.max(durationNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+}
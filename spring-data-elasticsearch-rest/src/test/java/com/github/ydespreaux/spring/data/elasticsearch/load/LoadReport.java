@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.load;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of a load run.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class LoadReport {
+
+    public static final String CSV_HEADER = "scenario,api,concurrency,operations,errors,ops_per_sec,p50_us,p99_us,p999_us";
+
+    private final String scenario;
+    private final String api;
+    private final int concurrency;
+    private final long operations;
+    private final long errors;
+    private final double opsPerSecond;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+
+    /**
+     * @param scenario      the name of the scenario
+     * @param api           the api (sync or reactive)
+     * @param concurrency   the number of concurrent operations
+     * @param latencies     the latencies in nanoseconds of the operations
+     * @param errors        the number of failed operations
+     * @param durationNanos the duration of the measurement
+     */
+    LoadReport(String scenario, String api, int concurrency, long[] latencies, long errors, long durationNanos) {
+        this.scenario = scenario;
+        this.api = api;
+        this.concurrency = concurrency;
+        this.operations = latencies.length;
+        this.errors = errors;
+        this.opsPerSecond = latencies.length * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+        Arrays.sort(latencies);
+        this.p50 = percentile(latencies, 0.5);
+        this.p99 = percentile(latencies, 0.99);
+        this.p999 = percentile(latencies, 0.999);
+    }
+
+    /**
+     * @param sorted   the sorted latencies in nanoseconds
+     * @param quantile the quantile
+     * @return the latency of the quantile in microseconds
+     */
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, Math.min(rank, sorted.length - 1))]);
+    }
+
+    /**
+     * @return the report as a line of the csv report
+     */
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%d,%d,%d",
+                scenario, api, concurrency, operations, errors, opsPerSecond, p50, p99, p999);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-12s %-8s concurrency=%-4d %10.1f ops/s  p50=%dus p99=%dus p999=%dus (%d ops, %d errors)",
+                scenario, api, concurrency, opsPerSecond, p50, p99, p999, operations, errors);
+    }
+}
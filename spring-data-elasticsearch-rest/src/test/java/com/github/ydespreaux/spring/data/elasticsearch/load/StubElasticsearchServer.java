@@ -0,0 +1,662 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * HTTP server answering the document, search, multi search, search template, stored script, scroll, bulk and multi
+ * get APIs as an Elasticsearch 6.x node without storing documents : the responses are either recorded responses
+ * registered for a request, or synthetic responses whose documents have a configurable source size. The searches by
+ * an ids query return the documents of the ids, the other searches return pages of the configured total hits, sorted
+ * by id when the search is sorted and resumed after the last sort value with search_after.
+ * <p>
+ * The latency is simulated on the server side, the number of requests served concurrently is not bounded.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Slf4j
+public class StubElasticsearchServer implements AutoCloseable {
+
+    private static final String SCROLL_ID_PREFIX = "stub-scroll-";
+
+    static {
+        // Headers and body are written separately : without TCP_NODELAY each response waits for the delayed ack
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Recorded> recorded = new ConcurrentHashMap<>();
+    private final Set<String> missingIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> missingIndices = ConcurrentHashMap.newKeySet();
+    private final Set<String> failingIndices = ConcurrentHashMap.newKeySet();
+    private final Set<String> missingScripts = ConcurrentHashMap.newKeySet();
+    /**
+     * Sources of the stored scripts, by id.
+     */
+    @Getter
+    private final Map<String, String> storedScripts = new ConcurrentHashMap<>();
+    /**
+     * Body of the last search template request.
+     */
+    @Getter
+    private volatile JsonNode lastSearchTemplate;
+    /**
+     * Body of the last search request.
+     */
+    @Getter
+    private volatile JsonNode lastSearch;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final BlockingQueue<String> clearedScrolls = new LinkedBlockingQueue<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Latency added to each response.
+     */
+    private volatile Duration latency = Duration.ZERO;
+    /**
+     * Size in bytes of the description field of the synthetic documents.
+     */
+    private volatile int sourceSize = 256;
+    /**
+     * Total hits of the synthetic searches.
+     */
+    private volatile long totalHits = 1000;
+    /**
+     * Page size of the synthetic searches without size.
+     */
+    private volatile int pageSize = 10;
+
+    /**
+     * Offset from which the scroll continuations fail, -1 if they never fail.
+     */
+    private volatile int failingScrollFrom = -1;
+
+    /**
+     * Cached source of the synthetic documents, rebuilt when the source size changes.
+     */
+    private volatile String description = "";
+
+    /**
+     * Port of the server, bound when started.
+     */
+    @Getter
+    private volatile int port;
+
+    public StubElasticsearchServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public StubElasticsearchServer sourceSize(int sourceSize) {
+        this.sourceSize = sourceSize;
+        this.description = buildDescription(sourceSize);
+        return this;
+    }
+
+    public StubElasticsearchServer totalHits(long totalHits) {
+        this.totalHits = totalHits;
+        return this;
+    }
+
+    public StubElasticsearchServer pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * @param ids the ids of the documents not found by the document, multi get and ids query requests
+     * @return this server
+     */
+    public StubElasticsearchServer missing(String... ids) {
+        this.missingIds.addAll(Arrays.asList(ids));
+        return this;
+    }
+
+    /**
+     * @param indices the indices not found by the search, multi search, search template and exists requests
+     * @return this server
+     */
+    public StubElasticsearchServer missingIndices(String... indices) {
+        this.missingIndices.addAll(Arrays.asList(indices));
+        return this;
+    }
+
+    /**
+     * @param ids the stored scripts not found by the search template requests
+     * @return this server
+     */
+    public StubElasticsearchServer missingScripts(String... ids) {
+        this.missingScripts.addAll(Arrays.asList(ids));
+        return this;
+    }
+
+    /**
+     * @param indices the indices failing the search and multi search requests
+     * @return this server
+     */
+    public StubElasticsearchServer failingIndices(String... indices) {
+        this.failingIndices.addAll(Arrays.asList(indices));
+        return this;
+    }
+
+    /**
+     * @param from the offset of the first page whose scroll continuation fails
+     * @return this server
+     */
+    public StubElasticsearchServer failingScrollFrom(int from) {
+        this.failingScrollFrom = from;
+        return this;
+    }
+
+    /**
+     * Register a recorded response, returned instead of the synthetic response.
+     *
+     * @param method the http method
+     * @param path   the regular expression matching the path of the request
+     * @param status the http status of the response
+     * @param body   the json body of the response
+     * @return this server
+     */
+    public StubElasticsearchServer record(String method, String path, int status, String body) {
+        this.recorded.put(method + " " + path, new Recorded(method, Pattern.compile(path), status, body.getBytes(StandardCharsets.UTF_8)));
+        return this;
+    }
+
+    /**
+     * Start the server on a free port of the loopback interface.
+     *
+     * @return this server
+     * @throws IOException if the server cannot be bound
+     */
+    public StubElasticsearchServer start() throws IOException {
+        if (this.description.isEmpty()) {
+            this.description = buildDescription(this.sourceSize);
+        }
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-elasticsearch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+        this.port = this.server.getAddress().getPort();
+        return this;
+    }
+
+    /**
+     * @return the host to give to the rest client
+     */
+    public HttpHost getHttpHost() {
+        return new HttpHost("127.0.0.1", this.port, "http");
+    }
+
+    /**
+     * @return the number of requests served
+     */
+    public long getRequestCount() {
+        return this.requestCount.get();
+    }
+
+    /**
+     * Wait for the next scroll cleared by a clear scroll request.
+     *
+     * @param timeout the maximum time to wait
+     * @return the scroll id, null if no scroll has been cleared in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public String pollClearedScroll(Duration timeout) throws InterruptedException {
+        return this.clearedScrolls.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (this.server != null) {
+            this.server.stop(0);
+            this.executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        this.requestCount.incrementAndGet();
+        try {
+            byte[] requestBody = StreamUtils.copyToByteArray(exchange.getRequestBody());
+            Response response = respond(exchange.getRequestMethod(), exchange.getRequestURI(), requestBody);
+            simulateLatency();
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            if ("HEAD".equals(exchange.getRequestMethod()) || response.body.length == 0) {
+                // No body : a HEAD response must not have one
+                exchange.sendResponseHeaders(response.status, -1);
+            } else {
+                exchange.sendResponseHeaders(response.status, response.body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(response.body);
+                }
+            }
+        } catch (RuntimeException | IOException e) {
+            log.error("Stub request failed : " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), e);
+            byte[] body = ("{\"error\":{\"type\":\"stub_exception\",\"reason\":\"" + e.getClass().getSimpleName() + "\"},\"status\":500}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(500, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void simulateLatency() {
+        long nanos = this.latency.toNanos();
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    private Response respond(String method, URI uri, byte[] body) throws IOException {
+        String path = uri.getPath();
+        for (Recorded response : this.recorded.values()) {
+            if (response.method.equals(method) && response.path.matcher(path).matches()) {
+                return new Response(response.status, response.body);
+            }
+        }
+        List<String> segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+        String last = segments.isEmpty() ? "" : segments.get(segments.size() - 1);
+        if ("HEAD".equals(method)) {
+            return new Response(exists(segments) ? 200 : 404, new byte[0]);
+        }
+        if (path.startsWith("/_search/scroll")) {
+            return "DELETE".equals(method) ? json(200, clearScroll(body)) : scroll(body);
+        }
+        if ("_search".equals(last)) {
+            String index = segments.size() > 1 ? segments.get(0) : "stub";
+            if (this.missingIndices.contains(index)) {
+                return json(404, indexNotFound(index));
+            }
+            if (this.failingIndices.contains(index)) {
+                return json(400, searchFailure(index));
+            }
+            return json(200, search(index, body, uri.getQuery()));
+        }
+        if ("template".equals(last) && segments.size() > 1 && "_search".equals(segments.get(segments.size() - 2))) {
+            String index = segments.size() > 2 ? segments.get(0) : "stub";
+            if (this.missingIndices.contains(index)) {
+                return json(404, indexNotFound(index));
+            }
+            return searchTemplate(index, body);
+        }
+        if (segments.size() == 2 && "_scripts".equals(segments.get(0))) {
+            return storedScript(method, segments.get(1), body);
+        }
+        if ("_msearch".equals(last)) {
+            return json(200, multiSearch(body));
+        }
+        if ("_bulk".equals(last)) {
+            return json(200, bulk(body));
+        }
+        if ("_mget".equals(last)) {
+            return json(200, multiGet(segments, body));
+        }
+        if (segments.size() == 3 && !segments.get(0).startsWith("_")) {
+            switch (method) {
+                case "GET":
+                    return json(this.missingIds.contains(segments.get(2)) ? 404 : 200, document(segments.get(0), segments.get(1), segments.get(2)));
+                case "DELETE":
+                    return json(200, writeResult(segments.get(0), segments.get(1), segments.get(2), "deleted"));
+                default:
+                    return json(201, writeResult(segments.get(0), segments.get(1), segments.get(2), "created"));
+            }
+        }
+        if (segments.size() == 2 && !segments.get(0).startsWith("_") && ("POST".equals(method) || "PUT".equals(method))) {
+            return json(201, writeResult(segments.get(0), segments.get(1), generateId(), "created"));
+        }
+        return json(200, mapper.createObjectNode().put("acknowledged", true));
+    }
+
+    /**
+     * @param segments the path of a HEAD request
+     * @return false for a missing document (/index/type/id) or a missing index (/index)
+     */
+    private boolean exists(List<String> segments) {
+        if (segments.isEmpty() || segments.get(0).startsWith("_")) {
+            return true;
+        }
+        if (segments.size() == 3) {
+            return !this.missingIds.contains(segments.get(2));
+        }
+        return segments.size() != 1 || !this.missingIndices.contains(segments.get(0));
+    }
+
+    private ObjectNode document(String index, String type, String id) {
+        ObjectNode document = mapper.createObjectNode()
+                .put("_index", index)
+                .put("_type", type)
+                .put("_id", id);
+        if (this.missingIds.contains(id)) {
+            return document.put("found", false);
+        }
+        document.put("_version", 1).put("found", true);
+        document.set("_source", source(id));
+        return document;
+    }
+
+    private ObjectNode source(String id) {
+        return mapper.createObjectNode()
+                .put("title", "Document " + id)
+                .put("description", this.description)
+                .put("price", 10.5);
+    }
+
+    private ObjectNode writeResult(String index, String type, String id, String result) {
+        ObjectNode response = mapper.createObjectNode()
+                .put("_index", index)
+                .put("_type", type)
+                .put("_id", id)
+                .put("_version", 1)
+                .put("result", result)
+                .put("_seq_no", 0)
+                .put("_primary_term", 1);
+        response.set("_shards", shards(2));
+        return response;
+    }
+
+    private ObjectNode shards(int total) {
+        return mapper.createObjectNode()
+                .put("total", total)
+                .put("successful", 1)
+                .put("skipped", 0)
+                .put("failed", 0);
+    }
+
+    private ObjectNode search(String index, byte[] body, String query) throws IOException {
+        JsonNode request = body.length == 0 ? mapper.createObjectNode() : mapper.readTree(body);
+        this.lastSearch = request;
+        int from = request.path("from").asInt(0);
+        int size = request.path("size").asInt(this.pageSize);
+        boolean scroll = query != null && query.contains("scroll=");
+        JsonNode ids = request.path("query").path("ids").path("values");
+        if (ids.isArray()) {
+            List<String> found = StreamSupport.stream(ids.spliterator(), false)
+                    .map(JsonNode::asText)
+                    .filter(id -> !this.missingIds.contains(id))
+                    // The hits are not returned in the order of the ids
+                    .sorted()
+                    .collect(Collectors.toList());
+            return hits(index, found.size(), found);
+        }
+        JsonNode searchAfter = request.path("search_after");
+        if (searchAfter.isArray() && searchAfter.size() > 0) {
+            // The synthetic documents are sorted by their numeric id, the last sort value is the id
+            from = searchAfter.get(searchAfter.size() - 1).asInt() + 1;
+        }
+        ObjectNode response = page(index, from, size);
+        if (request.has("sort")) {
+            for (JsonNode hit : response.path("hits").path("hits")) {
+                ((ObjectNode) hit).putArray("sort").add(1.0).add(hit.path("_id").asInt());
+            }
+        }
+        if (scroll) {
+            response.put("_scroll_id", SCROLL_ID_PREFIX + index + ":" + (from + size) + ":" + size);
+        }
+        return response;
+    }
+
+    private Response searchTemplate(String index, byte[] body) throws IOException {
+        JsonNode request = mapper.readTree(body);
+        this.lastSearchTemplate = request;
+        String id = request.path("id").asText(null);
+        if (id != null && this.missingScripts.contains(id)) {
+            ObjectNode response = mapper.createObjectNode();
+            response.putObject("error")
+                    .put("type", "resource_not_found_exception")
+                    .put("reason", "unable to find script [" + id + "] in cluster state");
+            return json(404, response.put("status", 404));
+        }
+        JsonNode params = request.path("params");
+        return json(200, page(index, params.path("from").asInt(0), params.path("size").asInt(this.pageSize)));
+    }
+
+    private Response storedScript(String method, String id, byte[] body) throws IOException {
+        if ("DELETE".equals(method)) {
+            if (this.storedScripts.remove(id) == null) {
+                return json(404, mapper.createObjectNode().put("_id", id).put("found", false));
+            }
+        } else {
+            this.storedScripts.put(id, mapper.readTree(body).path("script").path("source").asText());
+        }
+        return json(200, mapper.createObjectNode().put("acknowledged", true));
+    }
+
+    private ObjectNode multiSearch(byte[] body) throws IOException {
+        ObjectNode response = mapper.createObjectNode().put("took", 1);
+        ArrayNode responses = response.putArray("responses");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        String header;
+        while ((header = reader.readLine()) != null) {
+            if (header.isEmpty()) {
+                continue;
+            }
+            JsonNode indices = mapper.readTree(header).path("index");
+            String index = indices.isArray() ? indices.path(0).asText("stub") : indices.asText("stub");
+            byte[] search = reader.readLine().getBytes(StandardCharsets.UTF_8);
+            if (this.missingIndices.contains(index)) {
+                responses.add(indexNotFound(index));
+            } else if (this.failingIndices.contains(index)) {
+                responses.add(searchFailure(index));
+            } else {
+                responses.add(search(index, search, null).put("status", 200));
+            }
+        }
+        return response;
+    }
+
+    private ObjectNode indexNotFound(String index) {
+        ObjectNode response = mapper.createObjectNode();
+        response.putObject("error")
+                .put("type", "index_not_found_exception")
+                .put("reason", "no such index")
+                .put("index", index);
+        return response.put("status", 404);
+    }
+
+    private ObjectNode searchFailure(String index) {
+        ObjectNode response = mapper.createObjectNode();
+        response.putObject("error")
+                .put("type", "search_phase_execution_exception")
+                .put("reason", "all shards failed")
+                .put("index", index);
+        return response.put("status", 400);
+    }
+
+    private Response scroll(byte[] body) throws IOException {
+        String scrollId = mapper.readTree(body).path("scroll_id").asText();
+        String[] parts = scrollId.substring(SCROLL_ID_PREFIX.length()).split(":");
+        int from = Integer.parseInt(parts[1]);
+        int size = Integer.parseInt(parts[2]);
+        if (this.failingScrollFrom >= 0 && from >= this.failingScrollFrom) {
+            return json(400, searchFailure(parts[0]));
+        }
+        ObjectNode response = page(parts[0], from, size);
+        response.put("_scroll_id", SCROLL_ID_PREFIX + parts[0] + ":" + (from + size) + ":" + size);
+        return json(200, response);
+    }
+
+    private ObjectNode page(String index, int from, int size) {
+        int count = (int) Math.max(0, Math.min(size, this.totalHits - from));
+        return hits(index, this.totalHits, IntStream.range(from, from + count).mapToObj(String::valueOf).collect(Collectors.toList()));
+    }
+
+    private ObjectNode hits(String index, long total, List<String> ids) {
+        ObjectNode response = mapper.createObjectNode()
+                .put("took", 1)
+                .put("timed_out", false);
+        response.set("_shards", shards(1));
+        ObjectNode hits = response.putObject("hits")
+                .put("total", total)
+                .put("max_score", 1.0);
+        ArrayNode items = hits.putArray("hits");
+        for (String id : ids) {
+            ObjectNode hit = items.addObject()
+                    .put("_index", index)
+                    .put("_type", "_doc")
+                    .put("_id", id)
+                    .put("_version", 1)
+                    .put("_score", 1.0);
+            hit.set("_source", source(id));
+        }
+        return response;
+    }
+
+    private ObjectNode clearScroll(byte[] body) throws IOException {
+        JsonNode scrollIds = body.length == 0 ? mapper.createArrayNode() : mapper.readTree(body).path("scroll_id");
+        for (JsonNode scrollId : scrollIds) {
+            this.clearedScrolls.add(scrollId.asText());
+        }
+        return mapper.createObjectNode()
+                .put("succeeded", true)
+                .put("num_freed", 1);
+    }
+
+    private ObjectNode bulk(byte[] body) throws IOException {
+        ObjectNode response = mapper.createObjectNode()
+                .put("took", 1)
+                .put("errors", false);
+        ArrayNode items = response.putArray("items");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            Map.Entry<String, JsonNode> action = mapper.readTree(line).fields().next();
+            String operation = action.getKey();
+            JsonNode metadata = action.getValue();
+            String id = metadata.hasNonNull("_id") ? metadata.get("_id").asText() : generateId();
+            ObjectNode result = writeResult(metadata.path("_index").asText(), metadata.path("_type").asText(), id,
+                    "delete".equals(operation) ? "deleted" : "created");
+            result.put("status", "delete".equals(operation) ? 200 : 201);
+            items.addObject().set(operation, result);
+            if (!"delete".equals(operation)) {
+                // Skip the source line
+                reader.readLine();
+            }
+        }
+        return response;
+    }
+
+    private ObjectNode multiGet(List<String> segments, byte[] body) throws IOException {
+        String defaultIndex = segments.size() > 1 ? segments.get(0) : null;
+        String defaultType = segments.size() > 2 ? segments.get(1) : "_doc";
+        JsonNode request = mapper.readTree(body);
+        ObjectNode response = mapper.createObjectNode();
+        ArrayNode docs = response.putArray("docs");
+        if (request.has("ids")) {
+            for (JsonNode id : request.get("ids")) {
+                docs.add(document(defaultIndex, defaultType, id.asText()));
+            }
+        } else {
+            for (JsonNode doc : request.path("docs")) {
+                docs.add(document(doc.path("_index").asText(defaultIndex), doc.path("_type").asText(defaultType), doc.path("_id").asText()));
+            }
+        }
+        return response;
+    }
+
+    private String generateId() {
+        return Long.toString(System.nanoTime(), 36);
+    }
+
+    private Response json(int status, JsonNode body) throws IOException {
+        return new Response(status, mapper.writeValueAsBytes(body));
+    }
+
+    private static String buildDescription(int size) {
+        char[] chars = new char[size];
+        for (int i = 0; i < size; i++) {
+            chars[i] = (char) ('a' + i % 26);
+        }
+        return new String(chars);
+    }
+
+    private static class Response {
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static class Recorded {
+        private final String method;
+        private final Pattern path;
+        private final int status;
+        private final byte[] body;
+
+        private Recorded(String method, Pattern path, int status, byte[] body) {
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
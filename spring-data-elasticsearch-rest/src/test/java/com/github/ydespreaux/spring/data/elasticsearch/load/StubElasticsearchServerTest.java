@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.load;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.NativeSearchQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.SearchQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.core.scroll.ScrolledPage;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class StubElasticsearchServerTest {
+
+    private static StubElasticsearchServer server;
+    private static StubTemplates templates;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new StubElasticsearchServer()
+                .totalHits(25)
+                .pageSize(10)
+                .sourceSize(64)
+                .missing("missing-book")
+                .missingIndices("missing-index")
+                .start();
+        templates = new StubTemplates(server, 4);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        templates.close();
+        server.close();
+    }
+
+    @Test
+    void findById() {
+        Optional<Book> book = templates.getTemplate().findById(Book.class, "1");
+        assertThat(book.isPresent(), is(true));
+        assertThat(book.get().getDocumentId(), is("1"));
+        assertThat(book.get().getDescription().length(), is(64));
+        StepVerifier.create(templates.getReactiveTemplate().findById("2", Book.class).map(Book::getDocumentId))
+                .expectNext("2")
+                .verifyComplete();
+    }
+
+    @Test
+    void exists() {
+        assertThat(templates.getTemplate().existsById(Book.class, "1"), is(true));
+        assertThat(templates.getTemplate().existsById(Book.class, "missing-book"), is(false));
+        assertThat(templates.getTemplate().indexExists("books"), is(true));
+        assertThat(templates.getTemplate().indexExists("missing-index"), is(false));
+        StepVerifier.create(templates.getReactiveTemplate().existsById(Book.class, "missing-book"))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(templates.getReactiveTemplate().indexExists("missing-index"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void search() {
+        SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
+                .withQuery(matchAllQuery())
+                .withPageable(PageRequest.of(1, 5))
+                .build();
+        List<Book> books = templates.getTemplate().search(query, Book.class);
+        assertThat(books, hasSize(5));
+        assertThat(books.get(0).getDocumentId(), is("5"));
+    }
+
+    @Test
+    void scroll() {
+        SearchQuery query = new NativeSearchQuery.NativeSearchQueryBuilder()
+                .withQuery(matchAllQuery())
+                .withPageable(PageRequest.of(0, 10))
+                .build();
+        ScrolledPage<Book> page = (ScrolledPage<Book>) templates.getTemplate().<Book, Book>startScroll(query, Book.class);
+        assertThat(page.getTotalElements(), is(25L));
+        assertThat(page.getContent(), hasSize(10));
+        page = (ScrolledPage<Book>) templates.getTemplate().<Book, Book>continueScroll(page.getScrollId(), Duration.ofMinutes(1), Book.class);
+        assertThat(page.getContent().get(0).getDocumentId(), is("10"));
+        page = (ScrolledPage<Book>) templates.getTemplate().<Book, Book>continueScroll(page.getScrollId(), Duration.ofMinutes(1), Book.class);
+        assertThat(page.getContent(), hasSize(5));
+        templates.getTemplate().clearScroll(page.getScrollId());
+    }
+
+    @Test
+    void bulkIndex() {
+        List<Book> books = templates.getTemplate().bulkIndex(Arrays.asList(
+                Book.builder().documentId("1").title("first").build(),
+                Book.builder().title("second").build()), Book.class);
+        assertThat(books, hasSize(2));
+        assertThat(books.get(1).getDocumentId() != null, is(true));
+    }
+
+    @Test
+    void multiGet() throws IOException {
+        MultiGetResponse response = templates.getClient().mget(new MultiGetRequest()
+                .add("books", "book", "1")
+                .add("books", "book", "2"), RequestOptions.DEFAULT);
+        assertThat(Arrays.stream(response.getResponses()).map(item -> item.getResponse().getId()).collect(Collectors.toList()),
+                contains("1", "2"));
+    }
+
+    @Test
+    void recordedResponse() {
+        server.record("GET", "/books/book/missing", 404,
+                "{\"_index\":\"books\",\"_type\":\"book\",\"_id\":\"missing\",\"found\":false}");
+        assertThat(templates.getTemplate().findById(Book.class, "missing").isPresent(), is(false));
+    }
+}
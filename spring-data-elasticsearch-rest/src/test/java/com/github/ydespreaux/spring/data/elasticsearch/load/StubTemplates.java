@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.load;
+
+import com.github.ydespreaux.spring.data.elasticsearch.client.DefaultRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.client.reactive.DefaultReactiveRestElasticsearchClient;
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultEntityMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.DefaultResultsMapper;
+import com.github.ydespreaux.spring.data.elasticsearch.core.ElasticsearchTemplate;
+import com.github.ydespreaux.spring.data.elasticsearch.core.ReactiveElasticsearchTemplate;
+import com.github.ydespreaux.spring.data.elasticsearch.core.converter.MappingElasticsearchConverter;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.core.triggers.TriggerManager;
+import lombok.Getter;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Sync and reactive templates connected to a {@link StubElasticsearchServer}, configured as the starter does.
+ *
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+@Getter
+public class StubTemplates implements AutoCloseable {
+
+    private final RestHighLevelClient client;
+    private final ElasticsearchTemplate template;
+    private final ReactiveElasticsearchTemplate reactiveTemplate;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final StaticApplicationContext applicationContext;
+
+    /**
+     * @param server         the started stub server
+     * @param maxConnections the maximum number of connections of the rest client
+     */
+    public StubTemplates(StubElasticsearchServer server, int maxConnections) {
+        this(server, maxConnections, Collections.emptyMap());
+    }
+
+    /**
+     * @param server         the started stub server
+     * @param maxConnections the maximum number of connections of the rest client
+     * @param properties     the properties resolving the placeholders of the entities
+     */
+    public StubTemplates(StubElasticsearchServer server, int maxConnections, Map<String, Object> properties) {
+        this.client = new RestHighLevelClient(RestClient.builder(server.getHttpHost())
+                .setHttpClientConfigCallback(builder -> builder
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)));
+        this.applicationContext = new StaticApplicationContext();
+        applicationContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("stub", properties));
+        DefaultEntityMapper entityMapper = new DefaultEntityMapper(new JacksonProperties());
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext(), entityMapper);
+        converter.setApplicationContext(applicationContext);
+        DefaultResultsMapper resultsMapper = new DefaultResultsMapper(entityMapper, converter);
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.initialize();
+        TriggerManager triggerManager = new TriggerManager(this.scheduler);
+        this.template = new ElasticsearchTemplate(new DefaultRestElasticsearchClient(this.client), converter, resultsMapper, triggerManager);
+        this.template.setApplicationContext(applicationContext);
+        applicationContext.getBeanFactory().registerSingleton("elasticsearchTemplate", this.template);
+        this.reactiveTemplate = new ReactiveElasticsearchTemplate(new DefaultReactiveRestElasticsearchClient(this.client), converter, resultsMapper, triggerManager);
+        this.reactiveTemplate.setApplicationContext(applicationContext);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.scheduler.shutdown();
+        this.client.close();
+    }
+}
@@ -1 +1,80 @@
-/* * Copyright (C) 2018 Yoann Despréaux * * This program is free software; you can redistribute it and/or modify * it under the terms of the GNU General Public License as published by * the Free Software Foundation; either version 2 of the License, or * (at your option) any later version. * * This program is distributed in the hope that it will be useful, * but WITHOUT ANY WARRANTY; without even the implied warranty of * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the * GNU General Public License for more details. * * You should have received a copy of the GNU General Public License * along with this program; see the file COPYING . If not, write to the * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA. * * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr */package com.github.ydespreaux.spring.data.elasticsearch.repositories.template;import com.github.ydespreaux.spring.data.elasticsearch.annotations.Query;import com.github.ydespreaux.spring.data.elasticsearch.entities.Article;import com.github.ydespreaux.spring.data.elasticsearch.repository.ElasticsearchRepository;import org.springframework.data.domain.Page;import org.springframework.data.domain.Pageable;import java.util.List;/** * @author Yoann Despréaux * @since 1.0.0 */public interface ArticleRepository extends ElasticsearchRepository<Article, String> {    /**     * @param entrepot     * @param pageable     * @return     */    Page<Article> findArticleByEntrepot(Article.EnumEntrepot entrepot, Pageable pageable);    /**     * @param entrepot     * @return     */    List<Article> findArticleByEntrepotOrderByNameDesc(Article.EnumEntrepot entrepot);    /**     * @param description     * @return     */    Long countByDescriptionContains(String description);    /**     * @param entrepot     * @return     */    Long countArticleByEntrepot(Article.EnumEntrepot entrepot);    @Query    Article findByName(String name);    @Query("{\"match\" : {\"name\" : \"?0\"}}")    Article findByNameQuery(String name);    @Query("{\"match\" : {\"entrepot\" : \"?0\"}}")    List<Article> findByEntrepotQuery(Article.EnumEntrepot entrepot);    @Query("{\"match\" : {\"entrepot\" : \"?0\"}}")    Page<Article> findByEntrepotQuery(Article.EnumEntrepot entrepot, Pageable pageable);    @Query    List<Article> findByEntrepot(Article.EnumEntrepot entrepot);    @Query(name = "findByEntrepot")    List<Article> findByEntrepotOrderByNameAsc(Article.EnumEntrepot entrepot);}
\ No newline at end of file
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.repositories.template;
+
+import com.github.ydespreaux.spring.data.elasticsearch.annotations.Query;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Article;
+import com.github.ydespreaux.spring.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.0.0
+ */
+public interface ArticleRepository extends ElasticsearchRepository<Article, String> {
+
+    /**
+     * @param entrepot
+     * @param pageable
+     * @return
+     */
+    Page<Article> findArticleByEntrepot(Article.EnumEntrepot entrepot, Pageable pageable);
+
+    /**
+     * @param entrepot
+     * @return
+     */
+    List<Article> findArticleByEntrepotOrderByNameDesc(Article.EnumEntrepot entrepot);
+
+    /**
+     * @param description
+     * @return
+     */
+    Long countByDescriptionContains(String description);
+
+    /**
+     * @param entrepot
+     * @return
+     */
+    Long countArticleByEntrepot(Article.EnumEntrepot entrepot);
+
+    @Query
+    Article findByName(String name);
+
+    @Query("{\"match\" : {\"name\" : \"?0\"}}")
+    Article findByNameQuery(String name);
+
+    @Query("{\"match\" : {\"entrepot\" : \"?0\"}}")
+    List<Article> findByEntrepotQuery(Article.EnumEntrepot entrepot);
+
+    @Query("{\"match\" : {\"entrepot\" : \"?0\"}}")
+    Page<Article> findByEntrepotQuery(Article.EnumEntrepot entrepot, Pageable pageable);
+
+    @Query
+    List<Article> findByEntrepot(Article.EnumEntrepot entrepot);
+
+    @Query(name = "findByEntrepot")
+    List<Article> findByEntrepotOrderByNameAsc(Article.EnumEntrepot entrepot);
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class ParameterizedQueryTest {
+
+    private final DefaultConversionService conversionService = new DefaultConversionService();
+
+    private String bind(String query, Object... values) throws NoSuchMethodException {
+        Method method = Parameters.class.getMethod("parameters", Object.class, Object.class, Object.class, Object.class,
+                Object.class, Object.class, Object.class, Object.class, Object.class, Object.class, Object.class);
+        Object[] arguments = Arrays.copyOf(values, 11);
+        return ParameterizedQuery.parse(query).bind(new ParametersParameterAccessor(new DefaultParameters(method), arguments), conversionService);
+    }
+
+    @Test
+    void bindQuotedParameters() throws NoSuchMethodException {
+        assertThat(bind("{\"match\":{\"name\":\"?0\"}}", "Spring"), is("{\"match\":{\"name\":\"Spring\"}}"));
+        assertThat(bind("{\"match\":{\"name\":\"?0 ?1\"}}", "a", "b"), is("{\"match\":{\"name\":\"a b\"}}"));
+    }
+
+    @Test
+    void escapeQuotedParameters() throws NoSuchMethodException {
+        assertThat(bind("{\"match\":{\"name\":\"?0\"}}", "say \"hi\"\\\n"), is("{\"match\":{\"name\":\"say \\\"hi\\\"\\\\\\n\"}}"));
+        assertThat(bind("{\"match\":{\"name\":\"?0\"}}", "\u0001"), is("{\"match\":{\"name\":\"\\u0001\"}}"));
+    }
+
+    @Test
+    void bindUnquotedParametersAsJsonValues() throws NoSuchMethodException {
+        assertThat(bind("{\"range\":{\"price\":{\"gte\":?0,\"lte\":?1}}}", 10.5, 20), is("{\"range\":{\"price\":{\"gte\":10.5,\"lte\":20}}}"));
+        assertThat(bind("{\"term\":{\"available\":?0}}", true), is("{\"term\":{\"available\":true}}"));
+        assertThat(bind("{\"term\":{\"name\":?0}}", "a\"b"), is("{\"term\":{\"name\":\"a\\\"b\"}}"));
+        assertThat(bind("{\"term\":{\"name\":?0}}", (Object) null), is("{\"term\":{\"name\":null}}"));
+        List<Object> values = Arrays.asList("a", 1, null);
+        assertThat(bind("{\"terms\":{\"name\":?0}}", values), is("{\"terms\":{\"name\":[\"a\",1,null]}}"));
+        assertThat(bind("{\"terms\":{\"id\":?0}}", (Object) new int[]{1, 2}), is("{\"terms\":{\"id\":[1,2]}}"));
+    }
+
+    @Test
+    void distinguishParameterIndexes() throws NoSuchMethodException {
+        assertThat(bind("[?1,?10,?0]", 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10), is("[1,10,0]"));
+    }
+
+    @Test
+    void ignoreEscapedQuotes() throws NoSuchMethodException {
+        assertThat(bind("{\"query_string\":{\"query\":\"\\\"?0\\\" ?1\"},\"boost\":?1}", "a", 2), is("{\"query_string\":{\"query\":\"\\\"a\\\" 2\"},\"boost\":2}"));
+    }
+
+    @Test
+    void parseQueryWithoutParameters() throws NoSuchMethodException {
+        assertThat(ParameterizedQuery.parse("{\"match_all\":{}}").getMaxParameterIndex(), is(-1));
+        assertThat(bind("{\"match_all\":{}}"), is("{\"match_all\":{}}"));
+        assertThat(ParameterizedQuery.parse("[?3,?12]").getMaxParameterIndex(), is(12));
+    }
+
+    interface Parameters {
+        void parameters(Object p0, Object p1, Object p2, Object p3, Object p4, Object p5, Object p6, Object p7, Object p8, Object p9, Object p10);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class SearchTemplateParametersTest {
+
+    private Map<String, Object> params(String methodName, Object... values) throws NoSuchMethodException {
+        Method method = Templates.class.getMethod(methodName, String.class, Integer.class);
+        DefaultParameters parameters = new DefaultParameters(method);
+        return new SearchTemplateParameters().getParams(parameters, new ParametersParameterAccessor(parameters, values));
+    }
+
+    @Test
+    void nameParamsByAnnotation() throws NoSuchMethodException {
+        Map<String, Object> params = params("searchByName", "Spring", 10);
+        assertThat(params.keySet(), contains("title", "price"));
+        assertThat(params.get("title"), is("Spring"));
+        assertThat(params.get("price"), is(10));
+    }
+
+    @Test
+    void nameParamsWithoutAnnotationByIndex() throws NoSuchMethodException {
+        // The names compiled with -parameters are not used
+        Map<String, Object> params = params("searchByIndex", "Spring", 10);
+        assertThat(params.keySet(), contains("0", "1"));
+        assertThat(params.get("0"), is("Spring"));
+        assertThat(params.get("1"), is(10));
+    }
+
+    interface Templates {
+
+        Object searchByName(@Param("title") String title, @Param("price") Integer price);
+
+        Object searchByIndex(String title, Integer price);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2018 Yoann Despréaux
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; see the file COPYING . If not, write to the
+ * Free Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ *
+ * Please send bugreports with examples or suggestions to yoann.despreaux@believeit.fr
+ */
+package com.github.ydespreaux.spring.data.elasticsearch.repository.query.parser;
+
+import com.github.ydespreaux.spring.data.elasticsearch.core.CriteriaQueryProcessor;
+import com.github.ydespreaux.spring.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.Criteria;
+import com.github.ydespreaux.spring.data.elasticsearch.core.query.CriteriaQuery;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.Book;
+import com.github.ydespreaux.spring.data.elasticsearch.entities.City;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * @author Yoann Despréaux
+ * @since 1.2.0
+ */
+public class PartTreeQueryPlanTest {
+
+    private final SimpleElasticsearchMappingContext mappingContext = new SimpleElasticsearchMappingContext();
+
+    private CriteriaQuery[] createQueries(Class<?> domainClass, String methodName, Object... arguments) {
+        Method method = Arrays.stream(Methods.class.getMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        PartTree tree = new PartTree(methodName, domainClass);
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(new DefaultParameters(method), arguments);
+        PartTreeQueryPlan plan = PartTreeQueryPlan.compile(tree, mappingContext);
+        return new CriteriaQuery[]{
+                new ElasticsearchQueryCreator(tree, accessor, mappingContext).createQuery(),
+                plan.bind(accessor)
+        };
+    }
+
+    private void assertSameQuery(Class<?> domainClass, String methodName, Object... arguments) {
+        CriteriaQuery[] queries = createQueries(domainClass, methodName, arguments);
+        assertThat(describe(queries[1]), is(describe(queries[0])));
+        assertThat(queries[1].getSort(), is(queries[0].getSort()));
+        assertThat(new CriteriaQueryProcessor().createQueryFromCriteria(queries[1].getCriteria()).map(Object::toString),
+                is(new CriteriaQueryProcessor().createQueryFromCriteria(queries[0].getCriteria()).map(Object::toString)));
+    }
+
+    private String describe(CriteriaQuery query) {
+        return query.getCriteria().getCriteriaChain().stream()
+                .map(this::describe)
+                .collect(Collectors.joining(" | "));
+    }
+
+    private String describe(Criteria criteria) {
+        return String.format("%s or=%s not=%s query=%s filter=%s", criteria.getField().getName(), criteria.isOr(),
+                criteria.isNegating(), describe(criteria.getQueryCriteriaEntries()), describe(criteria.getFilterCriteriaEntries()));
+    }
+
+    private String describe(Iterable<Criteria.CriteriaEntry> entries) {
+        StringBuilder builder = new StringBuilder();
+        entries.forEach(entry -> builder.append(entry.getKey()).append('=').append(entry.getValue() instanceof Object[]
+                ? Arrays.deepToString((Object[]) entry.getValue()) : String.valueOf(entry.getValue())).append(';'));
+        return builder.toString();
+    }
+
+    @Test
+    void bindSimpleAndRangeParts() {
+        assertSameQuery(Book.class, "findByTitleAndPriceBetween", "Spring", 10.0, 50.0);
+        assertSameQuery(Book.class, "findByTitleStartingWithAndDescriptionContaining", "Spr", "data");
+        assertSameQuery(Book.class, "findByPriceGreaterThanEqualAndPriceLessThan", 10.0, 50.0);
+    }
+
+    @Test
+    void bindNegatedAndCollectionParts() {
+        assertSameQuery(Book.class, "findByTitleNotAndTitleIn", "Spring", List.of("Data", "Boot"));
+        assertSameQuery(Book.class, "findByTitleNotIn", (Object) new String[]{"Data", "Boot"});
+    }
+
+    @Test
+    void bindOrParts() {
+        assertSameQuery(Book.class, "findByTitleOrDescriptionOrPriceLessThan", "Spring", "data", 10.0);
+    }
+
+    @Test
+    void bindGeoParts() {
+        assertSameQuery(City.class, "findByLocation", new GeoPoint(48.8566, 2.3522));
+        assertSameQuery(City.class, "findByLocationWithin", new GeoPoint(48.8566, 2.3522), "10km");
+    }
+
+    @Test
+    void bindStaticAndDynamicSort() {
+        assertSameQuery(Book.class, "findByTitleOrderByPriceDesc", "Spring", Pageable.unpaged());
+        CriteriaQuery[] queries = createQueries(Book.class, "findByTitleOrderByPriceDesc", "Spring",
+                PageRequest.of(0, 10, Sort.by("title")));
+        assertThat(queries[1].getSort(), is(queries[0].getSort()));
+        assertThat(queries[1].getSort(), is(Sort.by(Sort.Order.desc("price"), Sort.Order.asc("title"))));
+    }
+
+    @Test
+    void reusePlanAcrossCalls() throws NoSuchMethodException {
+        Method method = Methods.class.getMethod("findByTitleAndPriceBetween", String.class, Double.class, Double.class);
+        PartTreeQueryPlan plan = PartTreeQueryPlan.compile(new PartTree(method.getName(), Book.class), mappingContext);
+        CriteriaQuery first = plan.bind(new ParametersParameterAccessor(new DefaultParameters(method), new Object[]{"Spring", 10.0, 50.0}));
+        CriteriaQuery second = plan.bind(new ParametersParameterAccessor(new DefaultParameters(method), new Object[]{"Boot", 1.0, 5.0}));
+        assertThat(describe(first), is("title or=false not=false query=EQUALS=Spring; filter= | price or=false not=false query=BETWEEN=[10.0, 50.0]; filter="));
+        assertThat(describe(second), is("title or=false not=false query=EQUALS=Boot; filter= | price or=false not=false query=BETWEEN=[1.0, 5.0]; filter="));
+    }
+
+    @Test
+    void bindMethodWithoutCriteria() throws NoSuchMethodException {
+        Method method = Methods.class.getMethod("findAllByOrderByTitle");
+        PartTreeQueryPlan plan = PartTreeQueryPlan.compile(new PartTree(method.getName(), Book.class), mappingContext);
+        assertThat(plan.bind(new ParametersParameterAccessor(new DefaultParameters(method), new Object[0])), is(nullValue()));
+    }
+
+    interface Methods {
+
+        void findByTitleAndPriceBetween(String title, Double from, Double to);
+
+        void findByTitleStartingWithAndDescriptionContaining(String title, String description);
+
+        void findByPriceGreaterThanEqualAndPriceLessThan(Double from, Double to);
+
+        void findByTitleNotAndTitleIn(String title, List<String> titles);
+
+        void findByTitleNotIn(String[] titles);
+
+        void findByTitleOrDescriptionOrPriceLessThan(String title, String description, Double price);
+
+        void findByLocation(GeoPoint location);
+
+        void findByLocationWithin(GeoPoint location, String distance);
+
+        void findByTitleOrderByPriceDesc(String title, Pageable pageable);
+
+        void findAllByOrderByTitle();
+    }
+}